@@ -19,6 +19,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import stud.ntnu.krisefikser.article.exception.ArticleNotFoundException;
 import stud.ntnu.krisefikser.auth.exception.InvalidCredentialsException;
@@ -27,9 +29,17 @@ import stud.ntnu.krisefikser.auth.exception.RefreshTokenDoesNotExistException;
 import stud.ntnu.krisefikser.auth.exception.TurnstileVerificationException;
 import stud.ntnu.krisefikser.auth.exception.TwoFactorAuthRequiredException;
 import stud.ntnu.krisefikser.common.ProblemDetailUtils;
+import stud.ntnu.krisefikser.email.exception.BroadcastNotFoundException;
 import stud.ntnu.krisefikser.email.exception.EmailSendingException;
 import stud.ntnu.krisefikser.email.exception.EmailTemplateException;
 import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
+import stud.ntnu.krisefikser.item.exception.FoodItemImportException;
+import stud.ntnu.krisefikser.media.exception.ImageTooLargeException;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+import stud.ntnu.krisefikser.media.exception.InvalidImageException;
+import stud.ntnu.krisefikser.media.exception.MediaNotFoundException;
+import stud.ntnu.krisefikser.search.exception.InvalidSearchQueryException;
+import stud.ntnu.krisefikser.snapshot.exception.ContentSnapshotNotFoundException;
 import stud.ntnu.krisefikser.user.exception.EmailAlreadyExistsException;
 import stud.ntnu.krisefikser.user.exception.UnauthorizedAccessException;
 import stud.ntnu.krisefikser.user.exception.UserNotFoundException;
@@ -100,6 +110,117 @@ public class GlobalExceptionHandler {
         exception.getMessage(), "article");
   }
 
+  /**
+   * Handles exceptions thrown when an email broadcast is not found.
+   *
+   * @param exception the broadcast not found exception
+   * @return a problem detail with NOT_FOUND status and the exception message
+   */
+  @ExceptionHandler(BroadcastNotFoundException.class)
+  public ProblemDetail handleBroadcastNotFoundException(BroadcastNotFoundException exception) {
+    log.warn("Broadcast not found: {}", exception.getMessage());
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.NOT_FOUND,
+        exception.getMessage(), "email");
+  }
+
+  /**
+   * Handles exceptions thrown when a stored media file is not found.
+   *
+   * @param exception the media not found exception
+   * @return a problem detail with NOT_FOUND status and the exception message
+   */
+  @ExceptionHandler(MediaNotFoundException.class)
+  public ProblemDetail handleMediaNotFoundException(MediaNotFoundException exception) {
+    log.warn("Media not found: {}", exception.getMessage());
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.NOT_FOUND,
+        exception.getMessage(), "media");
+  }
+
+  /**
+   * Handles exceptions thrown when a content snapshot version does not exist.
+   *
+   * @param exception the content snapshot not found exception
+   * @return a problem detail with NOT_FOUND status and the exception message
+   */
+  @ExceptionHandler(ContentSnapshotNotFoundException.class)
+  public ProblemDetail handleContentSnapshotNotFoundException(
+      ContentSnapshotNotFoundException exception) {
+    log.warn("Content snapshot not found: {}", exception.getMessage());
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.NOT_FOUND,
+        exception.getMessage(), "snapshot");
+  }
+
+  /**
+   * Handles exceptions thrown when a bulk food item import is rejected.
+   *
+   * <p>The individual problems are returned in the {@code errors} property.</p>
+   *
+   * @param exception the food item import exception
+   * @return a problem detail with BAD_REQUEST status, the exception message and the errors
+   */
+  @ExceptionHandler(FoodItemImportException.class)
+  public ProblemDetail handleFoodItemImportException(FoodItemImportException exception) {
+    log.warn("Food item import rejected: {}", exception.getMessage());
+    ProblemDetail problemDetail = ProblemDetailUtils.createDomainProblemDetail(
+        HttpStatus.BAD_REQUEST, exception.getMessage(), "item");
+    problemDetail.setProperty("errors", exception.getErrors());
+    return problemDetail;
+  }
+
+  /**
+   * Handles exceptions thrown when a search query is empty or too long.
+   *
+   * @param exception the invalid search query exception
+   * @return a problem detail with BAD_REQUEST status and the exception message
+   */
+  @ExceptionHandler(InvalidSearchQueryException.class)
+  public ProblemDetail handleInvalidSearchQueryException(InvalidSearchQueryException exception) {
+    log.warn("Invalid search query: {}", exception.getMessage());
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.BAD_REQUEST,
+        exception.getMessage(), "search");
+  }
+
+  /**
+   * Handles exceptions thrown when an uploaded file is missing or not an image.
+   *
+   * @param exception the invalid image exception
+   * @return a problem detail with BAD_REQUEST status and the exception message
+   */
+  @ExceptionHandler(InvalidImageException.class)
+  public ProblemDetail handleInvalidImageException(InvalidImageException exception) {
+    log.warn("Invalid image upload: {}", exception.getMessage());
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.BAD_REQUEST,
+        exception.getMessage(), "media");
+  }
+
+  /**
+   * Handles uploads above the image size limit or the multipart size limit.
+   *
+   * @param exception the size limit exception
+   * @return a problem detail with PAYLOAD_TOO_LARGE status
+   */
+  @ExceptionHandler({ImageTooLargeException.class, MaxUploadSizeExceededException.class})
+  public ProblemDetail handleImageTooLargeException(RuntimeException exception) {
+    log.warn("Upload too large: {}", exception.getMessage());
+    String message = exception instanceof ImageTooLargeException
+        ? exception.getMessage() : "Uploaded file is too large";
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.PAYLOAD_TOO_LARGE, message,
+        "media");
+  }
+
+  /**
+   * Handles exceptions thrown when an image cannot be stored right now.
+   *
+   * @param exception the image upload exception
+   * @return a problem detail with SERVICE_UNAVAILABLE status and the exception message
+   */
+  @ExceptionHandler(ImageUploadException.class)
+  public ProblemDetail handleImageUploadException(ImageUploadException exception) {
+    log.error("Image upload failed: {}", exception.getMessage(), exception.getCause());
+    return ProblemDetailUtils.createDomainProblemDetail(HttpStatus.SERVICE_UNAVAILABLE,
+        exception.getMessage(), "media");
+  }
+
   // ===== Authentication-related exceptions =====
 
   /**
@@ -365,6 +486,22 @@ public class GlobalExceptionHandler {
     );
   }
 
+  /**
+   * Handles exceptions thrown when a request parameter cannot be converted to the expected type.
+   *
+   * @param exception the method argument type mismatch exception
+   * @return a problem detail with BAD_REQUEST status and a message identifying the parameter
+   */
+  @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+  public ProblemDetail handleMethodArgumentTypeMismatchException(
+      MethodArgumentTypeMismatchException exception) {
+    log.warn("Invalid value for parameter {}: {}", exception.getName(), exception.getValue());
+    return ProblemDetailUtils.createProblemDetail(
+        HttpStatus.BAD_REQUEST,
+        "Invalid value '" + exception.getValue() + "' for parameter '" + exception.getName() + "'"
+    );
+  }
+
   // ===== Resource not found exceptions =====
 
   /**
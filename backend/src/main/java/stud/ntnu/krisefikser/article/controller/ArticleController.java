@@ -23,6 +23,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import stud.ntnu.krisefikser.article.dto.ArticleRequest;
 import stud.ntnu.krisefikser.article.dto.ArticleResponse;
+import stud.ntnu.krisefikser.article.dto.ArticleSummaryResponse;
 import stud.ntnu.krisefikser.article.service.ArticleService;
 
 /**
@@ -40,20 +41,21 @@ public class ArticleController {
   private final ArticleService articleService;
 
   /**
-   * Retrieves all articles from the system.
+   * Retrieves all articles from the system, with an excerpt instead of the full text.
    *
-   * @return ResponseEntity containing a list of all articles.
+   * @return ResponseEntity containing a list of all article summaries.
    */
   @Operation(summary = "Get all articles", description = "Retrieves a list of all articles in the"
-      + " system")
+      + " system. The text is replaced by a short excerpt; get an article by id for its text.")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved articles",
           content = @Content(mediaType = "application/json", array = @ArraySchema(schema =
-          @Schema(implementation = ArticleResponse.class))))
+          @Schema(implementation = ArticleSummaryResponse.class)))),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current")
   })
   @GetMapping
-  public ResponseEntity<List<ArticleResponse>> getAllArticles() {
-    return ResponseEntity.ok(articleService.getAllArticles());
+  public ResponseEntity<List<ArticleSummaryResponse>> getAllArticles() {
+    return articleService.getAllArticlesCached().toResponseEntity();
   }
 
   /**
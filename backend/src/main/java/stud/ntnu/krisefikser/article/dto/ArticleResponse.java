@@ -27,4 +27,5 @@ public class ArticleResponse {
   private LocalDateTime createdAt;
   @NotNull
   private String imageUrl;
+  private Integer wordCount;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package stud.ntnu.krisefikser.article.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An article in a list. Carries a short plain-text excerpt instead of the full text, which is
+ * only returned for a single article.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSummaryResponse {
+
+  @NotNull
+  private Long id;
+  @NotNull
+  private String title;
+  private String imageUrl;
+  @NotNull
+  private LocalDateTime createdAt;
+  private String excerpt;
+  private Integer wordCount;
+}
@@ -5,12 +5,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import stud.ntnu.krisefikser.article.dto.ArticleResponse;
+import stud.ntnu.krisefikser.common.HtmlText;
 
 /**
  * Represents an article entity. This class is used to map the articles' table in the database.
@@ -23,8 +28,14 @@ import lombok.NoArgsConstructor;
 @Table(name = "articles")
 public class Article {
 
+  /**
+   * Maximum length of {@link #excerpt}.
+   */
+  public static final int EXCERPT_LENGTH = 240;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "article_id")
+  @SequenceGenerator(name = "article_id", sequenceName = "articles_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
@@ -38,4 +49,46 @@ public class Article {
 
   @Column(name = "image_url")
   private String imageUrl;
-}
\ No newline at end of file
+
+  /**
+   * The start of the text as plain text, shown in article lists.
+   */
+  @Column(length = EXCERPT_LENGTH)
+  private String excerpt;
+
+  /**
+   * The number of words in the text.
+   */
+  @Column(name = "word_count")
+  private Integer wordCount;
+
+  /**
+   * Recomputes {@link #excerpt} and {@link #wordCount} from the text. Runs before every insert
+   * and update, so they are computed once per write instead of on every request.
+   *
+   * <p>Unlike scenario content, the text is not cleaned: it is plain text, which clients show
+   * escaped.</p>
+   */
+  @PrePersist
+  @PreUpdate
+  public void processText() {
+    excerpt = HtmlText.excerpt(text, EXCERPT_LENGTH);
+    wordCount = HtmlText.countWords(HtmlText.toPlainText(text));
+  }
+
+  /**
+   * Converts this entity to a response DTO.
+   *
+   * @return a DTO containing the information about this article
+   */
+  public ArticleResponse toResponse() {
+    return ArticleResponse.builder()
+        .id(id)
+        .title(title)
+        .text(text)
+        .createdAt(createdAt)
+        .imageUrl(imageUrl)
+        .wordCount(wordCount)
+        .build();
+  }
+}
@@ -1,6 +1,9 @@
 package stud.ntnu.krisefikser.article.repository;
 
+import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import stud.ntnu.krisefikser.article.dto.ArticleSummaryResponse;
 import stud.ntnu.krisefikser.article.entity.Article;
 
 /**
@@ -9,4 +12,19 @@ import stud.ntnu.krisefikser.article.entity.Article;
  */
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
-}
\ No newline at end of file
+  /**
+   * Returns all articles without their text. The text column is never read.
+   *
+   * @return the article summaries
+   */
+  @Query("SELECT new stud.ntnu.krisefikser.article.dto.ArticleSummaryResponse("
+      + "a.id, a.title, a.imageUrl, a.createdAt, a.excerpt, a.wordCount) FROM Article a")
+  List<ArticleSummaryResponse> findAllSummaries();
+
+  /**
+   * Returns articles stored before word counts were introduced.
+   *
+   * @return the articles without a word count
+   */
+  List<Article> findByWordCountIsNull();
+}
@@ -3,37 +3,69 @@ package stud.ntnu.krisefikser.article.service;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import stud.ntnu.krisefikser.article.dto.ArticleRequest;
 import stud.ntnu.krisefikser.article.dto.ArticleResponse;
+import stud.ntnu.krisefikser.article.dto.ArticleSummaryResponse;
 import stud.ntnu.krisefikser.article.entity.Article;
 import stud.ntnu.krisefikser.article.exception.ArticleNotFoundException;
 import stud.ntnu.krisefikser.article.repository.ArticleRepository;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
+import stud.ntnu.krisefikser.search.service.SearchService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
 
 /**
  * Service class for managing articles. This class provides methods to create, read, update, and
  * delete articles.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class ArticleService {
 
   private final ArticleRepository articleRepository;
+  private final VersionedResponseCache responseCache;
+  private final SearchService searchService;
+  private final ContentSnapshotService contentSnapshotService;
 
-  public List<ArticleResponse> getAllArticles() {
-    return articleRepository.findAll().stream()
-        .map(this::convertToDto)
-        .toList();
+  /**
+   * Retrieves all articles without their text.
+   *
+   * @return the article summaries
+   */
+  public List<ArticleSummaryResponse> getAllArticles() {
+    return articleRepository.findAllSummaries();
   }
 
-  private ArticleResponse convertToDto(Article article) {
-    return ArticleResponse.builder()
-        .id(article.getId())
-        .title(article.getTitle())
-        .text(article.getText())
-        .createdAt(article.getCreatedAt())
-        .imageUrl(article.getImageUrl())
-        .build();
+  /**
+   * Returns all articles from the response cache, with their ETag.
+   *
+   * @return the cached article summaries
+   */
+  public CachedResponse<List<ArticleSummaryResponse>> getAllArticlesCached() {
+    return responseCache.get(Collection.ARTICLES, this::getAllArticles);
+  }
+
+  /**
+   * Computes the excerpt and word count of articles stored before articles had them.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void backfillDerivedText() {
+    List<Article> articles = articleRepository.findByWordCountIsNull();
+    if (articles.isEmpty()) {
+      return;
+    }
+    articles.forEach(Article::processText);
+    articleRepository.saveAll(articles);
+    responseCache.invalidate(Collection.ARTICLES);
+    log.info("Computed excerpts and word counts for {} articles", articles.size());
   }
 
   /**
@@ -46,7 +78,7 @@ public class ArticleService {
   public ArticleResponse getArticleById(Long id) {
     Article article = articleRepository.findById(id)
         .orElseThrow(() -> new ArticleNotFoundException("Article not found with id: " + id));
-    return convertToDto(article);
+    return article.toResponse();
   }
 
   /**
@@ -64,7 +96,10 @@ public class ArticleService {
         .build();
 
     Article savedArticle = articleRepository.save(article);
-    return convertToDto(savedArticle);
+    responseCache.invalidate(Collection.ARTICLES);
+    searchService.indexArticle(savedArticle);
+    contentSnapshotService.requestRebuild();
+    return savedArticle.toResponse();
   }
 
   /**
@@ -84,7 +119,10 @@ public class ArticleService {
     existingArticle.setImageUrl(articleRequest.getImageUrl());
 
     Article updatedArticle = articleRepository.save(existingArticle);
-    return convertToDto(updatedArticle);
+    responseCache.invalidate(Collection.ARTICLES);
+    searchService.indexArticle(updatedArticle);
+    contentSnapshotService.requestRebuild();
+    return updatedArticle.toResponse();
   }
 
   /**
@@ -98,5 +136,8 @@ public class ArticleService {
       throw new ArticleNotFoundException("Article not found with id: " + id);
     }
     articleRepository.deleteById(id);
+    responseCache.invalidate(Collection.ARTICLES);
+    searchService.removeArticle(id);
+    contentSnapshotService.requestRebuild();
   }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package stud.ntnu.krisefikser.auth.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,13 +21,19 @@ import stud.ntnu.krisefikser.auth.service.TokenService;
 /**
  * Filter for JWT authentication. This filter checks the presence of a JWT token in the request
  * header, validates it, and sets the authentication in the security context if valid.
+ *
+ * <p>The time spent validating a token and loading its user is recorded in the
+ * {@value #AUTHENTICATION_TIMER} timer, tagged with the outcome.</p>
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+  static final String AUTHENTICATION_TIMER = "auth.jwt.authentication";
+
   private final TokenService tokenService;
   private final CustomUserDetailsService userDetailsService;
+  private final MeterRegistry meterRegistry;
 
   @Override
   protected void doFilterInternal(
@@ -47,19 +55,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       return;
     }
 
-    String email = tokenService.extractEmail(jwtToken);
-    if (email != null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
-      if (tokenService.isAccessToken(jwtToken) && tokenService.isValid(jwtToken, userDetails)) {
-        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-            userDetails,
-            null,
-            userDetails.getAuthorities());
-        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(authToken);
-      }
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String outcome = "error";
+    try {
+      outcome = authenticate(jwtToken, request) ? "authenticated" : "rejected";
+    } finally {
+      sample.stop(meterRegistry.timer(AUTHENTICATION_TIMER, "outcome", outcome));
     }
 
     filterChain.doFilter(request, response);
   }
+
+  private boolean authenticate(String jwtToken, HttpServletRequest request) {
+    String email = tokenService.extractEmail(jwtToken);
+    if (email == null) {
+      return false;
+    }
+    UserDetails userDetails = this.userDetailsService.loadUserByUsername(email);
+    if (!tokenService.isAccessToken(jwtToken) || !tokenService.isValid(jwtToken, userDetails)) {
+      return false;
+    }
+    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+        userDetails,
+        null,
+        userDetails.getAuthorities());
+    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+    SecurityContextHolder.getContext().setAuthentication(authToken);
+    return true;
+  }
 }
@@ -62,6 +62,9 @@ public class SecurityConfiguration {
             .requestMatchers(HttpMethod.GET, "/api/map-point-types", "/api/map-point-types/**")
             .permitAll()
             .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/**").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/media/**").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/search").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/content-snapshot/**").permitAll()
             .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/refresh",
                 "/api/auth/request-password-reset", "/api/auth/complete-password-reset")
             .permitAll()
@@ -75,6 +78,10 @@ public class SecurityConfiguration {
             .requestMatchers(HttpMethod.POST, "/api/auth/register/admin",
                 "/api/auth/admin/reset-password-link").permitAll()
             .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+            // Scraped without a token; production serves these on the internal management port
+            .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**",
+                "/actuator/prometheus").permitAll()
+            .requestMatchers("/actuator/**").hasRole("ADMIN")
             .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/reflections/public", "/api/reflections/event/**")
             .permitAll()
@@ -1,8 +1,9 @@
 package stud.ntnu.krisefikser.auth.config;
 
-import lombok.AllArgsConstructor;
-import lombok.Getter;
+import java.time.Duration;
+import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import stud.ntnu.krisefikser.auth.service.TurnstileService;
 
 /**
  * Configuration properties for Turnstile settings.
@@ -10,10 +11,66 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * <p>This class is used to bind the turnstile properties defined in the application configuration
  * file</p>
  */
+@Data
 @ConfigurationProperties(prefix = "turnstile")
-@Getter
-@AllArgsConstructor
 public class TurnstileProperties {
 
-  private final String secret;
+  private String secret;
+
+  /**
+   * Siteverify endpoint. Only overridden to point at a stub server.
+   */
+  private String verifyUrl = TurnstileService.VERIFY_URL;
+
+  /**
+   * Outcome of a verification when Cloudflare cannot be reached or the circuit breaker is open.
+   */
+  private FailurePolicy failurePolicy = FailurePolicy.FAIL_CLOSED;
+
+  /**
+   * How long a verified token is remembered to reject replays. Cloudflare tokens are valid for
+   * five minutes.
+   */
+  private Duration replayCacheTtl = Duration.ofMinutes(5);
+
+  /**
+   * Maximum number of remembered tokens. The oldest are forgotten first.
+   */
+  private int replayCacheMaxSize = 10_000;
+
+  /**
+   * Circuit breaker around the siteverify call.
+   */
+  private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+  /**
+   * What to do when verification is not possible.
+   */
+  public enum FailurePolicy {
+    /**
+     * Reject the registration.
+     */
+    FAIL_CLOSED,
+    /**
+     * Accept the registration without verification.
+     */
+    FAIL_OPEN
+  }
+
+  /**
+   * Circuit breaker settings.
+   */
+  @Data
+  public static class CircuitBreaker {
+
+    /**
+     * Consecutive failed calls that open the breaker.
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * How long the breaker stays open before a probe call is let through.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+  }
 }
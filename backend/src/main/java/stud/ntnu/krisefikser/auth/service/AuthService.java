@@ -98,8 +98,8 @@ public class AuthService {
         List.of(RoleType.USER)
     ));
 
-    // Send verification email, should throw if error occurs, which will be caught by the
-    // transaction
+    // The verification email is queued in this transaction and only sent if the registration
+    // commits
     VerificationToken token = emailVerificationService.createVerificationToken(user);
     emailVerificationService.sendVerificationEmail(user, token);
 
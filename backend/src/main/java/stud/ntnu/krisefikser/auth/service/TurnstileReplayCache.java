@@ -0,0 +1,86 @@
+package stud.ntnu.krisefikser.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers recently accepted Turnstile tokens so a replayed token is rejected without asking
+ * Cloudflare.
+ *
+ * <p>Only SHA-256 hashes of the tokens are kept. Since every entry lives for the same time,
+ * insertion order is expiry order, and expired entries are dropped from the head of the map.</p>
+ */
+final class TurnstileReplayCache {
+
+  private final long ttlNanos;
+  private final int maxSize;
+  private final LongSupplier nanoClock;
+  private final LinkedHashMap<String, Long> expiries = new LinkedHashMap<>();
+
+  TurnstileReplayCache(Duration ttl, int maxSize, LongSupplier nanoClock) {
+    this.ttlNanos = ttl.toNanos();
+    this.maxSize = maxSize;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Checks whether the token was accepted recently.
+   *
+   * @param token the token
+   * @return true if the token is remembered
+   */
+  synchronized boolean contains(String token) {
+    purgeExpired();
+    return expiries.containsKey(hash(token));
+  }
+
+  /**
+   * Remembers an accepted token.
+   *
+   * @param token the token
+   * @return false if the token was already remembered
+   */
+  synchronized boolean add(String token) {
+    purgeExpired();
+    String key = hash(token);
+    if (expiries.containsKey(key)) {
+      return false;
+    }
+    expiries.put(key, nanoClock.getAsLong() + ttlNanos);
+    if (expiries.size() > maxSize) {
+      Iterator<String> oldest = expiries.keySet().iterator();
+      oldest.next();
+      oldest.remove();
+    }
+    return true;
+  }
+
+  synchronized int size() {
+    purgeExpired();
+    return expiries.size();
+  }
+
+  private void purgeExpired() {
+    long now = nanoClock.getAsLong();
+    Iterator<Map.Entry<String, Long>> entries = expiries.entrySet().iterator();
+    while (entries.hasNext() && entries.next().getValue() - now <= 0) {
+      entries.remove();
+    }
+  }
+
+  private static String hash(String token) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+          .digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
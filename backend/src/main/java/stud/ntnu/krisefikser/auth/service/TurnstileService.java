@@ -1,6 +1,13 @@
 package stud.ntnu.krisefikser.auth.service;
 
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -8,9 +15,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import stud.ntnu.krisefikser.auth.config.TurnstileProperties;
+import stud.ntnu.krisefikser.auth.config.TurnstileProperties.FailurePolicy;
 import stud.ntnu.krisefikser.auth.dto.TurnstileResponse;
+import stud.ntnu.krisefikser.common.CircuitBreaker;
 
 /**
  * Service class for handling Cloudflare Turnstile verification. This service is responsible for
@@ -21,10 +31,17 @@ import stud.ntnu.krisefikser.auth.dto.TurnstileResponse;
  * legitimate and not automated. It requires a secret key for authentication with the API.
  * </p>
  *
+ * <p>The siteverify call is guarded by a {@link CircuitBreaker}: after repeated network errors or
+ * server errors, calls are short-circuited for a while instead of blocking request threads on a
+ * slow Cloudflare. Whether an unverifiable token is accepted or rejected is decided by
+ * {@link TurnstileProperties#getFailurePolicy()}. Accepted tokens are remembered for
+ * {@link TurnstileProperties#getReplayCacheTtl()}, so a replayed token is rejected without a
+ * network call, also while verification is failing open.</p>
+ *
  * @see <a href="https://developers.cloudflare.com/turnstile/">Turnstile Documentation</a>
  */
 @Service
-@AllArgsConstructor
+@Slf4j
 public class TurnstileService {
 
   /**
@@ -45,25 +62,73 @@ public class TurnstileService {
    */
   private final TurnstileProperties turnstileProperties;
 
+  private final CircuitBreaker circuitBreaker;
+  private final TurnstileReplayCache replayCache;
+  private final Timer siteverifyTimer;
+  private final AtomicLong verified = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong replaysRejected = new AtomicLong();
+  private final AtomicLong unavailable = new AtomicLong();
+  private final AtomicLong shortCircuited = new AtomicLong();
+
+  /**
+   * Creates the service.
+   *
+   * @param restTemplate        the RestTemplate for the siteverify call
+   * @param turnstileProperties the Turnstile configuration
+   * @param meterRegistry       the registry the siteverify latency is recorded in
+   */
+  @Autowired
+  public TurnstileService(RestTemplate restTemplate, TurnstileProperties turnstileProperties,
+      MeterRegistry meterRegistry) {
+    this(restTemplate, turnstileProperties, meterRegistry, System::nanoTime);
+  }
+
+  TurnstileService(RestTemplate restTemplate, TurnstileProperties turnstileProperties,
+      MeterRegistry meterRegistry, LongSupplier nanoClock) {
+    this.restTemplate = restTemplate;
+    this.turnstileProperties = turnstileProperties;
+    this.siteverifyTimer = Timer.builder("turnstile.siteverify")
+        .description("Calls to the Turnstile siteverify endpoint")
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2_500))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(meterRegistry);
+    this.circuitBreaker = new CircuitBreaker("turnstile",
+        turnstileProperties.getCircuitBreaker().getFailureThreshold(),
+        turnstileProperties.getCircuitBreaker().getOpenDuration(), nanoClock);
+    this.replayCache = new TurnstileReplayCache(turnstileProperties.getReplayCacheTtl(),
+        turnstileProperties.getReplayCacheMaxSize(), nanoClock);
+  }
+
   /**
    * Verifies a Turnstile token with Cloudflare's verification service.
    *
    * <p>This method sends a verification request to Cloudflare's Turnstile API with the provided
-   * token and the configured secret key. It handles various error cases and returns false if
-   * verification fails for any reason. It returns true if the token is valid and verification is
-   * successful, false if the token is invalid, empty, or if verification fails for any other reason
-   * (e.g., network error, API error)
+   * token and the configured secret key. It returns true if the token is valid and verification is
+   * successful, and false if the token is invalid, empty or was already accepted recently. If
+   * Cloudflare cannot be reached, returns an error, or the circuit breaker is open, the configured
+   * failure policy decides the result.
    * </p>
    *
    * @param token The Turnstile token to verify, obtained from the client-side Turnstile widget.
    *              Must not be null or empty.
    * @return true if the token is valid and verification is successful, false otherwise.
-   * @throws IllegalArgumentException if the token is null
    */
   public boolean verify(String token) {
     if (token == null || token.isEmpty()) {
       return false;
     }
+    if (replayCache.contains(token)) {
+      replaysRejected.incrementAndGet();
+      log.warn("Rejected a replayed Turnstile token");
+      return false;
+    }
+    if (!circuitBreaker.tryAcquire()) {
+      shortCircuited.incrementAndGet();
+      return whenUnavailable(token);
+    }
 
     MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
     form.add("secret", turnstileProperties.getSecret());
@@ -73,16 +138,70 @@ public class TurnstileService {
     headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
     HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(form, headers);
 
+    long start = System.nanoTime();
+    boolean success;
     try {
       ResponseEntity<TurnstileResponse> response = restTemplate.postForEntity(
-          VERIFY_URL,
+          turnstileProperties.getVerifyUrl(),
           request,
           TurnstileResponse.class
       );
+      circuitBreaker.recordSuccess();
+      success = response.getBody() != null && response.getBody().isSuccess();
+    } catch (HttpClientErrorException e) {
+      // Cloudflare answered, it just did not accept the request
+      circuitBreaker.recordSuccess();
+      success = false;
+    } catch (RuntimeException e) {
+      circuitBreaker.recordFailure();
+      unavailable.incrementAndGet();
+      log.warn("Turnstile verification failed: {}", e.getMessage());
+      return whenUnavailable(token);
+    } finally {
+      siteverifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 
-      return response.getBody() != null && response.getBody().isSuccess();
-    } catch (Exception e) {
+    if (!success) {
+      rejected.incrementAndGet();
       return false;
     }
+    verified.incrementAndGet();
+    // A concurrent request may have accepted the same token in the meantime
+    return replayCache.add(token);
+  }
+
+  /**
+   * Returns verification counters and the circuit breaker state. The siteverify latency is
+   * recorded as the {@code turnstile.siteverify} timer.
+   *
+   * @return the verification statistics
+   */
+  public VerificationStats getStats() {
+    return new VerificationStats(verified.get(), rejected.get(), replaysRejected.get(),
+        unavailable.get(), shortCircuited.get(), circuitBreaker.getState());
+  }
+
+  private boolean whenUnavailable(String token) {
+    if (turnstileProperties.getFailurePolicy() == FailurePolicy.FAIL_OPEN) {
+      log.warn("Turnstile is unavailable, accepting token without verification");
+      return replayCache.add(token);
+    }
+    return false;
+  }
+
+  /**
+   * Turnstile verification statistics.
+   *
+   * @param verified        tokens Cloudflare accepted
+   * @param rejected        tokens Cloudflare rejected
+   * @param replaysRejected tokens rejected as replays without a call
+   * @param unavailable     calls that failed with a network or server error
+   * @param shortCircuited  verifications skipped because the circuit breaker was open
+   * @param circuitState    current circuit breaker state
+   */
+  public record VerificationStats(long verified, long rejected, long replaysRejected,
+                                  long unavailable, long shortCircuited,
+                                  CircuitBreaker.State circuitState) {
+
   }
 }
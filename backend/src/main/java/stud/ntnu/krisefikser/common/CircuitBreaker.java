@@ -0,0 +1,123 @@
+package stud.ntnu.krisefikser.common;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Minimal circuit breaker for calls to an external service.
+ *
+ * <p>The breaker starts {@link State#CLOSED} and lets all calls through. After
+ * {@code failureThreshold} consecutive failures it opens and rejects calls for
+ * {@code openDuration}. It then lets a single probe call through ({@link State#HALF_OPEN}): a
+ * successful probe closes the breaker again, a failed probe opens it for another
+ * {@code openDuration}.</p>
+ *
+ * <p>Every call that {@link #tryAcquire()} lets through must be followed by either
+ * {@link #recordSuccess()} or {@link #recordFailure()}.</p>
+ */
+@Slf4j
+public class CircuitBreaker {
+
+  /**
+   * State of the breaker.
+   */
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long openNanos;
+  private final LongSupplier nanoClock;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAt;
+
+  /**
+   * Creates a closed breaker.
+   *
+   * @param name             name used in log messages
+   * @param failureThreshold consecutive failures that open the breaker
+   * @param openDuration     how long the breaker stays open before a probe call
+   */
+  public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+    this(name, failureThreshold, openDuration, System::nanoTime);
+  }
+
+  /**
+   * Creates a closed breaker with the given clock.
+   *
+   * @param name             name used in log messages
+   * @param failureThreshold consecutive failures that open the breaker
+   * @param openDuration     how long the breaker stays open before a probe call
+   * @param nanoClock        monotonic clock in nanoseconds
+   */
+  public CircuitBreaker(String name, int failureThreshold, Duration openDuration,
+      LongSupplier nanoClock) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold must be at least 1");
+    }
+    this.name = name;
+    this.failureThreshold = failureThreshold;
+    this.openNanos = openDuration.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Decides whether a call may be made now.
+   *
+   * @return true if the call may be made, false if it should be short-circuited
+   */
+  public synchronized boolean tryAcquire() {
+    switch (state) {
+      case CLOSED:
+        return true;
+      case OPEN:
+        if (nanoClock.getAsLong() - openedAt < openNanos) {
+          return false;
+        }
+        state = State.HALF_OPEN;
+        log.info("Circuit breaker '{}' is half-open, letting a probe call through", name);
+        return true;
+      default:
+        // A probe call is already in flight
+        return false;
+    }
+  }
+
+  /**
+   * Records a successful call, which closes the breaker.
+   */
+  public synchronized void recordSuccess() {
+    consecutiveFailures = 0;
+    if (state != State.CLOSED) {
+      log.info("Circuit breaker '{}' closed", name);
+      state = State.CLOSED;
+    }
+  }
+
+  /**
+   * Records a failed call, which may open the breaker.
+   */
+  public synchronized void recordFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN
+        || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+      state = State.OPEN;
+      openedAt = nanoClock.getAsLong();
+      log.warn("Circuit breaker '{}' opened after {} consecutive failures", name,
+          consecutiveFailures);
+    }
+  }
+
+  /**
+   * Returns the current state.
+   *
+   * @return the state
+   */
+  public synchronized State getState() {
+    return state;
+  }
+}
@@ -0,0 +1,73 @@
+package stud.ntnu.krisefikser.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal helpers for reading and writing comma-separated values.
+ *
+ * <p>Fields may be quoted with double quotes, and a double quote inside a quoted field is escaped
+ * by doubling it, as described in RFC 4180. Quoted fields spanning several lines are not
+ * supported, since every record is read as a single line.</p>
+ */
+public final class CsvUtils {
+
+  private CsvUtils() {
+  }
+
+  /**
+   * Splits one CSV record into its fields.
+   *
+   * @param line the record, without line terminator
+   * @return the unquoted field values
+   * @throws IllegalArgumentException if a quoted field is not closed
+   */
+  public static List<String> parseLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Formats a value as a CSV field, quoting it if it contains a separator, quote or line break.
+   *
+   * @param value the value, or null for an empty field
+   * @return the escaped field
+   */
+  public static String escape(Object value) {
+    if (value == null) {
+      return "";
+    }
+    String text = value.toString();
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
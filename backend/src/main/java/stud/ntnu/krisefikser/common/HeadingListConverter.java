@@ -0,0 +1,45 @@
+package stud.ntnu.krisefikser.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.util.List;
+import stud.ntnu.krisefikser.common.RichTextPipeline.Heading;
+
+/**
+ * Stores a table of contents as a JSON array in one column, so reading it is a plain column
+ * fetch instead of a join.
+ */
+@Converter
+public class HeadingListConverter implements AttributeConverter<List<Heading>, String> {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final TypeReference<List<Heading>> TYPE = new TypeReference<>() {
+  };
+
+  @Override
+  public String convertToDatabaseColumn(List<Heading> headings) {
+    if (headings == null) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.writeValueAsString(headings);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize table of contents", e);
+    }
+  }
+
+  @Override
+  public List<Heading> convertToEntityAttribute(String json) {
+    if (json == null || json.isEmpty()) {
+      return null;
+    }
+    try {
+      return OBJECT_MAPPER.readValue(json, TYPE);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not read table of contents", e);
+    }
+  }
+}
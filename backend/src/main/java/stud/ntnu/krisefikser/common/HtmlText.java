@@ -0,0 +1,220 @@
+package stud.ntnu.krisefikser.common;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Converts the HTML stored in scenarios and articles to plain text.
+ *
+ * <p>Tags are dropped, the content of {@code script} and {@code style} elements is skipped, block
+ * elements become whitespace and character references are decoded. Runs of whitespace are
+ * collapsed to a single space. The result is meant for indexing and excerpts, not for display as
+ * HTML.</p>
+ */
+public final class HtmlText {
+
+  private static final Map<String, String> NAMED_REFERENCES = Map.ofEntries(
+      Map.entry("amp", "&"),
+      Map.entry("lt", "<"),
+      Map.entry("gt", ">"),
+      Map.entry("quot", "\""),
+      Map.entry("apos", "'"),
+      Map.entry("nbsp", " "),
+      Map.entry("shy", ""),
+      Map.entry("ndash", "–"),
+      Map.entry("mdash", "—"),
+      Map.entry("hellip", "…"),
+      Map.entry("laquo", "«"),
+      Map.entry("raquo", "»"),
+      Map.entry("aelig", "æ"),
+      Map.entry("AElig", "Æ"),
+      Map.entry("oslash", "ø"),
+      Map.entry("Oslash", "Ø"),
+      Map.entry("aring", "å"),
+      Map.entry("Aring", "Å"),
+      Map.entry("eacute", "é"),
+      Map.entry("auml", "ä"),
+      Map.entry("ouml", "ö"),
+      Map.entry("uuml", "ü"));
+
+  private HtmlText() {
+  }
+
+  /**
+   * Returns the text content of an HTML fragment.
+   *
+   * @param html the HTML, may be {@code null}
+   * @return the text with collapsed whitespace, empty if {@code html} is {@code null}
+   */
+  public static String toPlainText(String html) {
+    if (html == null || html.isEmpty()) {
+      return "";
+    }
+    StringBuilder text = new StringBuilder(html.length());
+    int length = html.length();
+    int i = 0;
+    while (i < length) {
+      char c = html.charAt(i);
+      if (c == '<') {
+        i = skipTag(html, i, text);
+      } else if (c == '&') {
+        i = appendReference(html, i, text);
+      } else {
+        appendChar(text, Character.isWhitespace(c) ? ' ' : c);
+        i++;
+      }
+    }
+    int end = text.length();
+    if (end > 0 && text.charAt(end - 1) == ' ') {
+      text.setLength(end - 1);
+    }
+    return text.toString();
+  }
+
+  /**
+   * Returns the beginning of the text content of an HTML fragment, cut at a word boundary.
+   *
+   * @param html      the HTML, may be {@code null}
+   * @param maxLength the maximum length of the excerpt, including the trailing ellipsis
+   * @return the excerpt, ending in "…" if the text was cut
+   */
+  public static String excerpt(String html, int maxLength) {
+    String text = toPlainText(html);
+    if (text.length() <= maxLength) {
+      return text;
+    }
+    int end = text.lastIndexOf(' ', maxLength - 1);
+    if (end < maxLength / 2) {
+      // One very long word; cut inside it rather than return almost nothing
+      end = maxLength - 1;
+    }
+    return text.substring(0, end).stripTrailing() + "…";
+  }
+
+  /**
+   * Counts the words in a plain text. A word is a run of non-whitespace containing at least one
+   * letter or digit, so dashes and bullets between spaces are not counted.
+   *
+   * @param text the plain text, may be {@code null}
+   * @return the number of words
+   */
+  public static int countWords(String text) {
+    if (text == null) {
+      return 0;
+    }
+    int words = 0;
+    boolean inWord = false;
+    boolean wordHasLetter = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isWhitespace(c)) {
+        if (inWord && wordHasLetter) {
+          words++;
+        }
+        inWord = false;
+        wordHasLetter = false;
+      } else {
+        inWord = true;
+        wordHasLetter |= Character.isLetterOrDigit(c);
+      }
+    }
+    return inWord && wordHasLetter ? words + 1 : words;
+  }
+
+  private static int skipTag(String html, int start, StringBuilder text) {
+    if (html.startsWith("<!--", start)) {
+      int end = html.indexOf("-->", start + 4);
+      return end < 0 ? html.length() : end + 3;
+    }
+    int end = html.indexOf('>', start);
+    char next = start + 1 < html.length() ? html.charAt(start + 1) : ' ';
+    if (end < 0 || !(Character.isLetter(next) || next == '/' || next == '!')) {
+      // A lone '<' is text, not a tag
+      appendChar(text, '<');
+      return start + 1;
+    }
+    String name = tagName(html, start + 1, end);
+    if (name.equals("script") || name.equals("style")) {
+      int close = indexOfIgnoreCase(html, "</" + name, end + 1);
+      if (close < 0) {
+        return html.length();
+      }
+      int closeEnd = html.indexOf('>', close);
+      end = closeEnd < 0 ? html.length() - 1 : closeEnd;
+    }
+    // Tags separate words: "<p>a</p><p>b</p>" is "a b", not "ab"
+    if (!isInline(name)) {
+      appendChar(text, ' ');
+    }
+    return end + 1;
+  }
+
+  private static String tagName(String html, int from, int to) {
+    int i = from;
+    if (i < to && html.charAt(i) == '/') {
+      i++;
+    }
+    int nameStart = i;
+    while (i < to && Character.isLetterOrDigit(html.charAt(i))) {
+      i++;
+    }
+    return html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+  }
+
+  private static boolean isInline(String name) {
+    return switch (name) {
+      case "a", "b", "strong", "i", "em", "u", "s", "span", "small", "sub", "sup", "mark",
+           "code", "abbr" -> true;
+      default -> false;
+    };
+  }
+
+  private static int appendReference(String html, int start, StringBuilder text) {
+    int end = html.indexOf(';', start);
+    if (end < 0 || end - start > 10) {
+      appendChar(text, '&');
+      return start + 1;
+    }
+    String reference = html.substring(start + 1, end);
+    String decoded = null;
+    if (reference.startsWith("#")) {
+      try {
+        int codePoint = reference.startsWith("#x") || reference.startsWith("#X")
+            ? Integer.parseInt(reference.substring(2), 16)
+            : Integer.parseInt(reference.substring(1));
+        if (Character.isValidCodePoint(codePoint)) {
+          decoded = new String(Character.toChars(codePoint));
+        }
+      } catch (NumberFormatException e) {
+        // Not a reference; kept as text below
+      }
+    } else {
+      decoded = NAMED_REFERENCES.get(reference);
+    }
+    if (decoded == null) {
+      appendChar(text, '&');
+      return start + 1;
+    }
+    for (int i = 0; i < decoded.length(); i++) {
+      char c = decoded.charAt(i);
+      appendChar(text, Character.isWhitespace(c) ? ' ' : c);
+    }
+    return end + 1;
+  }
+
+  private static void appendChar(StringBuilder text, char c) {
+    if (c == ' ' && (text.isEmpty() || text.charAt(text.length() - 1) == ' ')) {
+      return;
+    }
+    text.append(c);
+  }
+
+  private static int indexOfIgnoreCase(String text, String needle, int from) {
+    for (int i = from; i <= text.length() - needle.length(); i++) {
+      if (text.regionMatches(true, i, needle, 0, needle.length())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
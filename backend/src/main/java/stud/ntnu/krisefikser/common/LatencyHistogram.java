@@ -0,0 +1,84 @@
+package stud.ntnu.krisefikser.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram with fixed bucket bounds.
+ *
+ * <p>Each recorded duration is counted in the first bucket whose upper bound it does not exceed,
+ * or in the overflow bucket. Total and maximum are tracked alongside, so the mean can be derived
+ * from a {@link Snapshot}.</p>
+ */
+public class LatencyHistogram {
+
+  private final long[] boundsMillis;
+  private final AtomicLongArray counts;
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * Creates a histogram.
+   *
+   * @param boundsMillis upper bucket bounds in milliseconds, in ascending order
+   */
+  public LatencyHistogram(long... boundsMillis) {
+    if (boundsMillis.length == 0) {
+      throw new IllegalArgumentException("At least one bucket bound is required");
+    }
+    for (int i = 1; i < boundsMillis.length; i++) {
+      if (boundsMillis[i] <= boundsMillis[i - 1]) {
+        throw new IllegalArgumentException("Bucket bounds must be ascending");
+      }
+    }
+    this.boundsMillis = boundsMillis.clone();
+    this.counts = new AtomicLongArray(boundsMillis.length + 1);
+  }
+
+  /**
+   * Records one duration.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  public void record(long nanos) {
+    int bucket = 0;
+    while (bucket < boundsMillis.length && nanos > boundsMillis[bucket] * 1_000_000) {
+      bucket++;
+    }
+    counts.incrementAndGet(bucket);
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /**
+   * Returns the current counts.
+   *
+   * @return a snapshot of the histogram
+   */
+  public Snapshot snapshot() {
+    Map<String, Long> buckets = new LinkedHashMap<>();
+    for (int i = 0; i < boundsMillis.length; i++) {
+      buckets.put("<=" + boundsMillis[i] + "ms", counts.get(i));
+    }
+    buckets.put(">" + boundsMillis[boundsMillis.length - 1] + "ms",
+        counts.get(boundsMillis.length));
+    return new Snapshot(count.get(), totalNanos.get() / 1_000_000, maxNanos.get() / 1_000_000,
+        buckets);
+  }
+
+  /**
+   * Histogram counts at one point in time.
+   *
+   * @param count       number of recorded durations
+   * @param totalMillis sum of all durations
+   * @param maxMillis   longest duration
+   * @param buckets     count per bucket, keyed by bucket label, in ascending order
+   */
+  public record Snapshot(long count, long totalMillis, long maxMillis, Map<String, Long> buckets) {
+
+  }
+}
@@ -0,0 +1,191 @@
+package stud.ntnu.krisefikser.common;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+
+/**
+ * Processes the HTML written in the rich text editor once, when it is saved.
+ *
+ * <p>The HTML is cleaned against an allowlist of the tags the editor (Quill 2) produces. Of the
+ * {@code class} and {@code style} attributes, only the editor's {@code ql-} classes and plain
+ * colors and alignment are kept; links keep http, https, mailto and tel targets only. Quill 2
+ * writes every list as {@code <ol>} and tells bullet, numbered and checklist items apart by their
+ * {@code data-list} attribute, and wraps code blocks in {@code <div>}s with {@code ql-code-block}
+ * classes; both are kept, and any other {@code <div>} is replaced by its content. Every
+ * {@code <h2>} gets an id, and the headings form the table of contents. The excerpt and word count
+ * are computed from the cleaned HTML.</p>
+ */
+public final class RichTextPipeline {
+
+  private static final Safelist SAFELIST = new Safelist()
+      .addTags("p", "br", "h1", "h2", "h3", "h4", "strong", "b", "em", "i", "u", "s", "sub",
+          "sup", "blockquote", "pre", "code", "ol", "ul", "li", "a", "span", "div")
+      .addAttributes(":all", "class")
+      .addAttributes("p", "style")
+      .addAttributes("span", "style")
+      .addAttributes("li", "style", "data-list")
+      .addAttributes("div", "data-language")
+      .addAttributes("a", "href", "target")
+      .addProtocols("a", "href", "http", "https", "mailto", "tel")
+      .addEnforcedAttribute("a", "rel", "noopener noreferrer");
+  private static final Pattern EDITOR_CLASS = Pattern.compile("ql-[a-z0-9-]+");
+  private static final Set<String> STYLE_PROPERTIES =
+      Set.of("color", "background-color", "text-align");
+  private static final Pattern STYLE_VALUE =
+      Pattern.compile("#[0-9a-fA-F]{3,8}|rgba?\\(\\s*[0-9.,%\\s]+\\)|[a-zA-Z]+");
+  private static final Set<String> LIST_TYPES =
+      Set.of("bullet", "ordered", "checked", "unchecked");
+  private static final Set<String> CODE_BLOCK_CLASSES =
+      Set.of("ql-code-block-container", "ql-code-block");
+  private static final Pattern CODE_LANGUAGE = Pattern.compile("[a-z0-9+#-]{1,20}");
+  private static final String HEADING_ID_PREFIX = "section-";
+
+  private RichTextPipeline() {
+  }
+
+  /**
+   * Cleans an HTML fragment and derives its table of contents, excerpt and word count.
+   *
+   * @param html          the HTML from the editor, may be {@code null}
+   * @param excerptLength the maximum length of the excerpt
+   * @return the cleaned HTML and what was derived from it
+   */
+  public static Result process(String html, int excerptLength) {
+    if (html == null || html.isBlank()) {
+      return new Result(html == null ? "" : html, List.of(), "", 0);
+    }
+    Document clean = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(html));
+    for (Element element : clean.body().getAllElements()) {
+      filterClasses(element);
+      filterStyle(element);
+      filterAttribute(element, "data-list", LIST_TYPES::contains);
+      filterAttribute(element, "data-language", CODE_LANGUAGE.asMatchPredicate());
+      if (element.hasAttr("target") && !element.attr("target").equals("_blank")) {
+        element.removeAttr("target");
+      }
+    }
+    for (Element div : clean.body().select("div")) {
+      if (div.classNames().stream().noneMatch(CODE_BLOCK_CLASSES::contains)) {
+        div.unwrap();
+      }
+    }
+    List<Heading> headings = assignHeadingIds(clean);
+    clean.outputSettings().prettyPrint(false);
+    String cleanHtml = clean.body().html();
+    return new Result(cleanHtml, headings, HtmlText.excerpt(cleanHtml, excerptLength),
+        HtmlText.countWords(HtmlText.toPlainText(cleanHtml)));
+  }
+
+  private static void filterClasses(Element element) {
+    if (!element.hasAttr("class")) {
+      return;
+    }
+    Set<String> kept = new LinkedHashSet<>();
+    for (String name : element.classNames()) {
+      if (EDITOR_CLASS.matcher(name).matches()) {
+        kept.add(name);
+      }
+    }
+    if (kept.isEmpty()) {
+      element.removeAttr("class");
+    } else {
+      element.classNames(kept);
+    }
+  }
+
+  private static void filterAttribute(Element element, String attribute,
+      Predicate<String> allowed) {
+    if (element.hasAttr(attribute) && !allowed.test(element.attr(attribute))) {
+      element.removeAttr(attribute);
+    }
+  }
+
+  private static void filterStyle(Element element) {
+    if (!element.hasAttr("style")) {
+      return;
+    }
+    StringJoiner kept = new StringJoiner("; ");
+    for (String declaration : element.attr("style").split(";")) {
+      int colon = declaration.indexOf(':');
+      if (colon < 0) {
+        continue;
+      }
+      String property = declaration.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+      String value = declaration.substring(colon + 1).trim();
+      if (STYLE_PROPERTIES.contains(property) && STYLE_VALUE.matcher(value).matches()) {
+        kept.add(property + ": " + value);
+      }
+    }
+    if (kept.length() == 0) {
+      element.removeAttr("style");
+    } else {
+      element.attr("style", kept.toString());
+    }
+  }
+
+  private static List<Heading> assignHeadingIds(Document document) {
+    List<Heading> headings = new ArrayList<>();
+    Set<String> used = new HashSet<>();
+    for (Element heading : document.body().select("h2")) {
+      String title = heading.text().strip();
+      if (title.isEmpty()) {
+        continue;
+      }
+      String base = HEADING_ID_PREFIX + slug(title);
+      String id = base;
+      for (int i = 2; !used.add(id); i++) {
+        id = base + "-" + i;
+      }
+      heading.attr("id", id);
+      headings.add(new Heading(id, title));
+    }
+    return headings;
+  }
+
+  private static String slug(String text) {
+    String ascii = text.toLowerCase(Locale.ROOT)
+        .replace("æ", "ae")
+        .replace("ø", "o")
+        .replace("å", "a");
+    String slug = Normalizer.normalize(ascii, Normalizer.Form.NFD)
+        .replaceAll("\\p{M}", "")
+        .replaceAll("[^a-z0-9]+", "-")
+        .replaceAll("^-|-$", "");
+    return slug.isEmpty() ? "heading" : slug;
+  }
+
+  /**
+   * A heading in the table of contents.
+   *
+   * @param id    the id of the {@code <h2>} element, for links to it
+   * @param title the text of the heading
+   */
+  public record Heading(String id, String title) {
+
+  }
+
+  /**
+   * The output of the pipeline.
+   *
+   * @param html      the cleaned HTML
+   * @param headings  the {@code <h2>} headings in document order
+   * @param excerpt   the start of the text, cut at a word boundary
+   * @param wordCount the number of words in the text
+   */
+  public record Result(String html, List<Heading> headings, String excerpt, int wordCount) {
+
+  }
+}
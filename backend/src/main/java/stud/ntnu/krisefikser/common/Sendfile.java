@@ -0,0 +1,43 @@
+package stud.ntnu.krisefikser.common;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.nio.file.Path;
+
+/**
+ * Hands files to Tomcat's sendfile support, which copies them from the page cache to the socket
+ * with {@code FileChannel.transferTo} instead of through the heap.
+ *
+ * <p>The controller sets the Content-Length and returns a response without a body; Tomcat sends
+ * the file after the headers.</p>
+ */
+public final class Sendfile {
+
+  /**
+   * Set by Tomcat when the connector can send a file with {@code FileChannel.transferTo}.
+   */
+  public static final String SUPPORT = "org.apache.tomcat.sendfile.support";
+  public static final String FILENAME = "org.apache.tomcat.sendfile.filename";
+  public static final String START = "org.apache.tomcat.sendfile.start";
+  public static final String END = "org.apache.tomcat.sendfile.end";
+
+  private Sendfile() {
+  }
+
+  /**
+   * Asks Tomcat to send a whole file after the response headers, if the connector supports it.
+   *
+   * @param request the request
+   * @param file    the file to send
+   * @param size    the size of the file
+   * @return {@code true} if Tomcat will send the file, {@code false} if the caller must write it
+   */
+  public static boolean offer(HttpServletRequest request, Path file, long size) {
+    if (!Boolean.TRUE.equals(request.getAttribute(SUPPORT))) {
+      return false;
+    }
+    request.setAttribute(FILENAME, file.toString());
+    request.setAttribute(START, 0L);
+    request.setAttribute(END, size);
+    return true;
+  }
+}
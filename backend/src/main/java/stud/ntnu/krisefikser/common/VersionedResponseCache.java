@@ -0,0 +1,182 @@
+package stud.ntnu.krisefikser.common;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory cache for the public collections that are loaded on every page view.
+ *
+ * <p>Each collection has a version. Reads return the cached response while its version is
+ * current; writes bump the version through {@link #invalidate(Collection)}, once right away and
+ * once after the surrounding transaction completes, so a read that loaded the old rows while the
+ * write was in flight is never kept.</p>
+ *
+ * <p>The ETag of a response is the SHA-256 hash of its JSON, so it is the same on every instance
+ * and across restarts, and a client whose copy is current gets {@code 304 Not Modified}.</p>
+ */
+@Component
+@Slf4j
+public class VersionedResponseCache {
+
+  /**
+   * Clients may store the responses but must revalidate them on every use. Events and map points
+   * change during a crisis, and revalidation costs a 304 without a body.
+   */
+  public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+  private final ObjectMapper objectMapper;
+  private final Map<Collection, Region> regions = new EnumMap<>(Collection.class);
+
+  /**
+   * Creates the cache.
+   *
+   * @param objectMapper the mapper used to serialize responses, for their ETag
+   */
+  public VersionedResponseCache(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    for (Collection collection : Collection.values()) {
+      regions.put(collection, new Region());
+    }
+  }
+
+  /**
+   * Returns the cached response for a collection, loading it if the collection changed since it
+   * was cached. Concurrent misses load the collection once.
+   *
+   * @param collection the collection
+   * @param loader     loads the collection
+   * @param <T>        the response type
+   * @return the response and its ETag
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CachedResponse<T> get(Collection collection, Supplier<T> loader) {
+    Region region = regions.get(collection);
+    CachedResponse<?> cached = region.cached;
+    if (cached != null && cached.version() == region.version.get()) {
+      region.hits.incrementAndGet();
+      return (CachedResponse<T>) cached;
+    }
+    synchronized (region) {
+      long version = region.version.get();
+      cached = region.cached;
+      if (cached != null && cached.version() == version) {
+        region.hits.incrementAndGet();
+        return (CachedResponse<T>) cached;
+      }
+      region.misses.incrementAndGet();
+      T body = loader.get();
+      CachedResponse<T> loaded = new CachedResponse<>(body, etag(body), version);
+      // Kept even if invalidated meanwhile: the stale version makes the next read reload
+      region.cached = loaded;
+      return loaded;
+    }
+  }
+
+  /**
+   * Marks a collection as changed. Call from every method that writes to it.
+   *
+   * @param collection the changed collection
+   */
+  public void invalidate(Collection collection) {
+    Region region = regions.get(collection);
+    region.version.incrementAndGet();
+    region.invalidations.incrementAndGet();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          region.version.incrementAndGet();
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns hit, miss and invalidation counts per collection.
+   *
+   * @return the statistics by collection
+   */
+  public Map<Collection, CacheStats> getStats() {
+    Map<Collection, CacheStats> stats = new EnumMap<>(Collection.class);
+    regions.forEach((collection, region) -> stats.put(collection, new CacheStats(
+        region.hits.get(), region.misses.get(), region.invalidations.get())));
+    return stats;
+  }
+
+  private String etag(Object body) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256")
+          .digest(objectMapper.writeValueAsBytes(body));
+      return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize cached response", e);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * The cached collections.
+   */
+  public enum Collection {
+    ARTICLES,
+    SCENARIOS,
+    MAP_POINTS,
+    MAP_POINT_TYPES,
+    EVENTS
+  }
+
+  private static final class Region {
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile CachedResponse<?> cached;
+  }
+
+  /**
+   * A cached response.
+   *
+   * @param body    the response body, shared between requests and never modified
+   * @param etag    the strong ETag, quoted
+   * @param version the collection version the body was loaded at
+   * @param <T>     the response type
+   */
+  public record CachedResponse<T>(T body, String etag, long version) {
+
+    /**
+     * Builds a 200 response with the ETag and cache headers. Spring turns it into a 304 when the
+     * request's If-None-Match matches the ETag.
+     *
+     * @return the response entity
+     */
+    public ResponseEntity<T> toResponseEntity() {
+      return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(body);
+    }
+  }
+
+  /**
+   * Cache statistics of one collection.
+   *
+   * @param hits          reads answered from the cache
+   * @param misses        reads that loaded the collection
+   * @param invalidations writes to the collection
+   */
+  public record CacheStats(long hits, long misses, long invalidations) {
+
+  }
+}
@@ -0,0 +1,38 @@
+package stud.ntnu.krisefikser.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hands the Hikari pool to {@link DataSourcePoolMonitor} before it opens its first connection.
+ *
+ * <p>Pool sizes, lifetimes and the leak detection threshold are set per profile with the
+ * {@code spring.datasource.hikari.*} properties.</p>
+ */
+@Configuration
+public class DataSourcePoolConfig {
+
+  /**
+   * Creates the post-processor that instruments the pool. It is static so that it does not pull
+   * this configuration into early initialization.
+   *
+   * @param monitor the monitor, resolved when the data source is created
+   * @return the post-processor
+   */
+  @Bean
+  public static BeanPostProcessor dataSourcePoolInstrumentation(
+      ObjectProvider<DataSourcePoolMonitor> monitor) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+          monitor.getObject().instrument(dataSource);
+        }
+        return bean;
+      }
+    };
+  }
+}
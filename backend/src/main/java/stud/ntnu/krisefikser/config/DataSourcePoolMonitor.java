@@ -0,0 +1,151 @@
+package stud.ntnu.krisefikser.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import stud.ntnu.krisefikser.common.LatencyHistogram;
+
+/**
+ * Records how the JDBC connection pool is used.
+ *
+ * <p>Hikari reports every connection checkout to this tracker: how long the caller waited for a
+ * connection, how long it held it, and checkouts that gave up after
+ * {@code spring.datasource.hikari.connection-timeout}. Connections held for longer than
+ * {@code spring.datasource.hikari.leak-detection-threshold} are counted as well; Hikari logs the
+ * stack trace of where such a connection was taken. Together with the live active, idle and
+ * pending counts of the pool this shows saturation before requests start timing out. The
+ * figures are exposed through {@link #getStats()}.</p>
+ *
+ * <p>Hikari takes a single tracker factory, so when a {@link MeterRegistry} is present every
+ * event is also passed on to Hikari's own Micrometer tracker, which exports the
+ * {@code hikaricp.connections.*} meters.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataSourcePoolMonitor implements MetricsTrackerFactory {
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final LatencyHistogram acquire = new LatencyHistogram(1, 5, 10, 50, 100, 500, 1_000,
+      5_000, 30_000);
+  private final LatencyHistogram usage = new LatencyHistogram(10, 50, 100, 500, 1_000, 5_000,
+      30_000, 60_000);
+  private final AtomicLong created = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong heldPastLeakThreshold = new AtomicLong();
+  private volatile HikariDataSource dataSource;
+
+  /**
+   * Installs the tracker on a pool. Must be called before the pool hands out its first
+   * connection.
+   *
+   * @param dataSource the pool
+   */
+  public void instrument(HikariDataSource dataSource) {
+    this.dataSource = dataSource;
+    dataSource.setMetricsTrackerFactory(this);
+  }
+
+  @Override
+  public IMetricsTracker create(String poolName, PoolStats poolStats) {
+    log.info("Recording connection pool metrics for {}", poolName);
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    IMetricsTracker micrometer = registry != null
+        ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+        : new IMetricsTracker() {
+        };
+    return new IMetricsTracker() {
+      @Override
+      public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        created.incrementAndGet();
+        micrometer.recordConnectionCreatedMillis(connectionCreatedMillis);
+      }
+
+      @Override
+      public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.record(elapsedAcquiredNanos);
+        micrometer.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+      }
+
+      @Override
+      public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(elapsedBorrowedMillis * 1_000_000);
+        micrometer.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        long threshold = dataSource != null ? dataSource.getLeakDetectionThreshold() : 0;
+        if (threshold > 0 && elapsedBorrowedMillis >= threshold) {
+          heldPastLeakThreshold.incrementAndGet();
+        }
+      }
+
+      @Override
+      public void recordConnectionTimeout() {
+        timeouts.incrementAndGet();
+        micrometer.recordConnectionTimeout();
+      }
+
+      @Override
+      public void close() {
+        micrometer.close();
+      }
+    };
+  }
+
+  /**
+   * Returns the current state of the pool and the checkouts since startup.
+   *
+   * @return the pool statistics
+   */
+  public DataSourcePoolStats getStats() {
+    HikariDataSource pool = dataSource;
+    HikariPoolMXBean live = pool != null ? pool.getHikariPoolMXBean() : null;
+    return new DataSourcePoolStats(
+        pool != null ? pool.getPoolName() : null,
+        live != null ? live.getActiveConnections() : 0,
+        live != null ? live.getIdleConnections() : 0,
+        live != null ? live.getThreadsAwaitingConnection() : 0,
+        live != null ? live.getTotalConnections() : 0,
+        pool != null ? pool.getMaximumPoolSize() : 0,
+        pool != null ? pool.getMinimumIdle() : 0,
+        pool != null ? pool.getConnectionTimeout() : 0,
+        pool != null ? pool.getLeakDetectionThreshold() : 0,
+        pool != null ? pool.getMaxLifetime() : 0,
+        created.get(), timeouts.get(), heldPastLeakThreshold.get(), acquire.snapshot(),
+        usage.snapshot());
+  }
+
+  /**
+   * State of the connection pool.
+   *
+   * @param pool                         the pool name
+   * @param active                       connections currently in use
+   * @param idle                         connections ready to be handed out
+   * @param pending                      threads waiting for a connection
+   * @param total                        open connections, active and idle
+   * @param maximumPoolSize              the configured maximum number of connections
+   * @param minimumIdle                  the configured number of idle connections to keep
+   * @param connectionTimeoutMillis      how long a checkout waits before it fails
+   * @param leakDetectionThresholdMillis holds longer than this are reported, 0 if disabled
+   * @param maxLifetimeMillis            connections are replaced after this age
+   * @param connectionsCreated           physical connections opened since startup
+   * @param timeouts                     checkouts that failed after the connection timeout
+   * @param heldPastLeakThreshold        checkouts held longer than the leak threshold
+   * @param acquire                      time spent waiting for a connection
+   * @param usage                        time a connection was held
+   */
+  public record DataSourcePoolStats(String pool, int active, int idle, int pending, int total,
+      int maximumPoolSize, int minimumIdle, long connectionTimeoutMillis,
+      long leakDetectionThresholdMillis, long maxLifetimeMillis, long connectionsCreated,
+      long timeouts, long heldPastLeakThreshold, LatencyHistogram.Snapshot acquire,
+      LatencyHistogram.Snapshot usage) {
+
+  }
+}
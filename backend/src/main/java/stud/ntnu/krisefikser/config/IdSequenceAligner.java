@@ -0,0 +1,112 @@
+package stud.ntnu.krisefikser.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.lang.reflect.Field;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import stud.ntnu.krisefikser.article.entity.Article;
+import stud.ntnu.krisefikser.map.entity.Event;
+import stud.ntnu.krisefikser.map.entity.MapPoint;
+
+/**
+ * Moves the id sequences of entities that used to have auto-increment ids past the ids already in
+ * their tables. Runs once all singletons are created, before the web server accepts requests and
+ * before schedulers and the {@link DataSeeder} start.
+ *
+ * <p>These entities take their ids from pooled sequences so that Hibernate can batch their
+ * inserts. A database created while they had auto-increment columns already has rows, and a
+ * sequence created next to them starts at 1. Hibernate reserves the block of
+ * {@code allocationSize} ids that ends at the value it reads, so that value must be at least the
+ * highest id plus the block size. MySQL has no sequences, so Hibernate keeps the value in a
+ * one-row table with the sequence's name instead.</p>
+ *
+ * <p>Databases run with {@code ddl-auto=none} need those tables created by hand before the first
+ * start, seeded past the existing ids:</p>
+ * <pre>
+ * CREATE TABLE map_points_seq (next_val BIGINT) ENGINE=InnoDB;
+ * INSERT INTO map_points_seq SELECT COALESCE(MAX(id), 0) + 50 FROM map_points;
+ * CREATE TABLE events_seq (next_val BIGINT) ENGINE=InnoDB;
+ * INSERT INTO events_seq SELECT COALESCE(MAX(id), 0) + 50 FROM events;
+ * CREATE TABLE articles_seq (next_val BIGINT) ENGINE=InnoDB;
+ * INSERT INTO articles_seq SELECT COALESCE(MAX(id), 0) + 50 FROM articles;
+ * </pre>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+  static final List<Class<?>> ENTITIES = List.of(MapPoint.class, Event.class, Article.class);
+
+  private static final String TABLE_VALUE_COLUMN = "next_val";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    SequenceSupport sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect()
+        .getSequenceSupport();
+    for (Class<?> entity : ENTITIES) {
+      align(entity, sequenceSupport);
+    }
+  }
+
+  /**
+   * Moves the sequence of an entity past the highest id in its table, if it is behind.
+   *
+   * @param entity          the entity class, with a {@link SequenceGenerator} on its id
+   * @param sequenceSupport how the database supports sequences
+   * @return whether the sequence was moved
+   */
+  boolean align(Class<?> entity, SequenceSupport sequenceSupport) {
+    String table = entity.getAnnotation(Table.class).name();
+    SequenceGenerator generator = idGenerator(entity);
+    String sequence = generator.sequenceName();
+    Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+    if (maxId == null) {
+      return false;
+    }
+    long required = maxId + generator.allocationSize();
+
+    boolean moved;
+    if (sequenceSupport.supportsSequences()) {
+      Long next = jdbcTemplate.queryForObject(
+          sequenceSupport.getSequenceNextValString(sequence), Long.class);
+      moved = next != null && next < required;
+      if (moved) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + required);
+      }
+    } else {
+      moved = jdbcTemplate.update("UPDATE " + sequence + " SET " + TABLE_VALUE_COLUMN
+          + " = ? WHERE " + TABLE_VALUE_COLUMN + " < ?", required, required) > 0;
+    }
+    if (moved) {
+      log.info("Moved id sequence {} past the highest id {} in {}", sequence, maxId, table);
+    }
+    return moved;
+  }
+
+  private static SequenceGenerator idGenerator(Class<?> entity) {
+    try {
+      Field id = entity.getDeclaredField("id");
+      SequenceGenerator generator = id.getAnnotation(SequenceGenerator.class);
+      if (generator == null) {
+        throw new IllegalStateException(entity.getSimpleName() + ".id has no sequence generator");
+      }
+      return generator;
+    } catch (NoSuchFieldException e) {
+      throw new IllegalStateException(entity.getSimpleName() + " has no id field", e);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package stud.ntnu.krisefikser.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shared outbound HTTP client for the application's integrations.
+ *
+ * <p>All integrations share one pooled Apache HttpClient, so connections to the same host are
+ * kept alive and reused. Each integration gets its own {@link RestTemplate} with its own
+ * timeouts from {@link OutboundHttpProperties}, and an interceptor that records call counts,
+ * errors and latency per integration. Counters and pool usage are exposed through
+ * {@link #getStats()} and, once {@link #bindTo(MeterRegistry) bound}, as Micrometer meters.</p>
+ */
+@Slf4j
+public class OutboundHttpClients implements AutoCloseable {
+
+  private final OutboundHttpProperties properties;
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient httpClient;
+  private final Map<String, CallCounters> counters = new ConcurrentHashMap<>();
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Creates the connection pool and client.
+   *
+   * @param properties the pool and timeout configuration
+   */
+  public OutboundHttpClients(OutboundHttpProperties properties) {
+    this.properties = properties;
+    this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(properties.getMaxTotal())
+        .setMaxConnPerRoute(properties.getMaxPerRoute())
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(properties.getDefaults().getConnectTimeout()))
+            .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+            .setValidateAfterInactivity(TimeValue.of(properties.getValidateAfterInactivity()))
+            .build())
+        .build();
+    this.httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        // Callers decide about retries, e.g. the email outbox with its own backoff
+        .disableAutomaticRetries()
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(properties.getIdleTimeout()))
+        .build();
+  }
+
+  /**
+   * Creates a RestTemplate for the named integration on top of the shared pool.
+   *
+   * @param integration the integration name, used for timeouts and metrics
+   * @return the RestTemplate
+   */
+  public RestTemplate restTemplate(String integration) {
+    OutboundHttpProperties.Timeouts timeouts = properties.timeoutsFor(integration);
+    HttpComponentsClientHttpRequestFactory requestFactory =
+        new HttpComponentsClientHttpRequestFactory(httpClient);
+    requestFactory.setConnectTimeout(timeouts.getConnectTimeout());
+    requestFactory.setConnectionRequestTimeout(timeouts.getConnectionRequestTimeout());
+    requestFactory.setReadTimeout(timeouts.getResponseTimeout());
+
+    RestTemplate restTemplate = new RestTemplate(requestFactory);
+    restTemplate.getInterceptors().add(metricsInterceptor(integration));
+    return restTemplate;
+  }
+
+  /**
+   * Returns call counters per integration and the current pool usage.
+   *
+   * @return the client statistics
+   */
+  public Stats getStats() {
+    Map<String, IntegrationStats> integrations = new TreeMap<>();
+    counters.forEach((name, calls) -> integrations.put(name, calls.snapshot()));
+    PoolStats pool = connectionManager.getTotalStats();
+    return new Stats(new ConnectionPoolStats(pool.getLeased(), pool.getAvailable(),
+        pool.getPending(), pool.getMax()), integrations);
+  }
+
+  /**
+   * Registers the pool usage and the call meters of every integration with the given registry.
+   * Integrations whose RestTemplate is created later are registered when it is created.
+   *
+   * @param registry the registry to publish to
+   */
+  public synchronized void bindTo(MeterRegistry registry) {
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound")
+        .bindTo(registry);
+    meterRegistry = registry;
+    counters.forEach((integration, calls) -> calls.register(registry, integration));
+  }
+
+  @Override
+  public void close() throws IOException {
+    httpClient.close();
+  }
+
+  private ClientHttpRequestInterceptor metricsInterceptor(String integration) {
+    CallCounters calls = callCounters(integration);
+    return (request, body, execution) -> {
+      long start = System.nanoTime();
+      boolean failed = true;
+      try {
+        ClientHttpResponse response = execution.execute(request, body);
+        failed = response.getStatusCode().isError();
+        return response;
+      } finally {
+        calls.record(System.nanoTime() - start, failed);
+      }
+    };
+  }
+
+  private synchronized CallCounters callCounters(String integration) {
+    return counters.computeIfAbsent(integration, name -> {
+      CallCounters calls = new CallCounters();
+      if (meterRegistry != null) {
+        calls.register(meterRegistry, name);
+      }
+      return calls;
+    });
+  }
+
+  /**
+   * Statistics of the shared client.
+   *
+   * @param pool         current connection pool usage
+   * @param integrations call counters per integration
+   */
+  public record Stats(ConnectionPoolStats pool, Map<String, IntegrationStats> integrations) {
+
+  }
+
+  /**
+   * Connection pool usage.
+   *
+   * @param leased    connections currently in use
+   * @param available idle connections ready for reuse
+   * @param pending   requests waiting for a connection
+   * @param max       maximum number of connections
+   */
+  public record ConnectionPoolStats(int leased, int available, int pending, int max) {
+
+  }
+
+  /**
+   * Call counters of one integration.
+   *
+   * @param calls       completed calls, including failed ones
+   * @param errors      calls that failed with an I/O error or an error status
+   * @param totalMillis total time spent in calls
+   * @param maxMillis   slowest call
+   */
+  public record IntegrationStats(long calls, long errors, long totalMillis, long maxMillis) {
+
+  }
+
+  private static final class CallCounters {
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private void record(long nanos, boolean failed) {
+      calls.incrementAndGet();
+      if (failed) {
+        errors.incrementAndGet();
+      }
+      totalNanos.addAndGet(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void register(MeterRegistry registry, String integration) {
+      FunctionTimer.builder("outbound.http.calls", this, counters -> counters.calls.get(),
+              counters -> counters.totalNanos.get(), TimeUnit.NANOSECONDS)
+          .description("Calls to external services, including failed ones")
+          .tag("integration", integration)
+          .register(registry);
+      FunctionCounter.builder("outbound.http.errors", errors, AtomicLong::get)
+          .description("Calls to external services that failed with an I/O error or error status")
+          .tag("integration", integration)
+          .register(registry);
+      TimeGauge.builder("outbound.http.calls.slowest", maxNanos, TimeUnit.NANOSECONDS,
+              AtomicLong::get)
+          .description("Slowest call to the external service since startup")
+          .tag("integration", integration)
+          .register(registry);
+    }
+
+    private IntegrationStats snapshot() {
+      return new IntegrationStats(calls.get(), errors.get(), totalNanos.get() / 1_000_000,
+          maxNanos.get() / 1_000_000);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package stud.ntnu.krisefikser.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the shared outbound HTTP client.
+ *
+ * <p>Bound from properties prefixed with {@code http.client}. Pool settings apply to all
+ * integrations; timeouts are set per integration under
+ * {@code http.client.integrations.<name>} and fall back to {@code http.client.defaults}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "http.client")
+public class OutboundHttpProperties {
+
+  /**
+   * Maximum number of pooled connections across all hosts.
+   */
+  private int maxTotal = 50;
+
+  /**
+   * Maximum number of pooled connections to one host.
+   */
+  private int maxPerRoute = 20;
+
+  /**
+   * Idle connections older than this are closed.
+   */
+  private Duration idleTimeout = Duration.ofSeconds(30);
+
+  /**
+   * Connections are not reused after this age, so DNS changes are picked up.
+   */
+  private Duration timeToLive = Duration.ofMinutes(5);
+
+  /**
+   * Pooled connections idle for longer than this are checked before reuse.
+   */
+  private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+  /**
+   * Timeouts used by integrations without their own entry.
+   */
+  private Timeouts defaults = new Timeouts();
+
+  /**
+   * Timeouts per integration, keyed by integration name.
+   */
+  private Map<String, Timeouts> integrations = new HashMap<>();
+
+  /**
+   * Returns the timeouts of the given integration.
+   *
+   * @param integration the integration name
+   * @return the integration's timeouts, or the defaults
+   */
+  public Timeouts timeoutsFor(String integration) {
+    return integrations.getOrDefault(integration, defaults);
+  }
+
+  /**
+   * Timeouts of one integration.
+   */
+  @Data
+  public static class Timeouts {
+
+    /**
+     * Time allowed to establish a TCP and TLS connection.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Time allowed to wait for a free connection from the pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Time allowed between sending the request and receiving response data.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(5);
+  }
+}
@@ -1,30 +1,42 @@
 package stud.ntnu.krisefikser.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
 
 /**
- * Configuration class for creating a RestTemplate bean.
+ * Configuration class for outbound HTTP clients.
  *
- * <p>This class is responsible for configuring the RestTemplate used for making HTTP requests.
- * It provides a single bean of type RestTemplate that can be injected into other components.
+ * <p>This class creates the shared, pooled {@link OutboundHttpClients} and the RestTemplate
+ * used for making HTTP requests to Cloudflare Turnstile. Other integrations create their own
+ * RestTemplate from the same {@link OutboundHttpClients}.
  *
  * @since 1.0
  */
 @Configuration
+@EnableConfigurationProperties(OutboundHttpProperties.class)
 public class RestTemplateConfig {
 
   /**
-   * Creates a RestTemplate bean.
+   * Creates the shared pooled HTTP client. The pool is closed when the context shuts down.
    *
-   * <p>This method creates and returns a new instance of RestTemplate. The RestTemplate is used
-   * for making HTTP requests to external services.
+   * @param properties the pool and timeout configuration
+   * @return the shared outbound HTTP client
+   */
+  @Bean(destroyMethod = "close")
+  public OutboundHttpClients outboundHttpClients(OutboundHttpProperties properties) {
+    return new OutboundHttpClients(properties);
+  }
+
+  /**
+   * Creates the RestTemplate for Turnstile verification, with the {@code turnstile} timeouts.
    *
-   * @return a new instance of RestTemplate
+   * @param outboundHttpClients the shared outbound HTTP client
+   * @return the Turnstile RestTemplate
    */
   @Bean
-  public RestTemplate restTemplate() {
-    return new RestTemplate();
+  public RestTemplate restTemplate(OutboundHttpClients outboundHttpClients) {
+    return outboundHttpClients.restTemplate("turnstile");
   }
-} 
\ No newline at end of file
+}
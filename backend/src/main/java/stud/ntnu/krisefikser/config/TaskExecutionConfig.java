@@ -0,0 +1,63 @@
+package stud.ntnu.krisefikser.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.SimpleAsyncTaskSchedulerBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Declares the application's general-purpose task executor and the scheduler for
+ * {@code @Scheduled} jobs.
+ *
+ * <p>Spring Boot only creates these when the context has no other executor or scheduler. The
+ * email executors and the WebSocket broker's heartbeat scheduler make it back off, which would
+ * leave {@code @Scheduled} jobs running on the broker's scheduler. Both beans are built with
+ * Boot's builders, so the {@code spring.task.*} properties still apply. With virtual threads
+ * enabled, both start a virtual thread per task instead of using a pool.</p>
+ */
+@Configuration
+@RequiredArgsConstructor
+public class TaskExecutionConfig {
+
+  private final Environment environment;
+
+  /**
+   * Creates the executor used for Spring MVC async requests and WebSocket channels.
+   *
+   * @param virtualThreadBuilder builder for the virtual-thread executor
+   * @param poolBuilder          builder for the platform-thread pool
+   * @return the application task executor
+   */
+  @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+  public AsyncTaskExecutor applicationTaskExecutor(
+      SimpleAsyncTaskExecutorBuilder virtualThreadBuilder,
+      ThreadPoolTaskExecutorBuilder poolBuilder) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return virtualThreadBuilder.build();
+    }
+    return poolBuilder.build();
+  }
+
+  /**
+   * Creates the scheduler that runs {@code @Scheduled} jobs.
+   *
+   * @param virtualThreadBuilder builder for the virtual-thread scheduler
+   * @param poolBuilder          builder for the platform-thread scheduler
+   * @return the task scheduler
+   */
+  @Bean
+  public TaskScheduler taskScheduler(SimpleAsyncTaskSchedulerBuilder virtualThreadBuilder,
+      ThreadPoolTaskSchedulerBuilder poolBuilder) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      return virtualThreadBuilder.build();
+    }
+    return poolBuilder.build();
+  }
+}
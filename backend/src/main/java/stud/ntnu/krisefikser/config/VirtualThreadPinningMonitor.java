@@ -0,0 +1,205 @@
+package stud.ntnu.krisefikser.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread.
+ *
+ * <p>A virtual thread that blocks inside a {@code synchronized} block or a native frame cannot
+ * unmount, so it holds one of the few carrier threads for the whole wait. Typical sources are
+ * JDBC drivers and pools that guard I/O with {@code synchronized}. The monitor subscribes to the
+ * JFR event {@code jdk.VirtualThreadPinned} for pins longer than
+ * {@code virtual-threads.pinning-threshold}, counts them per call site, and logs the first pin of
+ * every call site with its stack trace. The call site is the innermost frame in application code,
+ * or the innermost frame if there is none. Once {@link #bindTo(MeterRegistry) bound}, the pins
+ * and the time spent pinned are also published per call site as Micrometer meters.</p>
+ *
+ * <p>Only active when virtual threads are enabled ({@code spring.threads.virtual.enabled}).</p>
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final String APPLICATION_PACKAGE = "stud.ntnu.krisefikser.";
+  private static final int LOGGED_FRAMES = 12;
+
+  private final Duration threshold;
+  private final Map<String, SitePins> pinsBySite = new ConcurrentHashMap<>();
+  private final AtomicLong totalPins = new AtomicLong();
+  private final AtomicLong totalPinnedNanos = new AtomicLong();
+  private volatile RecordingStream stream;
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Creates the monitor.
+   *
+   * @param threshold pins shorter than this are ignored
+   */
+  public VirtualThreadPinningMonitor(
+      @Value("${virtual-threads.pinning-threshold:20ms}") Duration threshold) {
+    this.threshold = threshold;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (stream != null) {
+      return;
+    }
+    RecordingStream recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::onPinned);
+    recording.startAsync();
+    stream = recording;
+    log.info("Reporting virtual threads pinned for longer than {} ms", threshold.toMillis());
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (stream != null) {
+      stream.close();
+      stream = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  /**
+   * Returns the pins seen since startup.
+   *
+   * @return the pinning statistics
+   */
+  public PinningStats getStats() {
+    Map<String, Long> bySite = new TreeMap<>();
+    pinsBySite.forEach((site, pins) -> bySite.put(site, pins.pins.get()));
+    return new PinningStats(totalPins.get(), totalPinnedNanos.get() / 1_000_000, bySite);
+  }
+
+  /**
+   * Registers the pin meters of every call site seen so far with the given registry. Call sites
+   * seen later are registered when they first pin.
+   *
+   * @param registry the registry to publish to
+   */
+  public synchronized void bindTo(MeterRegistry registry) {
+    meterRegistry = registry;
+    pinsBySite.forEach((site, pins) -> pins.register(registry, site));
+  }
+
+  void onPinned(RecordedEvent event) {
+    long nanos = event.getDuration().toNanos();
+    String site = callSite(event.getStackTrace());
+    // The site is recorded first so the totals never run ahead of the per-site meters
+    long sitePinCount = sitePins(site).record(nanos);
+    totalPins.incrementAndGet();
+    totalPinnedNanos.addAndGet(nanos);
+    if (sitePinCount == 1) {
+      log.warn("Virtual thread pinned for {} ms at {}\n{}", event.getDuration().toMillis(), site,
+          format(event.getStackTrace()));
+    } else {
+      log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+    }
+  }
+
+  private synchronized SitePins sitePins(String site) {
+    return pinsBySite.computeIfAbsent(site, key -> {
+      SitePins pins = new SitePins();
+      if (meterRegistry != null) {
+        pins.register(meterRegistry, key);
+      }
+      return pins;
+    });
+  }
+
+  private static String callSite(RecordedStackTrace stackTrace) {
+    if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+      return "unknown";
+    }
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (RecordedFrame frame : frames) {
+      if (frame.isJavaFrame()
+          && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+        return describe(frame);
+      }
+    }
+    return describe(frames.get(0));
+  }
+
+  private static String format(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "";
+    }
+    StringBuilder out = new StringBuilder();
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    for (int i = 0; i < Math.min(LOGGED_FRAMES, frames.size()); i++) {
+      out.append("\tat ").append(describe(frames.get(i))).append('\n');
+    }
+    if (frames.size() > LOGGED_FRAMES) {
+      out.append("\t...").append('\n');
+    }
+    return out.toString();
+  }
+
+  private static String describe(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+        + ":" + frame.getLineNumber();
+  }
+
+  private static final class SitePins {
+
+    private final AtomicLong pins = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+
+    private long record(long nanos) {
+      pinnedNanos.addAndGet(nanos);
+      return pins.incrementAndGet();
+    }
+
+    private void register(MeterRegistry registry, String site) {
+      FunctionCounter.builder("virtual.threads.pins", pins, AtomicLong::get)
+          .description("Virtual threads pinned to their carrier for longer than the threshold")
+          .tag("site", site)
+          .register(registry);
+      FunctionTimer.builder("virtual.threads.pinned", this, sitePins -> sitePins.pins.get(),
+              sitePins -> sitePins.pinnedNanos.get(), TimeUnit.NANOSECONDS)
+          .description("Time virtual threads spent pinned to their carrier")
+          .tag("site", site)
+          .register(registry);
+    }
+  }
+
+  /**
+   * Pins of virtual threads seen since startup.
+   *
+   * @param pins         number of pins longer than the threshold
+   * @param pinnedMillis total time spent pinned
+   * @param bySite       pins per call site
+   */
+  public record PinningStats(long pins, long pinnedMillis, Map<String, Long> bySite) {
+
+  }
+}
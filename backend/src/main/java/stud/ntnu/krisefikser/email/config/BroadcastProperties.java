@@ -0,0 +1,34 @@
+package stud.ntnu.krisefikser.email.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for admin email broadcasts.
+ *
+ * <p>Bound from properties prefixed with {@code mail.broadcast}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "mail.broadcast")
+public class BroadcastProperties {
+
+  /**
+   * Number of messages per batch API call. Mailtrap accepts at most 500.
+   */
+  private int batchSize = 500;
+
+  /**
+   * Global send rate across all broadcasts, in messages per second.
+   */
+  private double messagesPerSecond = 100;
+
+  /**
+   * Maximum number of batch calls in flight at the same time.
+   */
+  private int maxConcurrentBatches = 2;
+
+  /**
+   * Number of finished broadcasts kept in memory for progress queries.
+   */
+  private int retainedBroadcasts = 20;
+}
@@ -1,25 +1,93 @@
 package stud.ntnu.krisefikser.email.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
+import stud.ntnu.krisefikser.config.OutboundHttpClients;
 
 /**
  * Configuration class for setting up email-related beans in the application context. This class
  * defines the necessary configuration for email communication.
+ *
+ * <p>The executors are bounded pools, since their size limits the load on the mail provider.
+ * When virtual threads are enabled, their workers are virtual threads.</p>
  */
 @Configuration
+@RequiredArgsConstructor
 public class EmailConfig {
 
+  private final Environment environment;
+
+  /**
+   * Creates the RestTemplate used for calls to the mail API. It shares the pooled outbound HTTP
+   * client and uses the {@code mail} timeouts.
+   *
+   * @param outboundHttpClients the shared outbound HTTP client
+   * @return the RestTemplate for the mail API
+   */
+  @Bean
+  public RestTemplate emailRestTemplate(OutboundHttpClients outboundHttpClients) {
+    return outboundHttpClients.restTemplate("mail");
+  }
+
+  /**
+   * Creates the bounded worker pool that delivers queued emails.
+   *
+   * <p>When the pool and its queue are full, new deliveries are rejected and left in the outbox
+   * for the next poll, so a burst of emails never blocks the caller.</p>
+   *
+   * @param properties the outbox configuration
+   * @return the email worker pool
+   */
+  @Bean
+  public ThreadPoolTaskExecutor emailOutboxExecutor(EmailOutboxProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getWorkers());
+    executor.setMaxPoolSize(properties.getWorkers());
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("email-outbox-");
+    executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(10);
+    return executor;
+  }
+
+  /**
+   * Creates the executor that runs email broadcasts, one at a time.
+   *
+   * @return the broadcast executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor emailBroadcastExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(20);
+    executor.setThreadNamePrefix("email-broadcast-");
+    executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+    return executor;
+  }
+
   /**
-   * Creates and provides a RestTemplate bean configured for email-related operations. This method
-   * registers a RestTemplate instance in the application context to be used for making RESTful
-   * calls related to email functionalities.
+   * Creates the executor for broadcast batch calls. Broadcasts never have more than
+   * {@link BroadcastProperties#getMaxConcurrentBatches()} calls in flight, so the queue only
+   * absorbs the short gap between a call finishing and its thread becoming idle.
    *
-   * @return a new instance of RestTemplate to be used for email-related REST operations
+   * @param properties the broadcast configuration
+   * @return the batch executor
    */
   @Bean
-  public RestTemplate emailRestTemplate() {
-    return new RestTemplate();
+  public ThreadPoolTaskExecutor emailBatchExecutor(BroadcastProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getMaxConcurrentBatches());
+    executor.setMaxPoolSize(properties.getMaxConcurrentBatches());
+    executor.setQueueCapacity(properties.getMaxConcurrentBatches());
+    executor.setThreadNamePrefix("email-batch-");
+    executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+    return executor;
   }
-} 
\ No newline at end of file
+}
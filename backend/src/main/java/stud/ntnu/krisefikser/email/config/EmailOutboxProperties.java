@@ -0,0 +1,68 @@
+package stud.ntnu.krisefikser.email.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the outbound email queue.
+ *
+ * <p>Bound from properties prefixed with {@code mail.outbox}. All values have defaults suited
+ * for a single small instance.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "mail.outbox")
+public class EmailOutboxProperties {
+
+  /**
+   * Number of worker threads delivering emails concurrently.
+   */
+  private int workers = 4;
+
+  /**
+   * Maximum number of deliveries waiting for a worker. Deliveries beyond this are left to the
+   * poller.
+   */
+  private int queueCapacity = 500;
+
+  /**
+   * Number of delivery attempts before an email is dead-lettered.
+   */
+  private int maxAttempts = 6;
+
+  /**
+   * Delay before the first retry. Doubled for every further attempt.
+   */
+  private Duration initialBackoff = Duration.ofSeconds(30);
+
+  /**
+   * Upper bound for the retry delay.
+   */
+  private Duration maxBackoff = Duration.ofMinutes(30);
+
+  /**
+   * How long a claimed email may stay in delivery before another worker may claim it again.
+   */
+  private Duration claimTimeout = Duration.ofMinutes(2);
+
+  /**
+   * Interval between polls for due retries and emails that were never dispatched.
+   */
+  private Duration pollInterval = Duration.ofSeconds(15);
+
+  /**
+   * Maximum number of emails dispatched per poll.
+   */
+  private int pollBatchSize = 100;
+
+  /**
+   * How long sent and dead-lettered emails are kept before they are deleted. Sent emails lose
+   * their content as soon as they are delivered; dead-lettered emails keep it until deleted.
+   */
+  private Duration retention = Duration.ofDays(7);
+
+  /**
+   * Cron expression for the job deleting sent and dead-lettered emails past their retention.
+   */
+  private String purgeCron = "0 30 3 * * *";
+}
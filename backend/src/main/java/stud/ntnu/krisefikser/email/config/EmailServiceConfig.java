@@ -13,7 +13,8 @@ import stud.ntnu.krisefikser.email.service.MockEmailService;
  * <p>This class defines the configuration for the email service, including the properties </p>
  */
 @Configuration
-@EnableConfigurationProperties(MailProperties.class)
+@EnableConfigurationProperties({MailProperties.class, EmailOutboxProperties.class,
+    BroadcastProperties.class})
 public class EmailServiceConfig {
 
   /**
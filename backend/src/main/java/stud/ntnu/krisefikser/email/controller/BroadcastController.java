@@ -0,0 +1,84 @@
+package stud.ntnu.krisefikser.email.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stud.ntnu.krisefikser.email.dto.BroadcastRequest;
+import stud.ntnu.krisefikser.email.dto.BroadcastResponse;
+import stud.ntnu.krisefikser.email.service.BroadcastEmailService;
+
+/**
+ * REST controller for admin email broadcasts to all users who have opted in to email updates.
+ */
+@RestController
+@RequestMapping("/api/broadcasts")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Broadcast", description = "Admin email broadcasts")
+public class BroadcastController {
+
+  private final BroadcastEmailService broadcastEmailService;
+
+  /**
+   * Starts a broadcast. The emails are sent in the background.
+   *
+   * @param request the subject and message
+   * @return the queued broadcast
+   */
+  @Operation(summary = "Start a broadcast",
+      description = "Emails all verified users who have opted in to email updates")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Broadcast queued"),
+      @ApiResponse(responseCode = "400", description = "Invalid request"),
+      @ApiResponse(responseCode = "403", description = "Access denied")
+  })
+  @PostMapping
+  public ResponseEntity<BroadcastResponse> startBroadcast(
+      @Valid @RequestBody BroadcastRequest request) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(broadcastEmailService.startBroadcast(request));
+  }
+
+  /**
+   * Lists recent broadcasts with their progress.
+   *
+   * @return the broadcasts, newest first
+   */
+  @Operation(summary = "List broadcasts", description = "Lists recent broadcasts, newest first")
+  @GetMapping
+  public ResponseEntity<List<BroadcastResponse>> getBroadcasts() {
+    return ResponseEntity.ok(broadcastEmailService.getBroadcasts());
+  }
+
+  /**
+   * Returns the progress of one broadcast.
+   *
+   * @param id the broadcast id
+   * @return the broadcast progress
+   */
+  @Operation(summary = "Get broadcast progress")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Broadcast found"),
+      @ApiResponse(responseCode = "404", description = "Broadcast not found")
+  })
+  @GetMapping("/{id}")
+  public ResponseEntity<BroadcastResponse> getBroadcast(
+      @Parameter(description = "ID of the broadcast") @PathVariable UUID id) {
+    return ResponseEntity.ok(broadcastEmailService.getBroadcast(id));
+  }
+}
@@ -0,0 +1,35 @@
+package stud.ntnu.krisefikser.email.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request to email all users who have opted in to email updates.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastRequest {
+
+  @NotBlank
+  @Size(max = 200)
+  private String subject;
+
+  /**
+   * Heading shown at the top of the email. Defaults to the subject.
+   */
+  @Size(max = 200)
+  private String title;
+
+  /**
+   * Plain text body. HTML is escaped and line breaks are kept.
+   */
+  @NotBlank
+  @Size(max = 10_000)
+  private String message;
+}
@@ -0,0 +1,39 @@
+package stud.ntnu.krisefikser.email.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Data;
+import stud.ntnu.krisefikser.email.enums.BroadcastStatus;
+
+/**
+ * Progress of an email broadcast.
+ */
+@Data
+@Builder
+public class BroadcastResponse {
+
+  private UUID id;
+  private String subject;
+  private BroadcastStatus status;
+
+  /**
+   * Recipients read from the database so far.
+   */
+  private int recipients;
+
+  /**
+   * Messages accepted by the mail API.
+   */
+  private int sent;
+
+  /**
+   * Messages rejected by the mail API or lost to a failed batch call.
+   */
+  private int failed;
+
+  private Instant createdAt;
+  private Instant startedAt;
+  private Instant finishedAt;
+  private String lastError;
+}
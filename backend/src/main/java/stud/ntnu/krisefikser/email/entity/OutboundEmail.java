@@ -0,0 +1,91 @@
+package stud.ntnu.krisefikser.email.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An email waiting in, or processed by, the outbound email queue.
+ *
+ * <p>Emails are inserted in the same transaction as the business change that triggers them and
+ * delivered by background workers after commit. {@link #nextAttemptAt} is when the email is due:
+ * the next retry for a pending email, or the end of the claim for an email being sent.</p>
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "email_outbox", indexes = {
+    @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, nextAttemptAt")
+})
+public class OutboundEmail {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(nullable = false)
+  private String recipient;
+
+  @Column(nullable = false)
+  private String subject;
+
+  @Column(nullable = false, columnDefinition = "TEXT")
+  private String htmlContent;
+
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  private OutboxStatus status;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private int attempts = 0;
+
+  @Column(nullable = false)
+  private Instant nextAttemptAt;
+
+  @Column(nullable = false)
+  private Instant createdAt;
+
+  private Instant sentAt;
+
+  @Column(length = 500)
+  private String lastError;
+
+  /**
+   * An enum describing the delivery state of an outbound email.
+   */
+  public enum OutboxStatus {
+    /**
+     * Waiting for its first delivery or a retry.
+     */
+    PENDING,
+    /**
+     * Claimed by a worker and being delivered.
+     */
+    SENDING,
+    /**
+     * Delivered to the mail API.
+     */
+    SENT,
+    /**
+     * Gave up after the maximum number of attempts.
+     */
+    DEAD
+  }
+}
@@ -0,0 +1,11 @@
+package stud.ntnu.krisefikser.email.enums;
+
+/**
+ * Lifecycle of an email broadcast.
+ */
+public enum BroadcastStatus {
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  FAILED
+}
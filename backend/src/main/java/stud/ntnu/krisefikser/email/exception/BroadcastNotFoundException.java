@@ -0,0 +1,18 @@
+package stud.ntnu.krisefikser.email.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a broadcast id is unknown or no longer retained.
+ */
+public class BroadcastNotFoundException extends RuntimeException {
+
+  /**
+   * Constructs a new BroadcastNotFoundException for the given id.
+   *
+   * @param id the broadcast id
+   */
+  public BroadcastNotFoundException(UUID id) {
+    super("Broadcast not found: " + id);
+  }
+}
@@ -0,0 +1,160 @@
+package stud.ntnu.krisefikser.email.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail.OutboxStatus;
+
+/**
+ * Repository for the {@link OutboundEmail} queue.
+ */
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, UUID> {
+
+  /**
+   * Finds emails in the given statuses that are due, oldest first.
+   *
+   * @param statuses the statuses to include
+   * @param now      the current time
+   * @param pageable limits the number of ids returned
+   * @return the ids of the due emails
+   */
+  @Query("SELECT o.id FROM OutboundEmail o WHERE o.status IN :statuses "
+      + "AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+  List<UUID> findDueIds(@Param("statuses") Collection<OutboxStatus> statuses,
+      @Param("now") Instant now, Pageable pageable);
+
+  /**
+   * Claims a due email for delivery by moving it to {@code SENDING} until the given instant.
+   * Emails stuck in {@code SENDING} past their claim can be claimed again.
+   *
+   * @param id         the id of the email
+   * @param statuses   the statuses the email may be claimed from
+   * @param now        the current time
+   * @param claimUntil when the claim expires
+   * @param sending    always {@link OutboxStatus#SENDING}
+   * @return 1 if the email was claimed, 0 if it is not due or was claimed by another worker
+   */
+  @Modifying
+  @Query("UPDATE OutboundEmail o SET o.status = :sending, o.nextAttemptAt = :claimUntil "
+      + "WHERE o.id = :id AND o.status IN :statuses AND o.nextAttemptAt <= :now")
+  int claim(@Param("id") UUID id, @Param("statuses") Collection<OutboxStatus> statuses,
+      @Param("now") Instant now, @Param("claimUntil") Instant claimUntil,
+      @Param("sending") OutboxStatus sending);
+
+  /**
+   * Claims a due email for delivery by moving it to {@code SENDING} until the given instant.
+   * Emails stuck in {@code SENDING} past their claim can be claimed again.
+   *
+   * @param id         the id of the email
+   * @param statuses   the statuses the email may be claimed from
+   * @param now        the current time
+   * @param claimUntil when the claim expires
+   * @return 1 if the email was claimed, 0 if it is not due or was claimed by another worker
+   */
+  default int claim(UUID id, Collection<OutboxStatus> statuses, Instant now, Instant claimUntil) {
+    return claim(id, statuses, now, claimUntil, OutboxStatus.SENDING);
+  }
+
+  /**
+   * Records a successful delivery and clears the content, if the email is still claimed until the
+   * given instant. A worker whose claim expired and was taken over by another worker changes
+   * nothing.
+   *
+   * @param id         the id of the email
+   * @param claimUntil the end of the claim the delivery was made under
+   * @param attempts   the number of attempts, including this one
+   * @param sentAt     when the email was delivered
+   * @param sent       always {@link OutboxStatus#SENT}
+   * @param sending    always {@link OutboxStatus#SENDING}
+   * @return 1 if the outcome was recorded, 0 if the claim is no longer held
+   */
+  @Modifying
+  @Query("UPDATE OutboundEmail o SET o.status = :sent, o.attempts = :attempts, "
+      + "o.sentAt = :sentAt, o.htmlContent = '', o.lastError = NULL "
+      + "WHERE o.id = :id AND o.status = :sending AND o.nextAttemptAt = :claimUntil")
+  int markSent(@Param("id") UUID id, @Param("claimUntil") Instant claimUntil,
+      @Param("attempts") int attempts, @Param("sentAt") Instant sentAt,
+      @Param("sent") OutboxStatus sent, @Param("sending") OutboxStatus sending);
+
+  /**
+   * Records a successful delivery and clears the content, if the email is still claimed until the
+   * given instant.
+   *
+   * @param id         the id of the email
+   * @param claimUntil the end of the claim the delivery was made under
+   * @param attempts   the number of attempts, including this one
+   * @param sentAt     when the email was delivered
+   * @return 1 if the outcome was recorded, 0 if the claim is no longer held
+   */
+  default int markSent(UUID id, Instant claimUntil, int attempts, Instant sentAt) {
+    return markSent(id, claimUntil, attempts, sentAt, OutboxStatus.SENT, OutboxStatus.SENDING);
+  }
+
+  /**
+   * Records a failed delivery, if the email is still claimed until the given instant. A worker
+   * whose claim expired and was taken over by another worker changes nothing.
+   *
+   * @param id            the id of the email
+   * @param claimUntil    the end of the claim the delivery was made under
+   * @param status        {@link OutboxStatus#PENDING} to retry, {@link OutboxStatus#DEAD} to give
+   *                      up
+   * @param attempts      the number of attempts, including this one
+   * @param nextAttemptAt when the email is due again
+   * @param lastError     the error of this attempt
+   * @param sending       always {@link OutboxStatus#SENDING}
+   * @return 1 if the outcome was recorded, 0 if the claim is no longer held
+   */
+  @Modifying
+  @Query("UPDATE OutboundEmail o SET o.status = :status, o.attempts = :attempts, "
+      + "o.nextAttemptAt = :nextAttemptAt, o.lastError = :lastError "
+      + "WHERE o.id = :id AND o.status = :sending AND o.nextAttemptAt = :claimUntil")
+  int markFailed(@Param("id") UUID id, @Param("claimUntil") Instant claimUntil,
+      @Param("status") OutboxStatus status, @Param("attempts") int attempts,
+      @Param("nextAttemptAt") Instant nextAttemptAt, @Param("lastError") String lastError,
+      @Param("sending") OutboxStatus sending);
+
+  /**
+   * Records a failed delivery, if the email is still claimed until the given instant.
+   *
+   * @param id            the id of the email
+   * @param claimUntil    the end of the claim the delivery was made under
+   * @param status        {@link OutboxStatus#PENDING} to retry, {@link OutboxStatus#DEAD} to give
+   *                      up
+   * @param attempts      the number of attempts, including this one
+   * @param nextAttemptAt when the email is due again
+   * @param lastError     the error of this attempt
+   * @return 1 if the outcome was recorded, 0 if the claim is no longer held
+   */
+  default int markFailed(UUID id, Instant claimUntil, OutboxStatus status, int attempts,
+      Instant nextAttemptAt, String lastError) {
+    return markFailed(id, claimUntil, status, attempts, nextAttemptAt, lastError,
+        OutboxStatus.SENDING);
+  }
+
+  /**
+   * Deletes emails in the given statuses that were queued before the given instant.
+   *
+   * @param statuses the statuses to delete
+   * @param before   emails queued before this instant are deleted
+   * @return the number of deleted emails
+   */
+  @Modifying
+  @Query("DELETE FROM OutboundEmail o WHERE o.status IN :statuses AND o.createdAt < :before")
+  int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<OutboxStatus> statuses,
+      @Param("before") Instant before);
+
+  /**
+   * Counts emails per status.
+   *
+   * @return rows of status and count
+   */
+  @Query("SELECT o.status, COUNT(o) FROM OutboundEmail o GROUP BY o.status")
+  List<Object[]> countByStatus();
+}
@@ -0,0 +1,272 @@
+package stud.ntnu.krisefikser.email.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.HtmlUtils;
+import stud.ntnu.krisefikser.config.FrontendConfig;
+import stud.ntnu.krisefikser.email.config.BroadcastProperties;
+import stud.ntnu.krisefikser.email.dto.BroadcastRequest;
+import stud.ntnu.krisefikser.email.dto.BroadcastResponse;
+import stud.ntnu.krisefikser.email.enums.BroadcastStatus;
+import stud.ntnu.krisefikser.email.exception.BroadcastNotFoundException;
+import stud.ntnu.krisefikser.email.exception.EmailSendingException;
+import stud.ntnu.krisefikser.email.service.EmailService.BatchMessage;
+import stud.ntnu.krisefikser.email.service.EmailService.BatchResult;
+import stud.ntnu.krisefikser.user.dto.EmailRecipient;
+import stud.ntnu.krisefikser.user.repository.UserRepository;
+
+/**
+ * Sends an email to every user who has opted in to email updates.
+ *
+ * <p>A broadcast runs in the background. Recipients are read from the database in pages of
+ * {@link BroadcastProperties#getBatchSize()}, each in its own short read-only transaction, an
+ * email is rendered per recipient, and every page is sent as one call to the mail provider's batch
+ * API. No transaction is open while a broadcast waits for the limits below or for the mail API. A global
+ * {@link SendRateLimiter} keeps all broadcasts together below
+ * {@link BroadcastProperties#getMessagesPerSecond()}, and at most
+ * {@link BroadcastProperties#getMaxConcurrentBatches()} batch calls are in flight at once.</p>
+ *
+ * <p>Progress is kept in memory on the instance that started the broadcast. A failed batch call
+ * counts its messages as failed and does not stop the broadcast.</p>
+ */
+@Service
+@Slf4j
+public class BroadcastEmailService {
+
+  static final String TEMPLATE = "broadcast.html";
+
+  private final UserRepository userRepository;
+  private final EmailService emailService;
+  private final EmailTemplateService emailTemplateService;
+  private final FrontendConfig frontendConfig;
+  private final BroadcastProperties properties;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TaskExecutor broadcastExecutor;
+  private final TaskExecutor batchExecutor;
+  private final SendRateLimiter rateLimiter;
+  private final Semaphore batchSlots;
+  private final Map<UUID, Broadcast> broadcasts = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the service.
+   *
+   * @param userRepository       source of the recipients
+   * @param emailService         transport for the batch calls
+   * @param emailTemplateService renders the per-recipient email
+   * @param frontendConfig       used for the link in the email
+   * @param properties           batch size, rate and concurrency limits
+   * @param transactionManager   used for the read-only recipient pages
+   * @param broadcastExecutor    runs the broadcasts
+   * @param batchExecutor        runs the batch calls
+   */
+  public BroadcastEmailService(UserRepository userRepository, EmailService emailService,
+      EmailTemplateService emailTemplateService, FrontendConfig frontendConfig,
+      BroadcastProperties properties, PlatformTransactionManager transactionManager,
+      @Qualifier("emailBroadcastExecutor") TaskExecutor broadcastExecutor,
+      @Qualifier("emailBatchExecutor") TaskExecutor batchExecutor) {
+    this.userRepository = userRepository;
+    this.emailService = emailService;
+    this.emailTemplateService = emailTemplateService;
+    this.frontendConfig = frontendConfig;
+    this.properties = properties;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.broadcastExecutor = broadcastExecutor;
+    this.batchExecutor = batchExecutor;
+    this.rateLimiter = new SendRateLimiter(properties.getMessagesPerSecond());
+    this.batchSlots = new Semaphore(properties.getMaxConcurrentBatches());
+  }
+
+  /**
+   * Queues a broadcast.
+   *
+   * @param request the subject and message
+   * @return the queued broadcast
+   */
+  public BroadcastResponse startBroadcast(BroadcastRequest request) {
+    Broadcast broadcast = new Broadcast(request);
+    evictFinishedBroadcasts();
+    broadcasts.put(broadcast.id, broadcast);
+    log.info("Queued email broadcast {} with subject '{}'", broadcast.id, request.getSubject());
+    broadcastExecutor.execute(() -> run(broadcast));
+    return broadcast.toResponse();
+  }
+
+  /**
+   * Returns the progress of a broadcast.
+   *
+   * @param id the broadcast id
+   * @return the broadcast progress
+   * @throws BroadcastNotFoundException if the broadcast is unknown
+   */
+  public BroadcastResponse getBroadcast(UUID id) {
+    Broadcast broadcast = broadcasts.get(id);
+    if (broadcast == null) {
+      throw new BroadcastNotFoundException(id);
+    }
+    return broadcast.toResponse();
+  }
+
+  /**
+   * Returns the retained broadcasts, newest first.
+   *
+   * @return the broadcasts
+   */
+  public List<BroadcastResponse> getBroadcasts() {
+    return broadcasts.values().stream()
+        .sorted(Comparator.comparing((Broadcast broadcast) -> broadcast.createdAt).reversed())
+        .map(Broadcast::toResponse)
+        .toList();
+  }
+
+  private void run(Broadcast broadcast) {
+    broadcast.status = BroadcastStatus.RUNNING;
+    broadcast.startedAt = Instant.now();
+    List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+    try {
+      List<EmailRecipient> page = nextPage("");
+      while (!page.isEmpty()) {
+        broadcast.recipients.addAndGet(page.size());
+        inFlight.add(submitBatch(broadcast, page.stream()
+            .map(recipient -> new BatchMessage(recipient.email(), render(broadcast, recipient)))
+            .toList()));
+        page = page.size() < properties.getBatchSize()
+            ? List.of() : nextPage(page.get(page.size() - 1).email());
+      }
+      CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+      broadcast.status = BroadcastStatus.COMPLETED;
+      log.info("Email broadcast {} completed: {} sent, {} failed of {} recipients",
+          broadcast.id, broadcast.sent.get(), broadcast.failed.get(),
+          broadcast.recipients.get());
+    } catch (RuntimeException e) {
+      CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+          .exceptionally(ignored -> null).join();
+      broadcast.status = BroadcastStatus.FAILED;
+      broadcast.lastError = e.getMessage();
+      log.error("Email broadcast {} failed after {} recipients: {}", broadcast.id,
+          broadcast.recipients.get(), e.getMessage(), e);
+    } finally {
+      broadcast.finishedAt = Instant.now();
+    }
+  }
+
+  private List<EmailRecipient> nextPage(String afterEmail) {
+    List<EmailRecipient> page = readOnlyTransaction.execute(status ->
+        userRepository.findEmailUpdateRecipientsAfter(afterEmail, properties.getBatchSize()));
+    return page != null ? page : List.of();
+  }
+
+  private CompletableFuture<Void> submitBatch(Broadcast broadcast, List<BatchMessage> batch) {
+    try {
+      batchSlots.acquire();
+      try {
+        rateLimiter.acquire(batch.size());
+      } catch (InterruptedException e) {
+        batchSlots.release();
+        throw e;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting to send a batch", e);
+    }
+
+    try {
+      return CompletableFuture.runAsync(() -> {
+        try {
+          BatchResult result = emailService.sendBatch(broadcast.subject, batch);
+          broadcast.sent.addAndGet(result.sent());
+          broadcast.failed.addAndGet(result.failed());
+          if (!result.errors().isEmpty()) {
+            broadcast.lastError = result.errors().get(0);
+          }
+        } catch (EmailSendingException e) {
+          broadcast.failed.addAndGet(batch.size());
+          broadcast.lastError = e.getMessage();
+        } finally {
+          batchSlots.release();
+        }
+      }, batchExecutor);
+    } catch (RuntimeException e) {
+      batchSlots.release();
+      throw e;
+    }
+  }
+
+  private String render(Broadcast broadcast, EmailRecipient recipient) {
+    Map<String, String> variables = new HashMap<>();
+    variables.put("name", HtmlUtils.htmlEscape(
+        recipient.firstName() != null ? recipient.firstName() : ""));
+    variables.put("title", broadcast.title);
+    variables.put("message", broadcast.message);
+    variables.put("link", frontendConfig.getUrl());
+    return emailTemplateService.loadAndReplace(TEMPLATE, variables);
+  }
+
+  private void evictFinishedBroadcasts() {
+    List<Broadcast> finished = broadcasts.values().stream()
+        .filter(broadcast -> broadcast.finishedAt != null)
+        .sorted(Comparator.comparing(broadcast -> broadcast.createdAt))
+        .toList();
+    for (int i = 0; i < finished.size() - properties.getRetainedBroadcasts() + 1; i++) {
+      broadcasts.remove(finished.get(i).id);
+    }
+  }
+
+  /**
+   * Mutable progress of one broadcast. Counters are updated from several batch threads.
+   */
+  private static final class Broadcast {
+
+    private final UUID id = UUID.randomUUID();
+    private final Instant createdAt = Instant.now();
+    private final String subject;
+    private final String title;
+    private final String message;
+    private final AtomicInteger recipients = new AtomicInteger();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile BroadcastStatus status = BroadcastStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    private Broadcast(BroadcastRequest request) {
+      this.subject = request.getSubject();
+      this.title = HtmlUtils.htmlEscape(request.getTitle() != null && !request.getTitle().isBlank()
+          ? request.getTitle() : request.getSubject());
+      this.message = HtmlUtils.htmlEscape(request.getMessage())
+          .replace("\r\n", "\n")
+          .replace("\n", "<br/>");
+    }
+
+    private BroadcastResponse toResponse() {
+      return BroadcastResponse.builder()
+          .id(id)
+          .subject(subject)
+          .status(status)
+          .recipients(recipients.get())
+          .sent(sent.get())
+          .failed(failed.get())
+          .createdAt(createdAt)
+          .startedAt(startedAt)
+          .finishedAt(finishedAt)
+          .lastError(lastError)
+          .build();
+    }
+  }
+}
@@ -2,6 +2,7 @@ package stud.ntnu.krisefikser.email.service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +19,7 @@ import stud.ntnu.krisefikser.email.exception.EmailSendingException;
 @RequiredArgsConstructor
 public class EmailAdminService {
 
-  private final EmailService emailService;
+  private final EmailOutboxService emailOutboxService;
   private final EmailTemplateService emailTemplateService;
 
   /**
@@ -26,7 +27,7 @@ public class EmailAdminService {
    *
    * @param email      The email address to send the invitation to
    * @param inviteLink The invitation link containing the verification token
-   * @return ResponseEntity containing the result of the email sending operation
+   * @return 202 Accepted with the id of the queued email
    */
   public ResponseEntity<String> sendAdminInvitation(String email, String inviteLink) {
     if (email == null || inviteLink == null) {
@@ -40,11 +41,12 @@ public class EmailAdminService {
 
       String content = emailTemplateService.loadAndReplace("admin-invite.html", variables);
 
-      return emailService.sendEmail(
+      UUID id = emailOutboxService.enqueue(
           email,
           "Admin Invitation - Krisefikser",
           content
       );
+      return ResponseEntity.accepted().body(id.toString());
     } catch (EmailSendingException e) {
       throw e;
     } catch (Exception e) {
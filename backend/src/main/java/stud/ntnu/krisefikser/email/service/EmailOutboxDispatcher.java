@@ -0,0 +1,239 @@
+package stud.ntnu.krisefikser.email.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.email.config.EmailOutboxProperties;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail.OutboxStatus;
+import stud.ntnu.krisefikser.email.repository.OutboundEmailRepository;
+import stud.ntnu.krisefikser.scheduling.SchedulerLock;
+
+/**
+ * Delivers queued emails on a bounded pool of worker threads.
+ *
+ * <p>Each delivery first claims the email with a conditional update, so an email is only sent by
+ * one worker even when several instances share the queue. The HTTP call to the mail API happens
+ * outside any transaction. The outcome is only recorded while the worker still holds its claim:
+ * the end of the claim doubles as its token, so a worker whose claim expired and was taken over
+ * cannot overwrite the outcome of the worker that holds it now. Failed deliveries are retried with exponential backoff, starting at
+ * {@link EmailOutboxProperties#getInitialBackoff()} and doubling up to
+ * {@link EmailOutboxProperties#getMaxBackoff()}. After
+ * {@link EmailOutboxProperties#getMaxAttempts()} failed attempts the email is dead-lettered and
+ * left in the table for inspection.</p>
+ *
+ * <p>The content of an email can hold password reset links, verification links and
+ * two-factor codes, so it is cleared once the email is delivered. Sent and dead-lettered emails
+ * are deleted after {@link EmailOutboxProperties#getRetention()}.</p>
+ *
+ * <p>A poller picks up due retries, emails whose dispatch was rejected because the worker queue
+ * was full, and emails left behind by a crashed instance.</p>
+ */
+@Service
+@Slf4j
+public class EmailOutboxDispatcher {
+
+  private static final Set<OutboxStatus> CLAIMABLE = EnumSet.of(OutboxStatus.PENDING,
+      OutboxStatus.SENDING);
+  private static final Set<OutboxStatus> FINISHED = EnumSet.of(OutboxStatus.SENT,
+      OutboxStatus.DEAD);
+
+  private final OutboundEmailRepository outboundEmailRepository;
+  private final EmailService emailService;
+  private final EmailOutboxProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final TaskExecutor executor;
+
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong failedAttempts = new AtomicLong();
+  private final AtomicLong deadLettered = new AtomicLong();
+  private final AtomicLong totalSendMillis = new AtomicLong();
+
+  /**
+   * Creates the dispatcher.
+   *
+   * @param outboundEmailRepository the queue repository
+   * @param emailService            the transport used to deliver emails
+   * @param properties              the queue configuration
+   * @param transactionTemplate     used for the short claim and outcome transactions
+   * @param executor                the bounded worker pool
+   */
+  public EmailOutboxDispatcher(OutboundEmailRepository outboundEmailRepository,
+      EmailService emailService, EmailOutboxProperties properties,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("emailOutboxExecutor") TaskExecutor executor) {
+    this.outboundEmailRepository = outboundEmailRepository;
+    this.emailService = emailService;
+    this.properties = properties;
+    this.transactionTemplate = transactionTemplate;
+    this.executor = executor;
+  }
+
+  /**
+   * Hands an email to the worker pool. If the pool is saturated, the email stays pending and is
+   * picked up by the next poll.
+   *
+   * @param id the id of the queued email
+   */
+  public void dispatch(UUID id) {
+    try {
+      executor.execute(() -> deliver(id));
+    } catch (RejectedExecutionException e) {
+      log.warn("Email worker queue is full, email {} will be sent by the next poll", id);
+    }
+  }
+
+  /**
+   * Dispatches due retries and emails that were never dispatched or whose claim has expired.
+   */
+  @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT15S}",
+      initialDelayString = "${mail.outbox.poll-interval:PT15S}")
+  public void pollDueEmails() {
+    List<UUID> due = outboundEmailRepository.findDueIds(CLAIMABLE, Instant.now(),
+        PageRequest.of(0, properties.getPollBatchSize()));
+    if (!due.isEmpty()) {
+      log.debug("Dispatching {} due emails from the outbox", due.size());
+      due.forEach(this::dispatch);
+    }
+  }
+
+  /**
+   * Deletes sent and dead-lettered emails queued longer ago than the retention.
+   */
+  @Scheduled(cron = "${mail.outbox.purge-cron:0 30 3 * * *}")
+  @SchedulerLock(name = "email-outbox-purge")
+  public void purgeFinishedEmails() {
+    Instant before = Instant.now().minus(properties.getRetention());
+    Integer deleted = transactionTemplate.execute(status ->
+        outboundEmailRepository.deleteByStatusInAndCreatedAtBefore(FINISHED, before));
+    if (deleted != null && deleted > 0) {
+      log.info("Deleted {} sent and dead-lettered emails queued before {}", deleted, before);
+    }
+  }
+
+  /**
+   * Claims and delivers one email, recording the outcome.
+   *
+   * @param id the id of the queued email
+   */
+  void deliver(UUID id) {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    Instant claimUntil = now.plus(properties.getClaimTimeout());
+    Integer claimed = transactionTemplate.execute(status -> outboundEmailRepository.claim(id,
+        CLAIMABLE, now, claimUntil));
+    if (claimed == null || claimed == 0) {
+      return;
+    }
+    OutboundEmail email = outboundEmailRepository.findById(id).orElse(null);
+    if (email == null) {
+      return;
+    }
+
+    long start = System.nanoTime();
+    String error = null;
+    try {
+      ResponseEntity<String> response = emailService.sendEmail(email.getRecipient(),
+          email.getSubject(), email.getHtmlContent());
+      if (response != null && !response.getStatusCode().is2xxSuccessful()) {
+        error = "HTTP " + response.getStatusCode().value();
+      }
+    } catch (RuntimeException e) {
+      error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+    totalSendMillis.addAndGet((System.nanoTime() - start) / 1_000_000);
+
+    if (error == null) {
+      sent.incrementAndGet();
+    } else {
+      failedAttempts.incrementAndGet();
+    }
+    String failure = error;
+    Boolean recorded = transactionTemplate.execute(status ->
+        recordOutcome(email, claimUntil, failure));
+    if (!Boolean.TRUE.equals(recorded)) {
+      log.warn("Claim on email {} expired during delivery, leaving it to the worker holding it now",
+          id);
+    }
+  }
+
+  private boolean recordOutcome(OutboundEmail email, Instant claimUntil, String error) {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    int attempts = email.getAttempts() + 1;
+    if (error == null) {
+      return outboundEmailRepository.markSent(email.getId(), claimUntil, attempts, now) > 0;
+    }
+    if (attempts >= properties.getMaxAttempts()) {
+      if (outboundEmailRepository.markFailed(email.getId(), claimUntil, OutboxStatus.DEAD,
+          attempts, claimUntil, truncate(error)) == 0) {
+        return false;
+      }
+      deadLettered.incrementAndGet();
+      log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(),
+          email.getRecipient(), attempts, error);
+      return true;
+    }
+    Duration backoff = backoff(attempts);
+    if (outboundEmailRepository.markFailed(email.getId(), claimUntil, OutboxStatus.PENDING,
+        attempts, now.plus(backoff), truncate(error)) == 0) {
+      return false;
+    }
+    log.warn("Email {} to {} failed on attempt {}, retrying in {}s: {}", email.getId(),
+        email.getRecipient(), attempts, backoff.toSeconds(), error);
+    return true;
+  }
+
+  /**
+   * Returns the delay before the next attempt after the given number of failed attempts.
+   *
+   * @param attempts the number of attempts made so far, at least 1
+   * @return the backoff delay
+   */
+  Duration backoff(int attempts) {
+    Duration delay = properties.getInitialBackoff();
+    for (int i = 1; i < attempts && delay.compareTo(properties.getMaxBackoff()) < 0; i++) {
+      delay = delay.multipliedBy(2);
+    }
+    return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+  }
+
+  /**
+   * Returns delivery counters of this instance since startup.
+   *
+   * @return the delivery statistics
+   */
+  public DeliveryStats getStats() {
+    return new DeliveryStats(sent.get(), failedAttempts.get(), deadLettered.get(),
+        totalSendMillis.get());
+  }
+
+  private static String truncate(String error) {
+    return error.length() > 500 ? error.substring(0, 500) : error;
+  }
+
+  /**
+   * Delivery counters of this instance.
+   *
+   * @param sent            emails delivered
+   * @param failedAttempts  delivery attempts that failed, including the final ones
+   * @param deadLettered    emails given up on
+   * @param totalSendMillis total time spent calling the mail API
+   */
+  public record DeliveryStats(long sent, long failedAttempts, long deadLettered,
+                              long totalSendMillis) {
+
+  }
+}
@@ -0,0 +1,93 @@
+package stud.ntnu.krisefikser.email.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail.OutboxStatus;
+import stud.ntnu.krisefikser.email.exception.EmailSendingException;
+import stud.ntnu.krisefikser.email.repository.OutboundEmailRepository;
+
+/**
+ * Entry point of the outbound email queue.
+ *
+ * <p>Callers enqueue emails instead of sending them. The email is stored in the
+ * {@code email_outbox} table as part of the caller's transaction, so it is only sent if the
+ * business change that triggered it is committed, and a slow or failing mail API no longer holds
+ * up or rolls back that transaction. Once the transaction commits, the email is handed to the
+ * {@link EmailOutboxDispatcher}, which delivers it on a background worker with retries.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+  private final OutboundEmailRepository outboundEmailRepository;
+  private final EmailOutboxDispatcher dispatcher;
+
+  /**
+   * Queues an email for delivery after the current transaction commits, or immediately if no
+   * transaction is active.
+   *
+   * @param toEmail     the recipient's email address
+   * @param subject     the subject of the email
+   * @param htmlContent the HTML content of the email
+   * @return the id of the queued email
+   * @throws EmailSendingException if any argument is null
+   */
+  @Transactional
+  public UUID enqueue(String toEmail, String subject, String htmlContent) {
+    if (toEmail == null || subject == null || htmlContent == null) {
+      log.error("Cannot queue email: recipient, subject or content is null");
+      throw new EmailSendingException("Recipient, subject and content are required");
+    }
+
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    UUID id = outboundEmailRepository.save(OutboundEmail.builder()
+        .recipient(toEmail)
+        .subject(subject)
+        .htmlContent(htmlContent)
+        .status(OutboxStatus.PENDING)
+        .nextAttemptAt(now)
+        .createdAt(now)
+        .build()).getId();
+    log.debug("Queued email {} to {}", id, toEmail);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          dispatcher.dispatch(id);
+        }
+      });
+    } else {
+      dispatcher.dispatch(id);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the number of queued emails per status.
+   *
+   * @return the count for every status, including zero counts
+   */
+  @Transactional(readOnly = true)
+  public Map<OutboxStatus, Long> getStatusCounts() {
+    Map<OutboxStatus, Long> counts = new EnumMap<>(OutboxStatus.class);
+    for (OutboxStatus status : OutboxStatus.values()) {
+      counts.put(status, 0L);
+    }
+    for (Object[] row : outboundEmailRepository.countByStatus()) {
+      counts.put((OutboxStatus) row[0], (Long) row[1]);
+    }
+    return counts;
+  }
+}
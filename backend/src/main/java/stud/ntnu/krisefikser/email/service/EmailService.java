@@ -1,5 +1,7 @@
 package stud.ntnu.krisefikser.email.service;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import lombok.Data;
@@ -74,7 +76,7 @@ public class EmailService {
       }
     }
 
-    String url = "https://" + mailProperties.getHost() + "/api/send";
+    String url = apiUrl("/api/send");
 
     HttpHeaders headers = new HttpHeaders();
     headers.setBearerAuth(mailProperties.getApiKey());
@@ -116,6 +118,114 @@ public class EmailService {
     }
   }
 
+  /**
+   * Sends personalised emails with a shared subject in one call to the Mailtrap batch API.
+   *
+   * <p>Mailtrap accepts up to 500 messages per call and reports the outcome of each message
+   * separately, so a batch can partially succeed.</p>
+   *
+   * @param subject  the subject shared by all messages
+   * @param messages the recipients and their HTML content
+   * @return the number of accepted and rejected messages
+   * @throws EmailSendingException if the call itself fails
+   */
+  public BatchResult sendBatch(String subject, List<BatchMessage> messages) {
+    if (subject == null || messages == null) {
+      throw new EmailSendingException("Subject and messages cannot be null");
+    }
+    if (messages.isEmpty()) {
+      return new BatchResult(0, 0, List.of());
+    }
+
+    if (e2eMailCapture) {
+      E2eMailOutbox outbox = e2eMailOutbox.getIfAvailable();
+      if (outbox != null) {
+        messages.forEach(message -> outbox.record(message.to(), subject, message.html()));
+        log.info("E2E mail capture: stored {} batched messages", messages.size());
+        return new BatchResult(messages.size(), 0, List.of());
+      }
+    }
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setBearerAuth(mailProperties.getApiKey());
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    MailtrapBatchBase base = new MailtrapBatchBase();
+    base.setFrom(new MailtrapAddress(mailProperties.getFrom()));
+    base.setSubject(subject);
+    MailtrapBatchRequest payload = new MailtrapBatchRequest();
+    payload.setBase(base);
+    payload.setRequests(messages.stream().map(message -> {
+      MailtrapBatchItem item = new MailtrapBatchItem();
+      item.setTo(Collections.singletonList(new MailtrapAddress(message.to())));
+      item.setHtml(message.html());
+      return item;
+    }).toList());
+
+    MailtrapBatchResponse response;
+    try {
+      response = restTemplate.postForEntity(apiUrl("/api/batch"),
+          new HttpEntity<>(payload, headers), MailtrapBatchResponse.class).getBody();
+    } catch (RestClientResponseException e) {
+      log.error("Mail API HTTP {} sending batch of {}: {}", e.getStatusCode().value(),
+          messages.size(), e.getResponseBodyAsString());
+      throw new EmailSendingException("Failed to send email batch: HTTP "
+          + e.getStatusCode().value());
+    } catch (Exception e) {
+      log.error("Unexpected error sending batch of {}: {}", messages.size(), e.getMessage(), e);
+      throw new EmailSendingException("Failed to send email batch due to an unexpected error");
+    }
+
+    if (response == null || response.getResponses() == null) {
+      if (response != null && response.isSuccess()) {
+        return new BatchResult(messages.size(), 0, List.of());
+      }
+      List<String> errors = response != null && response.getErrors() != null
+          ? response.getErrors() : List.of("Empty response from mail API");
+      return new BatchResult(0, messages.size(), errors);
+    }
+    int sent = 0;
+    List<String> errors = new ArrayList<>();
+    for (int i = 0; i < response.getResponses().size(); i++) {
+      MailtrapBatchItemResponse item = response.getResponses().get(i);
+      if (item.isSuccess()) {
+        sent++;
+      } else if (item.getErrors() != null) {
+        String recipient = messages.get(i).to();
+        item.getErrors().forEach(error -> errors.add(recipient + ": " + error));
+      }
+    }
+    log.info("Email batch of {} sent: {} accepted", messages.size(), sent);
+    return new BatchResult(sent, messages.size() - sent, errors);
+  }
+
+  private String apiUrl(String path) {
+    String host = mailProperties.getHost();
+    return (host.startsWith("http://") || host.startsWith("https://") ? host
+        : "https://" + host) + path;
+  }
+
+  /**
+   * One message of a batch.
+   *
+   * @param to   the recipient's email address
+   * @param html the HTML content for this recipient
+   */
+  public record BatchMessage(String to, String html) {
+
+  }
+
+  /**
+   * Outcome of a batch call.
+   *
+   * @param sent   messages accepted by the mail API
+   * @param failed messages rejected by the mail API
+   * @param errors error messages reported for rejected messages
+   */
+  public record BatchResult(int sent, int failed, List<String> errors) {
+
+  }
+
   // --- Mailtrap API DTOs ---
   // Note: Adjust these based on the actual Mailtrap API documentation if needed.
 
@@ -138,4 +248,42 @@ public class EmailService {
       this.email = email;
     }
   }
-} 
\ No newline at end of file
+
+  @Data
+  private static class MailtrapBatchRequest {
+
+    private MailtrapBatchBase base;
+    private List<MailtrapBatchItem> requests;
+  }
+
+  @Data
+  private static class MailtrapBatchBase {
+
+    private MailtrapAddress from;
+    private String subject;
+  }
+
+  @Data
+  private static class MailtrapBatchItem {
+
+    private List<MailtrapAddress> to;
+    private String html;
+  }
+
+  @Data
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class MailtrapBatchResponse {
+
+    private boolean success;
+    private List<MailtrapBatchItemResponse> responses;
+    private List<String> errors;
+  }
+
+  @Data
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  private static class MailtrapBatchItemResponse {
+
+    private boolean success;
+    private List<String> errors;
+  }
+}
@@ -1,11 +1,19 @@
 package stud.ntnu.krisefikser.email.service;
 
+import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
 import org.springframework.util.FileCopyUtils;
 import stud.ntnu.krisefikser.email.exception.EmailTemplateException;
@@ -13,16 +21,56 @@ import stud.ntnu.krisefikser.email.exception.EmailTemplateException;
 /**
  * Service class for loading and replacing variables in email templates.
  *
- * <p>This service provides functionality to load email templates from the classpath and replace
- * placeholders with actual values.
+ * <p>Templates are read from the "templates/" directory on the classpath and compiled once into
+ * a list of literal and placeholder segments. All HTML templates are compiled at startup, any
+ * other template on first use, and the compiled templates are cached. Rendering is a single pass
+ * over the segments into an exactly sized buffer.</p>
+ *
+ * <p>With {@code mail.templates.hot-reload=true} the cache is bypassed and templates are read
+ * and compiled on every render, so edits show up without a restart during development.</p>
  */
 @Service
+@Slf4j
 public class EmailTemplateService {
 
+  private static final String TEMPLATE_DIRECTORY = "templates/";
+
+  private final Map<String, CompiledTemplate> cache = new ConcurrentHashMap<>();
+
+  @Value("${mail.templates.hot-reload:false}")
+  private boolean hotReload;
+
+  /**
+   * Compiles all HTML templates on the classpath, so that broken or missing templates are found
+   * at startup and the first email of each kind does not pay for reading the file.
+   */
+  @PostConstruct
+  void precompileTemplates() {
+    if (hotReload) {
+      return;
+    }
+    try {
+      Resource[] resources = new PathMatchingResourcePatternResolver()
+          .getResources("classpath*:" + TEMPLATE_DIRECTORY + "*.html");
+      for (Resource resource : resources) {
+        String name = resource.getFilename();
+        if (name != null) {
+          cache.computeIfAbsent(name, this::compile);
+        }
+      }
+      log.info("Compiled {} email templates", cache.size());
+    } catch (IOException e) {
+      log.warn("Could not list email templates, they will be compiled on first use: {}",
+          e.getMessage());
+    }
+  }
+
   /**
    * Loads an email template by its name, replaces placeholders with the provided variable values,
    * and returns the processed content.
    *
+   * <p>Placeholders without a value are left as they are, and values are inserted verbatim.</p>
+   *
    * @param templateName the name of the template file to load, expected to be located in the
    *                     "templates/" directory on the classpath
    * @param variables    a map of placeholder keys and their corresponding replacement values
@@ -37,22 +85,109 @@ public class EmailTemplateService {
       throw new EmailTemplateException("Variables map cannot be null");
     }
 
-    try {
-      ClassPathResource resource = new ClassPathResource("templates/" + templateName);
-      String templateContent;
-      try (Reader reader = new InputStreamReader(resource.getInputStream(),
-          StandardCharsets.UTF_8)) {
-        templateContent = FileCopyUtils.copyToString(reader);
+    CompiledTemplate template = hotReload
+        ? compile(templateName)
+        : cache.computeIfAbsent(templateName, this::compile);
+    return template.render(variables);
+  }
+
+  private CompiledTemplate compile(String templateName) {
+    ClassPathResource resource = new ClassPathResource(TEMPLATE_DIRECTORY + templateName);
+    try (Reader reader = new InputStreamReader(resource.getInputStream(),
+        StandardCharsets.UTF_8)) {
+      return CompiledTemplate.compile(FileCopyUtils.copyToString(reader));
+    } catch (IOException e) {
+      throw new EmailTemplateException("Failed to load template: " + templateName, e);
+    }
+  }
+
+  /**
+   * A template split into literal text and {@code {{name}}} placeholders.
+   *
+   * <p>Placeholder names consist of letters, digits, {@code _}, {@code .} and {@code -}. Anything
+   * else between double braces, such as CSS in a style block, is kept as literal text.</p>
+   */
+  static final class CompiledTemplate {
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] placeholders) {
+      this.literals = literals;
+      this.placeholders = placeholders;
+      int length = 0;
+      for (String literal : literals) {
+        length += literal.length();
       }
+      this.literalLength = length;
+    }
 
-      String finalContent = templateContent;
-      for (Map.Entry<String, String> entry : variables.entrySet()) {
-        finalContent = finalContent.replace("{{" + entry.getKey() + "}}", entry.getValue());
+    /**
+     * Splits the template source into segments.
+     *
+     * @param source the template source
+     * @return the compiled template
+     */
+    static CompiledTemplate compile(String source) {
+      List<String> literals = new ArrayList<>();
+      List<String> placeholders = new ArrayList<>();
+      int literalStart = 0;
+      int open = source.indexOf("{{");
+      while (open >= 0) {
+        int close = source.indexOf("}}", open + 2);
+        if (close < 0) {
+          break;
+        }
+        String name = source.substring(open + 2, close);
+        if (isPlaceholderName(name)) {
+          literals.add(source.substring(literalStart, open));
+          placeholders.add(name);
+          literalStart = close + 2;
+          open = source.indexOf("{{", literalStart);
+        } else {
+          open = source.indexOf("{{", open + 1);
+        }
       }
+      literals.add(source.substring(literalStart));
+      return new CompiledTemplate(literals.toArray(String[]::new),
+          placeholders.toArray(String[]::new));
+    }
 
-      return finalContent;
-    } catch (IOException e) {
-      throw new EmailTemplateException("Failed to load template: " + templateName, e);
+    /**
+     * Renders the template. The i-th placeholder sits between the i-th and (i+1)-th literal.
+     *
+     * @param variables the placeholder values
+     * @return the rendered template
+     */
+    String render(Map<String, String> variables) {
+      String[] values = new String[placeholders.length];
+      int length = literalLength;
+      for (int i = 0; i < placeholders.length; i++) {
+        String value = variables.get(placeholders[i]);
+        values[i] = value != null ? value : "{{" + placeholders[i] + "}}";
+        length += values[i].length();
+      }
+
+      StringBuilder out = new StringBuilder(length);
+      out.append(literals[0]);
+      for (int i = 0; i < values.length; i++) {
+        out.append(values[i]).append(literals[i + 1]);
+      }
+      return out.toString();
+    }
+
+    private static boolean isPlaceholderName(String name) {
+      if (name.isEmpty()) {
+        return false;
+      }
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (!Character.isLetterOrDigit(c) && c != '_' && c != '.' && c != '-') {
+          return false;
+        }
+      }
+      return true;
     }
   }
-} 
\ No newline at end of file
+}
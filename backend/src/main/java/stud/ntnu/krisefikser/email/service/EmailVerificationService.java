@@ -22,6 +22,10 @@ import stud.ntnu.krisefikser.user.entity.User;
  * <p>This service is responsible for creating, verifying, and sending email verification tokens to
  * users. It also handles the sending of password reset emails and admin login verification
  * emails.</p>
+ *
+ * <p>Emails are queued in the {@link EmailOutboxService} and delivered after the caller's
+ * transaction commits, so the returned responses are {@code 202 Accepted} once the email is
+ * queued, not the mail API's response.</p>
  */
 @Service
 @RequiredArgsConstructor
@@ -29,7 +33,7 @@ import stud.ntnu.krisefikser.user.entity.User;
 public class EmailVerificationService {
 
   private final VerificationTokenRepository tokenRepository;
-  private final EmailService emailService;
+  private final EmailOutboxService emailOutboxService;
   private final MailProperties mailProperties;
   private final EmailTemplateService emailTemplateService;
   private final FrontendConfig frontendConfig;
@@ -109,7 +113,7 @@ public class EmailVerificationService {
 
     String htmlContent = emailTemplateService.loadAndReplace("verification.html", variables);
 
-    return emailService.sendEmail(
+    return queue(
         user.getEmail(),
         "Please verify your email address",
         htmlContent
@@ -131,7 +135,7 @@ public class EmailVerificationService {
 
     String htmlContent = emailTemplateService.loadAndReplace("password-reset.html", variables);
 
-    return emailService.sendEmail(
+    return queue(
         user.getEmail(),
         "Reset your password",
         htmlContent
@@ -153,7 +157,7 @@ public class EmailVerificationService {
     String htmlContent = emailTemplateService.loadAndReplace("admin-login-verification.html",
         variables);
 
-    return emailService.sendEmail(
+    return queue(
         user.getEmail(),
         "Admin Login Verification",
         htmlContent
@@ -182,15 +186,15 @@ public class EmailVerificationService {
       String content =
           emailTemplateService.loadAndReplace("password-change-notification.html", variables);
 
-      log.info("Sending password change notification email to: {}", user.getEmail());
-      ResponseEntity<String> response = emailService.sendEmail(
+      log.info("Queueing password change notification email to: {}", user.getEmail());
+      ResponseEntity<String> response = queue(
           user.getEmail(),
           "Password Change Notification",
           content
       );
 
       if (response.getStatusCode().is2xxSuccessful()) {
-        log.info("Successfully sent password change notification email to: {}", user.getEmail());
+        log.info("Queued password change notification email to: {}", user.getEmail());
       } else {
         log.error(
             "Failed to send password change notification email to: {}. Status: {}, Response: {}",
@@ -205,4 +209,9 @@ public class EmailVerificationService {
           .body("Failed to send password change notification: " + e.getMessage());
     }
   }
-}
\ No newline at end of file
+
+  private ResponseEntity<String> queue(String toEmail, String subject, String htmlContent) {
+    UUID id = emailOutboxService.enqueue(toEmail, subject, htmlContent);
+    return ResponseEntity.accepted().body(id.toString());
+  }
+}
@@ -1,5 +1,6 @@
 package stud.ntnu.krisefikser.email.service;
 
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -30,4 +31,10 @@ public class MockEmailService extends EmailService {
     logger.info("Mock email sent to: {}\nSubject: {}\nBody: {}", to, subject, body);
     return new ResponseEntity<>("Mock email sent successfully", HttpStatus.OK);
   }
-}
\ No newline at end of file
+
+  @Override
+  public BatchResult sendBatch(String subject, List<BatchMessage> messages) {
+    logger.info("Mock email batch of {} sent\nSubject: {}", messages.size(), subject);
+    return new BatchResult(messages.size(), 0, List.of());
+  }
+}
@@ -0,0 +1,55 @@
+package stud.ntnu.krisefikser.email.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces out sends to a fixed rate.
+ *
+ * <p>Each call reserves the next free slot for its permits and waits until that slot starts, so
+ * a batch of {@code n} messages pushes the following batch {@code n / rate} seconds back. No
+ * burst is allowed beyond the first call after an idle period.</p>
+ */
+public class SendRateLimiter {
+
+  private final long nanosPerPermit;
+  private long nextFreeNanos = Long.MIN_VALUE;
+
+  /**
+   * Creates a limiter.
+   *
+   * @param permitsPerSecond the sustained rate
+   */
+  public SendRateLimiter(double permitsPerSecond) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("Rate must be positive");
+    }
+    this.nanosPerPermit = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+  }
+
+  /**
+   * Waits until the given number of permits may be used.
+   *
+   * @param permits the number of messages about to be sent
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void acquire(int permits) throws InterruptedException {
+    long waitNanos = reserve(permits, System.nanoTime());
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /**
+   * Reserves the next free slot.
+   *
+   * @param permits   the number of permits
+   * @param nowNanos  the current {@link System#nanoTime()}
+   * @return how long the caller has to wait before using the permits
+   */
+  synchronized long reserve(int permits, long nowNanos) {
+    long start = nextFreeNanos == Long.MIN_VALUE || nextFreeNanos - nowNanos < 0
+        ? nowNanos : nextFreeNanos;
+    nextFreeNanos = start + permits * nanosPerPermit;
+    return start - nowNanos;
+  }
+}
@@ -6,10 +6,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -31,6 +33,8 @@ import stud.ntnu.krisefikser.user.entity.User;
 /**
  * Entity representing a household.
  *
+ * <p>The coordinate index serves counting the households inside an event's radius.</p>
+ *
  * @since 1.0
  */
 @Entity
@@ -40,6 +44,9 @@ import stud.ntnu.krisefikser.user.entity.User;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString(exclude = {"members"})
+@Table(name = "household", indexes = {
+    @Index(name = "idx_household_latitude_longitude", columnList = "latitude, longitude")
+})
 public class Household {
 
   @Id
@@ -3,6 +3,8 @@ package stud.ntnu.krisefikser.household.repository;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import stud.ntnu.krisefikser.household.entity.Household;
 import stud.ntnu.krisefikser.user.entity.User;
 
@@ -14,4 +16,62 @@ import stud.ntnu.krisefikser.user.entity.User;
  * {@link Household} entities.
  */
 public interface HouseholdRepository extends JpaRepository<Household, UUID> {
+
+  /**
+   * Meters per degree of latitude, and per degree of longitude at the equator.
+   */
+  double METERS_PER_DEGREE = 111_320;
+
+  /**
+   * Counts the households within a radius of a point.
+   *
+   * <p>The bounding box of the circle is matched against the latitude/longitude index, and the
+   * distance is then checked on a flat projection around the center. For circles of a few
+   * kilometers the error is far below the precision of a household's coordinates.</p>
+   *
+   * @param latitude     the latitude of the center
+   * @param longitude    the longitude of the center
+   * @param radiusMeters the radius in meters
+   * @return the number of households inside the circle
+   */
+  default long countWithinRadius(double latitude, double longitude, double radiusMeters) {
+    double metersPerDegreeLongitude =
+        METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+    double latitudeDelta = radiusMeters / METERS_PER_DEGREE;
+    double longitudeDelta = radiusMeters / metersPerDegreeLongitude;
+    return countWithinBox(latitude - latitudeDelta, latitude + latitudeDelta,
+        longitude - longitudeDelta, longitude + longitudeDelta, latitude, longitude,
+        METERS_PER_DEGREE, metersPerDegreeLongitude, radiusMeters * radiusMeters);
+  }
+
+  /**
+   * Counts the households inside a bounding box whose projected distance from the center is at
+   * most the given radius. Use {@link #countWithinRadius(double, double, double)} instead.
+   *
+   * @param minLatitude              the southern edge of the box
+   * @param maxLatitude              the northern edge of the box
+   * @param minLongitude             the western edge of the box
+   * @param maxLongitude             the eastern edge of the box
+   * @param latitude                 the latitude of the center
+   * @param longitude                the longitude of the center
+   * @param metersPerDegreeLatitude  the length of a degree of latitude
+   * @param metersPerDegreeLongitude the length of a degree of longitude at the center
+   * @param radiusSquared            the squared radius in square meters
+   * @return the number of households inside the circle
+   */
+  @Query("SELECT COUNT(h) FROM Household h "
+      + "WHERE h.latitude BETWEEN :minLatitude AND :maxLatitude "
+      + "AND h.longitude BETWEEN :minLongitude AND :maxLongitude "
+      + "AND (h.latitude - CAST(:latitude AS Double)) * :metersPerDegreeLatitude "
+      + "* (h.latitude - CAST(:latitude AS Double)) * :metersPerDegreeLatitude "
+      + "+ (h.longitude - CAST(:longitude AS Double)) * :metersPerDegreeLongitude "
+      + "* (h.longitude - CAST(:longitude AS Double)) * :metersPerDegreeLongitude "
+      + "<= :radiusSquared")
+  long countWithinBox(@Param("minLatitude") double minLatitude,
+      @Param("maxLatitude") double maxLatitude, @Param("minLongitude") double minLongitude,
+      @Param("maxLongitude") double maxLongitude, @Param("latitude") double latitude,
+      @Param("longitude") double longitude,
+      @Param("metersPerDegreeLatitude") double metersPerDegreeLatitude,
+      @Param("metersPerDegreeLongitude") double metersPerDegreeLongitude,
+      @Param("radiusSquared") double radiusSquared);
 }
\ No newline at end of file
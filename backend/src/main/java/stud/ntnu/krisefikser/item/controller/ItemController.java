@@ -6,10 +6,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,15 +24,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
 import stud.ntnu.krisefikser.household.service.HouseholdService;
 import stud.ntnu.krisefikser.item.dto.ChecklistItemResponse;
 import stud.ntnu.krisefikser.item.dto.CreateFoodItemRequest;
+import stud.ntnu.krisefikser.item.dto.FoodItemImportResponse;
 import stud.ntnu.krisefikser.item.dto.FoodItemResponse;
 import stud.ntnu.krisefikser.item.dto.InventorySummaryResponse;
+import stud.ntnu.krisefikser.item.enums.FoodItemFormat;
 import stud.ntnu.krisefikser.item.service.ChecklistItemService;
 import stud.ntnu.krisefikser.item.service.FoodItemService;
+import stud.ntnu.krisefikser.item.service.FoodItemTransferService;
 import stud.ntnu.krisefikser.item.service.SummaryService;
 
 /**
@@ -66,6 +76,11 @@ public class ItemController {
    * retrieval of emergency checklist items.
    */
   private final ChecklistItemService checklistItemService;
+
+  /**
+   * Service component responsible for bulk import and export of food items.
+   */
+  private final FoodItemTransferService foodItemTransferService;
   private final HouseholdService householdService;
   private final SummaryService summaryService;
 
@@ -117,6 +132,72 @@ public class ItemController {
     return ResponseEntity.ok(foodItems);
   }
 
+  /**
+   * Imports food items in bulk from a JSON array.
+   *
+   * <p>The body is read as a stream, so very large imports do not need to fit in memory. The
+   * import is all-or-nothing: if any item is invalid, nothing is stored and every problem found is
+   * returned.</p>
+   *
+   * @param body the request body containing a JSON array of food items
+   * @return ResponseEntity containing the number of imported items
+   * @see FoodItemTransferService#importFoodItems(InputStream, FoodItemFormat)
+   */
+  @PostMapping(value = "/food/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+  @Operation(summary = "Import food items from a JSON array")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "Food items imported successfully"),
+      @ApiResponse(responseCode = "400", description = "Malformed input or invalid items")
+  })
+  public ResponseEntity<FoodItemImportResponse> importFoodItemsJson(InputStream body) {
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(foodItemTransferService.importFoodItems(body, FoodItemFormat.JSON));
+  }
+
+  /**
+   * Imports food items in bulk from CSV with the header {@code name,icon,kcal,expirationDate}.
+   *
+   * @param body the request body containing the CSV
+   * @return ResponseEntity containing the number of imported items
+   * @see #importFoodItemsJson(InputStream)
+   */
+  @PostMapping(value = "/food/import", consumes = "text/csv")
+  @Operation(summary = "Import food items from CSV")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "201", description = "Food items imported successfully"),
+      @ApiResponse(responseCode = "400", description = "Malformed input or invalid items")
+  })
+  public ResponseEntity<FoodItemImportResponse> importFoodItemsCsv(InputStream body) {
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .body(foodItemTransferService.importFoodItems(body, FoodItemFormat.CSV));
+  }
+
+  /**
+   * Exports all food items of the active household as JSON or CSV.
+   *
+   * <p>Items are streamed from the database to the response, soonest expiring first.</p>
+   *
+   * @param format   the export format, {@code JSON} (default) or {@code CSV}
+   * @param response the response to write the export to
+   * @throws IOException if writing the response fails
+   */
+  @GetMapping("/food/export")
+  @Operation(summary = "Export food items as JSON or CSV")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Food items exported successfully"),
+      @ApiResponse(responseCode = "404", description = "Household not found")
+  })
+  public void exportFoodItems(
+      @Parameter(description = "Export format")
+      @RequestParam(defaultValue = "JSON") FoodItemFormat format,
+      HttpServletResponse response) throws IOException {
+    boolean csv = format == FoodItemFormat.CSV;
+    response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_JSON_VALUE);
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+        .filename(csv ? "matvarer.csv" : "matvarer.json").build().toString());
+    foodItemTransferService.exportFoodItems(format, response.getOutputStream());
+  }
+
   /**
    * Toggles the completion status of a specific checklist item.
    *
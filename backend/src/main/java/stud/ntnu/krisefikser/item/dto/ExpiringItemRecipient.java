@@ -0,0 +1,21 @@
+package stud.ntnu.krisefikser.item.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Flat projection of an expiring food item joined to one household member who should be reminded
+ * about it.
+ *
+ * <p>Rows are produced by a single streamed query in
+ * {@link stud.ntnu.krisefikser.item.repository.FoodItemRepository} and consumed by the daily
+ * expiry reminder job, which groups consecutive rows per user into one digest notification.</p>
+ */
+public record ExpiringItemRecipient(
+    UUID userId,
+    String userEmail,
+    UUID itemId,
+    String itemName,
+    Instant expirationDate) {
+
+}
@@ -0,0 +1,21 @@
+package stud.ntnu.krisefikser.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object describing the outcome of a successful bulk food item import.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodItemImportResponse {
+
+  /**
+   * Number of food items added to the household.
+   */
+  private int imported;
+}
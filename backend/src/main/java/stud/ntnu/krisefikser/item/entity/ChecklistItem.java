@@ -5,8 +5,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,6 +30,9 @@ import stud.ntnu.krisefikser.item.enums.ChecklistCategory;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "checklist_item", indexes = {
+    @Index(name = "idx_checklist_item_household", columnList = "household_id")
+})
 public class ChecklistItem {
 
   /**
@@ -0,0 +1,89 @@
+package stud.ntnu.krisefikser.item.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Ledger entry for one run of the daily expiry reminder job.
+ *
+ * <p>A run processes recipients in chunks ordered by user id. After each chunk is committed, the
+ * id of the last processed user is stored as a checkpoint, so a run interrupted by a crash or
+ * shutdown resumes after that user instead of starting over. There is at most one run per
+ * calendar day, which makes a second trigger on the same day a no-op.</p>
+ *
+ * <p>{@link #startedAt} doubles as the run's notification watermark: food items stamped with
+ * this instant were notified by this run and stay eligible for the run's remaining users, while
+ * items stamped by earlier runs are skipped.</p>
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "expiry_reminder_run")
+public class ExpiryReminderRun {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  /**
+   * The calendar day this run covers.
+   */
+  @Column(nullable = false, unique = true)
+  private LocalDate runDate;
+
+  @Column(nullable = false)
+  @Enumerated(EnumType.STRING)
+  private RunStatus status;
+
+  /**
+   * When the run was first started. Also used as the expiry window start and item watermark, so
+   * a resumed run sees the same window as the original attempt. Truncated to milliseconds so the
+   * watermark compares equal after a round-trip through the database.
+   */
+  @Column(nullable = false)
+  private Instant startedAt;
+
+  private Instant finishedAt;
+
+  /**
+   * Checkpoint: id of the last user whose digest has been committed, or null if no chunk has
+   * completed yet.
+   */
+  private UUID lastUserId;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private long rowsProcessed = 0;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private long digestsCreated = 0;
+
+  @Column(nullable = false)
+  @Builder.Default
+  private int chunksCompleted = 0;
+
+  /**
+   * An enum describing the state of a reminder run.
+   */
+  public enum RunStatus {
+    RUNNING, COMPLETED
+  }
+}
@@ -5,10 +5,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.Table;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
@@ -26,12 +28,20 @@ import stud.ntnu.krisefikser.notification.entity.Notification;
  *
  * <p>Food items are essential supplies for crisis situations, stored with information
  * about their nutritional value, expiration date, and other relevant details.</p>
+ *
+ * <p>The expiration date index serves the daily expiry range scan, and the composite household
+ * index serves the per-household listing, which would otherwise scan the whole table.</p>
  */
 @Entity
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "food_item", indexes = {
+    @Index(name = "idx_food_item_expiration_date", columnList = "expirationDate"),
+    @Index(name = "idx_food_item_household_expiration",
+        columnList = "household_id, expirationDate")
+})
 public class FoodItem {
 
   /**
@@ -70,6 +80,12 @@ public class FoodItem {
    */
   private Instant expirationDate;
 
+  /**
+   * Watermark set by the expiry reminder job once the household has been notified about this
+   * item. Cleared when the expiration date changes so the new date is reminded about again.
+   */
+  private Instant expiryNotifiedAt;
+
   @OneToMany(mappedBy = "item")
   private Set<Notification> notifications = new HashSet<>();
 
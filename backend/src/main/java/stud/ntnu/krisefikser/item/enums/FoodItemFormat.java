@@ -0,0 +1,16 @@
+package stud.ntnu.krisefikser.item.enums;
+
+/**
+ * Wire formats supported by the bulk food item import and export.
+ */
+public enum FoodItemFormat {
+  /**
+   * A JSON array of food item objects.
+   */
+  JSON,
+
+  /**
+   * Comma-separated values with a header row: {@code name,icon,kcal,expirationDate}.
+   */
+  CSV
+}
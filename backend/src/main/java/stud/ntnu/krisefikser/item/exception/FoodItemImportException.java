@@ -0,0 +1,34 @@
+package stud.ntnu.krisefikser.item.exception;
+
+import java.util.List;
+
+/**
+ * Exception thrown when a bulk food item import is rejected.
+ *
+ * <p>An import is all-or-nothing: if any item is invalid, nothing is stored and the exception
+ * carries the problems found, so the client can fix them all in one go.</p>
+ */
+public class FoodItemImportException extends RuntimeException {
+
+  private final List<String> errors;
+
+  /**
+   * Constructs a new FoodItemImportException.
+   *
+   * @param message a summary of why the import was rejected
+   * @param errors  the individual problems, one per invalid item or field
+   */
+  public FoodItemImportException(String message, List<String> errors) {
+    super(message);
+    this.errors = List.copyOf(errors);
+  }
+
+  /**
+   * Returns the individual problems that caused the import to be rejected.
+   *
+   * @return the error messages
+   */
+  public List<String> getErrors() {
+    return errors;
+  }
+}
@@ -0,0 +1,32 @@
+package stud.ntnu.krisefikser.item.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun.RunStatus;
+
+/**
+ * Repository interface for the {@link ExpiryReminderRun} ledger.
+ */
+public interface ExpiryReminderRunRepository extends JpaRepository<ExpiryReminderRun, UUID> {
+
+  /**
+   * Finds the run for a given calendar day.
+   *
+   * @param runDate the day of the run
+   * @return an Optional containing the run if one was started that day
+   */
+  Optional<ExpiryReminderRun> findByRunDate(LocalDate runDate);
+
+  /**
+   * Finds all runs in the given status, oldest first. Used to pick up runs that were interrupted
+   * before completing.
+   *
+   * @param status the status to filter on
+   * @return the matching runs ordered by start time
+   */
+  List<ExpiryReminderRun> findByStatusOrderByStartedAtAsc(RunStatus status);
+}
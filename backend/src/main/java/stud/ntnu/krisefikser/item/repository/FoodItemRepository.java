@@ -1,10 +1,20 @@
 package stud.ntnu.krisefikser.item.repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import stud.ntnu.krisefikser.household.entity.Household;
+import stud.ntnu.krisefikser.item.dto.ExpiringItemRecipient;
+import stud.ntnu.krisefikser.item.dto.FoodItemResponse;
 import stud.ntnu.krisefikser.item.entity.FoodItem;
 
 /**
@@ -24,17 +34,91 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, UUID> {
   List<FoodItem> findByHousehold(Household household);
 
   /**
-   * Finds all food items that have an expiration date falling within the specified range.
+   * Streams all food items of a household as response DTOs, soonest expiring first.
    *
-   * <p>This method is typically used to find items that are expiring soon or have already expired,
-   * based on the provided start and end dates (inclusive of start, exclusive of end if typical for
-   * 'between' queries, though Instant comparison is direct).</p>
+   * <p>Served by the composite household/expiration date index. On MySQL the rows are read in
+   * pages of the fetch size only with {@code useCursorFetch=true} on the connection. The returned
+   * stream must be consumed inside a transaction and closed after use.</p>
    *
-   * @param startDate the inclusive start of the expiration date range (e.g., Instant.now()).
-   * @param endDate   the exclusive end of the expiration date range (e.g., Instant.now().plus(7,
-   *                  ChronoUnit.DAYS)).
-   * @return a list of {@link FoodItem} entities whose expiration dates fall within the specified
-   * range. Returns an empty list if no items match the criteria.
+   * @param householdId the id of the household
+   * @return a stream of food item responses ordered by expiration date
    */
-  List<FoodItem> findAllByExpirationDateBetween(Instant startDate, Instant endDate);
+  @Query("SELECT new stud.ntnu.krisefikser.item.dto.FoodItemResponse("
+      + "f.id, f.name, f.icon, f.kcal, f.expirationDate) "
+      + "FROM FoodItem f WHERE f.household.id = :householdId ORDER BY f.expirationDate")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<FoodItemResponse> streamResponsesByHouseholdId(@Param("householdId") UUID householdId);
+
+  /**
+   * Joins expiring items to the members of their household who should be reminded about them.
+   * Items already notified by an earlier run (an {@code expiryNotifiedAt} watermark before
+   * {@code notifiedSince}) are excluded, while items stamped by the current run stay visible to
+   * its remaining users.
+   */
+  String EXPIRING_RECIPIENTS = "FROM FoodItem f "
+      + "JOIN HouseholdMember hm ON hm.household = f.household JOIN hm.user u "
+      + "WHERE f.expirationDate BETWEEN :startDate AND :endDate AND u.notifications = true "
+      + "AND (f.expiryNotifiedAt IS NULL OR f.expiryNotifiedAt >= :notifiedSince) ";
+
+  /**
+   * Finds the next page of users who have expiring items to be reminded about, in id order.
+   *
+   * <p>The page starts after {@code afterUserId}, so a run reads each user once however many
+   * pages it takes, and resumes from its checkpoint after an interruption.</p>
+   *
+   * @param startDate     the inclusive start of the expiration date range
+   * @param endDate       the inclusive end of the expiration date range
+   * @param notifiedSince the watermark of the current run
+   * @param afterUserId   the checkpoint; only users ordered after this id are returned
+   * @param limit         the maximum number of users to return
+   * @return the ids of the users, ascending
+   */
+  @Query("SELECT DISTINCT u.id " + EXPIRING_RECIPIENTS
+      + "AND u.id > :afterUserId ORDER BY u.id LIMIT :limit")
+  List<UUID> findExpiringRecipientIdsAfter(
+      @Param("startDate") Instant startDate,
+      @Param("endDate") Instant endDate,
+      @Param("notifiedSince") Instant notifiedSince,
+      @Param("afterUserId") UUID afterUserId,
+      @Param("limit") int limit);
+
+  /**
+   * Finds every (expiring item, household member) pair of the given users that still needs a
+   * reminder.
+   *
+   * <p>Members are filtered on
+   * {@link stud.ntnu.krisefikser.user.entity.User#isNotifications()} in the database, so the
+   * caller never issues per-item member lookups. Rows are ordered by user and then by expiration
+   * date, so consecutive rows make up one user's digest.</p>
+   *
+   * @param startDate     the inclusive start of the expiration date range
+   * @param endDate       the inclusive end of the expiration date range
+   * @param notifiedSince the watermark of the current run
+   * @param userIds       the users of the page, from
+   *                      {@link #findExpiringRecipientIdsAfter(Instant, Instant, Instant, UUID,
+   *                      int)}
+   * @return the item/recipient rows ordered by user id and expiration date
+   */
+  @Query("SELECT new stud.ntnu.krisefikser.item.dto.ExpiringItemRecipient("
+      + "u.id, u.email, f.id, f.name, f.expirationDate) " + EXPIRING_RECIPIENTS
+      + "AND u.id IN :userIds ORDER BY u.id, f.expirationDate")
+  List<ExpiringItemRecipient> findExpiringItemRecipients(
+      @Param("startDate") Instant startDate,
+      @Param("endDate") Instant endDate,
+      @Param("notifiedSince") Instant notifiedSince,
+      @Param("userIds") Collection<UUID> userIds);
+
+  /**
+   * Stamps the given items with the expiry notification watermark. Items that already carry a
+   * watermark are left untouched.
+   *
+   * @param ids        the ids of the items that were included in a committed digest
+   * @param notifiedAt the watermark of the run that notified them
+   * @return the number of items stamped
+   */
+  @Modifying
+  @Query("UPDATE FoodItem f SET f.expiryNotifiedAt = :notifiedAt "
+      + "WHERE f.id IN :ids AND f.expiryNotifiedAt IS NULL")
+  int markExpiryNotified(@Param("ids") Collection<UUID> ids,
+      @Param("notifiedAt") Instant notifiedAt);
 }
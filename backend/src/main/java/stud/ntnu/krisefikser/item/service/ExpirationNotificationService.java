@@ -1,130 +1,256 @@
 package stud.ntnu.krisefikser.item.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import stud.ntnu.krisefikser.household.entity.HouseholdMember;
-import stud.ntnu.krisefikser.household.service.HouseholdMemberService;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.item.dto.ExpiringItemRecipient;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun.RunStatus;
 import stud.ntnu.krisefikser.item.entity.FoodItem;
+import stud.ntnu.krisefikser.item.repository.ExpiryReminderRunRepository;
 import stud.ntnu.krisefikser.item.repository.FoodItemRepository;
 import stud.ntnu.krisefikser.notification.entity.Notification;
 import stud.ntnu.krisefikser.notification.entity.NotificationType;
 import stud.ntnu.krisefikser.notification.service.NotificationService;
+import stud.ntnu.krisefikser.scheduling.SchedulerLock;
 import stud.ntnu.krisefikser.user.entity.User;
 
 /**
  * Service responsible for periodically checking for expiring food items and notifying users.
  *
  * <p>This service contains a scheduled task that runs daily to identify food items in households
- * that are nearing their expiration date. For each such item, it notifies members of the household,
- * provided their notification preferences are enabled.</p>
+ * that are nearing their expiration date. Every household member with notifications enabled
+ * receives a single digest notification listing their expiring items.</p>
  *
- * @see FoodItemRepository
- * @see HouseholdMemberService
- * @see NotificationService
+ * <p>The job is set-based: expiring items are joined to their recipients in the database and
+ * grouped per user. Runs are idempotent and resumable:</p>
+ * <ul>
+ *   <li>Each run is recorded in the {@link ExpiryReminderRun} ledger, at most one per day.</li>
+ *   <li>Recipients are processed in keyset pages of {@value #DIGEST_BATCH_SIZE} users. Each
+ *       chunk inserts its digests, stamps the notified items and advances the run's checkpoint in one
+ *       transaction, so an interrupted run resumes after the last committed user.</li>
+ *   <li>Items carry an {@code expiryNotifiedAt} watermark, so an item is only reminded about
+ *       once instead of on every day it is inside the 7-day window.</li>
+ * </ul>
+ *
+ * <p>Each run that is executed, fresh or resumed, is timed in {@value #RUN_TIMER}. The whole
+ * scheduled invocation, including days that are skipped, is timed by Spring in
+ * {@code tasks.scheduled.execution}.</p>
+ *
+ * @see FoodItemRepository#findExpiringRecipientIdsAfter(Instant, Instant, Instant, UUID, int)
+ * @see NotificationService#createNotifications(Map)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ExpirationNotificationService {
 
+  /**
+   * Number of users (and thus digest notifications) processed per chunk.
+   */
+  static final int DIGEST_BATCH_SIZE = 100;
+
+  /**
+   * Maximum length of a notification message, matching the default VARCHAR(255) column.
+   */
+  static final int MAX_MESSAGE_LENGTH = 255;
+
+  /**
+   * Checkpoint used before any chunk of a run has completed. Sorts before every generated id.
+   */
+  static final UUID FIRST_USER_ID = new UUID(0L, 0L);
+
+  static final String RUN_TIMER = "expiry.reminder.run";
+
   private static final DateTimeFormatter NORWEGIAN_DATE_FORMATTER = DateTimeFormatter.ofPattern(
           "dd.MM.yyyy")
       .withZone(ZoneId.systemDefault());
   private final FoodItemRepository foodItemRepository;
-  private final HouseholdMemberService householdMemberService;
+  private final ExpiryReminderRunRepository runRepository;
   private final NotificationService notificationService;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final MeterRegistry meterRegistry;
 
   /**
    * Periodically checks for food items nearing their expiration date and sends notifications.
    *
-   * <p>This method is scheduled. It queries for {@link FoodItem} entities that will expire within
-   * the next 7 days. For each expiring item, it retrieves the members of the associated household.
-   * If a household member has notifications enabled ({@link User#isNotifications()}), a
-   * notification of type {@link NotificationType#EXPIRY_REMINDER} is created and sent via the
-   * {@link NotificationService}.</p>
+   * <p>This method is scheduled. It first resumes any earlier run that was interrupted before
+   * completing, then starts today's run unless it has already completed. Triggering it again on
+   * the same day after a completed run does nothing.</p>
+   *
+   * <p>The job holds the {@code expiry-reminder} scheduler lease while running, so only one
+   * instance in a cluster processes the run at a time.</p>
    *
-   * <p>Logs are generated for the process, including the number of items found, notifications
-   * sent, and any errors encountered during notification dispatch.</p>
+   * <p>When a run completes, the elapsed time, the number of rows read and the number of
+   * digests created are logged.</p>
    */
   @Scheduled(cron = "0 0 9 * * *")
+  @SchedulerLock(name = "expiry-reminder", lockAtMostFor = "PT1H")
   public void checkForExpiredItemsAndNotifyUsers() {
     log.info("Starting daily check for expiring food items...");
-    Instant now = Instant.now();
-    Instant sevenDaysFromNow = now.plus(7, ChronoUnit.DAYS);
-
-    List<FoodItem> expiringItems = foodItemRepository.findAllByExpirationDateBetween(now,
-        sevenDaysFromNow);
+    for (ExpiryReminderRun interrupted : runRepository.findByStatusOrderByStartedAtAsc(
+        RunStatus.RUNNING)) {
+      log.info("Resuming interrupted expiry reminder run for {} after user {}.",
+          interrupted.getRunDate(), interrupted.getLastUserId());
+      execute(interrupted.getId(), "resumed");
+    }
 
-    if (expiringItems.isEmpty()) {
-      log.info("No food items expiring within the next 7 days.");
+    LocalDate today = LocalDate.now();
+    ExpiryReminderRun run = transactionTemplate.execute(status ->
+        runRepository.findByRunDate(today).orElseGet(() -> runRepository.save(
+            ExpiryReminderRun.builder()
+                .runDate(today)
+                .status(RunStatus.RUNNING)
+                .startedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS))
+                .build())));
+    if (run == null || run.getStatus() == RunStatus.COMPLETED) {
+      log.info("Expiry reminder run for {} has already completed. Skipping.", today);
       return;
     }
+    execute(run.getId(), "scheduled");
+  }
 
-    log.info("Found {} food items expiring soon.", expiringItems.size());
+  /**
+   * Drives a run to completion chunk by chunk and marks it as completed.
+   */
+  private void execute(UUID runId, String trigger) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    long startNanos = System.nanoTime();
+    while (Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(runId)))) {
+      log.debug("Committed expiry reminder chunk for run {}.", runId);
+    }
+    ExpiryReminderRun run = transactionTemplate.execute(status -> {
+      ExpiryReminderRun completed = runRepository.findById(runId).orElseThrow();
+      completed.setStatus(RunStatus.COMPLETED);
+      completed.setFinishedAt(Instant.now());
+      return runRepository.save(completed);
+    });
+    log.info("Finished expiry reminder run for {} in {} ms: {} rows processed, "
+            + "{} digest notifications created in {} chunks.",
+        run.getRunDate(), (System.nanoTime() - startNanos) / 1_000_000, run.getRowsProcessed(),
+        run.getDigestsCreated(), run.getChunksCompleted());
+    sample.stop(meterRegistry.timer(RUN_TIMER, "trigger", trigger));
+  }
 
-    for (FoodItem item : expiringItems) {
-      if (item.getHousehold() == null) {
-        log.warn("Food item with ID {} has no associated household. Skipping.", item.getId());
-        continue;
-      }
+  /**
+   * Processes the next chunk of users after the run's checkpoint. Must be called inside a
+   * transaction: digests, item watermarks and the new checkpoint are committed together.
+   *
+   * <p>The chunk is a keyset page: the ids of the next {@value #DIGEST_BATCH_SIZE} users after
+   * the checkpoint, then the expiring items of just those users. Each chunk reads only its own
+   * rows, so a run costs the same per user however far it has come.</p>
+   *
+   * @return true if more users may remain after this chunk
+   */
+  private boolean processChunk(UUID runId) {
+    ExpiryReminderRun run = runRepository.findById(runId).orElseThrow();
+    Instant watermark = run.getStartedAt();
+    Instant windowEnd = watermark.plus(7, ChronoUnit.DAYS);
+    UUID checkpoint = run.getLastUserId() != null ? run.getLastUserId() : FIRST_USER_ID;
+
+    List<UUID> userIds = foodItemRepository.findExpiringRecipientIdsAfter(watermark, windowEnd,
+        watermark, checkpoint, DIGEST_BATCH_SIZE);
+    if (userIds.isEmpty()) {
+      return false;
+    }
+    List<ExpiringItemRecipient> rows = foodItemRepository.findExpiringItemRecipients(watermark,
+        windowEnd, watermark, userIds);
 
-      List<HouseholdMember> members = householdMemberService.getMembers(
-          item.getHousehold().getId());
-      if (members.isEmpty()) {
-        log.warn(
-            "Household with ID {} for item '{}' has no members. Skipping.",
-            item.getHousehold().getId(),
-            item.getName());
-        continue;
+    Map<String, Notification> batch = new LinkedHashMap<>();
+    Set<UUID> itemIds = new HashSet<>();
+    List<ExpiringItemRecipient> currentUserRows = new ArrayList<>();
+    for (ExpiringItemRecipient row : rows) {
+      if (!currentUserRows.isEmpty()
+          && !Objects.equals(currentUserRows.get(0).userId(), row.userId())) {
+        addDigest(batch, itemIds, currentUserRows);
+        currentUserRows = new ArrayList<>();
       }
+      currentUserRows.add(row);
+    }
+    if (!currentUserRows.isEmpty()) {
+      addDigest(batch, itemIds, currentUserRows);
+    }
+
+    int created = notificationService.createNotifications(batch);
+    foodItemRepository.markExpiryNotified(itemIds, watermark);
+    run.setLastUserId(userIds.get(userIds.size() - 1));
+    run.setRowsProcessed(run.getRowsProcessed() + rows.size());
+    run.setDigestsCreated(run.getDigestsCreated() + created);
+    run.setChunksCompleted(run.getChunksCompleted() + 1);
+    runRepository.save(run);
+    return userIds.size() == DIGEST_BATCH_SIZE;
+  }
 
-      for (HouseholdMember member : members) {
-        User user = member.getUser();
-        if (user.isNotifications()) {
-          try {
-            Instant expiryInstant = item.getExpirationDate();
-            String userFriendlyExpirationDate = NORWEGIAN_DATE_FORMATTER.format(expiryInstant);
-
-            Notification notification = Notification.builder()
-                .user(user)
-                .type(NotificationType.EXPIRY_REMINDER)
-                .title("Vare utløper snart!")
-                .message(
-                    String.format(
-                        "%s utløper den %s.",
-                        item.getName(),
-                        userFriendlyExpirationDate))
-                .isRead(false)
-                .item(item)
-                .build();
-            notificationService.createNotification(notification);
-            log.info(
-                "Sent expiry notification for item '{}' to user '{}'",
-                item.getName(),
-                user.getEmail());
-          } catch (Exception e) {
-            log.error(
-                "Failed to send expiry notification for item '{}' to user '{}': {}",
-                item.getName(),
-                user.getEmail(),
-                e.getMessage(),
-                e);
-          }
-        } else {
-          log.info(
-              "User '{}' has notifications disabled. Skipping expiry alert for item '{}'.",
-              user.getEmail(),
-              item.getName());
-        }
+  /**
+   * Builds one digest notification from all rows belonging to a single user and adds it to the
+   * pending batch. The user and item are referenced through lazy proxies so no rows are loaded.
+   */
+  private void addDigest(Map<String, Notification> batch, Set<UUID> itemIds,
+      List<ExpiringItemRecipient> userRows) {
+    ExpiringItemRecipient first = userRows.get(0);
+    Notification notification = Notification.builder()
+        .user(entityManager.getReference(User.class, first.userId()))
+        .type(NotificationType.EXPIRY_REMINDER)
+        .title(userRows.size() == 1 ? "Vare utløper snart!" : "Varer utløper snart!")
+        .message(formatDigestMessage(userRows))
+        .isRead(false)
+        .item(entityManager.getReference(FoodItem.class, first.itemId()))
+        .build();
+    batch.put(first.userEmail(), notification);
+    userRows.forEach(row -> itemIds.add(row.itemId()));
+  }
+
+  /**
+   * Formats the digest message for one user's expiring items, soonest first. Items that do not fit
+   * within {@link #MAX_MESSAGE_LENGTH} are summarized as a trailing count.
+   *
+   * @param userRows the rows for one user, ordered by expiration date
+   * @return the digest message
+   */
+  static String formatDigestMessage(List<ExpiringItemRecipient> userRows) {
+    if (userRows.size() == 1) {
+      ExpiringItemRecipient row = userRows.get(0);
+      return String.format("%s utløper den %s.", row.itemName(),
+          NORWEGIAN_DATE_FORMATTER.format(row.expirationDate()));
+    }
+
+    StringBuilder message = new StringBuilder(MAX_MESSAGE_LENGTH);
+    int listed = 0;
+    for (ExpiringItemRecipient row : userRows) {
+      String entry = (listed == 0 ? "" : ", ") + row.itemName() + " ("
+          + NORWEGIAN_DATE_FORMATTER.format(row.expirationDate()) + ")";
+      String remainder = " og " + (userRows.size() - listed - 1) + " til utløper snart.";
+      if (message.length() + entry.length() + remainder.length() > MAX_MESSAGE_LENGTH) {
+        break;
       }
+      message.append(entry);
+      listed++;
+    }
+    if (listed == userRows.size()) {
+      message.append(" utløper snart.");
+    } else {
+      message.append(listed == 0 ? "" : " og ").append(userRows.size() - listed)
+          .append(listed == 0 ? " varer utløper snart." : " til utløper snart.");
     }
-    log.info("Finished daily check for expiring food items.");
+    return message.toString();
   }
 }
@@ -1,6 +1,7 @@
 package stud.ntnu.krisefikser.item.service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -78,7 +79,8 @@ public class FoodItemService {
    * Updates a food item with the specified ID.
    *
    * <p>This method updates the details of a food item identified by its unique ID
-   * with the provided request details.</p>
+   * with the provided request details. Changing the expiration date clears the item's expiry
+   * reminder watermark so that the new date is reminded about again.</p>
    *
    * @param id         the unique identifier of the food item to update
    * @param putRequest the request object containing the updated food item details
@@ -92,6 +94,9 @@ public class FoodItemService {
     item.setName(putRequest.getName());
     item.setIcon(putRequest.getIcon());
     item.setKcal(putRequest.getKcal());
+    if (!Objects.equals(item.getExpirationDate(), putRequest.getExpirationDate())) {
+      item.setExpiryNotifiedAt(null);
+    }
     item.setExpirationDate(putRequest.getExpirationDate());
     return foodItemRepository.save(item).toResponse();
   }
@@ -0,0 +1,308 @@
+package stud.ntnu.krisefikser.item.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import stud.ntnu.krisefikser.common.CsvUtils;
+import stud.ntnu.krisefikser.household.entity.Household;
+import stud.ntnu.krisefikser.household.service.HouseholdService;
+import stud.ntnu.krisefikser.item.dto.CreateFoodItemRequest;
+import stud.ntnu.krisefikser.item.dto.FoodItemImportResponse;
+import stud.ntnu.krisefikser.item.dto.FoodItemResponse;
+import stud.ntnu.krisefikser.item.entity.FoodItem;
+import stud.ntnu.krisefikser.item.enums.FoodItemFormat;
+import stud.ntnu.krisefikser.item.exception.FoodItemImportException;
+import stud.ntnu.krisefikser.item.repository.FoodItemRepository;
+
+/**
+ * Service for bulk import and export of the active household's food items.
+ *
+ * <p>Both directions stream, so memory use does not grow with the number of items:</p>
+ * <ul>
+ *   <li>Imports are read one item at a time from the request body, validated and persisted in a
+ *       single pass. The persistence context is flushed and cleared every
+ *       {@value #CHUNK_SIZE} items, and Hibernate sends each flush as JDBC batches.</li>
+ *   <li>Exports stream response projections straight from the database to the response body,
+ *       without loading entities.</li>
+ * </ul>
+ *
+ * <p>An import runs in one transaction and is all-or-nothing. Once an invalid item is found,
+ * nothing more is persisted, but the rest of the input is still validated so that every problem
+ * is reported at once, up to {@value #MAX_REPORTED_ERRORS} messages.</p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FoodItemTransferService {
+
+  /**
+   * Number of items persisted between each flush and clear of the persistence context.
+   */
+  static final int CHUNK_SIZE = 500;
+
+  /**
+   * Maximum number of items accepted in one import.
+   */
+  static final int MAX_IMPORT_ITEMS = 100_000;
+
+  /**
+   * Maximum number of error messages returned for a rejected import.
+   */
+  static final int MAX_REPORTED_ERRORS = 100;
+
+  static final List<String> CSV_COLUMNS = List.of("name", "icon", "kcal", "expirationDate");
+
+  private final FoodItemRepository foodItemRepository;
+  private final HouseholdService householdService;
+  private final EntityManager entityManager;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+
+  /**
+   * Imports food items into the active household.
+   *
+   * @param body   the request body
+   * @param format the format of the request body
+   * @return the number of imported items
+   * @throws FoodItemImportException if the input is malformed or any item is invalid
+   */
+  @Transactional
+  public FoodItemImportResponse importFoodItems(InputStream body, FoodItemFormat format) {
+    UUID householdId = householdService.getActiveHousehold().getId();
+    ImportState state = new ImportState(householdId);
+    try {
+      if (format == FoodItemFormat.CSV) {
+        readCsv(body, state);
+      } else {
+        readJson(body, state);
+      }
+    } catch (IOException e) {
+      throw new FoodItemImportException("Could not read import: " + e.getMessage(), List.of());
+    }
+
+    if (state.errorCount > 0) {
+      throw new FoodItemImportException(String.format(
+          "Import rejected: %d of %d items are invalid", state.invalidItems, state.itemCount),
+          state.errors);
+    }
+    entityManager.flush();
+    entityManager.clear();
+    log.info("Imported {} food items into household {}", state.itemCount, householdId);
+    return FoodItemImportResponse.builder().imported(state.itemCount).build();
+  }
+
+  /**
+   * Writes all food items of the active household to the given stream.
+   *
+   * @param format the output format
+   * @param out    the stream to write to; flushed but not closed
+   * @throws IOException if writing fails
+   */
+  @Transactional(readOnly = true)
+  public void exportFoodItems(FoodItemFormat format, OutputStream out) throws IOException {
+    Household household = householdService.getActiveHousehold();
+    try (Stream<FoodItemResponse> items = foodItemRepository.streamResponsesByHouseholdId(
+        household.getId())) {
+      if (format == FoodItemFormat.CSV) {
+        writeCsv(items, out);
+      } else {
+        writeJson(items, out);
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void readJson(InputStream body, ImportState state) throws IOException {
+    try (MappingIterator<CreateFoodItemRequest> items = objectMapper
+        .readerFor(CreateFoodItemRequest.class).readValues(body)) {
+      while (items.hasNextValue()) {
+        state.accept(items.nextValue(), List.of());
+      }
+    } catch (JsonProcessingException e) {
+      throw new FoodItemImportException(String.format("Malformed JSON after item %d: %s",
+          state.itemCount, e.getOriginalMessage()), List.of());
+    }
+  }
+
+  private void readCsv(InputStream body, ImportState state) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(body,
+        StandardCharsets.UTF_8));
+    String headerLine = reader.readLine();
+    if (headerLine == null) {
+      return;
+    }
+    List<String> header = CsvUtils.parseLine(stripBom(headerLine)).stream()
+        .map(column -> column.trim().toLowerCase(Locale.ROOT))
+        .toList();
+    int[] columns = new int[CSV_COLUMNS.size()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = header.indexOf(CSV_COLUMNS.get(i).toLowerCase(Locale.ROOT));
+    }
+    if (columns[0] < 0) {
+      throw new FoodItemImportException("CSV header must contain the columns "
+          + String.join(",", CSV_COLUMNS), List.of());
+    }
+
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isBlank()) {
+        continue;
+      }
+      List<String> problems = new ArrayList<>();
+      CreateFoodItemRequest request = new CreateFoodItemRequest();
+      try {
+        List<String> fields = CsvUtils.parseLine(line);
+        request.setName(field(fields, columns[0]));
+        request.setIcon(field(fields, columns[1]));
+        String kcal = field(fields, columns[2]);
+        if (kcal != null) {
+          try {
+            request.setKcal(Integer.parseInt(kcal));
+          } catch (NumberFormatException e) {
+            problems.add("kcal: must be a whole number");
+          }
+        }
+        String expirationDate = field(fields, columns[3]);
+        if (expirationDate != null) {
+          try {
+            request.setExpirationDate(Instant.parse(expirationDate));
+          } catch (DateTimeParseException e) {
+            problems.add("expirationDate: must be an ISO-8601 instant");
+          }
+        }
+      } catch (IllegalArgumentException e) {
+        problems.add(e.getMessage());
+      }
+      state.accept(request, problems);
+    }
+  }
+
+  private void writeJson(Stream<FoodItemResponse> items, OutputStream out) throws IOException {
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+    generator.writeStartArray();
+    items.forEach(item -> {
+      try {
+        generator.writeObject(item);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    generator.writeEndArray();
+    generator.flush();
+  }
+
+  private void writeCsv(Stream<FoodItemResponse> items, OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    writer.write(String.join(",", CSV_COLUMNS));
+    writer.write("\r\n");
+    items.forEach(item -> {
+      try {
+        writer.write(CsvUtils.escape(item.getName()) + "," + CsvUtils.escape(item.getIcon()) + ","
+            + CsvUtils.escape(item.getKcal()) + "," + CsvUtils.escape(item.getExpirationDate())
+            + "\r\n");
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    writer.flush();
+  }
+
+  private static String field(List<String> fields, int column) {
+    if (column < 0 || column >= fields.size()) {
+      return null;
+    }
+    String value = fields.get(column).trim();
+    return value.isEmpty() ? null : value;
+  }
+
+  private static String stripBom(String line) {
+    return line.startsWith("\uFEFF") ? line.substring(1) : line;
+  }
+
+  /**
+   * Tracks the progress of one import and persists valid items while no errors have been seen.
+   */
+  private final class ImportState {
+
+    private final UUID householdId;
+    private final List<String> errors = new ArrayList<>();
+    private int itemCount;
+    private int invalidItems;
+    private int errorCount;
+    private int pending;
+
+    private ImportState(UUID householdId) {
+      this.householdId = householdId;
+    }
+
+    private void accept(CreateFoodItemRequest request, List<String> parseProblems) {
+      itemCount++;
+      if (itemCount > MAX_IMPORT_ITEMS) {
+        throw new FoodItemImportException(
+            "An import may contain at most " + MAX_IMPORT_ITEMS + " items", List.of());
+      }
+
+      List<String> problems = new ArrayList<>(parseProblems);
+      if (request == null) {
+        problems.add("item must be an object");
+      } else {
+        for (ConstraintViolation<CreateFoodItemRequest> violation : validator.validate(request)) {
+          problems.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+      }
+      if (!problems.isEmpty()) {
+        invalidItems++;
+        for (String problem : problems) {
+          errorCount++;
+          if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Item " + itemCount + ": " + problem);
+          }
+        }
+        return;
+      }
+      if (errorCount > 0) {
+        // The import will be rolled back, so only keep validating
+        return;
+      }
+
+      entityManager.persist(FoodItem.builder()
+          .name(request.getName())
+          .icon(request.getIcon())
+          .kcal(request.getKcal())
+          .expirationDate(request.getExpirationDate())
+          .household(entityManager.getReference(Household.class, householdId))
+          .build());
+      if (++pending >= CHUNK_SIZE) {
+        entityManager.flush();
+        entityManager.clear();
+        pending = 0;
+      }
+    }
+  }
+}
@@ -21,9 +21,11 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import stud.ntnu.krisefikser.map.dto.EventAnalyticsResponse;
 import stud.ntnu.krisefikser.map.dto.EventRequest;
 import stud.ntnu.krisefikser.map.dto.EventResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateEventRequest;
+import stud.ntnu.krisefikser.map.service.EventAnalyticsService;
 import stud.ntnu.krisefikser.map.service.EventService;
 
 /**
@@ -40,6 +42,7 @@ import stud.ntnu.krisefikser.map.service.EventService;
 public class EventController {
 
   private final EventService eventService;
+  private final EventAnalyticsService eventAnalyticsService;
 
   /**
    * Retrieves all ongoing and upcoming events from the system. Only events with status ONGOING or
@@ -59,11 +62,12 @@ public class EventController {
                   schema = @Schema(implementation = EventResponse.class)
               )
           )
-      )
+      ),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current")
   })
   @GetMapping
   public ResponseEntity<List<EventResponse>> getAllEvents() {
-    return ResponseEntity.ok(eventService.getAllEvents());
+    return eventService.getAllEventsCached().toResponseEntity();
   }
 
   /**
@@ -86,6 +90,30 @@ public class EventController {
     return ResponseEntity.ok(eventService.getEventById(id));
   }
 
+  /**
+   * Retrieves the after-action figures of an event: notification reach, reflections by
+   * visibility and the households inside the event's radius. Only accessible to users with ADMIN
+   * role.
+   *
+   * @param id The ID of the event.
+   * @return ResponseEntity containing the figures.
+   */
+  @Operation(summary = "Get event analytics", description = "Retrieves notification reach, "
+      + "reflection counts and affected households for an event")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved the analytics",
+          content = @Content(mediaType = "application/json", schema = @Schema(implementation =
+              EventAnalyticsResponse.class))),
+      @ApiResponse(responseCode = "404", description = "Event not found"),
+      @ApiResponse(responseCode = "403", description = "Access denied")
+  })
+  @GetMapping("/{id}/analytics")
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<EventAnalyticsResponse> getEventAnalytics(
+      @Parameter(description = "ID of the event") @PathVariable Long id) {
+    return ResponseEntity.ok(eventAnalyticsService.getAnalytics(id));
+  }
+
   /**
    * Creates a new event in the system. Only accessible to users with ADMIN role.
    *
@@ -61,13 +61,14 @@ public class MapPointController {
               )
           )
       ),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current"),
       @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required",
           content = @Content
       )}
   )
   @GetMapping
   public ResponseEntity<List<MapPointResponse>> getAllMapPoints() {
-    return ResponseEntity.ok(mapPointService.getAllMapPoints());
+    return mapPointService.getAllMapPointsCached().toResponseEntity();
   }
 
   /**
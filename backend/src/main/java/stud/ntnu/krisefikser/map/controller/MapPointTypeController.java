@@ -53,12 +53,13 @@ public class MapPointTypeController {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved map point types",
           content = @Content(mediaType = "application/json", schema = @Schema(implementation =
               MapPointTypeResponse.class))),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current"),
       @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required",
           content = @Content)
   })
   @GetMapping
   public ResponseEntity<List<MapPointTypeResponse>> getAllMapPointTypes() {
-    return ResponseEntity.ok(mapPointTypeService.getAllMapPointTypes());
+    return mapPointTypeService.getAllMapPointTypesCached().toResponseEntity();
   }
 
   /**
@@ -0,0 +1,40 @@
+package stud.ntnu.krisefikser.map.dto;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import stud.ntnu.krisefikser.map.entity.EventStatus;
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+
+/**
+ * Data Transfer Object (DTO) for the after-action figures of an event: how many were notified,
+ * how many read it, how many reflections were written, and how many households were inside the
+ * event's radius.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventAnalyticsResponse {
+
+  private Long eventId;
+
+  private EventStatus status;
+
+  private long notificationsCreated;
+
+  private long notificationsRead;
+
+  private long notificationRecipients;
+
+  private long reflections;
+
+  private Map<VisibilityType, Long> reflectionsByVisibility;
+
+  private long householdsInRadius;
+
+  private Instant generatedAt;
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PreRemove;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.ZonedDateTime;
 import java.util.HashSet;
@@ -34,7 +35,8 @@ import stud.ntnu.krisefikser.reflection.entity.Reflection;
 public class Event {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_id")
+  @SequenceGenerator(name = "event_id", sequenceName = "events_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
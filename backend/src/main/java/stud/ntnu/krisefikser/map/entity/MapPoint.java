@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -28,7 +29,8 @@ import stud.ntnu.krisefikser.map.dto.MapPointResponse;
 public class MapPoint {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "map_point_id")
+  @SequenceGenerator(name = "map_point_id", sequenceName = "map_points_seq", allocationSize = 50)
   private Long id;
 
   @Column(nullable = false)
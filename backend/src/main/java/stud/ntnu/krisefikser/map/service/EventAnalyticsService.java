@@ -0,0 +1,142 @@
+package stud.ntnu.krisefikser.map.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import stud.ntnu.krisefikser.household.repository.HouseholdRepository;
+import stud.ntnu.krisefikser.map.dto.EventAnalyticsResponse;
+import stud.ntnu.krisefikser.map.entity.Event;
+import stud.ntnu.krisefikser.map.entity.EventStatus;
+import stud.ntnu.krisefikser.map.repository.EventRepository;
+import stud.ntnu.krisefikser.notification.dto.NotificationReach;
+import stud.ntnu.krisefikser.notification.repository.NotificationRepository;
+import stud.ntnu.krisefikser.reflection.dto.VisibilityCount;
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+
+/**
+ * Computes the after-action figures of an event with one aggregate query per table.
+ *
+ * <p>The figures of a finished event are cached. The event itself no longer changes, but
+ * notifications are still read and reflections are still written after it, so an entry lives for
+ * {@link #FINISHED_TTL} and is dropped at once when the event is edited or deleted. Figures for
+ * events that are not finished are always computed fresh.</p>
+ */
+@Service
+public class EventAnalyticsService {
+
+  /**
+   * How long the figures of a finished event are served from the cache.
+   */
+  public static final Duration FINISHED_TTL = Duration.ofMinutes(10);
+
+  private final EventRepository eventRepository;
+  private final NotificationRepository notificationRepository;
+  private final ReflectionRepository reflectionRepository;
+  private final HouseholdRepository householdRepository;
+  private final LongSupplier nanoClock;
+  private final Map<Long, CachedAnalytics> finished = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the service.
+   *
+   * @param eventRepository        the repository of events
+   * @param notificationRepository the repository of notifications
+   * @param reflectionRepository   the repository of reflections
+   * @param householdRepository    the repository of households
+   */
+  @Autowired
+  public EventAnalyticsService(EventRepository eventRepository,
+      NotificationRepository notificationRepository, ReflectionRepository reflectionRepository,
+      HouseholdRepository householdRepository) {
+    this(eventRepository, notificationRepository, reflectionRepository, householdRepository,
+        System::nanoTime);
+  }
+
+  EventAnalyticsService(EventRepository eventRepository,
+      NotificationRepository notificationRepository, ReflectionRepository reflectionRepository,
+      HouseholdRepository householdRepository, LongSupplier nanoClock) {
+    this.eventRepository = eventRepository;
+    this.notificationRepository = notificationRepository;
+    this.reflectionRepository = reflectionRepository;
+    this.householdRepository = householdRepository;
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Returns the after-action figures of an event.
+   *
+   * @param eventId the ID of the event
+   * @return the figures
+   * @throws EntityNotFoundException if no event with the given ID exists
+   */
+  @Transactional(readOnly = true)
+  public EventAnalyticsResponse getAnalytics(Long eventId) {
+    long now = nanoClock.getAsLong();
+    CachedAnalytics cached = finished.get(eventId);
+    if (cached != null && now - cached.expiresAt() < 0) {
+      return cached.analytics();
+    }
+    Event event = eventRepository.findById(eventId)
+        .orElseThrow(() -> new EntityNotFoundException("Event not found with id: " + eventId));
+    EventAnalyticsResponse analytics = compute(event);
+    if (event.getStatus() == EventStatus.FINISHED) {
+      finished.put(eventId, new CachedAnalytics(analytics, now + FINISHED_TTL.toNanos()));
+    } else {
+      finished.remove(eventId);
+    }
+    return analytics;
+  }
+
+  /**
+   * Drops the cached figures of an event, after it has been edited or deleted.
+   *
+   * @param eventId the ID of the event
+   */
+  public void evict(Long eventId) {
+    finished.remove(eventId);
+  }
+
+  private EventAnalyticsResponse compute(Event event) {
+    NotificationReach reach = notificationRepository.getReachByEventId(event.getId());
+
+    Map<VisibilityType, Long> byVisibility = new EnumMap<>(VisibilityType.class);
+    for (VisibilityType visibility : VisibilityType.values()) {
+      byVisibility.put(visibility, 0L);
+    }
+    long reflections = 0;
+    for (VisibilityCount count : reflectionRepository.countByVisibilityForEvent(event.getId())) {
+      byVisibility.put(count.visibility(), count.count());
+      reflections += count.count();
+    }
+
+    long households = 0;
+    if (event.getLatitude() != null && event.getLongitude() != null && event.getRadius() != null) {
+      households = householdRepository.countWithinRadius(event.getLatitude(),
+          event.getLongitude(), event.getRadius());
+    }
+
+    return EventAnalyticsResponse.builder()
+        .eventId(event.getId())
+        .status(event.getStatus())
+        .notificationsCreated(reach.created())
+        .notificationsRead(reach.read())
+        .notificationRecipients(reach.recipients())
+        .reflections(reflections)
+        .reflectionsByVisibility(byVisibility)
+        .householdsInRadius(households)
+        .generatedAt(Instant.now())
+        .build();
+  }
+
+  private record CachedAnalytics(EventAnalyticsResponse analytics, long expiresAt) {
+
+  }
+}
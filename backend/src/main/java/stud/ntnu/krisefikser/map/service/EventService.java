@@ -5,6 +5,9 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
 import stud.ntnu.krisefikser.map.dto.EventRequest;
 import stud.ntnu.krisefikser.map.dto.EventResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateEventRequest;
@@ -46,6 +49,16 @@ public class EventService {
 
   private final NotificationService notificationService;
 
+  /**
+   * Cache of the event list, invalidated by every write.
+   */
+  private final VersionedResponseCache responseCache;
+
+  /**
+   * After-action figures, dropped when an event is edited or deleted.
+   */
+  private final EventAnalyticsService eventAnalyticsService;
+
   /**
    * Retrieves all events from the database.
    *
@@ -55,6 +68,15 @@ public class EventService {
     return eventRepository.findAll().stream().map(Event::toResponse).toList();
   }
 
+  /**
+   * Returns all events from the response cache, with their ETag.
+   *
+   * @return the cached events
+   */
+  public CachedResponse<List<EventResponse>> getAllEventsCached() {
+    return responseCache.get(Collection.EVENTS, this::getAllEvents);
+  }
+
   /**
    * Retrieves an event by its ID.
    *
@@ -104,6 +126,7 @@ public class EventService {
         .endTime(eventRequest.getEndTime())
         .status(eventRequest.getStatus())
         .build());
+    responseCache.invalidate(Collection.EVENTS);
 
     eventWebSocketService.notifyEventCreation(event.toResponse());
     notificationService.createNotificationsForAll(
@@ -171,6 +194,8 @@ public class EventService {
     if (eventRequest.getStatus() != null) {
       existingEvent.setStatus(eventRequest.getStatus());
     }
+    responseCache.invalidate(Collection.EVENTS);
+    eventAnalyticsService.evict(id);
     eventWebSocketService.notifyEventUpdate(existingEvent.toResponse());
     notificationService.createNotificationsForAll(
         Notification.builder()
@@ -197,6 +222,8 @@ public class EventService {
     if (!eventRepository.existsById(id)) {
       throw new EntityNotFoundException("Event not found with id: " + id);
     }
+    responseCache.invalidate(Collection.EVENTS);
+    eventAnalyticsService.evict(id);
     eventWebSocketService.notifyEventDeletion(id);
     eventRepository.deleteById(id);
   }
@@ -5,6 +5,9 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
 import stud.ntnu.krisefikser.map.dto.MapPointRequest;
 import stud.ntnu.krisefikser.map.dto.MapPointResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateMapPointRequest;
@@ -22,11 +25,21 @@ public class MapPointService {
 
   private final MapPointRepository mapPointRepository;
   private final MapPointTypeService mapPointTypeService;
+  private final VersionedResponseCache responseCache;
 
   public List<MapPointResponse> getAllMapPoints() {
     return mapPointRepository.findAll().stream().map(MapPoint::toResponse).toList();
   }
 
+  /**
+   * Returns all map points from the response cache, with their ETag.
+   *
+   * @return the cached map points
+   */
+  public CachedResponse<List<MapPointResponse>> getAllMapPointsCached() {
+    return responseCache.get(Collection.MAP_POINTS, this::getAllMapPoints);
+  }
+
   /**
    * Retrieves a MapPoint by its ID.
    *
@@ -59,6 +72,7 @@ public class MapPointService {
         .type(mapPointType)
         .build();
 
+    responseCache.invalidate(Collection.MAP_POINTS);
     return mapPointRepository.save(mapPoint).toResponse();
   }
 
@@ -89,6 +103,7 @@ public class MapPointService {
       existingMapPoint.setType(mapPointType);
     }
 
+    responseCache.invalidate(Collection.MAP_POINTS);
     return mapPointRepository.save(existingMapPoint).toResponse();
   }
 
@@ -103,6 +118,7 @@ public class MapPointService {
     if (!mapPointRepository.existsById(id)) {
       throw new EntityNotFoundException("MapPoint not found with id: " + id);
     }
+    responseCache.invalidate(Collection.MAP_POINTS);
     mapPointRepository.deleteById(id);
   }
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeRequest;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateMapPointTypeRequest;
@@ -20,11 +23,21 @@ import stud.ntnu.krisefikser.map.repository.MapPointTypeRepository;
 public class MapPointTypeService {
 
   private final MapPointTypeRepository mapPointTypeRepository;
+  private final VersionedResponseCache responseCache;
 
   public List<MapPointTypeResponse> getAllMapPointTypes() {
     return mapPointTypeRepository.findAll().stream().map(MapPointType::toResponse).toList();
   }
 
+  /**
+   * Returns all map point types from the response cache, with their ETag.
+   *
+   * @return the cached map point types
+   */
+  public CachedResponse<List<MapPointTypeResponse>> getAllMapPointTypesCached() {
+    return responseCache.get(Collection.MAP_POINT_TYPES, this::getAllMapPointTypes);
+  }
+
   /**
    * Retrieves a MapPointType by its ID.
    *
@@ -53,6 +66,7 @@ public class MapPointTypeService {
         .openingTime(mapPointTypeRequest.getOpeningTime())
         .build();
 
+    responseCache.invalidate(Collection.MAP_POINT_TYPES);
     return mapPointTypeRepository.save(mapPointType).toResponse();
   }
 
@@ -87,6 +101,9 @@ public class MapPointTypeService {
       mapPointType.setOpeningTime(mapPointTypeRequest.getOpeningTime());
     }
 
+    // Map points embed their type
+    responseCache.invalidate(Collection.MAP_POINT_TYPES);
+    responseCache.invalidate(Collection.MAP_POINTS);
     return mapPointTypeRepository.save(mapPointType).toResponse();
   }
 
@@ -101,6 +118,8 @@ public class MapPointTypeService {
     if (!mapPointTypeRepository.existsById(id)) {
       throw new EntityNotFoundException("MapPointType not found with id: " + id);
     }
+    responseCache.invalidate(Collection.MAP_POINT_TYPES);
+    responseCache.invalidate(Collection.MAP_POINTS);
     mapPointTypeRepository.deleteById(id);
   }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package stud.ntnu.krisefikser.media.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the image pipeline that resizes and re-encodes uploaded images.
+ *
+ * <p>Bound from properties prefixed with {@code media.images}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "media.images")
+public class ImagePipelineProperties {
+
+  /**
+   * Variants produced for every image, by name, with their maximum width in pixels. Images are
+   * never enlarged, so a small image yields the same file for several variants.
+   */
+  private Map<String, Integer> variants = new LinkedHashMap<>();
+
+  /**
+   * Variant whose URL is returned as the image URL.
+   */
+  private String defaultVariant = "large";
+
+  /**
+   * Output format. Falls back to {@code jpeg} if no writer for the format is available.
+   */
+  private String format = "webp";
+
+  /**
+   * Lossy compression quality between 0 and 1.
+   */
+  private float quality = 0.8f;
+
+  /**
+   * Largest accepted image in pixels, width times height, to refuse decompression bombs.
+   */
+  private long maxPixels = 50_000_000;
+
+  /**
+   * Number of images processed at the same time. Processing is CPU-bound.
+   */
+  private int workers = 2;
+
+  /**
+   * Images waiting for a processing worker. Further uploads are rejected.
+   */
+  private int queueCapacity = 8;
+
+  /**
+   * Creates the properties with the default variants.
+   */
+  public ImagePipelineProperties() {
+    variants.put("small", 320);
+    variants.put("medium", 960);
+    variants.put("large", 1920);
+  }
+}
@@ -0,0 +1,24 @@
+package stud.ntnu.krisefikser.media.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for the local image store, used when Cloudinary is not configured.
+ *
+ * <p>Bound from properties prefixed with {@code media.local}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "media.local")
+public class LocalMediaProperties {
+
+  /**
+   * Directory the images are written to. Created on first use.
+   */
+  private String directory = "media";
+
+  /**
+   * Public base URL of this backend, used to build image URLs.
+   */
+  private String baseUrl = "http://localhost:8080";
+}
@@ -0,0 +1,104 @@
+package stud.ntnu.krisefikser.media.config;
+
+import com.cloudinary.Cloudinary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import stud.ntnu.krisefikser.media.service.CloudinaryMediaStore;
+import stud.ntnu.krisefikser.media.service.LocalMediaStore;
+import stud.ntnu.krisefikser.media.service.MediaStore;
+
+/**
+ * Configuration of the media upload pipeline.
+ */
+@Configuration
+@EnableConfigurationProperties({MediaUploadProperties.class, ImagePipelineProperties.class,
+    LocalMediaProperties.class, MediaStoreProperties.class})
+@RequiredArgsConstructor
+@Slf4j
+public class MediaConfig {
+
+  private final Environment environment;
+
+  /**
+   * Creates the bounded pool that uploads images to the image host. Its size limits how many
+   * uploads hold a connection and a spooled file at once; when the queue is full, new uploads are
+   * rejected instead of piling up.
+   *
+   * @param properties the upload configuration
+   * @return the upload executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor mediaUploadExecutor(MediaUploadProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getWorkers());
+    executor.setMaxPoolSize(properties.getWorkers());
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("media-upload-");
+    executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+    return executor;
+  }
+
+  /**
+   * Creates the bounded pool that resizes and re-encodes images. Processing is CPU-bound and
+   * needs a few times the size of the image in memory, so this pool stays small and always uses
+   * platform threads.
+   *
+   * @param properties the pipeline configuration
+   * @return the processing executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor mediaProcessingExecutor(ImagePipelineProperties properties) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(properties.getWorkers());
+    executor.setMaxPoolSize(properties.getWorkers());
+    executor.setQueueCapacity(properties.getQueueCapacity());
+    executor.setThreadNamePrefix("media-processing-");
+    return executor;
+  }
+
+  /**
+   * Creates the local media store. It always exists, so files stored while Cloudinary was not
+   * configured can still be served.
+   *
+   * @param properties the local store configuration
+   * @return the local store
+   */
+  @Bean
+  public LocalMediaStore localMediaStore(LocalMediaProperties properties) {
+    return new LocalMediaStore(properties);
+  }
+
+  /**
+   * Creates the store that new media files are written to.
+   *
+   * @param properties      the store configuration
+   * @param localMediaStore the local store
+   * @return Cloudinary or the local store, depending on {@code media.store.type}
+   * @throws IllegalStateException if Cloudinary is required but no Cloudinary URL is configured
+   */
+  @Bean
+  @Primary
+  public MediaStore mediaStore(MediaStoreProperties properties,
+      LocalMediaStore localMediaStore) {
+    boolean cloudinaryConfigured = !properties.getCloudinaryUrl().isBlank();
+    MediaStoreProperties.Type type = properties.getType();
+    if (type == MediaStoreProperties.Type.CLOUDINARY && !cloudinaryConfigured) {
+      throw new IllegalStateException(
+          "media.store.type is cloudinary, but cloudinary.url or CLOUDINARY_URL is not set");
+    }
+    if (type == MediaStoreProperties.Type.LOCAL || !cloudinaryConfigured) {
+      log.info("Storing media files on the local filesystem");
+      return localMediaStore;
+    }
+    log.info("Storing media files on Cloudinary");
+    return new CloudinaryMediaStore(new Cloudinary(properties.getCloudinaryUrl()),
+        properties.getCloudinaryRecentUploads());
+  }
+}
@@ -0,0 +1,47 @@
+package stud.ntnu.krisefikser.media.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for choosing where media files are stored.
+ *
+ * <p>Bound from properties prefixed with {@code media.store}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "media.store")
+public class MediaStoreProperties {
+
+  /**
+   * The store to use.
+   */
+  private Type type = Type.AUTO;
+
+  /**
+   * Cloudinary URL. Blank when Cloudinary is not used.
+   */
+  private String cloudinaryUrl = "";
+
+  /**
+   * How many uploaded content hashes the Cloudinary store remembers to skip repeated uploads.
+   */
+  private int cloudinaryRecentUploads = 10_000;
+
+  /**
+   * Media store types.
+   */
+  public enum Type {
+    /**
+     * Cloudinary if a Cloudinary URL is configured, otherwise the local filesystem.
+     */
+    AUTO,
+    /**
+     * The local filesystem, see {@link LocalMediaProperties}.
+     */
+    LOCAL,
+    /**
+     * Cloudinary. Fails on startup without a Cloudinary URL.
+     */
+    CLOUDINARY
+  }
+}
@@ -0,0 +1,36 @@
+package stud.ntnu.krisefikser.media.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for image uploads.
+ *
+ * <p>Bound from properties prefixed with {@code media.upload}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "media.upload")
+public class MediaUploadProperties {
+
+  /**
+   * Largest accepted image. The multipart limit should be at least this large.
+   */
+  private DataSize maxFileSize = DataSize.ofMegabytes(10);
+
+  /**
+   * Number of uploads to the image host running at the same time.
+   */
+  private int workers = 4;
+
+  /**
+   * Uploads waiting for a worker. Further uploads are rejected until a worker is free.
+   */
+  private int queueCapacity = 16;
+
+  /**
+   * How long a request waits for its upload, including time in the queue.
+   */
+  private Duration timeout = Duration.ofSeconds(60);
+}
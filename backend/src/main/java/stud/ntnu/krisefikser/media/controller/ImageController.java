@@ -16,7 +16,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import stud.ntnu.krisefikser.media.dto.ImageUploadResponse;
-import stud.ntnu.krisefikser.media.service.CloudinaryService;
+import stud.ntnu.krisefikser.media.service.ImageUploadService;
 
 @RestController
 @RequestMapping("/api/images")
@@ -24,9 +24,10 @@ import stud.ntnu.krisefikser.media.service.CloudinaryService;
 @Tag(name = "Images", description = "Image upload APIs")
 public class ImageController {
 
-  private final CloudinaryService cloudinaryService;
+  private final ImageUploadService imageUploadService;
 
-  @Operation(summary = "Upload image", description = "Uploads an image file to Cloudinary.")
+  @Operation(summary = "Upload image", description = "Resizes an image into its size variants and "
+      + "uploads them to Cloudinary, or to the local image store if Cloudinary is not configured.")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Image uploaded successfully",
           content = @Content(schema = @Schema(implementation = ImageUploadResponse.class))),
@@ -51,6 +52,6 @@ public class ImageController {
       @RequestParam(value = "uploadPreset", required = false) String uploadPreset
   ) {
     return ResponseEntity.ok(
-        cloudinaryService.uploadImage(file, folder, tags, context, metadata, uploadPreset));
+        imageUploadService.uploadImage(file, folder, tags, context, metadata, uploadPreset));
   }
 }
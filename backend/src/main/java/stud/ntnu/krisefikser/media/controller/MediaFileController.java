@@ -0,0 +1,99 @@
+package stud.ntnu.krisefikser.media.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stud.ntnu.krisefikser.common.Sendfile;
+import stud.ntnu.krisefikser.media.exception.MediaNotFoundException;
+import stud.ntnu.krisefikser.media.service.LocalMediaStore;
+
+@RestController
+@RequestMapping("/api/media")
+@RequiredArgsConstructor
+@Tag(name = "Images", description = "Image upload APIs")
+public class MediaFileController {
+
+  private final LocalMediaStore localMediaStore;
+
+  /**
+   * Serves a file from the local media store.
+   *
+   * <p>File names are content hashes, so a file never changes: it is cached for a year, and the
+   * hash is its ETag. Range requests are answered with the requested part. Whole files are handed
+   * to Tomcat, which sends them from the page cache to the socket without copying them through
+   * the heap.</p>
+   *
+   * @param name        the file name
+   * @param range       the optional Range header
+   * @param ifNoneMatch the optional If-None-Match header
+   * @param request     the request, used to hand the file to Tomcat
+   * @return the file, part of it, or 304 if the client has it
+   */
+  @Operation(summary = "Get media file",
+      description = "Serves an image from the local media store. Supports range requests.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The file"),
+      @ApiResponse(responseCode = "206", description = "Part of the file"),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current"),
+      @ApiResponse(responseCode = "404", description = "No such file"),
+      @ApiResponse(responseCode = "416", description = "Range not satisfiable")
+  })
+  @GetMapping("/{name}")
+  public ResponseEntity<Resource> getMedia(
+      @Parameter(description = "File name of the media file") @PathVariable String name,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      HttpServletRequest request) {
+    Path file = localMediaStore.resolve(name);
+    String etag = "\"" + name.substring(0, name.indexOf('.')) + "\"";
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag);
+    headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+    headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+    if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+    headers.setContentType(MediaTypeFactory.getMediaType(name)
+        .orElse(MediaType.APPLICATION_OCTET_STREAM));
+
+    if (range == null) {
+      long size = size(file, name);
+      if (Sendfile.offer(request, file, size)) {
+        headers.setContentLength(size);
+        return ResponseEntity.ok().headers(headers).build();
+      }
+    }
+    // Spring answers Range headers for resource bodies with 206 or 416
+    return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+  }
+
+  private static long size(Path file, String name) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      throw new MediaNotFoundException(name);
+    }
+  }
+}
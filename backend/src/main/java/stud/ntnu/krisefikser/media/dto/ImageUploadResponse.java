@@ -1,5 +1,6 @@
 package stud.ntnu.krisefikser.media.dto;
 
+import java.util.Map;
 import lombok.Builder;
 import lombok.Value;
 
@@ -9,4 +10,5 @@ public class ImageUploadResponse {
 
   String url;
   String publicId;
+  Map<String, String> variants;
 }
@@ -0,0 +1,18 @@
+package stud.ntnu.krisefikser.media.exception;
+
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Thrown when an uploaded image exceeds the configured size limit.
+ */
+public class ImageTooLargeException extends RuntimeException {
+
+  /**
+   * Constructs a new ImageTooLargeException for the given limit.
+   *
+   * @param limit the largest accepted image
+   */
+  public ImageTooLargeException(DataSize limit) {
+    super("Image is larger than " + limit.toMegabytes() + " MB");
+  }
+}
@@ -0,0 +1,27 @@
+package stud.ntnu.krisefikser.media.exception;
+
+/**
+ * Thrown when an image cannot be stored right now, because the image host is not configured,
+ * fails, or too many uploads are in progress.
+ */
+public class ImageUploadException extends RuntimeException {
+
+  /**
+   * Constructs a new ImageUploadException with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public ImageUploadException(String message) {
+    super(message);
+  }
+
+  /**
+   * Constructs a new ImageUploadException with the specified detail message and cause.
+   *
+   * @param message the detail message
+   * @param cause   the cause
+   */
+  public ImageUploadException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
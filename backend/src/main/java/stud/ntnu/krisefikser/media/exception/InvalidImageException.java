@@ -0,0 +1,16 @@
+package stud.ntnu.krisefikser.media.exception;
+
+/**
+ * Thrown when an uploaded file is missing or is not an image.
+ */
+public class InvalidImageException extends RuntimeException {
+
+  /**
+   * Constructs a new InvalidImageException with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public InvalidImageException(String message) {
+    super(message);
+  }
+}
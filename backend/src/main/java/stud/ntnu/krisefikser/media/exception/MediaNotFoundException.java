@@ -0,0 +1,16 @@
+package stud.ntnu.krisefikser.media.exception;
+
+/**
+ * Thrown when a stored media file does not exist.
+ */
+public class MediaNotFoundException extends RuntimeException {
+
+  /**
+   * Constructs a new MediaNotFoundException for the given file name.
+   *
+   * @param name the requested file name
+   */
+  public MediaNotFoundException(String name) {
+    super("Media file not found: " + name);
+  }
+}
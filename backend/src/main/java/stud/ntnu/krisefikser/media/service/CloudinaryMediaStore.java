@@ -0,0 +1,87 @@
+package stud.ntnu.krisefikser.media.service;
+
+import com.cloudinary.Cloudinary;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+
+/**
+ * Uploads media files to Cloudinary.
+ *
+ * <p>The public id of a file is its SHA-256 hash and uploads never overwrite, so Cloudinary keeps
+ * one copy of each file per folder. Hashes uploaded recently are remembered, and uploading them
+ * again returns the known URL without a call to Cloudinary.</p>
+ */
+@Slf4j
+public class CloudinaryMediaStore implements MediaStore {
+
+  private final Cloudinary cloudinary;
+  private final Map<String, StoredImage> recentUploads;
+  private final AtomicLong stored = new AtomicLong();
+  private final AtomicLong deduplicated = new AtomicLong();
+  private final AtomicLong storedBytes = new AtomicLong();
+
+  /**
+   * Creates the store.
+   *
+   * @param cloudinary        the Cloudinary client
+   * @param recentUploadsSize how many uploaded hashes to remember
+   */
+  public CloudinaryMediaStore(Cloudinary cloudinary, int recentUploadsSize) {
+    this.cloudinary = cloudinary;
+    this.recentUploads = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, StoredImage> eldest) {
+            return size() > recentUploadsSize;
+          }
+        });
+  }
+
+  /**
+   * Uploads a file, streaming it from disk.
+   *
+   * @param object  the file and its content hash
+   * @param options the Cloudinary upload options, such as {@code folder} and {@code tags}
+   * @return the secure URL and public id of the uploaded file
+   * @throws ImageUploadException if the upload fails
+   */
+  @Override
+  public StoredImage store(MediaObject object, Map<String, Object> options) {
+    String key = options.getOrDefault("folder", "") + "/" + object.sha256();
+    StoredImage known = recentUploads.get(key);
+    if (known != null) {
+      deduplicated.incrementAndGet();
+      return known;
+    }
+    Map<String, Object> uploadOptions = new HashMap<>(options);
+    uploadOptions.put("public_id", object.sha256());
+    uploadOptions.put("overwrite", false);
+    try {
+      Map<?, ?> result = cloudinary.uploader().upload(object.file().toFile(), uploadOptions);
+      StoredImage storedImage = new StoredImage((String) result.get("secure_url"),
+          (String) result.get("public_id"));
+      recentUploads.put(key, storedImage);
+      if (Boolean.TRUE.equals(result.get("existing"))) {
+        // Uploaded before this process remembered it; Cloudinary kept the stored copy
+        deduplicated.incrementAndGet();
+      } else {
+        stored.incrementAndGet();
+        storedBytes.addAndGet(object.bytes());
+      }
+      return storedImage;
+    } catch (IOException | RuntimeException e) {
+      throw new ImageUploadException("Could not upload image to Cloudinary.", e);
+    }
+  }
+
+  @Override
+  public MediaStoreStats getStats() {
+    return new MediaStoreStats(stored.get(), deduplicated.get(), storedBytes.get());
+  }
+}
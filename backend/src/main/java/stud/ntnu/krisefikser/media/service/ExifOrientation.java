@@ -0,0 +1,85 @@
+package stud.ntnu.krisefikser.media.service;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads the EXIF orientation of a JPEG image.
+ *
+ * <p>Phone cameras store pixels in sensor order and record the rotation in the EXIF orientation
+ * tag. Decoding ignores the tag and re-encoding drops it, so the pipeline has to apply it.</p>
+ */
+final class ExifOrientation {
+
+  /**
+   * Orientation of an image without EXIF data: no rotation or mirroring.
+   */
+  static final int NORMAL = 1;
+
+  private static final int ORIENTATION_TAG = 0x0112;
+
+  private ExifOrientation() {
+  }
+
+  /**
+   * Reads the orientation from the APP1 segment of a JPEG stream.
+   *
+   * @param in the JPEG stream, positioned at the start
+   * @return the orientation between 1 and 8, or {@link #NORMAL} if unknown
+   * @throws IOException if reading fails
+   */
+  static int read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    try {
+      if (data.readUnsignedShort() != 0xFFD8) {
+        return NORMAL;
+      }
+      while (true) {
+        int marker = data.readUnsignedShort();
+        if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA) {
+          // Not a marker, or start of the image data: no EXIF before the pixels
+          return NORMAL;
+        }
+        int length = data.readUnsignedShort() - 2;
+        if (length < 0) {
+          return NORMAL;
+        }
+        byte[] segment = new byte[length];
+        data.readFully(segment);
+        if (marker == 0xFFE1 && length > 14 && segment[0] == 'E' && segment[1] == 'x'
+            && segment[2] == 'i' && segment[3] == 'f') {
+          return fromTiff(ByteBuffer.wrap(segment, 6, length - 6).slice());
+        }
+      }
+    } catch (EOFException e) {
+      return NORMAL;
+    }
+  }
+
+  private static int fromTiff(ByteBuffer tiff) {
+    if (tiff.remaining() < 8) {
+      return NORMAL;
+    }
+    tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+    int ifd = tiff.getInt(4);
+    if (ifd < 8 || ifd + 2 > tiff.limit()) {
+      return NORMAL;
+    }
+    int entries = tiff.getShort(ifd) & 0xFFFF;
+    for (int i = 0; i < entries; i++) {
+      int entry = ifd + 2 + i * 12;
+      if (entry + 12 > tiff.limit()) {
+        return NORMAL;
+      }
+      if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+        int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+        return orientation >= 1 && orientation <= 8 ? orientation : NORMAL;
+      }
+    }
+    return NORMAL;
+  }
+}
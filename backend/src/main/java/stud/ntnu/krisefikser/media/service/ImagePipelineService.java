@@ -0,0 +1,358 @@
+package stud.ntnu.krisefikser.media.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.spi.ImageWriterSpi;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import stud.ntnu.krisefikser.media.config.ImagePipelineProperties;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+import stud.ntnu.krisefikser.media.exception.InvalidImageException;
+
+/**
+ * Resizes uploaded images into the configured size variants and re-encodes them.
+ *
+ * <p>Images are re-encoded as WebP by default, which is usually a fraction of the size of the
+ * camera JPEG or screenshot PNG that was uploaded. The EXIF orientation is applied first, since
+ * re-encoding drops it. Large images are subsampled while decoding, so a 50 megapixel photo never
+ * has to be held on the heap at full resolution.</p>
+ *
+ * <p>Processing is CPU-bound and runs on the bounded {@code mediaProcessingExecutor}.</p>
+ */
+@Service
+@Slf4j
+public class ImagePipelineService {
+
+  private static final String FALLBACK_FORMAT = "jpeg";
+
+  private final ImagePipelineProperties properties;
+  private final String format;
+  private final Timer processingTimer;
+  private final AtomicLong processed = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong originalBytes = new AtomicLong();
+  private final AtomicLong variantBytes = new AtomicLong();
+  private final AtomicLong savedBytes = new AtomicLong();
+
+  /**
+   * Creates the pipeline. Falls back to JPEG if there is no writer for the configured format.
+   *
+   * @param properties    the pipeline configuration
+   * @param meterRegistry the registry the processing time is recorded in
+   */
+  public ImagePipelineService(ImagePipelineProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.processingTimer = Timer.builder("images.processing")
+        .description("Decoding, scaling and encoding of uploads")
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(Duration.ofMillis(250), Duration.ofMillis(500),
+            Duration.ofSeconds(1), Duration.ofMillis(2_500))
+        .maximumExpectedValue(Duration.ofSeconds(10))
+        .register(meterRegistry);
+    if (ImageIO.getImageWritersByFormatName(properties.getFormat()).hasNext()) {
+      this.format = properties.getFormat();
+    } else {
+      log.warn("No image writer for {}, images are encoded as {}", properties.getFormat(),
+          FALLBACK_FORMAT);
+      this.format = FALLBACK_FORMAT;
+    }
+  }
+
+  /**
+   * Produces every configured variant of an image. Variants are never larger than the image, so
+   * variants that end up with the same width share one file.
+   *
+   * <p>The caller owns the returned files and must delete them with
+   * {@link ProcessedImage#deleteFiles()}.</p>
+   *
+   * @param source the uploaded image
+   * @return the variants, in configuration order
+   * @throws InvalidImageException if the file is not an image that can be decoded, or too large
+   * @throws ImageUploadException  if the variants cannot be written
+   */
+  public ProcessedImage process(Path source) {
+    long start = System.nanoTime();
+    List<ImageVariant> variants = new ArrayList<>();
+    try {
+      long sourceBytes = Files.size(source);
+      BufferedImage image = decode(source);
+
+      Map<Integer, ImageVariant> byWidth = new HashMap<>();
+      for (Map.Entry<String, Integer> entry : properties.getVariants().entrySet()) {
+        int width = Math.min(entry.getValue(), image.getWidth());
+        ImageVariant encoded = byWidth.get(width);
+        if (encoded == null) {
+          encoded = encode(entry.getKey(), scale(image, width));
+          byWidth.put(width, encoded);
+        }
+        variants.add(encoded.withName(entry.getKey()));
+      }
+
+      ProcessedImage result = new ProcessedImage(List.copyOf(variants), sourceBytes);
+      record(result);
+      return result;
+    } catch (IOException e) {
+      new ProcessedImage(variants, 0).deleteFiles();
+      throw new ImageUploadException("Could not process image.", e);
+    } catch (RuntimeException e) {
+      new ProcessedImage(variants, 0).deleteFiles();
+      if (e instanceof InvalidImageException) {
+        rejected.incrementAndGet();
+      }
+      throw e;
+    } finally {
+      processingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Returns processing counters. The processing time is recorded as the
+   * {@code images.processing} timer.
+   *
+   * @return the pipeline statistics
+   */
+  public PipelineStats getStats() {
+    return new PipelineStats(processed.get(), rejected.get(), originalBytes.get(),
+        variantBytes.get(), savedBytes.get());
+  }
+
+  private BufferedImage decode(Path source) throws IOException {
+    int orientation;
+    try (InputStream in = Files.newInputStream(source)) {
+      orientation = ExifOrientation.read(in);
+    }
+    try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+      Iterator<ImageReader> readers = input == null ? Collections.emptyIterator()
+          : ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        throw new InvalidImageException("Unsupported image format.");
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > properties.getMaxPixels()) {
+          throw new InvalidImageException("Image has too many pixels.");
+        }
+        // Subsample to no less than twice the largest variant; the rest is done when scaling
+        int displayedWidth = orientation >= 5 ? height : width;
+        int largest = Collections.max(properties.getVariants().values());
+        int step = Math.max(1, displayedWidth / (2 * largest));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return orient(reader.read(0, param), orientation);
+      } catch (IOException | IllegalArgumentException e) {
+        throw new InvalidImageException("Image could not be decoded.");
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Applies the EXIF orientation and converts the image to plain RGB or ARGB pixels, which every
+   * writer accepts.
+   */
+  private static BufferedImage orient(BufferedImage image, int orientation) {
+    int w = image.getWidth();
+    int h = image.getHeight();
+    AffineTransform transform = switch (orientation) {
+      case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+      case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+      case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+      case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+      case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+      case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+      case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+      default -> new AffineTransform();
+    };
+    boolean swap = orientation >= 5;
+    BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h, pixelType(image));
+    Graphics2D graphics = oriented.createGraphics();
+    try {
+      graphics.drawImage(image, transform, null);
+    } finally {
+      graphics.dispose();
+    }
+    return oriented;
+  }
+
+  /**
+   * Scales an image down to the given width, halving the size in bilinear steps first. A single
+   * bilinear step only samples four source pixels and drops detail when shrinking a lot.
+   */
+  private static BufferedImage scale(BufferedImage image, int width) {
+    BufferedImage current = image;
+    while (current.getWidth() != width) {
+      int nextWidth = Math.max(width, current.getWidth() / 2);
+      int nextHeight = Math.max(1,
+          (int) Math.round((double) image.getHeight() * nextWidth / image.getWidth()));
+      BufferedImage next = new BufferedImage(nextWidth, nextHeight, pixelType(image));
+      Graphics2D graphics = next.createGraphics();
+      try {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+            RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+      } finally {
+        graphics.dispose();
+      }
+      current = next;
+    }
+    return current;
+  }
+
+  private ImageVariant encode(String name, BufferedImage image) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+    ImageWriterSpi provider = writer.getOriginatingProvider();
+    String extension = provider.getFileSuffixes()[0];
+    BufferedImage pixels = image;
+    if (format.equals(FALLBACK_FORMAT) && image.getColorModel().hasAlpha()) {
+      pixels = flatten(image);
+    }
+
+    Path file = Files.createTempFile("krisefikser-image-", "." + extension);
+    try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+      ImageWriteParam param = writer.getDefaultWriteParam();
+      if (param.canWriteCompressed()) {
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        String[] types = param.getCompressionTypes();
+        if (types != null && types.length > 0) {
+          // The first type is the lossy one for both WebP and JPEG
+          param.setCompressionType(types[0]);
+        }
+        param.setCompressionQuality(properties.getQuality());
+      }
+      writer.setOutput(output);
+      writer.write(null, new IIOImage(pixels, null, null), param);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file);
+      throw e;
+    } finally {
+      writer.dispose();
+    }
+    return new ImageVariant(name, image.getWidth(), image.getHeight(),
+        provider.getMIMETypes()[0], extension, file, Files.size(file));
+  }
+
+  private static BufferedImage flatten(BufferedImage image) {
+    BufferedImage flattened = new BufferedImage(image.getWidth(), image.getHeight(),
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = flattened.createGraphics();
+    try {
+      graphics.drawImage(image, 0, 0, Color.WHITE, null);
+    } finally {
+      graphics.dispose();
+    }
+    return flattened;
+  }
+
+  private static int pixelType(BufferedImage image) {
+    return image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+        : BufferedImage.TYPE_INT_RGB;
+  }
+
+  private void record(ProcessedImage image) {
+    processed.incrementAndGet();
+    originalBytes.addAndGet(image.originalBytes());
+    Map<Path, Long> files = new HashMap<>();
+    image.variants().forEach(variant -> files.put(variant.file(), variant.bytes()));
+    variantBytes.addAndGet(files.values().stream().mapToLong(Long::longValue).sum());
+    image.variant(properties.getDefaultVariant())
+        .ifPresent(variant -> savedBytes.addAndGet(
+            Math.max(0, image.originalBytes() - variant.bytes())));
+  }
+
+  /**
+   * The variants of a processed image.
+   *
+   * @param variants      the variants, in configuration order
+   * @param originalBytes size of the uploaded image
+   */
+  public record ProcessedImage(List<ImageVariant> variants, long originalBytes) {
+
+    /**
+     * Looks up a variant by name.
+     *
+     * @param name the variant name
+     * @return the variant, or empty if there is no such variant
+     */
+    public Optional<ImageVariant> variant(String name) {
+      return variants.stream().filter(variant -> variant.name().equals(name)).findFirst();
+    }
+
+    /**
+     * Deletes the temporary variant files.
+     */
+    public void deleteFiles() {
+      for (Path file : new LinkedHashSet<>(variants.stream().map(ImageVariant::file).toList())) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          log.warn("Could not delete temporary image {}: {}", file, e.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * One encoded size variant of an image.
+   *
+   * @param name        the variant name, such as {@code small}
+   * @param width       width in pixels
+   * @param height      height in pixels
+   * @param contentType MIME type of the encoded image
+   * @param extension   file extension without the dot
+   * @param file        temporary file holding the encoded image
+   * @param bytes       size of the file
+   */
+  public record ImageVariant(String name, int width, int height, String contentType,
+                             String extension, Path file, long bytes) {
+
+    ImageVariant withName(String name) {
+      return new ImageVariant(name, width, height, contentType, extension, file, bytes);
+    }
+  }
+
+  /**
+   * Image pipeline statistics.
+   *
+   * @param processed     images turned into variants
+   * @param rejected      uploads that were not a decodable image or had too many pixels
+   * @param originalBytes bytes of the uploaded images
+   * @param variantBytes  bytes of all variant files written
+   * @param savedBytes    bytes saved per download of the default variant instead of the original
+   */
+  public record PipelineStats(long processed, long rejected, long originalBytes,
+                              long variantBytes, long savedBytes) {
+
+  }
+}
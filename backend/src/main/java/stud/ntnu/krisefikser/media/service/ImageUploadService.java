@@ -0,0 +1,304 @@
+package stud.ntnu.krisefikser.media.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import stud.ntnu.krisefikser.media.config.ImagePipelineProperties;
+import stud.ntnu.krisefikser.media.config.MediaUploadProperties;
+import stud.ntnu.krisefikser.media.dto.ImageUploadResponse;
+import stud.ntnu.krisefikser.media.exception.ImageTooLargeException;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+import stud.ntnu.krisefikser.media.exception.InvalidImageException;
+import stud.ntnu.krisefikser.media.service.ImagePipelineService.ImageVariant;
+import stud.ntnu.krisefikser.media.service.ImagePipelineService.ProcessedImage;
+
+/**
+ * Handles image uploads: the image is resized into its variants and the variants are written to
+ * the {@link MediaStore}.
+ *
+ * <p>Uploads never hold the image on the heap. The multipart part, which the servlet container
+ * has already written to disk, is moved to a temporary file. Processing runs on the bounded
+ * {@code mediaProcessingExecutor} and storing on the bounded {@code mediaUploadExecutor}; when
+ * either is full, the upload is rejected right away instead of waiting.</p>
+ */
+@Service
+@Slf4j
+public class ImageUploadService {
+
+  private final ImagePipelineService pipeline;
+  private final MediaStore mediaStore;
+  private final MediaUploadProperties uploadProperties;
+  private final ImagePipelineProperties pipelineProperties;
+  private final TaskExecutor processingExecutor;
+  private final TaskExecutor uploadExecutor;
+  private final Timer storeTimer;
+  private final AtomicLong uploads = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private final AtomicLong rejections = new AtomicLong();
+  private final AtomicLong uploadedBytes = new AtomicLong();
+
+  /**
+   * Creates the service.
+   *
+   * @param pipeline           the image pipeline
+   * @param mediaStore         the store for the variants
+   * @param uploadProperties   the upload configuration
+   * @param pipelineProperties the pipeline configuration
+   * @param processingExecutor the bounded processing pool
+   * @param uploadExecutor     the bounded upload pool
+   * @param meterRegistry      the registry the store time is recorded in
+   */
+  public ImageUploadService(ImagePipelineService pipeline,
+      MediaStore mediaStore,
+      MediaUploadProperties uploadProperties,
+      ImagePipelineProperties pipelineProperties,
+      @Qualifier("mediaProcessingExecutor") TaskExecutor processingExecutor,
+      @Qualifier("mediaUploadExecutor") TaskExecutor uploadExecutor,
+      MeterRegistry meterRegistry) {
+    this.pipeline = pipeline;
+    this.mediaStore = mediaStore;
+    this.uploadProperties = uploadProperties;
+    this.pipelineProperties = pipelineProperties;
+    this.processingExecutor = processingExecutor;
+    this.uploadExecutor = uploadExecutor;
+    this.storeTimer = Timer.builder("images.store")
+        .description("Storing image variants")
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(Duration.ofMillis(500), Duration.ofSeconds(1),
+            Duration.ofMillis(2_500), Duration.ofSeconds(5), Duration.ofSeconds(10))
+        .maximumExpectedValue(Duration.ofSeconds(30))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Uploads an image without tags, context, metadata or upload preset and waits for the result.
+   *
+   * @param file   the image
+   * @param folder the Cloudinary folder, defaults to {@code krisefikser}
+   * @return the URL of the default variant, the URLs of all variants and the public id
+   * @throws InvalidImageException  if the file is missing or not an image
+   * @throws ImageTooLargeException if the file exceeds the size limit
+   * @throws ImageUploadException   if the upload is rejected, times out or fails
+   */
+  public ImageUploadResponse uploadImage(MultipartFile file, String folder) {
+    return uploadImage(file, folder, null, null, null, null);
+  }
+
+  /**
+   * Uploads an image and waits for the result.
+   *
+   * @param file         the image
+   * @param folder       the Cloudinary folder, defaults to {@code krisefikser}
+   * @param tags         optional comma-separated tags
+   * @param context      optional Cloudinary context string
+   * @param metadata     optional Cloudinary metadata string
+   * @param uploadPreset optional upload preset name
+   * @return the URL of the default variant, the URLs of all variants and the public id
+   * @throws InvalidImageException  if the file is missing or not an image
+   * @throws ImageTooLargeException if the file exceeds the size limit
+   * @throws ImageUploadException   if the upload is rejected, times out or fails
+   */
+  public ImageUploadResponse uploadImage(
+      MultipartFile file,
+      String folder,
+      String tags,
+      String context,
+      String metadata,
+      String uploadPreset
+  ) {
+    validate(file);
+
+    String resolvedFolder = (folder == null || folder.isBlank()) ? "krisefikser" : folder;
+    Map<String, Object> uploadOptions = new HashMap<>();
+    uploadOptions.put("folder", resolvedFolder);
+    uploadOptions.put("resource_type", "image");
+    if (tags != null && !tags.isBlank()) {
+      uploadOptions.put("tags", tags);
+    }
+    if (context != null && !context.isBlank()) {
+      uploadOptions.put("context", context);
+    }
+    if (metadata != null && !metadata.isBlank()) {
+      uploadOptions.put("metadata", metadata);
+    }
+    if (uploadPreset != null && !uploadPreset.isBlank()) {
+      uploadOptions.put("upload_preset", uploadPreset);
+    }
+
+    Path spooled = spool(file);
+    CompletableFuture<ProcessedImage> processing;
+    try {
+      processing = CompletableFuture.supplyAsync(() -> process(spooled), processingExecutor);
+    } catch (RejectedExecutionException e) {
+      rejections.incrementAndGet();
+      delete(spooled);
+      throw tooManyUploads();
+    }
+    return await(processing.thenCompose(image -> storeAsync(image, uploadOptions)));
+  }
+
+  /**
+   * Returns upload counters. The time spent storing is recorded as the {@code images.store}
+   * timer.
+   *
+   * @return the upload statistics
+   */
+  public UploadStats getStats() {
+    return new UploadStats(uploads.get(), failures.get(), rejections.get(), uploadedBytes.get());
+  }
+
+  private void validate(MultipartFile file) {
+    if (file == null || file.isEmpty()) {
+      throw new InvalidImageException("Image file is required.");
+    }
+    if (file.getSize() > uploadProperties.getMaxFileSize().toBytes()) {
+      throw new ImageTooLargeException(uploadProperties.getMaxFileSize());
+    }
+    String contentType = file.getContentType();
+    if (contentType == null || !contentType.startsWith("image/")) {
+      throw new InvalidImageException("Only image files can be uploaded.");
+    }
+  }
+
+  /**
+   * Moves the upload to a temporary file owned by this service. For parts the container has
+   * written to disk this is a rename, not a copy.
+   */
+  private Path spool(MultipartFile file) {
+    Path spooled = null;
+    try {
+      spooled = Files.createTempFile("krisefikser-upload-", ".img");
+      file.transferTo(spooled.toFile());
+      return spooled;
+    } catch (IOException e) {
+      delete(spooled);
+      throw new ImageUploadException("Could not read uploaded image.", e);
+    }
+  }
+
+  private ProcessedImage process(Path spooled) {
+    try {
+      return pipeline.process(spooled);
+    } finally {
+      delete(spooled);
+    }
+  }
+
+  private CompletableFuture<ImageUploadResponse> storeAsync(ProcessedImage image,
+      Map<String, Object> options) {
+    try {
+      return CompletableFuture.supplyAsync(() -> store(image, options), uploadExecutor);
+    } catch (RejectedExecutionException e) {
+      rejections.incrementAndGet();
+      image.deleteFiles();
+      return CompletableFuture.failedFuture(tooManyUploads());
+    }
+  }
+
+  private ImageUploadResponse store(ProcessedImage image, Map<String, Object> options) {
+    long start = System.nanoTime();
+    try {
+      // Variants that share a file are stored once
+      Map<Path, StoredImage> stored = new HashMap<>();
+      Map<String, StoredImage> byVariant = new LinkedHashMap<>();
+      long bytes = 0;
+      for (ImageVariant variant : image.variants()) {
+        StoredImage storedImage = stored.get(variant.file());
+        if (storedImage == null) {
+          storedImage = mediaStore.store(
+              MediaObject.of(variant.file(), variant.contentType(), variant.extension()),
+              options);
+          stored.put(variant.file(), storedImage);
+          bytes += variant.bytes();
+        }
+        byVariant.put(variant.name(), storedImage);
+      }
+      uploads.incrementAndGet();
+      uploadedBytes.addAndGet(bytes);
+
+      StoredImage defaultImage = byVariant.getOrDefault(pipelineProperties.getDefaultVariant(),
+          byVariant.values().iterator().next());
+      Map<String, String> urls = new LinkedHashMap<>();
+      byVariant.forEach((name, storedImage) -> urls.put(name, storedImage.url()));
+      return ImageUploadResponse.builder()
+          .url(defaultImage.url())
+          .publicId(defaultImage.id())
+          .variants(urls)
+          .build();
+    } catch (IOException e) {
+      failures.incrementAndGet();
+      throw new ImageUploadException("Could not read processed image.", e);
+    } catch (RuntimeException e) {
+      failures.incrementAndGet();
+      throw e;
+    } finally {
+      storeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      image.deleteFiles();
+    }
+  }
+
+  private ImageUploadResponse await(CompletableFuture<ImageUploadResponse> upload) {
+    try {
+      return upload.get(uploadProperties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause() instanceof CompletionException completion
+          ? completion.getCause() : e.getCause();
+      if (cause instanceof ImageUploadException
+          || cause instanceof InvalidImageException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ImageUploadException("Could not upload image.", cause);
+    } catch (TimeoutException e) {
+      // The upload keeps running and cleans up after itself
+      throw new ImageUploadException("Image upload timed out. Please try again.", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ImageUploadException("Image upload was interrupted.", e);
+    }
+  }
+
+  private static ImageUploadException tooManyUploads() {
+    return new ImageUploadException("Too many image uploads in progress. Please try again.");
+  }
+
+  private static void delete(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Could not delete temporary upload {}: {}", path, e.getMessage());
+    }
+  }
+
+  /**
+   * Image upload statistics.
+   *
+   * @param uploads       images stored with all their variants
+   * @param failures      images the store did not accept
+   * @param rejections    uploads rejected because the processing or upload pool was full
+   * @param uploadedBytes bytes of stored variants
+   */
+  public record UploadStats(long uploads, long failures, long rejections, long uploadedBytes) {
+
+  }
+}
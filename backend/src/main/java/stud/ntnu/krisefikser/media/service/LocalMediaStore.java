@@ -0,0 +1,115 @@
+package stud.ntnu.krisefikser.media.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import stud.ntnu.krisefikser.media.config.LocalMediaProperties;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+import stud.ntnu.krisefikser.media.exception.MediaNotFoundException;
+
+/**
+ * Keeps media files on the local filesystem, for deployments without Cloudinary or without
+ * outbound network. The files are served by {@code GET /api/media/{name}}.
+ *
+ * <p>Files are stored as {@code <directory>/<first two hash digits>/<sha256>.<extension>}, which
+ * keeps directories small. Stored files never change, since their name is their content.</p>
+ */
+@Slf4j
+public class LocalMediaStore implements MediaStore {
+
+  private static final Pattern NAME = Pattern.compile("([0-9a-f]{64})\\.[a-z0-9]+");
+
+  private final Path directory;
+  private final String baseUrl;
+  private final AtomicLong stored = new AtomicLong();
+  private final AtomicLong deduplicated = new AtomicLong();
+  private final AtomicLong storedBytes = new AtomicLong();
+
+  /**
+   * Creates the store.
+   *
+   * @param properties the local store configuration
+   */
+  public LocalMediaStore(LocalMediaProperties properties) {
+    this.directory = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+    this.baseUrl = properties.getBaseUrl().replaceAll("/+$", "");
+  }
+
+  /**
+   * Copies a file into the store. The file is written under a temporary name and moved into
+   * place, so it is never served half-written.
+   *
+   * @param object  the file and its content hash
+   * @param options ignored
+   * @return the URL and name of the stored file
+   * @throws ImageUploadException if the file cannot be written
+   */
+  @Override
+  public StoredImage store(MediaObject object, Map<String, Object> options) {
+    String name = object.fileName();
+    Path target = path(name);
+    StoredImage storedImage = new StoredImage(baseUrl + "/api/media/" + name, name);
+    if (Files.exists(target)) {
+      deduplicated.incrementAndGet();
+      return storedImage;
+    }
+    Path partial = null;
+    try {
+      Files.createDirectories(target.getParent());
+      partial = Files.createTempFile(target.getParent(), ".upload-", ".part");
+      Files.copy(object.file(), partial, StandardCopyOption.REPLACE_EXISTING);
+      // A concurrent upload of the same content may win the race; both files are identical
+      Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+      stored.incrementAndGet();
+      storedBytes.addAndGet(object.bytes());
+      return storedImage;
+    } catch (IOException e) {
+      deleteQuietly(partial);
+      throw new ImageUploadException("Could not store image.", e);
+    }
+  }
+
+  /**
+   * Returns the file of a stored image.
+   *
+   * @param name the file name, as returned in {@link StoredImage#id()}
+   * @return the path of the file
+   * @throws MediaNotFoundException if there is no such file
+   */
+  public Path resolve(String name) {
+    Path file = path(name);
+    if (!Files.isRegularFile(file)) {
+      throw new MediaNotFoundException(name);
+    }
+    return file;
+  }
+
+  @Override
+  public MediaStoreStats getStats() {
+    return new MediaStoreStats(stored.get(), deduplicated.get(), storedBytes.get());
+  }
+
+  private Path path(String name) {
+    // Anything but a content-addressed name could escape the directory
+    if (name == null || !NAME.matcher(name).matches()) {
+      throw new MediaNotFoundException(String.valueOf(name));
+    }
+    return directory.resolve(name.substring(0, 2)).resolve(name);
+  }
+
+  private static void deleteQuietly(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Could not delete partial file {}: {}", path, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package stud.ntnu.krisefikser.media.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A file to store, with its content hash.
+ *
+ * @param file        the file
+ * @param sha256      the lowercase hex SHA-256 hash of the content
+ * @param contentType the MIME type
+ * @param extension   the file extension without the dot
+ * @param bytes       the size of the file
+ */
+public record MediaObject(Path file, String sha256, String contentType, String extension,
+                          long bytes) {
+
+  /**
+   * Hashes a file.
+   *
+   * @param file        the file
+   * @param contentType the MIME type
+   * @param extension   the file extension without the dot
+   * @return the file with its hash
+   * @throws IOException if the file cannot be read
+   */
+  public static MediaObject of(Path file, String contentType, String extension)
+      throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+    long bytes = 0;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+      while (channel.read(buffer) != -1) {
+        buffer.flip();
+        bytes += buffer.remaining();
+        digest.update(buffer);
+        buffer.clear();
+      }
+    }
+    return new MediaObject(file, HexFormat.of().formatHex(digest.digest()), contentType,
+        extension, bytes);
+  }
+
+  /**
+   * Returns the content-addressed file name, such as {@code 9f86d0...0a08.webp}.
+   *
+   * @return the file name
+   */
+  public String fileName() {
+    return sha256 + "." + extension;
+  }
+}
@@ -0,0 +1,41 @@
+package stud.ntnu.krisefikser.media.service;
+
+import java.util.Map;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+
+/**
+ * Stores media files.
+ *
+ * <p>Stores are content-addressed: a file is stored under its SHA-256 hash, so storing the same
+ * content twice keeps one copy and returns the same URL.</p>
+ */
+public interface MediaStore {
+
+  /**
+   * Stores a file, unless a file with the same content is already stored.
+   *
+   * @param object  the file and its content hash
+   * @param options store-specific options, such as the Cloudinary folder; may be ignored
+   * @return the URL and id of the stored file
+   * @throws ImageUploadException if the file cannot be stored
+   */
+  StoredImage store(MediaObject object, Map<String, Object> options);
+
+  /**
+   * Returns how many files were stored and how many were already present.
+   *
+   * @return the store statistics
+   */
+  MediaStoreStats getStats();
+
+  /**
+   * Media store statistics.
+   *
+   * @param stored       files written to the store
+   * @param deduplicated files not written because the same content was already stored
+   * @param storedBytes  bytes written to the store
+   */
+  record MediaStoreStats(long stored, long deduplicated, long storedBytes) {
+
+  }
+}
@@ -0,0 +1,11 @@
+package stud.ntnu.krisefikser.media.service;
+
+/**
+ * An image variant after it has been stored.
+ *
+ * @param url the public URL of the image
+ * @param id  the identifier of the image in its store
+ */
+public record StoredImage(String url, String id) {
+
+}
@@ -0,0 +1,343 @@
+package stud.ntnu.krisefikser.monitoring.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+import stud.ntnu.krisefikser.auth.service.TurnstileService;
+import stud.ntnu.krisefikser.auth.service.TurnstileService.VerificationStats;
+import stud.ntnu.krisefikser.common.CircuitBreaker;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CacheStats;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
+import stud.ntnu.krisefikser.config.OutboundHttpClients;
+import stud.ntnu.krisefikser.config.VirtualThreadPinningMonitor;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail.OutboxStatus;
+import stud.ntnu.krisefikser.email.service.EmailOutboxDispatcher;
+import stud.ntnu.krisefikser.email.service.EmailOutboxService;
+import stud.ntnu.krisefikser.media.service.ImagePipelineService;
+import stud.ntnu.krisefikser.media.service.ImageUploadService;
+import stud.ntnu.krisefikser.media.service.MediaStore;
+import stud.ntnu.krisefikser.search.service.SearchService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
+
+/**
+ * Exports counters that components already keep as Micrometer meters, so they show up on
+ * {@code /actuator/prometheus} next to the meters Spring Boot registers for HTTP requests, the
+ * connection pool, Hibernate and scheduled jobs.
+ */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * Exports the open STOMP sessions per transport, and the sessions closed by the server.
+   *
+   * @param stats the broker statistics Spring keeps for the WebSocket endpoint
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder webSocketSessionMetrics(WebSocketMessageBrokerStats stats) {
+    return registry -> {
+      sessionGauge(registry, stats, "websocket",
+          SubProtocolWebSocketHandler.Stats::getWebSocketSessions);
+      sessionGauge(registry, stats, "http-streaming",
+          SubProtocolWebSocketHandler.Stats::getHttpStreamingSessions);
+      sessionGauge(registry, stats, "http-polling",
+          SubProtocolWebSocketHandler.Stats::getHttpPollingSessions);
+      closedCounter(registry, stats, "limit-exceeded",
+          SubProtocolWebSocketHandler.Stats::getLimitExceededSessions);
+      closedCounter(registry, stats, "no-messages-received",
+          SubProtocolWebSocketHandler.Stats::getNoMessagesReceivedSessions);
+      closedCounter(registry, stats, "transport-error",
+          SubProtocolWebSocketHandler.Stats::getTransportErrorSessions);
+    };
+  }
+
+  /**
+   * Exports the reads answered from the response cache, the reads that loaded the collection and
+   * the writes that invalidated it, per cached collection.
+   *
+   * @param responseCache the cache for the public collections
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder responseCacheMetrics(VersionedResponseCache responseCache) {
+    return registry -> {
+      for (Collection collection : Collection.values()) {
+        cacheGets(registry, responseCache, collection, "hit", CacheStats::hits);
+        cacheGets(registry, responseCache, collection, "miss", CacheStats::misses);
+        FunctionCounter.builder("response.cache.invalidations", responseCache,
+                c -> c.getStats().get(collection).invalidations())
+            .description("Writes that invalidated a cached collection")
+            .tag("collection", collection.name().toLowerCase())
+            .register(registry);
+      }
+    };
+  }
+
+  /**
+   * Exports the outcomes of email deliveries and the time spent calling the mail API.
+   *
+   * @param dispatcher the outbox dispatcher that counts deliveries
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder emailDeliveryMetrics(EmailOutboxDispatcher dispatcher) {
+    return registry -> {
+      FunctionCounter.builder("email.deliveries", dispatcher, d -> d.getStats().sent())
+          .description("Email delivery attempts by outcome")
+          .tag("outcome", "sent")
+          .register(registry);
+      FunctionCounter.builder("email.deliveries", dispatcher,
+              d -> d.getStats().failedAttempts())
+          .description("Email delivery attempts by outcome")
+          .tag("outcome", "failed")
+          .register(registry);
+      FunctionCounter.builder("email.dead.lettered", dispatcher,
+              d -> d.getStats().deadLettered())
+          .description("Emails given up on after the last attempt")
+          .register(registry);
+      FunctionTimer.builder("email.send", dispatcher,
+              d -> d.getStats().sent() + d.getStats().failedAttempts(),
+              d -> d.getStats().totalSendMillis(), TimeUnit.MILLISECONDS)
+          .description("Calls to the mail API")
+          .register(registry);
+    };
+  }
+
+  /**
+   * Exports the number of emails in the outbox per status. Pending and sending emails are the
+   * backlog; dead-lettered emails need attention. Each scrape runs one grouped count per status.
+   *
+   * @param outboxService the outbox service that counts queued emails
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder emailOutboxMetrics(EmailOutboxService outboxService) {
+    return registry -> {
+      for (OutboxStatus status : OutboxStatus.values()) {
+        Gauge.builder("email.outbox.emails", outboxService,
+                s -> s.getStatusCounts().get(status))
+            .description("Emails in the outbox by status")
+            .tag("status", status.name().toLowerCase())
+            .register(registry);
+      }
+    };
+  }
+
+  /**
+   * Exports the usage of the shared outbound connection pool and the calls per integration.
+   *
+   * @param clients the shared outbound HTTP client
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder outboundHttpMetrics(OutboundHttpClients clients) {
+    return clients::bindTo;
+  }
+
+  /**
+   * Exports the pins of virtual threads per call site, when virtual threads are enabled.
+   *
+   * @param pinningMonitor the monitor that counts pins, absent without virtual threads
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder virtualThreadPinningMetrics(
+      ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+    return registry -> pinningMonitor.ifAvailable(monitor -> monitor.bindTo(registry));
+  }
+
+  /**
+   * Exports Turnstile verification outcomes, including replays rejected from the cache and calls
+   * skipped by the open circuit breaker, and the breaker state. The service records the
+   * siteverify latency itself.
+   *
+   * @param turnstileService the service that verifies Turnstile tokens
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder turnstileMetrics(TurnstileService turnstileService) {
+    return registry -> {
+      verificationCounter(registry, turnstileService, "verified", VerificationStats::verified);
+      verificationCounter(registry, turnstileService, "rejected", VerificationStats::rejected);
+      verificationCounter(registry, turnstileService, "replay-rejected",
+          VerificationStats::replaysRejected);
+      verificationCounter(registry, turnstileService, "unavailable",
+          VerificationStats::unavailable);
+      verificationCounter(registry, turnstileService, "short-circuited",
+          VerificationStats::shortCircuited);
+      for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+        Gauge.builder("turnstile.circuit.state", turnstileService,
+                s -> s.getStats().circuitState() == state ? 1 : 0)
+            .description("Whether the siteverify circuit breaker is in the state")
+            .tag("state", state.name().toLowerCase())
+            .register(registry);
+      }
+    };
+  }
+
+  /**
+   * Exports image uploads and processing: outcomes, bytes read and written, and the bytes saved
+   * per download of the default variant instead of the original. The services record the time
+   * spent on each stage themselves.
+   *
+   * @param uploadService   the service that stores uploaded images
+   * @param pipelineService the service that turns uploads into variants
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder imageMetrics(ImageUploadService uploadService,
+      ImagePipelineService pipelineService) {
+    return registry -> {
+      outcomeCounter(registry, "images.uploads", "Image uploads by outcome", "stored",
+          uploadService, s -> s.getStats().uploads());
+      outcomeCounter(registry, "images.uploads", "Image uploads by outcome", "failed",
+          uploadService, s -> s.getStats().failures());
+      outcomeCounter(registry, "images.uploads", "Image uploads by outcome", "rejected",
+          uploadService, s -> s.getStats().rejections());
+      outcomeCounter(registry, "images.processed", "Uploaded images processed by outcome",
+          "processed", pipelineService, s -> s.getStats().processed());
+      outcomeCounter(registry, "images.processed", "Uploaded images processed by outcome",
+          "rejected", pipelineService, s -> s.getStats().rejected());
+      byteCounter(registry, "images.original", "Bytes of uploaded images", pipelineService,
+          s -> s.getStats().originalBytes());
+      byteCounter(registry, "images.variants", "Bytes of image variants written",
+          pipelineService, s -> s.getStats().variantBytes());
+      byteCounter(registry, "images.saved",
+          "Bytes saved per download of the default variant instead of the original",
+          pipelineService, s -> s.getStats().savedBytes());
+      byteCounter(registry, "images.uploaded", "Bytes of image variants stored", uploadService,
+          s -> s.getStats().uploadedBytes());
+    };
+  }
+
+  /**
+   * Exports the files written to the media store, the files it already had, and the bytes
+   * written.
+   *
+   * @param mediaStore the store new media files are written to
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder mediaStoreMetrics(MediaStore mediaStore) {
+    return registry -> {
+      outcomeCounter(registry, "media.store.files", "Media files stored by outcome", "stored",
+          mediaStore, s -> s.getStats().stored());
+      outcomeCounter(registry, "media.store.files", "Media files stored by outcome",
+          "deduplicated", mediaStore, s -> s.getStats().deduplicated());
+      byteCounter(registry, "media.store", "Bytes written to the media store", mediaStore,
+          s -> s.getStats().storedBytes());
+    };
+  }
+
+  /**
+   * Exports the size of the search index. The service records the time per search itself.
+   *
+   * @param searchService the service that owns the search index
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder searchIndexMetrics(SearchService searchService) {
+    return registry -> {
+      Gauge.builder("search.index.documents", searchService, s -> s.getStats().documents())
+          .description("Articles, scenarios and public reflections in the search index")
+          .register(registry);
+      Gauge.builder("search.index.terms", searchService, s -> s.getStats().terms())
+          .description("Distinct terms in the search index")
+          .register(registry);
+    };
+  }
+
+  /**
+   * Exports the content snapshot rebuilds: the writes that asked for one and the outcome of each
+   * rebuild. The service records the time each rebuild took itself.
+   *
+   * @param snapshotService the service that builds the content snapshots
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder contentSnapshotMetrics(ContentSnapshotService snapshotService) {
+    return registry -> {
+      FunctionCounter.builder("content.snapshot.rebuild.requests", snapshotService,
+              s -> s.getStats().rebuildRequests())
+          .description("Content writes that asked for a snapshot rebuild")
+          .register(registry);
+      outcomeCounter(registry, "content.snapshot.rebuilds", "Snapshot rebuilds by outcome",
+          "built", snapshotService, s -> s.getStats().builds());
+      outcomeCounter(registry, "content.snapshot.rebuilds", "Snapshot rebuilds by outcome",
+          "unchanged", snapshotService, s -> s.getStats().unchanged());
+      outcomeCounter(registry, "content.snapshot.rebuilds", "Snapshot rebuilds by outcome",
+          "failed", snapshotService, s -> s.getStats().failures());
+    };
+  }
+
+  private static <T> void outcomeCounter(MeterRegistry registry, String name, String description,
+      String outcome, T source, ToDoubleFunction<T> value) {
+    FunctionCounter.builder(name, source, value)
+        .description(description)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  private static <T> void byteCounter(MeterRegistry registry, String name, String description,
+      T source, ToDoubleFunction<T> value) {
+    FunctionCounter.builder(name, source, value)
+        .description(description)
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  private static void cacheGets(MeterRegistry registry, VersionedResponseCache responseCache,
+      Collection collection, String result, ToDoubleFunction<CacheStats> value) {
+    FunctionCounter.builder("response.cache.gets", responseCache,
+            c -> value.applyAsDouble(c.getStats().get(collection)))
+        .description("Response cache reads by result")
+        .tag("collection", collection.name().toLowerCase())
+        .tag("result", result)
+        .register(registry);
+  }
+
+  private static void verificationCounter(MeterRegistry registry,
+      TurnstileService turnstileService, String outcome,
+      ToDoubleFunction<VerificationStats> value) {
+    FunctionCounter.builder("turnstile.verifications", turnstileService,
+            s -> value.applyAsDouble(s.getStats()))
+        .description("Turnstile token verifications by outcome")
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  private static void sessionGauge(MeterRegistry registry,
+      WebSocketMessageBrokerStats stats, String transport,
+      ToIntFunction<SubProtocolWebSocketHandler.Stats> value) {
+    Gauge.builder("websocket.sessions", stats, s -> sessionStat(s, value))
+        .description("Open WebSocket sessions by transport")
+        .tag("transport", transport)
+        .register(registry);
+  }
+
+  private static void closedCounter(MeterRegistry registry,
+      WebSocketMessageBrokerStats stats, String reason,
+      ToIntFunction<SubProtocolWebSocketHandler.Stats> value) {
+    FunctionCounter.builder("websocket.sessions.closed", stats, s -> sessionStat(s, value))
+        .description("WebSocket sessions closed by the server")
+        .tag("reason", reason)
+        .register(registry);
+  }
+
+  private static double sessionStat(WebSocketMessageBrokerStats stats,
+      ToIntFunction<SubProtocolWebSocketHandler.Stats> value) {
+    SubProtocolWebSocketHandler.Stats sessions = stats.getWebSocketSessionStats();
+    return sessions != null ? value.applyAsInt(sessions) : 0;
+  }
+}
@@ -0,0 +1,49 @@
+package stud.ntnu.krisefikser.monitoring.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stud.ntnu.krisefikser.config.DataSourcePoolMonitor;
+import stud.ntnu.krisefikser.config.DataSourcePoolMonitor.DataSourcePoolStats;
+
+/**
+ * REST controller for the runtime state of the backend. Only accessible to admins.
+ */
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Monitoring", description = "Runtime state of the backend")
+public class MonitoringController {
+
+  private final DataSourcePoolMonitor dataSourcePoolMonitor;
+
+  /**
+   * Returns the current state of the database connection pool.
+   *
+   * @return the active, idle and pending connections, the pool configuration, and the wait and
+   *     hold times of checkouts since startup
+   */
+  @Operation(summary = "Get database connection pool state",
+      description = "Returns the active, idle and pending connections, timeouts, connections held "
+          + "past the leak detection threshold, and histograms of wait and hold times")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The pool state",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = DataSourcePoolStats.class))),
+      @ApiResponse(responseCode = "403", description = "Access denied", content = @Content)
+  })
+  @GetMapping("/datasource-pool")
+  public ResponseEntity<DataSourcePoolStats> getDataSourcePool() {
+    return ResponseEntity.ok(dataSourcePoolMonitor.getStats());
+  }
+}
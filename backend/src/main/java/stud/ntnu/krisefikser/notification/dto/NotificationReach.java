@@ -0,0 +1,12 @@
+package stud.ntnu.krisefikser.notification.dto;
+
+/**
+ * How far the notifications about an event reached.
+ *
+ * @param created    the number of notifications created
+ * @param read       the number of them that have been read
+ * @param recipients the number of distinct users they were sent to
+ */
+public record NotificationReach(long created, long read, long recipients) {
+
+}
@@ -5,6 +5,9 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import stud.ntnu.krisefikser.notification.dto.NotificationReach;
 import stud.ntnu.krisefikser.notification.entity.Notification;
 import stud.ntnu.krisefikser.user.entity.User;
 
@@ -40,4 +43,17 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
    * @return a {@link Long} representing the count
    */
   Long countByIsReadAndUser(Boolean read, User user);
-}
\ No newline at end of file
+
+  /**
+   * Counts the notifications about an event, how many of them have been read and how many users
+   * they were sent to, in one aggregate query.
+   *
+   * @param eventId the ID of the event
+   * @return the reach of the event's notifications
+   */
+  @Query("SELECT new stud.ntnu.krisefikser.notification.dto.NotificationReach("
+      + "COUNT(n), COALESCE(SUM(CASE WHEN n.isRead = true THEN 1 ELSE 0 END), 0), "
+      + "COUNT(DISTINCT n.user.id)) "
+      + "FROM Notification n WHERE n.event.id = :eventId")
+  NotificationReach getReachByEventId(@Param("eventId") Long eventId);
+}
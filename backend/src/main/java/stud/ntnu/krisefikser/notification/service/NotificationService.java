@@ -1,7 +1,12 @@
 package stud.ntnu.krisefikser.notification.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -26,6 +31,11 @@ import stud.ntnu.krisefikser.user.service.UserService;
  * delivery to users. It supports targeted notifications for individual users as well as bulk
  * notification creation for user groups like administrators and household owners.</p>
  *
+ * <p>Bulk creation saves all copies in one flush, so the inserts reach the database as JDBC
+ * batches, and pushes them over WebSocket afterwards. Every bulk creation records the number of
+ * recipients in the {@value #FANOUT_RECIPIENTS} summary and its duration in the
+ * {@value #FANOUT_TIMER} timer, tagged with the audience.</p>
+ *
  * @author NTNU Krisefikser Team
  * @see Notification
  * @see NotificationRepository
@@ -35,6 +45,9 @@ import stud.ntnu.krisefikser.user.service.UserService;
 @RequiredArgsConstructor
 public class NotificationService {
 
+  static final String FANOUT_RECIPIENTS = "notifications.fanout.recipients";
+  static final String FANOUT_TIMER = "notifications.fanout";
+
   /**
    * Repository for Notification entity operations. Automatically injected through constructor by
    * Lombok's {@code @RequiredArgsConstructor}.
@@ -59,6 +72,8 @@ public class NotificationService {
    */
   private final HouseholdService householdService;
 
+  private final MeterRegistry meterRegistry;
+
   /**
    * Creates and distributes a copy of the provided notification to all users in the system. This
    * method iterates through all registered users and creates individual notifications for each
@@ -68,11 +83,7 @@ public class NotificationService {
    */
   @Transactional
   public void createNotificationsForAll(Notification notification) {
-    for (User user : userService.getAllUsers()) {
-      if (user.isNotifications()) {
-        createNotification(new Notification(notification, user));
-      }
-    }
+    fanOut("all", userService.getAllUsers(), notification);
   }
 
   /**
@@ -90,6 +101,31 @@ public class NotificationService {
     return savedNotification;
   }
 
+  /**
+   * Persists a batch of notifications in a single flush and pushes each one to its recipient via
+   * WebSocket. With JDBC batching enabled the inserts are sent to the database as one batch
+   * instead of one round-trip per notification.
+   *
+   * <p>The map is keyed by the recipient's username (email) so that the notifications may
+   * reference users through lazy proxies without triggering a load per recipient.</p>
+   *
+   * @param notificationsByRecipient the notifications to create, keyed by recipient username
+   * @return the number of notifications created
+   */
+  @Transactional
+  public int createNotifications(Map<String, Notification> notificationsByRecipient) {
+    if (notificationsByRecipient.isEmpty()) {
+      return 0;
+    }
+    Timer.Sample sample = Timer.start(meterRegistry);
+    notificationRepository.saveAll(notificationsByRecipient.values());
+    notificationRepository.flush();
+    notificationsByRecipient.forEach((recipient, notification) ->
+        notificationWebSocketService.sendNotification(recipient, notification.toResponse()));
+    recordFanOut("batch", sample, notificationsByRecipient.size());
+    return notificationsByRecipient.size();
+  }
+
   /**
    * Creates and distributes a copy of the provided notification to all administrator users. This
    * method specifically targets users with administrative privileges.
@@ -98,11 +134,7 @@ public class NotificationService {
    */
   @Transactional
   public void createNotificationsForAdmin(Notification notification) {
-    for (User user : userService.getAllAdmins()) {
-      if (user.isNotifications()) {
-        createNotification(new Notification(notification, user));
-      }
-    }
+    fanOut("admins", userService.getAllAdmins(), notification);
   }
 
   /**
@@ -113,11 +145,34 @@ public class NotificationService {
    */
   @Transactional
   public void createNotificationsForHouseholdOwners(Notification notification) {
-    for (User user : householdService.getHouseholdOwners()) {
+    fanOut("household-owners", householdService.getHouseholdOwners(), notification);
+  }
+
+  private void fanOut(String audience, List<User> users, Notification notification) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    List<Notification> notifications = new ArrayList<>();
+    for (User user : users) {
       if (user.isNotifications()) {
-        createNotification(new Notification(notification, user));
+        notifications.add(new Notification(notification, user));
+      }
+    }
+    if (!notifications.isEmpty()) {
+      notificationRepository.saveAll(notifications);
+      notificationRepository.flush();
+      for (Notification created : notifications) {
+        notificationWebSocketService.sendNotification(created.getUser(), created.toResponse());
       }
     }
+    recordFanOut(audience, sample, notifications.size());
+  }
+
+  private void recordFanOut(String audience, Timer.Sample sample, int recipients) {
+    sample.stop(meterRegistry.timer(FANOUT_TIMER, "audience", audience));
+    DistributionSummary.builder(FANOUT_RECIPIENTS)
+        .baseUnit("notifications")
+        .tag("audience", audience)
+        .register(meterRegistry)
+        .record(recipients);
   }
 
   /**
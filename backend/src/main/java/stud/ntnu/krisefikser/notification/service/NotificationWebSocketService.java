@@ -26,8 +26,21 @@ public class NotificationWebSocketService {
    * @throws org.springframework.messaging.MessagingException if the message sending fails
    */
   public void sendNotification(User user, NotificationResponse notificationResponse) {
+    sendNotification(user.getEmail(), notificationResponse);
+  }
+
+  /**
+   * Sends a notification to the WebSocket queue of the user with the given username (email).
+   * Useful when only a lazy reference to the recipient is at hand and loading the full user just
+   * to read the email would cost an extra query.
+   *
+   * @param username             the recipient's username, i.e. their email address
+   * @param notificationResponse the notification data to be sent
+   * @throws org.springframework.messaging.MessagingException if the message sending fails
+   */
+  public void sendNotification(String username, NotificationResponse notificationResponse) {
     messagingTemplate.convertAndSendToUser(
-        user.getEmail(),
+        username,
         "/queue/notifications",
         notificationResponse);
   }
@@ -19,10 +19,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import stud.ntnu.krisefikser.reflection.dto.CreateReflectionRequest;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionPageResponse;
 import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
 import stud.ntnu.krisefikser.reflection.dto.UpdateReflectionRequest;
+import stud.ntnu.krisefikser.reflection.exception.InvalidReflectionCursorException;
 import stud.ntnu.krisefikser.reflection.exception.ReflectionNotFoundException;
 import stud.ntnu.krisefikser.reflection.exception.UnauthorizedReflectionAccessException;
 import stud.ntnu.krisefikser.reflection.service.ReflectionService;
@@ -149,22 +152,28 @@ public class ReflectionController {
   }
 
   /**
-   * Retrieves all reflections accessible to the current user.
+   * Retrieves one page of the reflections accessible to the current user, newest first.
    *
    * <p>This includes all public reflections, the user's own private reflections, and household
    * reflections for households the user belongs to.</p>
    *
-   * @return ResponseEntity containing a list of accessible reflections with HTTP status 200 (OK)
+   * @param cursor the {@code nextCursor} of the previous page, or none for the first page
+   * @param size   the maximum number of reflections in the page
+   * @return ResponseEntity containing a page of accessible reflections with HTTP status 200 (OK)
    */
   @GetMapping
   @Operation(summary = "Get accessible reflections")
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Reflections retrieved successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor"),
       @ApiResponse(responseCode = "401", description = "User not authenticated")
   })
-  public ResponseEntity<List<ReflectionResponse>> getAccessibleReflections() {
-    List<ReflectionResponse> reflections = reflectionService.getAccessibleReflections();
-    return ResponseEntity.ok(reflections);
+  public ResponseEntity<ReflectionPageResponse> getAccessibleReflections(
+      @Parameter(description = "Cursor from the previous page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size, at most " + ReflectionService.MAX_PAGE_SIZE)
+      @RequestParam(defaultValue = "" + ReflectionService.DEFAULT_PAGE_SIZE) int size) {
+    return ResponseEntity.ok(reflectionService.getAccessibleReflections(cursor, size));
   }
 
   /**
@@ -218,10 +227,13 @@ public class ReflectionController {
   }
 
   /**
-   * Retrieves reflections for a specific event, accessible to the current user.
+   * Retrieves one page of the reflections for a specific event, accessible to the current user,
+   * newest first.
    *
    * @param eventId the ID of the event
-   * @return ResponseEntity containing a list of accessible reflections for the event with HTTP
+   * @param cursor  the {@code nextCursor} of the previous page, or none for the first page
+   * @param size    the maximum number of reflections in the page
+   * @return ResponseEntity containing a page of accessible reflections for the event with HTTP
    * status 200 (OK)
    */
   @GetMapping("/event/{eventId}")
@@ -229,14 +241,18 @@ public class ReflectionController {
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Reflections for event retrieved "
           + "successfully"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor"),
       @ApiResponse(responseCode = "401", description = "User not authenticated"),
       @ApiResponse(responseCode = "404", description = "Event not found or no reflections for "
           + "event")
   })
-  public ResponseEntity<List<ReflectionResponse>> getReflectionsByEventId(
-      @Parameter(description = "Event ID") @PathVariable Long eventId) {
-    List<ReflectionResponse> reflections = reflectionService.getReflectionsByEventId(eventId);
-    return ResponseEntity.ok(reflections);
+  public ResponseEntity<ReflectionPageResponse> getReflectionsByEventId(
+      @Parameter(description = "Event ID") @PathVariable Long eventId,
+      @Parameter(description = "Cursor from the previous page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Page size, at most " + ReflectionService.MAX_PAGE_SIZE)
+      @RequestParam(defaultValue = "" + ReflectionService.DEFAULT_PAGE_SIZE) int size) {
+    return ResponseEntity.ok(reflectionService.getReflectionsByEventId(eventId, cursor, size));
   }
 
   /**
@@ -317,6 +333,18 @@ public class ReflectionController {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  /**
+   * Handles exceptions related to malformed page cursors.
+   *
+   * @param ex the exception thrown when a cursor cannot be decoded
+   * @return ResponseEntity with HTTP status 400 (Bad Request) and the exception message
+   */
+  @ExceptionHandler(InvalidReflectionCursorException.class)
+  public ResponseEntity<String> handleInvalidReflectionCursorException(
+      InvalidReflectionCursorException ex) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+  }
+
   /**
    * Handles exceptions related to unauthorized access to reflections.
    *
@@ -0,0 +1,69 @@
+package stud.ntnu.krisefikser.reflection.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+import stud.ntnu.krisefikser.reflection.exception.InvalidReflectionCursorException;
+
+/**
+ * Position in a list of reflections ordered by creation time and id, both descending.
+ *
+ * <p>Clients get it as an opaque string and send it back unchanged to fetch the next page.</p>
+ *
+ * @param createdAt the creation time of the last reflection of the previous page
+ * @param id        the id of the last reflection of the previous page
+ */
+public record ReflectionCursor(LocalDateTime createdAt, UUID id) {
+
+  /**
+   * The position before the newest reflection, used for the first page.
+   */
+  public static final ReflectionCursor FIRST =
+      new ReflectionCursor(LocalDateTime.of(9999, 12, 31, 0, 0), new UUID(-1L, -1L));
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  /**
+   * Returns the cursor positioned after the given reflection.
+   *
+   * @param reflection the last reflection of a page
+   * @return the cursor of the next page
+   */
+  public static ReflectionCursor after(ReflectionResponse reflection) {
+    return new ReflectionCursor(reflection.getCreatedAt(), reflection.getId());
+  }
+
+  /**
+   * Decodes a cursor sent by a client.
+   *
+   * @param cursor the encoded cursor, or {@code null} for the first page
+   * @return the decoded cursor
+   * @throws InvalidReflectionCursorException if the cursor is malformed
+   */
+  public static ReflectionCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return FIRST;
+    }
+    try {
+      String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|");
+      if (parts.length != 2) {
+        throw new InvalidReflectionCursorException(cursor);
+      }
+      return new ReflectionCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidReflectionCursorException(cursor);
+    }
+  }
+
+  /**
+   * Encodes the cursor for a client.
+   *
+   * @return the opaque cursor string
+   */
+  public String encode() {
+    return ENCODER.encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+  }
+}
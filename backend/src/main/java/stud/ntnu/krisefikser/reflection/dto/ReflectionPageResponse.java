@@ -0,0 +1,31 @@
+package stud.ntnu.krisefikser.reflection.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of reflections, newest first.
+ *
+ * <p>The next page is requested with {@link #nextCursor}, which is {@code null} on the last
+ * page.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReflectionPageResponse {
+
+  /**
+   * The reflections of the page.
+   */
+  private List<ReflectionResponse> reflections;
+
+  /**
+   * Cursor of the next page, or {@code null} if this is the last page.
+   */
+  private String nextCursor;
+}
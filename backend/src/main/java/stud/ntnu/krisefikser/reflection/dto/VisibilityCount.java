@@ -0,0 +1,13 @@
+package stud.ntnu.krisefikser.reflection.dto;
+
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+
+/**
+ * The number of reflections with a given visibility.
+ *
+ * @param visibility the visibility
+ * @param count      the number of reflections
+ */
+public record VisibilityCount(VisibilityType visibility, long count) {
+
+}
@@ -7,8 +7,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -29,12 +31,24 @@ import stud.ntnu.krisefikser.user.entity.User;
  * disaster or emergency situation. They can be shared publicly, kept private, or shared only with
  * household members, depending on the chosen visibility.
  * </p>
+ *
+ * <p>Each index serves one branch of the access query, newest first: public reflections, a
+ * user's own private reflections and the reflections of a household. The event index serves the
+ * listing of an event's reflections.</p>
  */
 @Entity
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
+@Table(name = "reflection", indexes = {
+    @Index(name = "idx_reflection_visibility_created", columnList = "visibility, createdAt, id"),
+    @Index(name = "idx_reflection_author_visibility_created",
+        columnList = "author_id, visibility, createdAt, id"),
+    @Index(name = "idx_reflection_household_visibility_created",
+        columnList = "household_id, visibility, createdAt, id"),
+    @Index(name = "idx_reflection_event_created", columnList = "event_id, createdAt, id")
+})
 public class Reflection {
 
   /**
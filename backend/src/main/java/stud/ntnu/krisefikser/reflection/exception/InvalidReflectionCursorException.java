@@ -0,0 +1,23 @@
+package stud.ntnu.krisefikser.reflection.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a page cursor sent by a client cannot be decoded.
+ *
+ * <p>This exception is associated with the HTTP 400 Bad Request status code.
+ * </p>
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidReflectionCursorException extends RuntimeException {
+
+  /**
+   * Constructs a new exception for the given cursor.
+   *
+   * @param cursor the cursor that could not be decoded
+   */
+  public InvalidReflectionCursorException(String cursor) {
+    super("Invalid reflection cursor: " + cursor);
+  }
+}
@@ -1,11 +1,15 @@
 package stud.ntnu.krisefikser.reflection.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
+import stud.ntnu.krisefikser.reflection.dto.VisibilityCount;
 import stud.ntnu.krisefikser.reflection.entity.Reflection;
 import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
 
@@ -18,6 +22,24 @@ import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
 @Repository
 public interface ReflectionRepository extends JpaRepository<Reflection, UUID> {
 
+  /**
+   * Keyset condition: rows ordered after the cursor by creation time and id, descending.
+   */
+  String BEFORE_CURSOR = "(r.createdAt < :beforeCreatedAt "
+      + "OR (r.createdAt = :beforeCreatedAt AND r.id < :beforeId))";
+
+  /**
+   * Selects reflections as response DTOs, with author {@code a}, household {@code h} and event
+   * {@code e} joined. The author name is built the same way as in the service.
+   */
+  String SELECT_RESPONSE = "SELECT new stud.ntnu.krisefikser.reflection.dto.ReflectionResponse("
+      + "r.id, r.title, r.content, a.id, "
+      + "CASE WHEN a.firstName IS NOT NULL AND a.lastName IS NOT NULL "
+      + "THEN CONCAT(a.firstName, ' ', a.lastName) "
+      + "WHEN a.firstName IS NOT NULL THEN a.firstName ELSE a.email END, "
+      + "r.visibility, h.id, h.name, e.id, r.createdAt, r.updatedAt) "
+      + "FROM Reflection r JOIN r.author a LEFT JOIN r.household h LEFT JOIN r.event e ";
+
   /**
    * Finds all reflections authored by a specific user.
    *
@@ -26,6 +48,15 @@ public interface ReflectionRepository extends JpaRepository<Reflection, UUID> {
    */
   List<Reflection> findByAuthorId(UUID authorId);
 
+  /**
+   * Finds the ids of all reflections authored by a specific user.
+   *
+   * @param authorId the ID of the author
+   * @return the ids of the reflections by the specified author
+   */
+  @Query("SELECT r.id FROM Reflection r WHERE r.author.id = :authorId")
+  List<UUID> findIdsByAuthorId(@Param("authorId") UUID authorId);
+
   /**
    * Finds all reflections with PUBLIC visibility.
    *
@@ -42,18 +73,94 @@ public interface ReflectionRepository extends JpaRepository<Reflection, UUID> {
   List<Reflection> findByHouseholdId(UUID householdId);
 
   /**
-   * Finds all reflections that a user has access to, based on visibility settings: - PUBLIC
-   * reflections - User's own PRIVATE reflections - HOUSEHOLD reflections for households the user
-   * belongs to.
+   * Finds one page of the ids of the reflections a user has access to, newest first.
+   *
+   * <p>Access is the union of three disjoint branches, each served by its own index: public
+   * reflections, the user's own private reflections, and household reflections of the households
+   * the user is a member of. Each branch reads at most {@code limit} rows in index order past the
+   * cursor, so the cost of a page does not grow with the size of the table or with how far the
+   * client has paged. A single query with ORed conditions and an {@code IN} subquery cannot use
+   * any one index, and scans every reflection instead.</p>
+   *
+   * <p>Pages are ordered by creation time and then id, both descending. The cursor is the
+   * creation time and id of the last row of the previous page.</p>
+   *
+   * @param userId          the ID of the user
+   * @param beforeCreatedAt the creation time of the last row of the previous page
+   * @param beforeId        the id of the last row of the previous page
+   * @param limit           the maximum number of ids to return
+   * @return the ids of the page, in page order
+   */
+  @Query("SELECT k.id FROM ("
+      + "(SELECT r.id AS id, r.createdAt AS createdAt FROM Reflection r "
+      + "WHERE r.visibility = 'PUBLIC' AND " + BEFORE_CURSOR
+      + " ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit) "
+      + "UNION ALL "
+      + "(SELECT r.id AS id, r.createdAt AS createdAt FROM Reflection r "
+      + "WHERE r.author.id = :userId AND r.visibility = 'PRIVATE' AND " + BEFORE_CURSOR
+      + " ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit) "
+      + "UNION ALL "
+      + "(SELECT r.id AS id, r.createdAt AS createdAt FROM HouseholdMember hm "
+      + "JOIN Reflection r ON r.household = hm.household "
+      + "WHERE hm.user.id = :userId AND r.visibility = 'HOUSEHOLD' AND " + BEFORE_CURSOR
+      + " ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit)"
+      + ") k ORDER BY k.createdAt DESC, k.id DESC LIMIT :limit")
+  List<UUID> findAccessibleIdsBefore(@Param("userId") UUID userId,
+      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt, @Param("beforeId") UUID beforeId,
+      @Param("limit") int limit);
+
+  /**
+   * Loads reflections as response DTOs, joining the author, household and event in the same
+   * query.
+   *
+   * <p>Loading the entities instead would fetch each author's roles and active household, and
+   * that household's owner, with separate queries per row.</p>
+   *
+   * @param ids the ids of the reflections
+   * @return the reflections, in no particular order
+   */
+  @Query(SELECT_RESPONSE + "WHERE r.id IN :ids")
+  List<ReflectionResponse> findResponsesByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /**
+   * Finds one page of the reflections of an event, newest first, regardless of visibility.
+   *
+   * @param eventId         the ID of the event
+   * @param beforeCreatedAt the creation time of the last row of the previous page
+   * @param beforeId        the id of the last row of the previous page
+   * @param limit           the maximum number of reflections to return
+   * @return the reflections of the page, in page order
+   * @see #findAccessibleIdsBefore(UUID, LocalDateTime, UUID, int)
+   */
+  @Query(SELECT_RESPONSE + "WHERE e.id = :eventId AND " + BEFORE_CURSOR
+      + " ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+  List<ReflectionResponse> findEventResponsesBefore(@Param("eventId") Long eventId,
+      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt, @Param("beforeId") UUID beforeId,
+      @Param("limit") int limit);
+
+  /**
+   * Finds one page of the reflections of an event that a user can see, newest first.
    *
-   * @param userId the ID of the user
-   * @return list of reflections the user has access to
+   * <p>A user sees the public reflections, their own reflections and the household reflections of
+   * their active household. The event narrows the rows to few enough that the visibility rules
+   * are checked on the rows read from the event index, so rows the user cannot see are never
+   * loaded.</p>
+   *
+   * @param eventId         the ID of the event
+   * @param userId          the ID of the user
+   * @param householdId     the ID of the user's active household, or {@code null} if none
+   * @param beforeCreatedAt the creation time of the last row of the previous page
+   * @param beforeId        the id of the last row of the previous page
+   * @param limit           the maximum number of reflections to return
+   * @return the reflections of the page, in page order
    */
-  @Query("SELECT r FROM Reflection r WHERE r.visibility = 'PUBLIC' OR "
-      + "(r.visibility = 'PRIVATE' AND r.author.id = :userId) OR "
-      + "(r.visibility = 'HOUSEHOLD' AND r.household.id IN "
-      + "(SELECT hm.household.id FROM HouseholdMember hm WHERE hm.user.id = :userId))")
-  List<Reflection> findReflectionsAccessibleToUser(@Param("userId") UUID userId);
+  @Query(SELECT_RESPONSE + "WHERE e.id = :eventId AND (r.visibility = 'PUBLIC' "
+      + "OR a.id = :userId OR (r.visibility = 'HOUSEHOLD' AND h.id = :householdId)) AND "
+      + BEFORE_CURSOR + " ORDER BY r.createdAt DESC, r.id DESC LIMIT :limit")
+  List<ReflectionResponse> findEventResponsesVisibleToUserBefore(@Param("eventId") Long eventId,
+      @Param("userId") UUID userId, @Param("householdId") UUID householdId,
+      @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt, @Param("beforeId") UUID beforeId,
+      @Param("limit") int limit);
 
   /**
    * Finds all reflections associated with a specific event ID.
@@ -62,4 +169,15 @@ public interface ReflectionRepository extends JpaRepository<Reflection, UUID> {
    * @return list of reflections associated with the specified event ID
    */
   List<Reflection> findByEventId(Long eventId);
-}
\ No newline at end of file
+
+  /**
+   * Counts the reflections of an event, grouped by visibility. Visibilities without reflections
+   * are left out.
+   *
+   * @param eventId the ID of the event
+   * @return the number of reflections per visibility
+   */
+  @Query("SELECT new stud.ntnu.krisefikser.reflection.dto.VisibilityCount(r.visibility, COUNT(r)) "
+      + "FROM Reflection r WHERE r.event.id = :eventId GROUP BY r.visibility")
+  List<VisibilityCount> countByVisibilityForEvent(@Param("eventId") Long eventId);
+}
@@ -2,7 +2,10 @@ package stud.ntnu.krisefikser.reflection.service;
 
 import jakarta.transaction.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -12,13 +15,17 @@ import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
 import stud.ntnu.krisefikser.household.service.HouseholdService;
 import stud.ntnu.krisefikser.map.service.EventService;
 import stud.ntnu.krisefikser.reflection.dto.CreateReflectionRequest;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionCursor;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionPageResponse;
 import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
 import stud.ntnu.krisefikser.reflection.dto.UpdateReflectionRequest;
 import stud.ntnu.krisefikser.reflection.entity.Reflection;
 import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.exception.InvalidReflectionCursorException;
 import stud.ntnu.krisefikser.reflection.exception.ReflectionNotFoundException;
 import stud.ntnu.krisefikser.reflection.exception.UnauthorizedReflectionAccessException;
 import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+import stud.ntnu.krisefikser.search.service.SearchService;
 import stud.ntnu.krisefikser.user.entity.User;
 import stud.ntnu.krisefikser.user.service.UserService;
 
@@ -33,10 +40,21 @@ import stud.ntnu.krisefikser.user.service.UserService;
 @RequiredArgsConstructor
 public class ReflectionService {
 
+  /**
+   * Page size used when the client does not ask for one.
+   */
+  public static final int DEFAULT_PAGE_SIZE = 20;
+
+  /**
+   * Largest page size a client can ask for.
+   */
+  public static final int MAX_PAGE_SIZE = 100;
+
   private final ReflectionRepository reflectionRepository;
   private final UserService userService;
   private final HouseholdService householdService;
   private final EventService eventService;
+  private final SearchService searchService;
 
   /**
    * Creates a new reflection.
@@ -71,6 +89,7 @@ public class ReflectionService {
     }
 
     Reflection savedReflection = reflectionRepository.save(reflection);
+    searchService.indexReflection(savedReflection);
     return toResponse(savedReflection);
   }
 
@@ -157,10 +176,7 @@ public class ReflectionService {
    */
   private boolean hasAccessToReflection(Reflection reflection, User user) {
     // Admin can access any reflection
-    boolean isAdmin = user.getRoles().stream()
-        .anyMatch(
-            role -> role.getName() == RoleType.ADMIN || role.getName() == RoleType.SUPER_ADMIN);
-    if (isAdmin) {
+    if (isAdmin(user)) {
       return true;
     }
 
@@ -233,6 +249,7 @@ public class ReflectionService {
     }
 
     Reflection updatedReflection = reflectionRepository.save(reflection);
+    searchService.indexReflection(updatedReflection);
     return toResponse(updatedReflection);
   }
 
@@ -244,11 +261,19 @@ public class ReflectionService {
    * @return true if the user is the author or an admin, false otherwise
    */
   private boolean isAuthorOrAdmin(Reflection reflection, User user) {
-    boolean isAdmin = user.getRoles().stream()
+    return isAdmin(user) || reflection.getAuthor().getId().equals(user.getId());
+  }
+
+  /**
+   * Checks if a user is an admin or super admin.
+   *
+   * @param user the user to check
+   * @return true if the user has an admin role, false otherwise
+   */
+  private static boolean isAdmin(User user) {
+    return user.getRoles().stream()
         .anyMatch(
             role -> role.getName() == RoleType.ADMIN || role.getName() == RoleType.SUPER_ADMIN);
-
-    return isAdmin || reflection.getAuthor().getId().equals(user.getId());
   }
 
   /**
@@ -271,24 +296,67 @@ public class ReflectionService {
     }
 
     reflectionRepository.delete(reflection);
+    searchService.removeReflection(id);
   }
 
   /**
-   * Retrieves all reflections accessible to the current user.
+   * Retrieves one page of the reflections accessible to the current user, newest first.
    *
    * <p>This includes all public reflections, the user's own private reflections,
    * and household reflections for households the user belongs to.
    * </p>
    *
-   * @return a list of accessible reflections
+   * @param cursor the cursor of the page, or {@code null} for the first page
+   * @param size   the maximum number of reflections in the page, capped at
+   *               {@link #MAX_PAGE_SIZE}
+   * @return the page of accessible reflections
+   * @throws InvalidReflectionCursorException if the cursor is malformed
    */
-  public List<ReflectionResponse> getAccessibleReflections() {
+  public ReflectionPageResponse getAccessibleReflections(String cursor, int size) {
     User currentUser = userService.getCurrentUser();
-    List<Reflection> reflections =
-        reflectionRepository.findReflectionsAccessibleToUser(currentUser.getId());
-    return reflections.stream()
-        .map(this::toResponse)
-        .collect(Collectors.toList());
+    ReflectionCursor position = ReflectionCursor.decode(cursor);
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    // One id more than the page holds tells whether there is a next page
+    List<UUID> ids = reflectionRepository.findAccessibleIdsBefore(currentUser.getId(),
+        position.createdAt(), position.id(), pageSize + 1);
+    return toPage(ids, pageSize);
+  }
+
+  /**
+   * Loads the reflections of a page of ids, in the order of the ids.
+   *
+   * @param ids      the ids of the page, plus one more if there is a next page
+   * @param pageSize the size of the page
+   * @return the page
+   */
+  private ReflectionPageResponse toPage(List<UUID> ids, int pageSize) {
+    List<UUID> pageIds = ids.size() > pageSize ? ids.subList(0, pageSize) : ids;
+    if (pageIds.isEmpty()) {
+      return new ReflectionPageResponse(List.of(), null);
+    }
+    Map<UUID, ReflectionResponse> byId = reflectionRepository.findResponsesByIdIn(pageIds)
+        .stream()
+        .collect(Collectors.toMap(ReflectionResponse::getId, Function.identity()));
+    List<ReflectionResponse> reflections = pageIds.stream()
+        .map(byId::get)
+        .filter(Objects::nonNull)
+        .toList();
+    return page(reflections, ids.size() > pageSize);
+  }
+
+  /**
+   * Builds a page, with a cursor after its last reflection if there is a next page.
+   *
+   * @param reflections the reflections of the page, in page order
+   * @param hasNext     whether there are more reflections after the page
+   * @return the page
+   */
+  private static ReflectionPageResponse page(List<ReflectionResponse> reflections,
+      boolean hasNext) {
+    String nextCursor = hasNext && !reflections.isEmpty()
+        ? ReflectionCursor.after(reflections.getLast()).encode()
+        : null;
+    return new ReflectionPageResponse(reflections, nextCursor);
   }
 
   /**
@@ -335,20 +403,37 @@ public class ReflectionService {
   }
 
   /**
-   * Retrieves reflections for a specific event, accessible to the current user.
+   * Retrieves one page of the reflections for a specific event that the current user can see,
+   * newest first.
+   *
+   * <p>Admins see every reflection. Other users see public reflections, their own reflections
+   * and the household reflections of their active household; the rules are applied in the query,
+   * so reflections the user cannot see are never loaded.
+   * </p>
    *
    * @param eventId the ID of the event
-   * @return a list of accessible reflections for the given event
+   * @param cursor  the cursor of the page, or {@code null} for the first page
+   * @param size    the maximum number of reflections in the page, capped at
+   *                {@link #MAX_PAGE_SIZE}
+   * @return the page of accessible reflections for the given event
+   * @throws InvalidReflectionCursorException if the cursor is malformed
    */
-  public List<ReflectionResponse> getReflectionsByEventId(Long eventId) {
+  public ReflectionPageResponse getReflectionsByEventId(Long eventId, String cursor, int size) {
     User currentUser = userService.getCurrentUser();
-    List<Reflection> reflectionsForEvent = reflectionRepository.findByEventId(
-        eventId); // Assumes this method will be added to repository
-
-    return reflectionsForEvent.stream()
-        .filter(reflection -> hasAccessToReflection(reflection, currentUser))
-        .map(this::toResponse)
-        .collect(Collectors.toList());
+    ReflectionCursor position = ReflectionCursor.decode(cursor);
+    int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+    List<ReflectionResponse> reflections;
+    if (isAdmin(currentUser)) {
+      reflections = reflectionRepository.findEventResponsesBefore(eventId, position.createdAt(),
+          position.id(), pageSize + 1);
+    } else {
+      Household household = currentUser.getActiveHousehold();
+      reflections = reflectionRepository.findEventResponsesVisibleToUserBefore(eventId,
+          currentUser.getId(), household != null ? household.getId() : null,
+          position.createdAt(), position.id(), pageSize + 1);
+    }
+    boolean hasNext = reflections.size() > pageSize;
+    return page(hasNext ? reflections.subList(0, pageSize) : reflections, hasNext);
   }
 
   /**
@@ -358,11 +443,7 @@ public class ReflectionService {
    */
   public List<ReflectionResponse> getAllReflections() {
     User currentUser = userService.getCurrentUser();
-    boolean isAdmin = currentUser.getRoles().stream()
-        .anyMatch(
-            role -> role.getName() == RoleType.ADMIN || role.getName() == RoleType.SUPER_ADMIN);
-
-    if (!isAdmin) {
+    if (!isAdmin(currentUser)) {
       throw new UnauthorizedReflectionAccessException("Only admins can view all reflections");
     }
 
@@ -22,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import stud.ntnu.krisefikser.scenario.dto.CreateScenarioRequest;
 import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse;
 import stud.ntnu.krisefikser.scenario.service.ScenarioService;
 
 /**
@@ -162,19 +163,20 @@ public class ScenarioController {
   /**
    * Retrieves all scenarios in the system.
    *
-   * <p>This endpoint returns a list of all scenarios, including their titles and content.
+   * <p>This endpoint returns a list of all scenarios with their titles and a plain-text excerpt.
+   * The content is only returned by {@link #getScenarioById(UUID)}.
    * </p>
    *
    * @return ResponseEntity containing a list of all scenarios with HTTP status 200 (OK)
-   * @see ScenarioResponse
+   * @see ScenarioSummaryResponse
    */
   @GetMapping
   @Operation(summary = "Get all scenarios")
   @ApiResponses(value = {
-      @ApiResponse(responseCode = "200", description = "Scenarios retrieved successfully")
+      @ApiResponse(responseCode = "200", description = "Scenarios retrieved successfully"),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current")
   })
-  public ResponseEntity<List<ScenarioResponse>> getAllScenarios() {
-    List<ScenarioResponse> scenarios = scenarioService.getAllScenarios();
-    return ResponseEntity.ok(scenarios);
+  public ResponseEntity<List<ScenarioSummaryResponse>> getAllScenarios() {
+    return scenarioService.getAllScenariosCached().toResponseEntity();
   }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package stud.ntnu.krisefikser.scenario.dto;
 
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import stud.ntnu.krisefikser.common.RichTextPipeline.Heading;
 
 /**
  * Data Transfer Object representing a scenario in API responses.
@@ -33,10 +35,20 @@ public class ScenarioResponse {
   private String title;
 
   /**
-   * Content of the scenario in Markdown format.
+   * Content of the scenario as cleaned HTML.
    */
   @NotNull
   private String content;
 
   private String coverImageUrl;
+
+  /**
+   * The {@code <h2>} headings of the content, with the ids to link to them.
+   */
+  private List<Heading> tableOfContents;
+
+  /**
+   * The number of words in the content.
+   */
+  private Integer wordCount;
 }
\ No newline at end of file
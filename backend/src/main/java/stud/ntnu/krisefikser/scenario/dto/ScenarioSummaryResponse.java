@@ -0,0 +1,46 @@
+package stud.ntnu.krisefikser.scenario.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A scenario in a list.
+ *
+ * <p>Carries a short plain-text excerpt instead of the HTML content, which is only returned for a
+ * single scenario.
+ * </p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioSummaryResponse {
+
+  /**
+   * Unique identifier of the scenario.
+   */
+  @NotNull
+  private UUID id;
+
+  /**
+   * Title of the scenario.
+   */
+  @NotNull
+  private String title;
+
+  private String coverImageUrl;
+
+  /**
+   * The start of the content as plain text.
+   */
+  private String excerpt;
+
+  /**
+   * The number of words in the content.
+   */
+  private Integer wordCount;
+}
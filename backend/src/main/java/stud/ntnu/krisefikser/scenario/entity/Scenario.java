@@ -1,15 +1,25 @@
 package stud.ntnu.krisefikser.scenario.entity;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
+import java.util.List;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import stud.ntnu.krisefikser.common.HeadingListConverter;
+import stud.ntnu.krisefikser.common.RichTextPipeline;
+import stud.ntnu.krisefikser.common.RichTextPipeline.Heading;
 import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
 
 /**
@@ -26,6 +36,11 @@ import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
 @NoArgsConstructor
 public class Scenario {
 
+  /**
+   * Maximum length of {@link #excerpt}.
+   */
+  public static final int EXCERPT_LENGTH = 240;
+
   /**
    * Unique identifier for the scenario.
    */
@@ -40,7 +55,7 @@ public class Scenario {
   private String title;
 
   /**
-   * The content of the scenario, typically in Markdown format.
+   * The content of the scenario as HTML, cleaned by {@link RichTextPipeline} when it is saved.
    */
   @Column(nullable = false, columnDefinition = "TEXT")
   private String content;
@@ -48,6 +63,55 @@ public class Scenario {
   @Column(name = "cover_image_url")
   private String coverImageUrl;
 
+  /**
+   * The start of the content as plain text, shown in scenario lists.
+   */
+  @Column(length = EXCERPT_LENGTH)
+  private String excerpt;
+
+  /**
+   * The {@code <h2>} headings of the content.
+   */
+  @Convert(converter = HeadingListConverter.class)
+  @Column(name = "table_of_contents", columnDefinition = "TEXT")
+  private List<Heading> tableOfContents;
+
+  /**
+   * The number of words in the content.
+   */
+  @Column(name = "word_count")
+  private Integer wordCount;
+
+  /**
+   * The content as last returned by {@link #processContent()}, to skip processing it again.
+   */
+  @Transient
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private String processedContent;
+
+  /**
+   * Cleans the content and derives the excerpt, table of contents and word count from it.
+   *
+   * <p>Runs before every insert and update, so the work is done once per write instead of on
+   * every read. Services call it before saving too, so what they return is already clean; the
+   * callback then finds nothing to do.</p>
+   */
+  @PrePersist
+  @PreUpdate
+  public void processContent() {
+    // Identity, not equality: a newly set string is always processed
+    if (content != null && content == processedContent) {
+      return;
+    }
+    RichTextPipeline.Result result = RichTextPipeline.process(content, EXCERPT_LENGTH);
+    content = result.html();
+    excerpt = result.excerpt();
+    tableOfContents = result.headings();
+    wordCount = result.wordCount();
+    processedContent = content;
+  }
+
   /**
    * Converts this entity to a response DTO.
    *
@@ -59,6 +123,8 @@ public class Scenario {
         .title(title)
         .content(content)
         .coverImageUrl(coverImageUrl)
+        .tableOfContents(tableOfContents == null ? List.of() : tableOfContents)
+        .wordCount(wordCount)
         .build();
   }
 }
\ No newline at end of file
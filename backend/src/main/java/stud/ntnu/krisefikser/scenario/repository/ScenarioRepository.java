@@ -1,7 +1,10 @@
 package stud.ntnu.krisefikser.scenario.repository;
 
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse;
 import stud.ntnu.krisefikser.scenario.entity.Scenario;
 
 /**
@@ -15,4 +18,20 @@ import stud.ntnu.krisefikser.scenario.entity.Scenario;
  */
 public interface ScenarioRepository extends JpaRepository<Scenario, UUID> {
 
-}
\ No newline at end of file
+  /**
+   * Returns all scenarios without their content. The content column is never read.
+   *
+   * @return the scenario summaries
+   */
+  @Query("SELECT new stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse("
+      + "s.id, s.title, s.coverImageUrl, s.excerpt, s.wordCount) FROM Scenario s")
+  List<ScenarioSummaryResponse> findAllSummaries();
+
+  /**
+   * Returns scenarios whose content has not been through the content pipeline, because they were
+   * stored before it existed.
+   *
+   * @return the scenarios without a word count
+   */
+  List<Scenario> findByWordCountIsNull();
+}
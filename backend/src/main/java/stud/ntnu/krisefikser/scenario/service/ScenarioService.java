@@ -4,12 +4,21 @@ import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
 import stud.ntnu.krisefikser.scenario.dto.CreateScenarioRequest;
 import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse;
 import stud.ntnu.krisefikser.scenario.entity.Scenario;
 import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
+import stud.ntnu.krisefikser.search.service.SearchService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
 
 /**
  * Service responsible for managing scenarios in the emergency preparedness system.
@@ -20,6 +29,7 @@ import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
  * </p>
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class ScenarioService {
 
@@ -28,6 +38,21 @@ public class ScenarioService {
    */
   private final ScenarioRepository scenarioRepository;
 
+  /**
+   * Cache of the scenario list, invalidated by every write.
+   */
+  private final VersionedResponseCache responseCache;
+
+  /**
+   * Full-text index, updated by every write.
+   */
+  private final SearchService searchService;
+
+  /**
+   * Offline snapshot of all content, rebuilt after every write.
+   */
+  private final ContentSnapshotService contentSnapshotService;
+
   /**
    * Creates a new scenario in the system.
    *
@@ -41,8 +66,13 @@ public class ScenarioService {
         .content(request.getContent())
         .coverImageUrl(request.getCoverImageUrl())
         .build();
+    scenario.processContent();
 
-    return scenarioRepository.save(scenario).toResponse();
+    responseCache.invalidate(Collection.SCENARIOS);
+    Scenario savedScenario = scenarioRepository.save(scenario);
+    searchService.indexScenario(savedScenario);
+    contentSnapshotService.requestRebuild();
+    return savedScenario.toResponse();
   }
 
   /**
@@ -60,7 +90,13 @@ public class ScenarioService {
           scenario.setTitle(request.getTitle());
           scenario.setContent(request.getContent());
           scenario.setCoverImageUrl(request.getCoverImageUrl());
-          return scenarioRepository.save(scenario).toResponse();
+          // Cleaned now rather than at flush, so the response and search index get clean HTML
+          scenario.processContent();
+          responseCache.invalidate(Collection.SCENARIOS);
+          Scenario savedScenario = scenarioRepository.save(scenario);
+          searchService.indexScenario(savedScenario);
+          contentSnapshotService.requestRebuild();
+          return savedScenario.toResponse();
         })
         .orElseThrow(() -> new EntityNotFoundException("Scenario not found with id: " + id));
   }
@@ -76,7 +112,10 @@ public class ScenarioService {
     if (!scenarioRepository.existsById(id)) {
       throw new EntityNotFoundException("Scenario not found with id: " + id);
     }
+    responseCache.invalidate(Collection.SCENARIOS);
     scenarioRepository.deleteById(id);
+    searchService.removeScenario(id);
+    contentSnapshotService.requestRebuild();
   }
 
   /**
@@ -93,13 +132,39 @@ public class ScenarioService {
   }
 
   /**
-   * Retrieves all scenarios in the system.
+   * Retrieves all scenarios in the system, without their content.
    *
-   * @return a list of scenario response DTOs
+   * @return a list of scenario summaries
    */
-  public List<ScenarioResponse> getAllScenarios() {
-    return scenarioRepository.findAll().stream()
-        .map(Scenario::toResponse)
-        .toList();
+  public List<ScenarioSummaryResponse> getAllScenarios() {
+    return scenarioRepository.findAllSummaries();
+  }
+
+  /**
+   * Returns all scenarios from the response cache, with their ETag.
+   *
+   * @return the cached scenario summaries
+   */
+  public CachedResponse<List<ScenarioSummaryResponse>> getAllScenariosCached() {
+    return responseCache.get(Collection.SCENARIOS, this::getAllScenarios);
+  }
+
+  /**
+   * Runs the content pipeline on scenarios stored before it existed. Their content is cleaned,
+   * and the excerpt, table of contents and word count are computed.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void backfillProcessedContent() {
+    List<Scenario> scenarios = scenarioRepository.findByWordCountIsNull();
+    if (scenarios.isEmpty()) {
+      return;
+    }
+    scenarios.forEach(Scenario::processContent);
+    scenarioRepository.saveAll(scenarios);
+    responseCache.invalidate(Collection.SCENARIOS);
+    scenarios.forEach(searchService::indexScenario);
+    contentSnapshotService.requestRebuild();
+    log.info("Processed the content of {} scenarios", scenarios.size());
   }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package stud.ntnu.krisefikser.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method, typically a {@code @Scheduled} job, as cluster-exclusive.
+ *
+ * <p>Before the method runs, a lease with the given {@link #name()} is acquired in the shared
+ * {@code scheduler_lease} table. If another instance already holds the lease, the invocation is
+ * skipped. The lease is released when the method returns or throws.</p>
+ *
+ * <p>Durations are ISO-8601 strings as accepted by {@link java.time.Duration#parse}, e.g.
+ * {@code "PT10M"}.</p>
+ *
+ * @see SchedulerLockAspect
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SchedulerLock {
+
+  /**
+   * The name of the lease. Methods sharing a name exclude each other.
+   *
+   * @return the lease name
+   */
+  String name();
+
+  /**
+   * How long the lease is kept if the holder dies without releasing it. Should be comfortably
+   * longer than the job's normal run time.
+   *
+   * @return the maximum lease duration
+   */
+  String lockAtMostFor() default "PT10M";
+
+  /**
+   * Minimum time the lease is kept after it was acquired, even if the job finishes earlier. Guards
+   * against other instances with slightly skewed clocks running a short job again.
+   *
+   * @return the minimum lease duration
+   */
+  String lockAtLeastFor() default "PT0S";
+}
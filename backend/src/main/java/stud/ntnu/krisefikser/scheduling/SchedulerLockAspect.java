@@ -0,0 +1,47 @@
+package stud.ntnu.krisefikser.scheduling;
+
+import java.time.Duration;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import stud.ntnu.krisefikser.scheduling.service.SchedulerLockService;
+import stud.ntnu.krisefikser.scheduling.service.SchedulerLockService.Lease;
+
+/**
+ * Runs methods annotated with {@link SchedulerLock} only while holding the corresponding database
+ * lease. Invocations that cannot acquire the lease are skipped and return {@code null}, so the
+ * annotation is meant for {@code void} methods such as scheduled jobs.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class SchedulerLockAspect {
+
+  private final SchedulerLockService schedulerLockService;
+
+  /**
+   * Wraps a locked method invocation in acquire and release.
+   *
+   * @param joinPoint     the intercepted invocation
+   * @param schedulerLock the lock configuration of the method
+   * @return the method's result, or null if the invocation was skipped
+   * @throws Throwable anything thrown by the method
+   */
+  @Around("@annotation(schedulerLock)")
+  public Object runLocked(ProceedingJoinPoint joinPoint, SchedulerLock schedulerLock)
+      throws Throwable {
+    Optional<Lease> lease = schedulerLockService.tryAcquire(schedulerLock.name(),
+        Duration.parse(schedulerLock.lockAtMostFor()));
+    if (lease.isEmpty()) {
+      return null;
+    }
+    try {
+      return joinPoint.proceed();
+    } finally {
+      schedulerLockService.release(lease.get(), Duration.parse(schedulerLock.lockAtLeastFor()));
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package stud.ntnu.krisefikser.scheduling.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A named lease in the shared database, used to make scheduled jobs run on one instance at a time.
+ *
+ * <p>A lease is held while {@link #lockUntil} lies in the future. Rows are never deleted; a
+ * released lease simply has {@code lockUntil} in the past.</p>
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+
+  @Id
+  @Column(length = 64)
+  private String name;
+
+  @Column(nullable = false)
+  private Instant lockUntil;
+
+  @Column(nullable = false)
+  private Instant lockedAt;
+
+  /**
+   * Identifier of the instance that last acquired the lease.
+   */
+  @Column(nullable = false)
+  private String lockedBy;
+}
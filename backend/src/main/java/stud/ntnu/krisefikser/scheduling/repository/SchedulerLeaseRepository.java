@@ -0,0 +1,50 @@
+package stud.ntnu.krisefikser.scheduling.repository;
+
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import stud.ntnu.krisefikser.scheduling.entity.SchedulerLease;
+
+/**
+ * Repository for {@link SchedulerLease} rows.
+ *
+ * <p>Acquiring and releasing are single conditional statements, so the database row lock makes
+ * them atomic across instances without any read-modify-write.</p>
+ */
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+  /**
+   * Inserts a new lease row. Fails with a duplicate key error if the row already exists.
+   *
+   * @return the number of inserted rows
+   */
+  @Modifying
+  @Query(value = "INSERT INTO scheduler_lease (name, lock_until, locked_at, locked_by) "
+      + "VALUES (:name, :lockUntil, :now, :lockedBy)", nativeQuery = true)
+  int insertLease(@Param("name") String name, @Param("lockUntil") Instant lockUntil,
+      @Param("now") Instant now, @Param("lockedBy") String lockedBy);
+
+  /**
+   * Takes over an existing lease if it has expired.
+   *
+   * @return 1 if the lease was acquired, 0 if it is still held
+   */
+  @Modifying
+  @Query("UPDATE SchedulerLease l SET l.lockUntil = :lockUntil, l.lockedAt = :now, "
+      + "l.lockedBy = :lockedBy WHERE l.name = :name AND l.lockUntil <= :now")
+  int acquireExpired(@Param("name") String name, @Param("lockUntil") Instant lockUntil,
+      @Param("now") Instant now, @Param("lockedBy") String lockedBy);
+
+  /**
+   * Shortens a lease held by the given instance to the given instant.
+   *
+   * @return 1 if the lease was released, 0 if it is no longer held by this instance
+   */
+  @Modifying
+  @Query("UPDATE SchedulerLease l SET l.lockUntil = :lockUntil "
+      + "WHERE l.name = :name AND l.lockedBy = :lockedBy AND l.lockedAt = :lockedAt")
+  int release(@Param("name") String name, @Param("lockedBy") String lockedBy,
+      @Param("lockedAt") Instant lockedAt, @Param("lockUntil") Instant lockUntil);
+}
@@ -0,0 +1,250 @@
+package stud.ntnu.krisefikser.scheduling.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.scheduling.repository.SchedulerLeaseRepository;
+
+/**
+ * Acquires and releases named leases in the shared database so that scheduled jobs run on at most
+ * one application instance at a time.
+ *
+ * <p>Every acquire and release runs in its own short transaction, independent of any transaction
+ * the caller may have open, so the lease row is never locked for longer than one statement. A
+ * lease is acquired either by inserting its row the first time the name is used, or by taking
+ * over a row whose {@code lockUntil} has passed. If the database is unreachable the lease is
+ * treated as not acquired and the job is skipped.</p>
+ *
+ * <p>Lease expiry is computed from each instance's own clock, so clocks should be roughly in
+ * sync; {@code lockAtLeastFor} can be used to cover the expected skew for short jobs.</p>
+ *
+ * <p>Per-lease counters (acquired, contended, failed, held time) are kept in memory and exposed
+ * through {@link #getStats()}. When a {@link MeterRegistry} is present they are also registered
+ * as {@value #ATTEMPTS} and {@value #HELD_TIME} counters and a {@value #HELD} gauge, tagged with
+ * the lease name, the first time a lease name is used.</p>
+ */
+@Service
+@Slf4j
+public class SchedulerLockService {
+
+  static final String ATTEMPTS = "scheduler.lease.attempts";
+  static final String HELD_TIME = "scheduler.lease.held.time";
+  static final String HELD = "scheduler.lease.held";
+
+  private final SchedulerLeaseRepository leaseRepository;
+  private final TransactionTemplate requiresNew;
+  private final String instanceId;
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final Map<String, LeaseCounters> counters = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the service. The instance id combines the host name with a random suffix, so two
+   * application contexts in the same JVM are told apart.
+   *
+   * @param leaseRepository    the lease repository
+   * @param transactionManager the transaction manager used for the lease transactions
+   * @param meterRegistry      the registry the lease counters are published to, if any
+   */
+  public SchedulerLockService(SchedulerLeaseRepository leaseRepository,
+      PlatformTransactionManager transactionManager, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.leaseRepository = leaseRepository;
+    this.meterRegistry = meterRegistry;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.instanceId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+  }
+
+  /**
+   * Tries to acquire the named lease.
+   *
+   * @param name          the lease name
+   * @param lockAtMostFor how long the lease is kept if it is never released
+   * @return the acquired lease, or empty if another instance holds it or the database failed
+   */
+  public Optional<Lease> tryAcquire(String name, Duration lockAtMostFor) {
+    LeaseCounters stats = counters.computeIfAbsent(name, this::newCounters);
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    Instant lockUntil = now.plus(lockAtMostFor);
+
+    boolean acquired;
+    try {
+      acquired = inNewTransaction(() -> leaseRepository.acquireExpired(name, lockUntil, now,
+          instanceId)) == 1;
+      if (!acquired && !inNewTransaction(() -> leaseRepository.existsById(name))) {
+        acquired = inNewTransaction(() -> leaseRepository.insertLease(name, lockUntil, now,
+            instanceId)) == 1;
+      }
+    } catch (DataIntegrityViolationException e) {
+      // Another instance inserted the row between our check and insert
+      acquired = false;
+    } catch (DataAccessException e) {
+      stats.failed.incrementAndGet();
+      log.error("Could not acquire scheduler lease '{}', skipping: {}", name, e.getMessage());
+      return Optional.empty();
+    }
+
+    if (!acquired) {
+      stats.contended.incrementAndGet();
+      log.debug("Scheduler lease '{}' is held by another instance, skipping.", name);
+      return Optional.empty();
+    }
+    stats.acquired.incrementAndGet();
+    stats.held.set(true);
+    log.debug("Acquired scheduler lease '{}' until {} as {}.", name, lockUntil, instanceId);
+    return Optional.of(new Lease(name, now, lockUntil));
+  }
+
+  /**
+   * Releases a lease acquired by this instance. The lease stays held until at least
+   * {@code lockedAt + lockAtLeastFor}.
+   *
+   * @param lease          the lease to release
+   * @param lockAtLeastFor minimum time the lease is held after it was acquired
+   */
+  public void release(Lease lease, Duration lockAtLeastFor) {
+    LeaseCounters stats = counters.computeIfAbsent(lease.name(), this::newCounters);
+    Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    Instant minimum = lease.lockedAt().plus(lockAtLeastFor);
+    Instant lockUntil = now.isAfter(minimum) ? now : minimum;
+
+    long heldMillis = Duration.between(lease.lockedAt(), now).toMillis();
+    stats.held.set(false);
+    stats.totalHeldMillis.addAndGet(heldMillis);
+    stats.lastHeldMillis.set(heldMillis);
+    try {
+      int released = inNewTransaction(() -> leaseRepository.release(lease.name(), instanceId,
+          lease.lockedAt(), lockUntil));
+      if (released == 0) {
+        log.warn("Scheduler lease '{}' expired after {} ms before it was released. The job "
+            + "may have run concurrently on another instance.", lease.name(), heldMillis);
+      }
+    } catch (DataAccessException e) {
+      stats.failed.incrementAndGet();
+      log.error("Could not release scheduler lease '{}', it expires at {}: {}", lease.name(),
+          lease.lockUntil(), e.getMessage());
+    }
+  }
+
+  /**
+   * Returns a snapshot of the lease counters of this instance, keyed by lease name.
+   *
+   * @return the lease statistics
+   */
+  public Map<String, LeaseStats> getStats() {
+    Map<String, LeaseStats> snapshot = new TreeMap<>();
+    counters.forEach((name, stats) -> snapshot.put(name, stats.snapshot()));
+    return snapshot;
+  }
+
+  /**
+   * Returns the identifier this instance writes into {@code locked_by}.
+   *
+   * @return the instance id
+   */
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  private LeaseCounters newCounters(String name) {
+    LeaseCounters stats = new LeaseCounters();
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      attemptCounter(registry, name, "acquired", stats.acquired);
+      attemptCounter(registry, name, "contended", stats.contended);
+      attemptCounter(registry, name, "failed", stats.failed);
+      FunctionCounter.builder(HELD_TIME, stats.totalHeldMillis, millis -> millis.get() / 1000.0)
+          .description("Time scheduler leases were held by this instance")
+          .baseUnit("seconds")
+          .tag("lease", name)
+          .register(registry);
+      Gauge.builder(HELD, stats.held, held -> held.get() ? 1 : 0)
+          .description("Whether this instance holds the scheduler lease")
+          .tag("lease", name)
+          .register(registry);
+    }
+    return stats;
+  }
+
+  private static void attemptCounter(MeterRegistry registry, String name, String outcome,
+      AtomicLong counter) {
+    FunctionCounter.builder(ATTEMPTS, counter, AtomicLong::get)
+        .description("Scheduler lease attempts by outcome")
+        .tag("lease", name)
+        .tag("outcome", outcome)
+        .register(registry);
+  }
+
+  private <T> T inNewTransaction(Supplier<T> action) {
+    return requiresNew.execute(status -> action.get());
+  }
+
+  private static String hostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      return "unknown";
+    }
+  }
+
+  /**
+   * A lease held by this instance.
+   *
+   * @param name      the lease name
+   * @param lockedAt  when the lease was acquired
+   * @param lockUntil when the lease expires unless released earlier
+   */
+  public record Lease(String name, Instant lockedAt, Instant lockUntil) {
+
+  }
+
+  /**
+   * Counters for one lease name on this instance.
+   *
+   * @param acquired        number of times the lease was acquired
+   * @param contended       number of times the job was skipped because another instance held it
+   * @param failed          number of acquire or release attempts that failed on a database error
+   * @param totalHeldMillis total time the lease was held
+   * @param lastHeldMillis  time the lease was held the last time it was released
+   * @param held            whether this instance currently holds the lease
+   */
+  public record LeaseStats(long acquired, long contended, long failed, long totalHeldMillis,
+                           long lastHeldMillis, boolean held) {
+
+  }
+
+  private static final class LeaseCounters {
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong contended = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalHeldMillis = new AtomicLong();
+    private final AtomicLong lastHeldMillis = new AtomicLong();
+    private final AtomicBoolean held = new AtomicBoolean();
+
+    private LeaseStats snapshot() {
+      return new LeaseStats(acquired.get(), contended.get(), failed.get(), totalHeldMillis.get(),
+          lastHeldMillis.get(), held.get());
+    }
+  }
+}
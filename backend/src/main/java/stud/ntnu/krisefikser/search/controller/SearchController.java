@@ -0,0 +1,55 @@
+package stud.ntnu.krisefikser.search.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import stud.ntnu.krisefikser.search.dto.SearchResponse;
+import stud.ntnu.krisefikser.search.service.SearchService;
+
+/**
+ * REST controller for searching articles, scenarios and public reflections.
+ */
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Full-text search APIs")
+public class SearchController {
+
+  private final SearchService searchService;
+
+  /**
+   * Searches articles, scenarios and public reflections.
+   *
+   * @param q     the words to search for
+   * @param limit the maximum number of hits
+   * @return the best hits, with highlighted titles and snippets
+   */
+  @Operation(summary = "Search content",
+      description = "Searches articles, scenarios and public reflections. Words are matched "
+          + "regardless of inflection, so \"flom\" also finds \"flommen\". Titles and snippets "
+          + "are escaped HTML with matches wrapped in <mark>.")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Search results, best match first",
+          content = @Content(mediaType = "application/json",
+              schema = @Schema(implementation = SearchResponse.class))),
+      @ApiResponse(responseCode = "400", description = "The query is empty or too long",
+          content = @Content)
+  })
+  @GetMapping
+  public ResponseEntity<SearchResponse> search(
+      @Parameter(description = "The words to search for") @RequestParam String q,
+      @Parameter(description = "Maximum number of hits, 1 to 50")
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(searchService.search(q, limit));
+  }
+}
@@ -0,0 +1,26 @@
+package stud.ntnu.krisefikser.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+
+/**
+ * A search result.
+ *
+ * <p>{@code title} and {@code snippet} are HTML: the text is escaped and matched words are wrapped
+ * in {@code <mark>} elements.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHit {
+
+  private SearchResultType type;
+  private String id;
+  private String title;
+  private String snippet;
+  private double score;
+}
@@ -0,0 +1,21 @@
+package stud.ntnu.krisefikser.search.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The results of a search, best match first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResponse {
+
+  private String query;
+  private int totalHits;
+  private List<SearchHit> hits;
+}
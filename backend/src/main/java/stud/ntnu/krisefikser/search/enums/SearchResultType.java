@@ -0,0 +1,16 @@
+package stud.ntnu.krisefikser.search.enums;
+
+/**
+ * Kinds of content returned by the search.
+ *
+ * <ul>
+ * <li>ARTICLE: an article</li>
+ * <li>SCENARIO: a crisis scenario</li>
+ * <li>REFLECTION: a public reflection</li>
+ * </ul>
+ */
+public enum SearchResultType {
+  ARTICLE,
+  SCENARIO,
+  REFLECTION
+}
@@ -0,0 +1,16 @@
+package stud.ntnu.krisefikser.search.exception;
+
+/**
+ * Thrown when a search query is empty or too long.
+ */
+public class InvalidSearchQueryException extends RuntimeException {
+
+  /**
+   * Constructs a new InvalidSearchQueryException with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public InvalidSearchQueryException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,133 @@
+package stud.ntnu.krisefikser.search.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits Norwegian (bokmål) text into index terms.
+ *
+ * <p>Text is split on anything that is not a letter or digit, lowercased, stripped of stop words
+ * and stemmed with a light suffix stemmer after Savoy's Norwegian stemmer. The stemmer only
+ * removes inflection and a few common derivational endings, so "flommen", "flommer" and "flom"
+ * share the term "flom", while unrelated words are rarely merged.</p>
+ */
+public final class NorwegianAnalyzer {
+
+  private static final int MAX_TOKEN_LENGTH = 40;
+
+  private static final Set<String> STOP_WORDS = Set.of(
+      "og", "i", "jeg", "det", "at", "en", "et", "den", "til", "er", "som", "på", "de", "med",
+      "han", "av", "ikke", "der", "så", "var", "meg", "seg", "men", "ett", "har", "om", "vi",
+      "min", "mitt", "ha", "hadde", "hun", "nå", "over", "da", "ved", "fra", "du", "ut", "sin",
+      "dem", "oss", "opp", "man", "kan", "hans", "hvor", "eller", "hva", "skal", "selv", "her",
+      "alle", "vil", "bli", "ble", "blitt", "kunne", "inn", "når", "være", "kom", "noen", "noe",
+      "ville", "dere", "deres", "kun", "ja", "etter", "ned", "skulle", "denne", "for", "deg",
+      "si", "sine", "sitt", "mot", "å", "hvorfor", "dette", "disse", "uten", "hvordan", "ingen",
+      "din", "ditt", "blir", "samme", "hvilken", "hvilke", "inni", "mellom", "vår", "hver",
+      "hvem", "hvis", "både", "bare", "enn", "fordi", "før", "også", "slik", "vært", "begge",
+      "siden", "the", "and", "of", "to", "a", "is", "in");
+
+  private NorwegianAnalyzer() {
+  }
+
+  /**
+   * Splits text into terms, keeping the position of each term in the text.
+   *
+   * @param text the plain text
+   * @return the terms in order of appearance, without stop words
+   */
+  public static List<Token> analyze(String text) {
+    List<Token> tokens = new ArrayList<>();
+    if (text == null) {
+      return tokens;
+    }
+    int length = text.length();
+    int i = 0;
+    while (i < length) {
+      while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+        i++;
+      }
+      if (i > start && i - start <= MAX_TOKEN_LENGTH) {
+        String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+        if (!STOP_WORDS.contains(word)) {
+          tokens.add(new Token(stem(word), start, i));
+        }
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Returns the stem of a lowercase word.
+   *
+   * @param word the lowercase word
+   * @return the stem, or the word itself if it has no known ending
+   */
+  static String stem(String word) {
+    if (!Character.isLetter(word.charAt(word.length() - 1))) {
+      return word;
+    }
+    // "flommen" loses "en" and "flom" nothing; both end up as "flom"
+    String stem = stripSuffix(word);
+    int length = stem.length();
+    if (length > 3 && stem.charAt(length - 1) == stem.charAt(length - 2)
+        && "aeiouyæøå".indexOf(stem.charAt(length - 1)) < 0) {
+      return stem.substring(0, length - 1);
+    }
+    return stem;
+  }
+
+  private static String stripSuffix(String word) {
+    int length = word.length();
+    // Possessive: "bilens" to "bilen"
+    if (length > 4 && word.charAt(length - 1) == 's') {
+      length--;
+    }
+    String w = word.substring(0, length);
+    if (length > 7 && endsWithAny(w, "heter", "heten", "elser", "elsen")) {
+      return w.substring(0, length - 5);
+    }
+    if (length > 5 && endsWithAny(w, "dom", "het")) {
+      return w.substring(0, length - 3);
+    }
+    if (length > 6 && endsWithAny(w, "ende", "else", "este", "eren")) {
+      return w.substring(0, length - 4);
+    }
+    if (length > 5 && endsWithAny(w, "ere", "est", "ene")) {
+      return w.substring(0, length - 3);
+    }
+    if (length > 4 && endsWithAny(w, "er", "en", "et", "st", "te")) {
+      return w.substring(0, length - 2);
+    }
+    if (length > 3 && endsWithAny(w, "a", "e", "n")) {
+      return w.substring(0, length - 1);
+    }
+    return w;
+  }
+
+  private static boolean endsWithAny(String word, String... suffixes) {
+    for (String suffix : suffixes) {
+      if (word.endsWith(suffix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A term and where it occurs in the text.
+   *
+   * @param term  the stemmed term
+   * @param start the offset of the first character of the word
+   * @param end   the offset after the last character of the word
+   */
+  public record Token(String term, int start, int end) {
+
+  }
+}
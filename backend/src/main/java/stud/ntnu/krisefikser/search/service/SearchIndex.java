@@ -0,0 +1,253 @@
+package stud.ntnu.krisefikser.search.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+import stud.ntnu.krisefikser.search.service.NorwegianAnalyzer.Token;
+
+/**
+ * In-memory inverted index over titles and plain-text bodies.
+ *
+ * <p>Each term maps to the documents containing it and how often it occurs in their title and
+ * body. Documents are ranked with BM25, counting a title occurrence as {@value #TITLE_BOOST} body
+ * occurrences. Documents can be added, replaced and removed one at a time; searches run
+ * concurrently and only wait for a write while it updates the maps, not while it analyzes
+ * text.</p>
+ */
+public class SearchIndex {
+
+  static final int TITLE_BOOST = 3;
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+  private static final Comparator<Map.Entry<DocumentKey, Double>> RANKING =
+      Map.Entry.<DocumentKey, Double>comparingByValue(Comparator.reverseOrder())
+          .thenComparing(entry -> entry.getKey().id());
+
+  private final Map<String, Map<DocumentKey, Posting>> postings = new HashMap<>();
+  private final Map<DocumentKey, IndexedDocument> documents = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private long totalLength;
+  private long postingCount;
+  private long textChars;
+
+  /**
+   * Adds a document, replacing any document with the same type and id.
+   *
+   * @param type  the kind of document
+   * @param id    the document id
+   * @param title the title
+   * @param body  the body as plain text
+   */
+  public void put(SearchResultType type, String id, String title, String body) {
+    DocumentKey key = new DocumentKey(type, id);
+    String safeTitle = title == null ? "" : title;
+    String safeBody = body == null ? "" : body;
+    List<Token> titleTokens = NorwegianAnalyzer.analyze(safeTitle);
+    List<Token> bodyTokens = NorwegianAnalyzer.analyze(safeBody);
+    Map<String, int[]> frequencies = new HashMap<>();
+    for (Token token : titleTokens) {
+      frequencies.computeIfAbsent(token.term(), term -> new int[2])[0]++;
+    }
+    for (Token token : bodyTokens) {
+      frequencies.computeIfAbsent(token.term(), term -> new int[2])[1]++;
+    }
+    IndexedDocument document = new IndexedDocument(key, safeTitle, safeBody,
+        titleTokens.size() + bodyTokens.size(), frequencies.keySet());
+
+    lock.writeLock().lock();
+    try {
+      removeLocked(key);
+      documents.put(key, document);
+      frequencies.forEach((term, frequency) -> postings
+          .computeIfAbsent(term, t -> new HashMap<>())
+          .put(key, new Posting(frequency[0], frequency[1])));
+      totalLength += document.length();
+      postingCount += frequencies.size();
+      textChars += safeTitle.length() + safeBody.length();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a document if it is indexed.
+   *
+   * @param type the kind of document
+   * @param id   the document id
+   */
+  public void remove(SearchResultType type, String id) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(new DocumentKey(type, id));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes all documents.
+   */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      postings.clear();
+      documents.clear();
+      totalLength = 0;
+      postingCount = 0;
+      textChars = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the documents containing any of the query terms, best match first.
+   *
+   * @param query the query text
+   * @param limit the maximum number of matches to return
+   * @return the query terms, the number of matching documents and the best matches
+   */
+  public SearchResult search(String query, int limit) {
+    Set<String> terms = new LinkedHashSet<>();
+    for (Token token : NorwegianAnalyzer.analyze(query)) {
+      terms.add(token.term());
+    }
+    if (terms.isEmpty()) {
+      return new SearchResult(terms, 0, List.of());
+    }
+
+    Map<DocumentKey, Double> scores = new HashMap<>();
+    List<Match> matches = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      int documentCount = documents.size();
+      double averageLength = documentCount == 0 ? 1 : (double) totalLength / documentCount;
+      for (String term : terms) {
+        Map<DocumentKey, Posting> termPostings = postings.get(term);
+        if (termPostings == null) {
+          continue;
+        }
+        int df = termPostings.size();
+        double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        termPostings.forEach((key, posting) -> {
+          double tf = TITLE_BOOST * posting.titleFrequency() + posting.bodyFrequency();
+          double norm = K1 * (1 - B + B * documents.get(key).length() / averageLength);
+          scores.merge(key, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+        });
+      }
+      // Keeps the best `limit` matches with the worst on top, instead of sorting all matches
+      PriorityQueue<Map.Entry<DocumentKey, Double>> best =
+          new PriorityQueue<>(limit + 1, RANKING.reversed());
+      for (Map.Entry<DocumentKey, Double> entry : scores.entrySet()) {
+        best.add(entry);
+        if (best.size() > limit) {
+          best.poll();
+        }
+      }
+      while (!best.isEmpty()) {
+        Map.Entry<DocumentKey, Double> entry = best.poll();
+        IndexedDocument document = documents.get(entry.getKey());
+        matches.add(new Match(entry.getKey(), document.title(), document.body(),
+            entry.getValue()));
+      }
+      Collections.reverse(matches);
+    } finally {
+      lock.readLock().unlock();
+    }
+    return new SearchResult(terms, scores.size(), matches);
+  }
+
+  /**
+   * Returns the size of the index.
+   *
+   * @return documents, distinct terms, postings and indexed characters
+   */
+  public IndexStats getStats() {
+    lock.readLock().lock();
+    try {
+      return new IndexStats(documents.size(), postings.size(), postingCount, textChars);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void removeLocked(DocumentKey key) {
+    IndexedDocument document = documents.remove(key);
+    if (document == null) {
+      return;
+    }
+    for (String term : document.terms()) {
+      Map<DocumentKey, Posting> termPostings = postings.get(term);
+      termPostings.remove(key);
+      if (termPostings.isEmpty()) {
+        postings.remove(term);
+      }
+    }
+    totalLength -= document.length();
+    postingCount -= document.terms().size();
+    textChars -= document.title().length() + document.body().length();
+  }
+
+  /**
+   * Identifies a document.
+   *
+   * @param type the kind of document
+   * @param id   the id of the entity
+   */
+  public record DocumentKey(SearchResultType type, String id) {
+
+  }
+
+  private record IndexedDocument(DocumentKey key, String title, String body, int length,
+                                 Set<String> terms) {
+
+  }
+
+  private record Posting(int titleFrequency, int bodyFrequency) {
+
+  }
+
+  /**
+   * A matching document.
+   *
+   * @param key   the document
+   * @param title the indexed title
+   * @param body  the indexed body
+   * @param score the BM25 score
+   */
+  public record Match(DocumentKey key, String title, String body, double score) {
+
+  }
+
+  /**
+   * The outcome of a search.
+   *
+   * @param terms     the analyzed query terms
+   * @param totalHits the number of matching documents
+   * @param matches   the best matches, best first
+   */
+  public record SearchResult(Set<String> terms, int totalHits, List<Match> matches) {
+
+  }
+
+  /**
+   * Size of the index.
+   *
+   * @param documents indexed documents
+   * @param terms     distinct terms
+   * @param postings  term-document pairs
+   * @param textChars characters of title and body text kept for snippets
+   */
+  public record IndexStats(int documents, int terms, long postings, long textChars) {
+
+  }
+}
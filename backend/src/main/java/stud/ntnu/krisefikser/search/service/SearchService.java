@@ -0,0 +1,253 @@
+package stud.ntnu.krisefikser.search.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import stud.ntnu.krisefikser.article.entity.Article;
+import stud.ntnu.krisefikser.article.repository.ArticleRepository;
+import stud.ntnu.krisefikser.common.HtmlText;
+import stud.ntnu.krisefikser.reflection.entity.Reflection;
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+import stud.ntnu.krisefikser.scenario.entity.Scenario;
+import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
+import stud.ntnu.krisefikser.search.dto.SearchHit;
+import stud.ntnu.krisefikser.search.dto.SearchResponse;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+import stud.ntnu.krisefikser.search.exception.InvalidSearchQueryException;
+import stud.ntnu.krisefikser.search.service.SearchIndex.IndexStats;
+import stud.ntnu.krisefikser.search.service.SearchIndex.SearchResult;
+
+/**
+ * Full-text search over articles, scenarios and public reflections.
+ *
+ * <p>The index is built from the database when the application starts and kept current by the
+ * services that write the indexed entities, which call the {@code index} and {@code remove}
+ * methods here. Inside a transaction the change is applied after commit, so a rolled back write
+ * never shows up in search results.</p>
+ */
+@Service
+@Slf4j
+public class SearchService {
+
+  static final int MAX_QUERY_LENGTH = 200;
+  static final int DEFAULT_LIMIT = 20;
+  static final int MAX_LIMIT = 50;
+  static final int SNIPPET_LENGTH = 200;
+
+  private final ArticleRepository articleRepository;
+  private final ScenarioRepository scenarioRepository;
+  private final ReflectionRepository reflectionRepository;
+  private final SearchIndex index = new SearchIndex();
+  private final Timer queryTimer;
+
+  /**
+   * Creates the service.
+   *
+   * @param articleRepository    the article repository
+   * @param scenarioRepository   the scenario repository
+   * @param reflectionRepository the reflection repository
+   * @param meterRegistry        the registry the query time is recorded in
+   */
+  public SearchService(ArticleRepository articleRepository,
+      ScenarioRepository scenarioRepository,
+      ReflectionRepository reflectionRepository,
+      MeterRegistry meterRegistry) {
+    this.articleRepository = articleRepository;
+    this.scenarioRepository = scenarioRepository;
+    this.reflectionRepository = reflectionRepository;
+    this.queryTimer = Timer.builder("search.queries")
+        .description("Searches, including highlighting")
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(Duration.ofMillis(5), Duration.ofMillis(25),
+            Duration.ofMillis(100))
+        .maximumExpectedValue(Duration.ofSeconds(1))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Indexes every article, scenario and public reflection.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuildIndex() {
+    long start = System.nanoTime();
+    index.clear();
+    articleRepository.findAll().forEach(this::putArticle);
+    scenarioRepository.findAll().forEach(this::putScenario);
+    reflectionRepository.findByVisibility(VisibilityType.PUBLIC).forEach(this::putReflection);
+    IndexStats stats = index.getStats();
+    log.info("Search index built in {} ms: {} documents, {} terms",
+        (System.nanoTime() - start) / 1_000_000, stats.documents(), stats.terms());
+  }
+
+  /**
+   * Adds or replaces an article in the index.
+   *
+   * @param article the saved article
+   */
+  public void indexArticle(Article article) {
+    String id = String.valueOf(article.getId());
+    String title = article.getTitle();
+    String body = HtmlText.toPlainText(article.getText());
+    afterCommit(() -> index.put(SearchResultType.ARTICLE, id, title, body));
+  }
+
+  /**
+   * Removes an article from the index.
+   *
+   * @param id the article id
+   */
+  public void removeArticle(Long id) {
+    afterCommit(() -> index.remove(SearchResultType.ARTICLE, String.valueOf(id)));
+  }
+
+  /**
+   * Adds or replaces a scenario in the index.
+   *
+   * @param scenario the saved scenario
+   */
+  public void indexScenario(Scenario scenario) {
+    String id = String.valueOf(scenario.getId());
+    String title = scenario.getTitle();
+    String body = HtmlText.toPlainText(scenario.getContent());
+    afterCommit(() -> index.put(SearchResultType.SCENARIO, id, title, body));
+  }
+
+  /**
+   * Removes a scenario from the index.
+   *
+   * @param id the scenario id
+   */
+  public void removeScenario(UUID id) {
+    afterCommit(() -> index.remove(SearchResultType.SCENARIO, String.valueOf(id)));
+  }
+
+  /**
+   * Adds a reflection to the index if it is public, and removes it otherwise.
+   *
+   * @param reflection the saved reflection
+   */
+  public void indexReflection(Reflection reflection) {
+    if (reflection.getVisibility() != VisibilityType.PUBLIC) {
+      removeReflection(reflection.getId());
+      return;
+    }
+    String id = String.valueOf(reflection.getId());
+    String title = reflection.getTitle();
+    String body = HtmlText.toPlainText(reflection.getContent());
+    afterCommit(() -> index.put(SearchResultType.REFLECTION, id, title, body));
+  }
+
+  /**
+   * Removes a reflection from the index.
+   *
+   * @param id the reflection id
+   */
+  public void removeReflection(UUID id) {
+    afterCommit(() -> index.remove(SearchResultType.REFLECTION, String.valueOf(id)));
+  }
+
+  /**
+   * Removes all reflections of an author from the index. Called before the author is deleted
+   * together with their reflections, so the ids are read before the delete and removed from the
+   * index after commit.
+   *
+   * @param authorId the id of the author
+   */
+  public void removeReflectionsByAuthor(UUID authorId) {
+    List<String> ids = reflectionRepository.findIdsByAuthorId(authorId).stream()
+        .map(String::valueOf)
+        .toList();
+    afterCommit(() -> ids.forEach(id -> index.remove(SearchResultType.REFLECTION, id)));
+  }
+
+  /**
+   * Searches the index.
+   *
+   * @param query the words to search for
+   * @param limit the maximum number of hits, {@value #DEFAULT_LIMIT} if {@code null}
+   * @return the best hits with highlighted titles and snippets
+   * @throws InvalidSearchQueryException if the query is blank or longer than
+   *                                     {@value #MAX_QUERY_LENGTH} characters
+   */
+  public SearchResponse search(String query, Integer limit) {
+    if (query == null || query.isBlank()) {
+      throw new InvalidSearchQueryException("Search query must not be empty.");
+    }
+    if (query.length() > MAX_QUERY_LENGTH) {
+      throw new InvalidSearchQueryException(
+          "Search query must be at most " + MAX_QUERY_LENGTH + " characters.");
+    }
+    int resolvedLimit = limit == null ? DEFAULT_LIMIT : Math.clamp(limit, 1, MAX_LIMIT);
+
+    long start = System.nanoTime();
+    try {
+      SearchResult result = index.search(query, resolvedLimit);
+      List<SearchHit> hits = result.matches().stream()
+          .map(match -> SearchHit.builder()
+              .type(match.key().type())
+              .id(match.key().id())
+              .title(SnippetHighlighter.highlight(match.title(), result.terms()))
+              .snippet(SnippetHighlighter.snippet(match.body(), result.terms(), SNIPPET_LENGTH))
+              .score(match.score())
+              .build())
+          .toList();
+      return SearchResponse.builder()
+          .query(query)
+          .totalHits(result.totalHits())
+          .hits(hits)
+          .build();
+    } finally {
+      queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Returns the size of the index. The time per search is recorded as the
+   * {@code search.queries} timer.
+   *
+   * @return documents, distinct terms, postings and indexed characters
+   */
+  public IndexStats getStats() {
+    return index.getStats();
+  }
+
+  private void putArticle(Article article) {
+    index.put(SearchResultType.ARTICLE, String.valueOf(article.getId()), article.getTitle(),
+        HtmlText.toPlainText(article.getText()));
+  }
+
+  private void putScenario(Scenario scenario) {
+    index.put(SearchResultType.SCENARIO, String.valueOf(scenario.getId()), scenario.getTitle(),
+        HtmlText.toPlainText(scenario.getContent()));
+  }
+
+  private void putReflection(Reflection reflection) {
+    index.put(SearchResultType.REFLECTION, String.valueOf(reflection.getId()),
+        reflection.getTitle(), HtmlText.toPlainText(reflection.getContent()));
+  }
+
+  private static void afterCommit(Runnable update) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          update.run();
+        }
+      });
+    } else {
+      update.run();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package stud.ntnu.krisefikser.search.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.web.util.HtmlUtils;
+import stud.ntnu.krisefikser.search.service.NorwegianAnalyzer.Token;
+
+/**
+ * Builds highlighted titles and snippets for search results.
+ *
+ * <p>The output is HTML: the text is escaped, and every word whose term matches the query is
+ * wrapped in {@code <mark>}. Since words are matched by term, "flommen" is highlighted for the
+ * query "flom".</p>
+ */
+final class SnippetHighlighter {
+
+  private SnippetHighlighter() {
+  }
+
+  /**
+   * Highlights all matching words in a text.
+   *
+   * @param text  the plain text
+   * @param terms the query terms
+   * @return the escaped text with matches marked
+   */
+  static String highlight(String text, Set<String> terms) {
+    return mark(text, NorwegianAnalyzer.analyze(text), terms, 0, text.length());
+  }
+
+  /**
+   * Cuts the part of a text with the most distinct matching terms and highlights it.
+   *
+   * @param text      the plain text
+   * @param terms     the query terms
+   * @param maxLength the maximum snippet length, excluding ellipses and markup
+   * @return the escaped snippet with matches marked
+   */
+  static String snippet(String text, Set<String> terms, int maxLength) {
+    List<Token> tokens = NorwegianAnalyzer.analyze(text);
+    List<Token> matches = tokens.stream().filter(token -> terms.contains(token.term())).toList();
+
+    int windowStart = 0;
+    int bestDistinct = 0;
+    int bestCount = 0;
+    for (int i = 0; i < matches.size(); i++) {
+      Set<String> distinct = new HashSet<>();
+      int count = 0;
+      for (int j = i; j < matches.size()
+          && matches.get(j).end() - matches.get(i).start() <= maxLength; j++) {
+        distinct.add(matches.get(j).term());
+        count++;
+      }
+      if (distinct.size() > bestDistinct
+          || (distinct.size() == bestDistinct && count > bestCount)) {
+        bestDistinct = distinct.size();
+        bestCount = count;
+        windowStart = matches.get(i).start();
+      }
+    }
+
+    int start = 0;
+    if (windowStart > maxLength / 4) {
+      // Some words before the first match give it context
+      start = windowStart - maxLength / 4;
+      int space = text.indexOf(' ', start);
+      start = space < 0 || space >= windowStart ? start : space + 1;
+    }
+    int end = Math.min(text.length(), start + maxLength);
+    if (end < text.length()) {
+      int space = text.lastIndexOf(' ', end);
+      end = space > start ? space : end;
+    }
+    return (start > 0 ? "… " : "")
+        + mark(text, tokens, terms, start, end)
+        + (end < text.length() ? " …" : "");
+  }
+
+  private static String mark(String text, List<Token> tokens, Set<String> terms, int start,
+      int end) {
+    StringBuilder html = new StringBuilder(end - start + 32);
+    int position = start;
+    for (Token token : tokens) {
+      if (token.start() < start || token.end() > end || !terms.contains(token.term())) {
+        continue;
+      }
+      html.append(escape(text.substring(position, token.start())))
+          .append("<mark>")
+          .append(escape(text.substring(token.start(), token.end())))
+          .append("</mark>");
+      position = token.end();
+    }
+    return html.append(escape(text.substring(position, end))).toString();
+  }
+
+  private static String escape(String text) {
+    // With UTF-8 only markup characters are escaped; "æøå" stay readable
+    return HtmlUtils.htmlEscape(text, "UTF-8");
+  }
+}
@@ -0,0 +1,30 @@
+package stud.ntnu.krisefikser.snapshot.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of content snapshot generation.
+ */
+@Configuration
+@EnableConfigurationProperties(ContentSnapshotProperties.class)
+public class ContentSnapshotConfig {
+
+  /**
+   * Creates the executor that rebuilds snapshots, one at a time. Requests for a rebuild while one
+   * is queued are merged into it, so the queue never holds more than one task.
+   *
+   * @return the snapshot executor
+   */
+  @Bean
+  public ThreadPoolTaskExecutor contentSnapshotExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("content-snapshot-");
+    return executor;
+  }
+}
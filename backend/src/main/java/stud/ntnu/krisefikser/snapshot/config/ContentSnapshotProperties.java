@@ -0,0 +1,26 @@
+package stud.ntnu.krisefikser.snapshot.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for content snapshots.
+ *
+ * <p>Bound from properties prefixed with {@code content.snapshot}.</p>
+ */
+@Data
+@ConfigurationProperties(prefix = "content.snapshot")
+public class ContentSnapshotProperties {
+
+  /**
+   * Directory the snapshot files are written to. Created on first use.
+   */
+  private String directory = "snapshots";
+
+  /**
+   * Number of snapshot versions kept on disk, including the current one. Older versions stay
+   * downloadable for a while, so a client that read the manifest just before a rebuild can still
+   * fetch the version it was told about.
+   */
+  private int retainedVersions = 3;
+}
@@ -0,0 +1,133 @@
+package stud.ntnu.krisefikser.snapshot.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import stud.ntnu.krisefikser.common.Sendfile;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.snapshot.dto.ContentSnapshotManifest;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService.SnapshotFile;
+
+/**
+ * REST controller for offline content snapshots.
+ *
+ * <p>Clients read the small manifest, and download the snapshot only when its version differs
+ * from the one they have.</p>
+ */
+@RestController
+@RequestMapping("/api/content-snapshot")
+@RequiredArgsConstructor
+@Tag(name = "Content snapshot", description = "Offline copy of all articles and scenarios")
+public class ContentSnapshotController {
+
+  private final ContentSnapshotService contentSnapshotService;
+
+  /**
+   * Returns the version and download URL of the current snapshot. Clients must revalidate it on
+   * every use; the version is its ETag.
+   *
+   * @return the manifest, or 304 if the client has it
+   */
+  @Operation(summary = "Get content snapshot manifest",
+      description = "Returns the version and URL of the current snapshot of all articles and "
+          + "scenarios")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The current snapshot"),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current"),
+      @ApiResponse(responseCode = "404", description = "No snapshot has been built yet")
+  })
+  @GetMapping
+  public ResponseEntity<ContentSnapshotManifest> getManifest() {
+    ContentSnapshotManifest manifest = contentSnapshotService.getManifest();
+    return ResponseEntity.ok()
+        .eTag("\"" + manifest.getVersion() + "\"")
+        .cacheControl(VersionedResponseCache.CACHE_CONTROL)
+        .body(manifest);
+  }
+
+  /**
+   * Serves a snapshot version.
+   *
+   * <p>A version never changes, so it is cached for a year. Clients that accept gzip get the
+   * file that was compressed when the version was built. Whole files are handed to Tomcat,
+   * which sends them from the page cache to the socket without copying them through the
+   * heap.</p>
+   *
+   * @param version        the version from the manifest
+   * @param acceptEncoding the optional Accept-Encoding header
+   * @param ifNoneMatch    the optional If-None-Match header
+   * @param request        the request, used to hand the file to Tomcat
+   * @return the snapshot JSON, or 304 if the client has it
+   */
+  @Operation(summary = "Get content snapshot",
+      description = "Returns all articles and scenarios of a snapshot version as JSON")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "The snapshot"),
+      @ApiResponse(responseCode = "304", description = "The cached copy is current"),
+      @ApiResponse(responseCode = "404", description = "No such version")
+  })
+  @GetMapping("/{version}")
+  public ResponseEntity<Resource> getSnapshot(
+      @Parameter(description = "Snapshot version") @PathVariable String version,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      HttpServletRequest request) {
+    boolean gzip = acceptsGzip(acceptEncoding);
+    SnapshotFile file = contentSnapshotService.getSnapshotFile(version, gzip);
+    // Each encoding is a different representation, so it needs its own strong ETag
+    String etag = "\"" + version + (gzip ? "-gzip" : "") + "\"";
+    HttpHeaders headers = new HttpHeaders();
+    headers.setETag(etag);
+    headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+    headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+    if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+    }
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    if (gzip) {
+      headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+    if (Sendfile.offer(request, file.path(), file.size())) {
+      headers.setContentLength(file.size());
+      return ResponseEntity.ok().headers(headers).build();
+    }
+    return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file.path()));
+  }
+
+  private static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.split(";");
+      String name = parts[0].trim();
+      if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+        continue;
+      }
+      // "gzip;q=0" means the client refuses gzip
+      boolean refused = parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?");
+      return !refused;
+    }
+    return false;
+  }
+}
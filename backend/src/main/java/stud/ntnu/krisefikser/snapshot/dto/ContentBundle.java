@@ -0,0 +1,22 @@
+package stud.ntnu.krisefikser.snapshot.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import stud.ntnu.krisefikser.article.dto.ArticleResponse;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
+
+/**
+ * All articles and scenarios with their full text, as stored in a content snapshot.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentBundle {
+
+  private List<ArticleResponse> articles;
+  private List<ScenarioResponse> scenarios;
+}
@@ -0,0 +1,25 @@
+package stud.ntnu.krisefikser.snapshot.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Describes the current content snapshot and where to download it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentSnapshotManifest {
+
+  private String version;
+  private String url;
+  private Instant generatedAt;
+  private int articles;
+  private int scenarios;
+  private long size;
+  private long gzipSize;
+}
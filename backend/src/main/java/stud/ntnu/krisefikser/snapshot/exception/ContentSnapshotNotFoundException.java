@@ -0,0 +1,16 @@
+package stud.ntnu.krisefikser.snapshot.exception;
+
+/**
+ * Thrown when a content snapshot version does not exist, or no snapshot has been built yet.
+ */
+public class ContentSnapshotNotFoundException extends RuntimeException {
+
+  /**
+   * Constructs a new ContentSnapshotNotFoundException with the specified detail message.
+   *
+   * @param message the detail message
+   */
+  public ContentSnapshotNotFoundException(String message) {
+    super(message);
+  }
+}
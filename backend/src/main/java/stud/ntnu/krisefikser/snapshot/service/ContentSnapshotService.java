@@ -0,0 +1,340 @@
+package stud.ntnu.krisefikser.snapshot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.article.entity.Article;
+import stud.ntnu.krisefikser.article.repository.ArticleRepository;
+import stud.ntnu.krisefikser.scenario.entity.Scenario;
+import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
+import stud.ntnu.krisefikser.snapshot.config.ContentSnapshotProperties;
+import stud.ntnu.krisefikser.snapshot.dto.ContentBundle;
+import stud.ntnu.krisefikser.snapshot.dto.ContentSnapshotManifest;
+import stud.ntnu.krisefikser.snapshot.exception.ContentSnapshotNotFoundException;
+
+/**
+ * Builds versioned snapshots of all articles and scenarios, so clients can download the whole
+ * knowledge base in one request and read it while the network is down.
+ *
+ * <p>A snapshot is the JSON of a {@link ContentBundle}. Its version is the start of the SHA-256
+ * hash of that JSON, so unchanged content keeps its version and a version never changes content.
+ * Each version is written once as {@code <version>.json} and {@code <version>.json.gz}, the latter
+ * compressed at the highest level since the cost is paid once per write instead of per
+ * download. The files are served straight from disk.</p>
+ *
+ * <p>The services that write articles and scenarios call {@link #requestRebuild()}. Rebuilds run
+ * on a single thread after the write commits; requests that arrive while a rebuild is queued are
+ * merged into it, so a burst of edits causes one or two rebuilds, not one per edit.</p>
+ */
+@Service
+@Slf4j
+public class ContentSnapshotService {
+
+  static final String JSON_SUFFIX = ".json";
+  static final String GZIP_SUFFIX = ".json.gz";
+  private static final Pattern VERSION = Pattern.compile("[0-9a-f]{32}");
+
+  private final ArticleRepository articleRepository;
+  private final ScenarioRepository scenarioRepository;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate readOnlyTransaction;
+  private final TaskExecutor executor;
+  private final Path directory;
+  private final int retainedVersions;
+  private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+  private final AtomicLong rebuildRequests = new AtomicLong();
+  private final AtomicLong builds = new AtomicLong();
+  private final AtomicLong unchanged = new AtomicLong();
+  private final AtomicLong failures = new AtomicLong();
+  private final Timer buildTimer;
+  private volatile ContentSnapshotManifest current;
+
+  /**
+   * Creates the service.
+   *
+   * @param articleRepository  the article repository
+   * @param scenarioRepository the scenario repository
+   * @param objectMapper       serializes the bundle
+   * @param transactionManager used to read articles and scenarios in one transaction
+   * @param properties         the snapshot directory and retention
+   * @param executor           runs the rebuilds
+   * @param meterRegistry      the registry the build time is recorded in
+   */
+  public ContentSnapshotService(ArticleRepository articleRepository,
+      ScenarioRepository scenarioRepository, ObjectMapper objectMapper,
+      PlatformTransactionManager transactionManager, ContentSnapshotProperties properties,
+      @Qualifier("contentSnapshotExecutor") TaskExecutor executor, MeterRegistry meterRegistry) {
+    this.articleRepository = articleRepository;
+    this.scenarioRepository = scenarioRepository;
+    this.objectMapper = objectMapper;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.executor = executor;
+    this.directory = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+    this.retainedVersions = Math.max(1, properties.getRetainedVersions());
+    this.buildTimer = Timer.builder("content.snapshot.build")
+        .description("Content snapshot rebuilds")
+        .publishPercentileHistogram()
+        .serviceLevelObjectives(Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofSeconds(1), Duration.ofSeconds(5))
+        .maximumExpectedValue(Duration.ofSeconds(30))
+        .register(meterRegistry);
+  }
+
+  /**
+   * Builds the first snapshot when the application starts.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void buildOnStartup() {
+    rebuild();
+  }
+
+  /**
+   * Schedules a rebuild after the current transaction commits, or right away outside a
+   * transaction. Call after every write to articles or scenarios.
+   */
+  public void requestRebuild() {
+    rebuildRequests.incrementAndGet();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          scheduleRebuild();
+        }
+      });
+    } else {
+      scheduleRebuild();
+    }
+  }
+
+  /**
+   * Builds a snapshot of the current articles and scenarios, unless the content is unchanged.
+   * Failures are logged; the previous snapshot then stays current.
+   */
+  public synchronized void rebuild() {
+    long start = System.nanoTime();
+    try {
+      ContentBundle bundle = readOnlyTransaction.execute(status -> ContentBundle.builder()
+          .articles(articleRepository.findAll(Sort.by("id")).stream()
+              .map(Article::toResponse)
+              .toList())
+          .scenarios(scenarioRepository.findAll(Sort.by("id")).stream()
+              .map(Scenario::toResponse)
+              .toList())
+          .build());
+      byte[] json = objectMapper.writeValueAsBytes(bundle);
+      String version = version(json);
+      ContentSnapshotManifest previous = current;
+      if (previous != null && previous.getVersion().equals(version)) {
+        unchanged.incrementAndGet();
+        return;
+      }
+
+      Files.createDirectories(directory);
+      byte[] gzip = gzip(json);
+      write(directory.resolve(version + GZIP_SUFFIX), gzip);
+      write(directory.resolve(version + JSON_SUFFIX), json);
+      current = ContentSnapshotManifest.builder()
+          .version(version)
+          .url("/api/content-snapshot/" + version)
+          .generatedAt(Instant.now())
+          .articles(bundle.getArticles().size())
+          .scenarios(bundle.getScenarios().size())
+          .size(json.length)
+          .gzipSize(gzip.length)
+          .build();
+      builds.incrementAndGet();
+      deleteOldVersions();
+      log.info("Built content snapshot {}: {} articles, {} scenarios, {} bytes ({} gzipped)",
+          version, bundle.getArticles().size(), bundle.getScenarios().size(), json.length,
+          gzip.length);
+    } catch (IOException | RuntimeException e) {
+      failures.incrementAndGet();
+      log.warn("Could not build content snapshot", e);
+    } finally {
+      buildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Returns the current snapshot.
+   *
+   * @return the version, download URL and size of the current snapshot
+   * @throws ContentSnapshotNotFoundException if no snapshot has been built yet
+   */
+  public ContentSnapshotManifest getManifest() {
+    ContentSnapshotManifest manifest = current;
+    if (manifest == null) {
+      throw new ContentSnapshotNotFoundException("No content snapshot has been built yet.");
+    }
+    return manifest;
+  }
+
+  /**
+   * Returns the file of a snapshot version. Besides the current version, the few versions before
+   * it are kept.
+   *
+   * @param version the version
+   * @param gzip    whether to return the gzipped file
+   * @return the file and its size
+   * @throws ContentSnapshotNotFoundException if the version does not exist (any more)
+   */
+  public SnapshotFile getSnapshotFile(String version, boolean gzip) {
+    if (version == null || !VERSION.matcher(version).matches()) {
+      throw new ContentSnapshotNotFoundException("Content snapshot not found: " + version);
+    }
+    Path file = directory.resolve(version + (gzip ? GZIP_SUFFIX : JSON_SUFFIX));
+    try {
+      return new SnapshotFile(file, Files.size(file));
+    } catch (IOException e) {
+      throw new ContentSnapshotNotFoundException("Content snapshot not found: " + version);
+    }
+  }
+
+  /**
+   * Returns build counts. The time per rebuild is recorded as the
+   * {@code content.snapshot.build} timer.
+   *
+   * @return the snapshot statistics
+   */
+  public SnapshotStats getStats() {
+    ContentSnapshotManifest manifest = current;
+    return new SnapshotStats(manifest == null ? null : manifest.getVersion(),
+        rebuildRequests.get(), builds.get(), unchanged.get(), failures.get());
+  }
+
+  private void scheduleRebuild() {
+    if (!rebuildQueued.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executor.execute(() -> {
+        // Cleared before reading, so a write during this rebuild queues the next one
+        rebuildQueued.set(false);
+        rebuild();
+      });
+    } catch (TaskRejectedException e) {
+      rebuildQueued.set(false);
+      log.warn("Content snapshot rebuild rejected; the snapshot is rebuilt on the next write");
+    }
+  }
+
+  private void write(Path target, byte[] content) throws IOException {
+    if (Files.exists(target)) {
+      // Content went back to an earlier version; it is current again, so keep it longest
+      Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+      return;
+    }
+    Path partial = Files.createTempFile(directory, ".snapshot-", ".part");
+    try {
+      Files.write(partial, content);
+      Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(partial);
+    }
+  }
+
+  private void deleteOldVersions() throws IOException {
+    List<Path> versions = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + JSON_SUFFIX)) {
+      files.forEach(versions::add);
+    }
+    if (versions.size() <= retainedVersions) {
+      return;
+    }
+    versions.sort(Comparator.comparing(ContentSnapshotService::lastModified).reversed());
+    for (Path file : versions.subList(retainedVersions, versions.size())) {
+      String name = file.getFileName().toString();
+      String version = name.substring(0, name.length() - JSON_SUFFIX.length());
+      Files.deleteIfExists(file);
+      Files.deleteIfExists(directory.resolve(version + GZIP_SUFFIX));
+      log.debug("Deleted content snapshot {}", version);
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private static String version(byte[] json) {
+    try {
+      byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+      return HexFormat.of().formatHex(hash, 0, 16);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+    try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+      {
+        def.setLevel(Deflater.BEST_COMPRESSION);
+      }
+    }) {
+      out.write(content);
+    }
+    return compressed.toByteArray();
+  }
+
+  /**
+   * A snapshot file on disk.
+   *
+   * @param path the file
+   * @param size its size in bytes
+   */
+  public record SnapshotFile(Path path, long size) {
+
+  }
+
+  /**
+   * Snapshot statistics.
+   *
+   * @param version         the current version, {@code null} before the first build
+   * @param rebuildRequests writes that asked for a rebuild
+   * @param builds          rebuilds that wrote a new version
+   * @param unchanged       rebuilds that found the content unchanged
+   * @param failures        rebuilds that failed
+   */
+  public record SnapshotStats(String version, long rebuildRequests, long builds, long unchanged,
+                              long failures) {
+
+  }
+}
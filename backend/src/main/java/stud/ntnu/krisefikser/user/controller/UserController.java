@@ -24,7 +24,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import stud.ntnu.krisefikser.media.dto.ImageUploadResponse;
-import stud.ntnu.krisefikser.media.service.CloudinaryService;
+import stud.ntnu.krisefikser.media.service.ImageUploadService;
 import stud.ntnu.krisefikser.user.dto.CreateUser;
 import stud.ntnu.krisefikser.user.dto.UserLocationRequest;
 import stud.ntnu.krisefikser.user.dto.UserResponse;
@@ -49,7 +49,7 @@ public class UserController {
    * The user service for handling user-related operations.
    */
   private final UserService userService;
-  private final CloudinaryService cloudinaryService;
+  private final ImageUploadService imageUploadService;
 
   /**
    * Retrieves a user by their ID.
@@ -167,8 +167,10 @@ public class UserController {
       @Parameter(description = "Avatar image file")
       @RequestParam("file") MultipartFile file) {
     User currentUser = userService.getCurrentUser();
-    ImageUploadResponse upload = cloudinaryService.uploadImage(file, "krisefikser/avatars");
-    User updatedUser = userService.updateUserAvatar(currentUser.getId(), upload.getUrl());
+    ImageUploadResponse upload = imageUploadService.uploadImage(file, "krisefikser/avatars");
+    String avatarUrl = upload.getVariants() == null ? upload.getUrl()
+        : upload.getVariants().getOrDefault("small", upload.getUrl());
+    User updatedUser = userService.updateUserAvatar(currentUser.getId(), avatarUrl);
     return ResponseEntity.ok(updatedUser.toDto());
   }
 }
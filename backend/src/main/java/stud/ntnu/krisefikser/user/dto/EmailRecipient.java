@@ -0,0 +1,14 @@
+package stud.ntnu.krisefikser.user.dto;
+
+/**
+ * Flat projection of a user who receives email updates.
+ *
+ * <p>Produced by the recipient pages in
+ * {@link stud.ntnu.krisefikser.user.repository.UserRepository}, so broadcasts never load full
+ * user entities.</p>
+ */
+public record EmailRecipient(
+    String email,
+    String firstName) {
+
+}
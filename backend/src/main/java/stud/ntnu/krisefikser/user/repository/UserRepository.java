@@ -4,8 +4,11 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import stud.ntnu.krisefikser.auth.entity.Role;
+import stud.ntnu.krisefikser.user.dto.EmailRecipient;
 import stud.ntnu.krisefikser.user.entity.User;
 
 /**
@@ -38,4 +41,20 @@ public interface UserRepository extends JpaRepository<User, UUID> {
    * @return A list of users with the given role
    */
   List<User> findByRolesName(Role.RoleType rolesName);
+
+  /**
+   * Finds a page of verified users who have opted in to email updates.
+   *
+   * <p>Pages are read by keyset on the unique email: pass the last email of the previous page, or
+   * an empty string for the first page. Each page can be read in its own short transaction.</p>
+   *
+   * @param afterEmail only recipients with an email after this one are returned
+   * @param limit      the maximum number of recipients to return
+   * @return the recipient projections of the page, ordered by email
+   */
+  @Query("SELECT new stud.ntnu.krisefikser.user.dto.EmailRecipient(u.email, u.firstName) "
+      + "FROM User u WHERE u.emailUpdates = true AND u.emailVerified = true "
+      + "AND u.email > :afterEmail ORDER BY u.email LIMIT :limit")
+  List<EmailRecipient> findEmailUpdateRecipientsAfter(@Param("afterEmail") String afterEmail,
+      @Param("limit") int limit);
 }
@@ -9,11 +9,13 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import stud.ntnu.krisefikser.auth.entity.Role;
 import stud.ntnu.krisefikser.auth.entity.Role.RoleType;
 import stud.ntnu.krisefikser.auth.exception.RoleNotFoundException;
 import stud.ntnu.krisefikser.auth.repository.RoleRepository;
 import stud.ntnu.krisefikser.household.entity.Household;
+import stud.ntnu.krisefikser.search.service.SearchService;
 import stud.ntnu.krisefikser.user.dto.CreateUser;
 import stud.ntnu.krisefikser.user.entity.User;
 import stud.ntnu.krisefikser.user.exception.EmailAlreadyExistsException;
@@ -31,6 +33,7 @@ public class UserService {
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
   private final PasswordEncoder passwordEncoder;
+  private final SearchService searchService;
 
   /**
    * Creates a new user in the system.
@@ -127,15 +130,18 @@ public class UserService {
   }
 
   /**
-   * Deletes a user from the system.
+   * Deletes a user from the system. The user's reflections are deleted with them and removed from
+   * the search index once the deletion is committed.
    *
    * @param userId the UUID of the user to delete
    * @throws UserNotFoundException if the user with the given ID does not exist
    */
+  @Transactional
   public void deleteUser(UUID userId) {
     if (!userRepository.existsById(userId)) {
       throw new UserNotFoundException(userId);
     }
+    searchService.removeReflectionsByAuthor(userId);
     userRepository.deleteById(userId);
   }
 
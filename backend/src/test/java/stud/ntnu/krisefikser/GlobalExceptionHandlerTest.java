@@ -2,6 +2,7 @@ package stud.ntnu.krisefikser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -10,7 +11,9 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import stud.ntnu.krisefikser.article.exception.ArticleNotFoundException;
 import stud.ntnu.krisefikser.auth.exception.InvalidCredentialsException;
 import stud.ntnu.krisefikser.auth.exception.InvalidTokenException;
@@ -19,6 +22,8 @@ import stud.ntnu.krisefikser.auth.exception.TwoFactorAuthRequiredException;
 import stud.ntnu.krisefikser.email.exception.EmailSendingException;
 import stud.ntnu.krisefikser.email.exception.EmailTemplateException;
 import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
+import stud.ntnu.krisefikser.item.exception.FoodItemImportException;
+import stud.ntnu.krisefikser.media.exception.ImageTooLargeException;
 import stud.ntnu.krisefikser.user.exception.UnauthorizedAccessException;
 import stud.ntnu.krisefikser.user.exception.UserNotFoundException;
 
@@ -26,6 +31,33 @@ class GlobalExceptionHandlerTest {
 
   private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
 
+  @Test
+  void handleFoodItemImportException_shouldReturnBadRequestWithErrors() {
+    var problem = handler.handleFoodItemImportException(new FoodItemImportException(
+        "Import rejected", List.of("Item 1: name: Name is required")));
+
+    assertThat(problem.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    assertThat(problem.getProperties()).containsEntry("errors",
+        List.of("Item 1: name: Name is required"));
+  }
+
+  @Test
+  void handleImageTooLargeException_shouldReturnPayloadTooLarge() {
+    var problem = handler.handleImageTooLargeException(
+        new ImageTooLargeException(DataSize.ofMegabytes(10)));
+
+    assertThat(problem.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+    assertThat(problem.getDetail()).isEqualTo("Image is larger than 10 MB");
+  }
+
+  @Test
+  void handleMaxUploadSizeExceededException_shouldReturnPayloadTooLarge() {
+    var problem = handler.handleImageTooLargeException(
+        new MaxUploadSizeExceededException(1024));
+
+    assertThat(problem.getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE.value());
+  }
+
   @Test
   void handleInvalidTokenException_shouldReturnUnauthorizedProblem() {
     var problem = handler.handleInvalidTokenException(new InvalidTokenException("bad token"));
@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
@@ -26,11 +28,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import stud.ntnu.krisefikser.article.dto.ArticleRequest;
 import stud.ntnu.krisefikser.article.dto.ArticleResponse;
+import stud.ntnu.krisefikser.article.dto.ArticleSummaryResponse;
 import stud.ntnu.krisefikser.article.exception.ArticleNotFoundException;
 import stud.ntnu.krisefikser.article.service.ArticleService;
 import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
 import stud.ntnu.krisefikser.auth.service.TokenService;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
 
 @WebMvcTest(ArticleController.class)
 @Import(TestSecurityConfig.class)
@@ -66,15 +70,32 @@ class ArticleControllerTest {
   }
 
   @Test
-  void getAllArticles_ShouldReturnListOfArticles() throws Exception {
-    when(articleService.getAllArticles()).thenReturn(List.of(articleResponse));
+  void getAllArticles_ShouldReturnSummariesWithoutText() throws Exception {
+    when(articleService.getAllArticlesCached())
+        .thenReturn(new CachedResponse<>(List.of(summary()), "\"etag\"", 0));
 
     mockMvc.perform(get("/api/articles"))
         .andExpect(status().isOk())
         .andExpect(content().contentType(MediaType.APPLICATION_JSON))
         .andExpect(jsonPath("$[0].id").value(articleResponse.getId()))
         .andExpect(jsonPath("$[0].title").value(articleResponse.getTitle()))
-        .andExpect(jsonPath("$[0].text").value(articleResponse.getText()));
+        .andExpect(jsonPath("$[0].excerpt").value(articleResponse.getText()))
+        .andExpect(jsonPath("$[0].text").doesNotExist());
+  }
+
+  @Test
+  void getAllArticles_ShouldSendEtagAndAnswerIfNoneMatchWith304() throws Exception {
+    when(articleService.getAllArticlesCached())
+        .thenReturn(new CachedResponse<>(List.of(summary()), "\"etag\"", 0));
+
+    mockMvc.perform(get("/api/articles"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"));
+
+    mockMvc.perform(get("/api/articles").header(HttpHeaders.IF_NONE_MATCH, "\"etag\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
   }
 
   @Test
@@ -181,4 +202,9 @@ class ArticleControllerTest {
             .content(objectMapper.writeValueAsString(articleResponse)))
         .andExpect(status().isForbidden());
   }
-}
\ No newline at end of file
+
+  private ArticleSummaryResponse summary() {
+    return new ArticleSummaryResponse(articleResponse.getId(), articleResponse.getTitle(),
+        articleResponse.getImageUrl(), articleResponse.getCreatedAt(), articleResponse.getText(), 2);
+  }
+}
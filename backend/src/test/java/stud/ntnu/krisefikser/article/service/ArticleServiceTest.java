@@ -17,9 +17,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import stud.ntnu.krisefikser.article.dto.ArticleRequest;
 import stud.ntnu.krisefikser.article.dto.ArticleResponse;
+import stud.ntnu.krisefikser.article.dto.ArticleSummaryResponse;
 import stud.ntnu.krisefikser.article.entity.Article;
 import stud.ntnu.krisefikser.article.exception.ArticleNotFoundException;
 import stud.ntnu.krisefikser.article.repository.ArticleRepository;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
+import stud.ntnu.krisefikser.search.service.SearchService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
 
 @ExtendWith(MockitoExtension.class)
 class ArticleServiceTest {
@@ -27,6 +31,15 @@ class ArticleServiceTest {
   @Mock
   private ArticleRepository articleRepository;
 
+  @Mock
+  private VersionedResponseCache responseCache;
+
+  @Mock
+  private SearchService searchService;
+
+  @Mock
+  private ContentSnapshotService contentSnapshotService;
+
   @InjectMocks
   private ArticleService articleService;
 
@@ -61,14 +74,37 @@ class ArticleServiceTest {
   }
 
   @Test
-  void getAllArticles_ShouldReturnListOfArticles() {
-    when(articleRepository.findAll()).thenReturn(List.of(article));
+  void getAllArticles_ShouldReturnSummariesWithoutText() {
+    ArticleSummaryResponse summary = new ArticleSummaryResponse(article.getId(),
+        article.getTitle(), article.getImageUrl(), article.getCreatedAt(), "Test Content", 2);
+    when(articleRepository.findAllSummaries()).thenReturn(List.of(summary));
+
+    List<ArticleSummaryResponse> result = articleService.getAllArticles();
+
+    assertThat(result).containsExactly(summary);
+    verify(articleRepository).findAllSummaries();
+  }
+
+  @Test
+  void processText_ShouldStoreShortPlainTextAndWordCountOfTheText() {
+    article.setText("<p>" + "Ord ".repeat(100) + "</p>");
+
+    article.processText();
+
+    assertThat(article.getExcerpt()).startsWith("Ord Ord").endsWith("…")
+        .hasSizeLessThanOrEqualTo(Article.EXCERPT_LENGTH);
+    assertThat(article.getWordCount()).isEqualTo(100);
+  }
+
+  @Test
+  void backfillDerivedText_ShouldComputeMissingExcerptsAndWordCounts() {
+    when(articleRepository.findByWordCountIsNull()).thenReturn(List.of(article));
 
-    List<ArticleResponse> result = articleService.getAllArticles();
+    articleService.backfillDerivedText();
 
-    assertThat(result).hasSize(1);
-    assertThat(result.get(0).getTitle()).isEqualTo(article.getTitle());
-    verify(articleRepository).findAll();
+    assertThat(article.getExcerpt()).isEqualTo("Test Content");
+    assertThat(article.getWordCount()).isEqualTo(2);
+    verify(articleRepository).saveAll(List.of(article));
   }
 
   @Test
@@ -100,6 +136,7 @@ class ArticleServiceTest {
     assertThat(result.getTitle()).isEqualTo(articleResponse.getTitle());
     assertThat(result.getText()).isEqualTo(articleResponse.getText());
     verify(articleRepository).save(any(Article.class));
+    verify(contentSnapshotService).requestRebuild();
   }
 
   @Test
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
@@ -42,6 +45,9 @@ public class JwtAuthenticationFilterTest {
   @Mock
   private FilterChain filterChain;
 
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @InjectMocks
   private JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -74,6 +80,8 @@ public class JwtAuthenticationFilterTest {
     assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
     assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(
         "test@example.com");
+    assertThat(meterRegistry.get(JwtAuthenticationFilter.AUTHENTICATION_TIMER)
+        .tag("outcome", "authenticated").timer().count()).isEqualTo(1);
 
     verify(filterChain).doFilter(request, response);
   }
@@ -125,6 +133,8 @@ public class JwtAuthenticationFilterTest {
 
     // Assert
     assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(meterRegistry.get(JwtAuthenticationFilter.AUTHENTICATION_TIMER)
+        .tag("outcome", "rejected").timer().count()).isEqualTo(1);
 
     verify(filterChain).doFilter(request, response);
   }
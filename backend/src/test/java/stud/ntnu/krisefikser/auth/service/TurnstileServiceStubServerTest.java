@@ -0,0 +1,155 @@
+package stud.ntnu.krisefikser.auth.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import stud.ntnu.krisefikser.auth.config.TurnstileProperties;
+import stud.ntnu.krisefikser.auth.config.TurnstileProperties.FailurePolicy;
+import stud.ntnu.krisefikser.common.CircuitBreaker;
+import stud.ntnu.krisefikser.config.OutboundHttpClients;
+import stud.ntnu.krisefikser.config.OutboundHttpProperties;
+
+/**
+ * Runs {@link TurnstileService} over real HTTP against a local stand-in for the siteverify
+ * endpoint. The stub accepts tokens starting with "good", and can be switched to answer with
+ * server errors or to answer slower than the configured response timeout.
+ */
+class TurnstileServiceStubServerTest {
+
+  private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+  private HttpServer server;
+  private OutboundHttpClients clients;
+  private TurnstileProperties properties;
+  private TurnstileService turnstileService;
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger calls = new AtomicInteger();
+  private volatile int status = 200;
+  private volatile long delayMillis;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/siteverify", this::handle);
+    server.start();
+
+    OutboundHttpProperties httpProperties = new OutboundHttpProperties();
+    OutboundHttpProperties.Timeouts timeouts = new OutboundHttpProperties.Timeouts();
+    timeouts.setResponseTimeout(Duration.ofMillis(200));
+    httpProperties.getIntegrations().put("turnstile", timeouts);
+    clients = new OutboundHttpClients(httpProperties);
+
+    properties = new TurnstileProperties();
+    properties.setSecret("stub-secret");
+    properties.setVerifyUrl("http://localhost:" + server.getAddress().getPort() + "/siteverify");
+    properties.getCircuitBreaker().setFailureThreshold(3);
+    properties.getCircuitBreaker().setOpenDuration(OPEN_DURATION);
+    turnstileService = new TurnstileService(clients.restTemplate("turnstile"), properties,
+        meterRegistry, clock::get);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    clients.close();
+    server.stop(0);
+  }
+
+  @Test
+  void verify_acceptsGoodTokenOnceAndRejectsReplayWithoutCall() {
+    assertThat(turnstileService.verify("good-1")).isTrue();
+    assertThat(turnstileService.verify("good-1")).isFalse();
+    assertThat(turnstileService.verify("bad-1")).isFalse();
+
+    assertThat(calls.get()).isEqualTo(2);
+    TurnstileService.VerificationStats stats = turnstileService.getStats();
+    assertThat(stats.verified()).isEqualTo(1);
+    assertThat(stats.rejected()).isEqualTo(1);
+    assertThat(stats.replaysRejected()).isEqualTo(1);
+    Timer siteverify = meterRegistry.get("turnstile.siteverify").timer();
+    assertThat(siteverify.count()).isEqualTo(2);
+    assertThat(siteverify.takeSnapshot().histogramCounts()).isNotEmpty();
+  }
+
+  @Test
+  void verify_replayCacheExpires() {
+    assertThat(turnstileService.verify("good-1")).isTrue();
+
+    clock.addAndGet(properties.getReplayCacheTtl().toNanos() + 1);
+
+    // Forgotten locally, so Cloudflare (here the stub) decides again
+    assertThat(turnstileService.verify("good-1")).isTrue();
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  void verify_opensCircuitAfterServerErrorsAndProbesAfterOpenDuration() {
+    status = 503;
+    for (int i = 0; i < 3; i++) {
+      assertThat(turnstileService.verify("good-" + i)).isFalse();
+    }
+    assertThat(turnstileService.getStats().circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+    assertThat(turnstileService.verify("good-3")).isFalse();
+    assertThat(calls.get()).isEqualTo(3);
+    assertThat(turnstileService.getStats().shortCircuited()).isEqualTo(1);
+
+    status = 200;
+    clock.addAndGet(OPEN_DURATION.toNanos());
+    assertThat(turnstileService.verify("good-4")).isTrue();
+    assertThat(turnstileService.getStats().circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void verify_slowServerCountsAsFailureAndFailsOpenWhenConfigured() {
+    properties.setFailurePolicy(FailurePolicy.FAIL_OPEN);
+    delayMillis = 1_000;
+
+    assertThat(turnstileService.verify("bad-slow")).isTrue();
+    assertThat(turnstileService.verify("bad-slow")).isFalse();
+
+    TurnstileService.VerificationStats stats = turnstileService.getStats();
+    assertThat(stats.unavailable()).isEqualTo(1);
+    assertThat(meterRegistry.get("turnstile.siteverify").timer().max(TimeUnit.MILLISECONDS))
+        .isLessThan(1_000);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    calls.incrementAndGet();
+    String body;
+    try (InputStream in = exchange.getRequestBody()) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    if (delayMillis > 0) {
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    boolean success = body.contains("secret=stub-secret") && body.contains("response=good");
+    byte[] response = ("{\"success\":" + success + "}").getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, response.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(response);
+    }
+  }
+}
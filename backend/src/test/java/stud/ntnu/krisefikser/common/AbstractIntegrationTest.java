@@ -61,6 +61,7 @@ public abstract class AbstractIntegrationTest {
   @Autowired
   private HouseholdRepository householdRepository;
 
+  @Getter
   @MockitoBean
   private TurnstileService turnstileService;
 
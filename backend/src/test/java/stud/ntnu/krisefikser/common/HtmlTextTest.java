@@ -0,0 +1,48 @@
+package stud.ntnu.krisefikser.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class HtmlTextTest {
+
+  @Test
+  void toPlainText_ShouldDropTagsAndSeparateBlocks() {
+    assertThat(HtmlText.toPlainText("<h1>Flom</h1><p>Flytt <b>verdisaker</b> opp.</p>"))
+        .isEqualTo("Flom Flytt verdisaker opp.");
+  }
+
+  @Test
+  void toPlainText_ShouldSkipScriptsStylesAndComments() {
+    assertThat(HtmlText.toPlainText(
+        "<style>p{color:red}</style><p>Vann</p><!-- note --><script>alert(1)</script>"))
+        .isEqualTo("Vann");
+  }
+
+  @Test
+  void toPlainText_ShouldDecodeCharacterReferences() {
+    assertThat(HtmlText.toPlainText("Str&oslash;mbrudd &amp; kulde&nbsp;&#8211; &#x2713;"))
+        .isEqualTo("Strømbrudd & kulde – ✓");
+  }
+
+  @Test
+  void toPlainText_ShouldKeepLooseMarkupCharacters() {
+    assertThat(HtmlText.toPlainText("1 < 2 & 3 > 2")).isEqualTo("1 < 2 & 3 > 2");
+    assertThat(HtmlText.toPlainText(null)).isEmpty();
+  }
+
+  @Test
+  void excerpt_ShouldCutAtWordBoundary() {
+    assertThat(HtmlText.excerpt("<p>Kort tekst</p>", 20)).isEqualTo("Kort tekst");
+    assertThat(HtmlText.excerpt("<p>Fyll vann i dunker før stormen</p>", 20))
+        .isEqualTo("Fyll vann i dunker…");
+    assertThat(HtmlText.excerpt("Nødstrømsaggregatvedlikehold", 10)).isEqualTo("Nødstrøms…");
+  }
+
+  @Test
+  void countWords_ShouldCountRunsWithLettersOrDigits() {
+    assertThat(HtmlText.countWords("Ha 3 liter vann – per døgn.")).isEqualTo(6);
+    assertThat(HtmlText.countWords("  ")).isZero();
+    assertThat(HtmlText.countWords(null)).isZero();
+  }
+}
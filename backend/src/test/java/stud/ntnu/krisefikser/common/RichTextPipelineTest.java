@@ -0,0 +1,96 @@
+package stud.ntnu.krisefikser.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import stud.ntnu.krisefikser.common.RichTextPipeline.Heading;
+import stud.ntnu.krisefikser.common.RichTextPipeline.Result;
+
+class RichTextPipelineTest {
+
+  @Test
+  void process_ShouldDropScriptsHandlersAndUnsafeLinks() {
+    Result result = RichTextPipeline.process("<p onclick=\"steal()\">Vann</p>"
+        + "<script>steal()</script><a href=\"javascript:steal()\">Lenke</a>"
+        + "<a href=\"https://dsb.no\" target=\"_top\">DSB</a>", 100);
+
+    assertThat(result.html()).isEqualTo("<p>Vann</p><a rel=\"noopener noreferrer\">Lenke</a>"
+        + "<a href=\"https://dsb.no\" rel=\"noopener noreferrer\">DSB</a>");
+  }
+
+  @Test
+  void process_ShouldKeepOnlyEditorClassesAndSafeStyles() {
+    Result result = RichTextPipeline.process("<p class=\"ql-align-center evil\" "
+        + "style=\"color: #ff0000; position: fixed; background-color: url(x)\">Tekst</p>", 100);
+
+    assertThat(result.html())
+        .isEqualTo("<p class=\"ql-align-center\" style=\"color: #ff0000\">Tekst</p>");
+  }
+
+  @Test
+  void process_ShouldGiveHeadingsIdsAndListThemInOrder() {
+    Result result = RichTextPipeline.process(
+        "<h2>Før strømbruddet</h2><p>Tekst</p><h2>Etterpå</h2><h2>Før strømbruddet</h2>", 100);
+
+    assertThat(result.headings()).containsExactly(
+        new Heading("section-for-strombruddet", "Før strømbruddet"),
+        new Heading("section-etterpa", "Etterpå"),
+        new Heading("section-for-strombruddet-2", "Før strømbruddet"));
+    assertThat(result.html()).startsWith("<h2 id=\"section-for-strombruddet\">Før strømbruddet</h2>");
+  }
+
+  @Test
+  void process_ShouldDeriveExcerptAndWordCount() {
+    Result result = RichTextPipeline.process("<h2>Flom</h2><p>Flytt verdisaker opp.</p>", 15);
+
+    assertThat(result.excerpt()).isEqualTo("Flom Flytt…");
+    assertThat(result.wordCount()).isEqualTo(4);
+  }
+
+  @Test
+  void process_ShouldKeepQuill2ListTypes() {
+    String quill = "<ol><li data-list=\"bullet\"><span class=\"ql-ui\" contenteditable=\"false\">"
+        + "</span>Vann</li><li data-list=\"ordered\"><span class=\"ql-ui\" "
+        + "contenteditable=\"false\"></span>Mat</li><li data-list=\"checked\">Radio</li>"
+        + "<li data-list=\"onclick\">Lykt</li></ol>";
+
+    Result result = RichTextPipeline.process(quill, 100);
+
+    assertThat(result.html()).isEqualTo("<ol><li data-list=\"bullet\"><span class=\"ql-ui\">"
+        + "</span>Vann</li><li data-list=\"ordered\"><span class=\"ql-ui\"></span>Mat</li>"
+        + "<li data-list=\"checked\">Radio</li><li>Lykt</li></ol>");
+  }
+
+  @Test
+  void process_ShouldKeepQuill2CodeBlocksAndUnwrapOtherDivs() {
+    String quill = "<div class=\"ql-code-block-container\" spellcheck=\"false\">"
+        + "<div class=\"ql-code-block\" data-language=\"plain\">ping dsb.no</div>"
+        + "<div class=\"ql-code-block\" data-language=\"plain\">  exit</div></div>"
+        + "<div style=\"position: fixed\"><p>Tekst</p></div>";
+
+    Result result = RichTextPipeline.process(quill, 100);
+
+    assertThat(result.html()).isEqualTo("<div class=\"ql-code-block-container\">"
+        + "<div class=\"ql-code-block\" data-language=\"plain\">ping dsb.no</div>"
+        + "<div class=\"ql-code-block\" data-language=\"plain\">  exit</div></div>"
+        + "<p>Tekst</p>");
+    assertThat(RichTextPipeline.process(result.html(), 100).html()).isEqualTo(result.html());
+  }
+
+  @Test
+  void process_ShouldBeIdempotent() {
+    String once = RichTextPipeline.process(
+        "<h2>Vann</h2><p class=\"ql-indent-1\">Ha <b>nok</b> til en uke.</p>", 100).html();
+
+    assertThat(RichTextPipeline.process(once, 100).html()).isEqualTo(once);
+  }
+
+  @Test
+  void process_WithNoContent_ShouldReturnEmptyResult() {
+    Result result = RichTextPipeline.process(null, 100);
+
+    assertThat(result.html()).isEmpty();
+    assertThat(result.headings()).isEmpty();
+    assertThat(result.wordCount()).isZero();
+  }
+}
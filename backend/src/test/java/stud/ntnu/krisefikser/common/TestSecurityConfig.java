@@ -3,6 +3,7 @@ package stud.ntnu.krisefikser.common;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -58,6 +59,9 @@ public class TestSecurityConfig {
             .requestMatchers(HttpMethod.GET, "/api/map-points", "/api/map-points/**").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/map-point-types", "/api/map-point-types/**").permitAll()
             .requestMatchers(HttpMethod.GET, "/api/events", "/api/events/**").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/media/**").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/search").permitAll()
+            .requestMatchers(HttpMethod.GET, "/api/content-snapshot/**").permitAll()
             .requestMatchers(
                 "/api/auth/login",
                 "/api/auth/register",
@@ -203,7 +207,8 @@ public class TestSecurityConfig {
       TokenService tokenService,
       CustomUserDetailsService userDetailsService
   ) {
-    return new JwtAuthenticationFilter(tokenService, userDetailsService);
+    return new JwtAuthenticationFilter(tokenService, userDetailsService,
+        new SimpleMeterRegistry());
   }
 
   @Bean
@@ -0,0 +1,94 @@
+package stud.ntnu.krisefikser.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CacheStats;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.Collection;
+
+class VersionedResponseCacheTest {
+
+  private VersionedResponseCache cache;
+  private AtomicInteger loads;
+
+  @BeforeEach
+  void setUp() {
+    cache = new VersionedResponseCache(new ObjectMapper());
+    loads = new AtomicInteger();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void get_ShouldLoadOnceUntilInvalidated() {
+    CachedResponse<List<String>> first = cache.get(Collection.ARTICLES, this::load);
+    CachedResponse<List<String>> second = cache.get(Collection.ARTICLES, this::load);
+
+    assertThat(second).isSameAs(first);
+    assertThat(loads).hasValue(1);
+
+    cache.invalidate(Collection.ARTICLES);
+    cache.get(Collection.ARTICLES, this::load);
+
+    assertThat(loads).hasValue(2);
+    assertThat(cache.getStats().get(Collection.ARTICLES)).isEqualTo(new CacheStats(1, 2, 1));
+  }
+
+  @Test
+  void invalidate_ShouldOnlyAffectItsCollection() {
+    cache.get(Collection.ARTICLES, this::load);
+    cache.get(Collection.EVENTS, this::load);
+
+    cache.invalidate(Collection.EVENTS);
+    cache.get(Collection.ARTICLES, this::load);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void etag_ShouldDependOnlyOnContent() {
+    String etag = cache.get(Collection.ARTICLES, () -> List.of("a", "b")).etag();
+    String sameContent = new VersionedResponseCache(new ObjectMapper())
+        .get(Collection.ARTICLES, () -> List.of("a", "b")).etag();
+    cache.invalidate(Collection.ARTICLES);
+    String otherContent = cache.get(Collection.ARTICLES, () -> List.of("a", "c")).etag();
+
+    assertThat(etag).matches("\"[0-9a-f]{32}\"");
+    assertThat(sameContent).isEqualTo(etag);
+    assertThat(otherContent).isNotEqualTo(etag);
+  }
+
+  @Test
+  void invalidate_InTransaction_ShouldDropResponsesLoadedBeforeCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    cache.invalidate(Collection.SCENARIOS);
+    // A concurrent read that still sees the rows from before the commit
+    cache.get(Collection.SCENARIOS, this::load);
+
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(
+        s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    cache.get(Collection.SCENARIOS, this::load);
+
+    assertThat(loads).hasValue(2);
+  }
+
+  private List<String> load() {
+    return List.of("item " + loads.incrementAndGet());
+  }
+}
@@ -0,0 +1,101 @@
+package stud.ntnu.krisefikser.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import stud.ntnu.krisefikser.config.DataSourcePoolMonitor.DataSourcePoolStats;
+
+class DataSourcePoolMonitorTest {
+
+  private HikariDataSource dataSource;
+  private DataSourcePoolMonitor monitor;
+  private MeterRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:mem:pool-monitor;DB_CLOSE_DELAY=-1");
+    dataSource.setPoolName("monitored");
+    dataSource.setMaximumPoolSize(2);
+    dataSource.setMinimumIdle(0);
+    dataSource.setConnectionTimeout(250);
+    dataSource.setLeakDetectionThreshold(2_000);
+    registry = new SimpleMeterRegistry();
+    monitor = new DataSourcePoolMonitor(new StaticListableBeanFactory(Map.of("registry", registry))
+        .getBeanProvider(MeterRegistry.class));
+    monitor.instrument(dataSource);
+  }
+
+  @AfterEach
+  void tearDown() {
+    dataSource.close();
+  }
+
+  @Test
+  void getStats_ShouldReportActiveConnectionsAndCheckouts() throws SQLException {
+    try (Connection connection = dataSource.getConnection()) {
+      DataSourcePoolStats stats = monitor.getStats();
+
+      assertThat(connection.isValid(1)).isTrue();
+      assertThat(stats.pool()).isEqualTo("monitored");
+      assertThat(stats.active()).isEqualTo(1);
+      assertThat(stats.maximumPoolSize()).isEqualTo(2);
+      assertThat(stats.leakDetectionThresholdMillis()).isEqualTo(2_000);
+      assertThat(stats.acquire().count()).isEqualTo(1);
+    }
+
+    DataSourcePoolStats stats = monitor.getStats();
+    assertThat(stats.active()).isZero();
+    assertThat(stats.idle()).isEqualTo(stats.total());
+    assertThat(stats.usage().count()).isEqualTo(1);
+    assertThat(stats.connectionsCreated()).isPositive();
+  }
+
+  @Test
+  void instrument_WithMeterRegistry_ShouldAlsoPublishHikariMeters() throws SQLException {
+    dataSource.getConnection().close();
+
+    assertThat(registry.get("hikaricp.connections.acquire").tag("pool", "monitored").timer()
+        .count()).isEqualTo(1);
+    assertThat(registry.get("hikaricp.connections.max").gauge().value()).isEqualTo(2);
+  }
+
+  @Test
+  void getStats_WhenPoolIsExhausted_ShouldCountTimeouts() throws SQLException {
+    try (Connection first = dataSource.getConnection();
+         Connection second = dataSource.getConnection()) {
+      assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+    }
+
+    assertThat(monitor.getStats().timeouts()).isEqualTo(1);
+  }
+
+  @Test
+  void recordConnectionUsage_PastLeakThreshold_ShouldBeCounted() throws SQLException {
+    dataSource.getConnection().close();
+
+    monitor.create("monitored", null).recordConnectionUsageMillis(2_500);
+    monitor.create("monitored", null).recordConnectionUsageMillis(100);
+
+    assertThat(monitor.getStats().heldPastLeakThreshold()).isEqualTo(1);
+  }
+
+  @Test
+  void getStats_BeforeInstrumenting_ShouldReturnEmptyState() {
+    DataSourcePoolStats stats = new DataSourcePoolMonitor(
+        new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)).getStats();
+
+    assertThat(stats.pool()).isNull();
+    assertThat(stats.total()).isZero();
+  }
+}
@@ -0,0 +1,116 @@
+package stud.ntnu.krisefikser.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import stud.ntnu.krisefikser.common.RepositoryTestConfig;
+import stud.ntnu.krisefikser.map.entity.Event;
+import stud.ntnu.krisefikser.map.entity.MapPoint;
+import stud.ntnu.krisefikser.map.entity.MapPointType;
+
+@DataJpaTest
+@Import({RepositoryTestConfig.class, IdSequenceAligner.class})
+class IdSequenceAlignerTest {
+
+  @Autowired
+  private IdSequenceAligner aligner;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TestEntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private SequenceSupport sequenceSupport;
+
+  @BeforeEach
+  void setUp() {
+    sequenceSupport = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getJdbcServices()
+        .getDialect()
+        .getSequenceSupport();
+    jdbcTemplate.update("DELETE FROM map_points");
+  }
+
+  @Test
+  void align_WithEmptyTable_ShouldLeaveSequence() {
+    assertThat(aligner.align(MapPoint.class, sequenceSupport)).isFalse();
+  }
+
+  @Test
+  void align_WithRowsAheadOfSequence_ShouldMoveSequencePastThem() {
+    MapPointType type = entityManager.persistFlushFind(MapPointType.builder()
+        .title("Shelter")
+        .iconUrl("/icons/map/shelter.svg")
+        .build());
+    jdbcTemplate.update("INSERT INTO map_points (id, latitude, longitude, type_id) "
+        + "VALUES (500, 63.43, 10.39, ?)", type.getId());
+
+    assertThat(aligner.align(MapPoint.class, sequenceSupport)).isTrue();
+
+    Long next = jdbcTemplate.queryForObject(
+        sequenceSupport.getSequenceNextValString("map_points_seq"), Long.class);
+    assertThat(next).isGreaterThanOrEqualTo(550);
+    assertThat(aligner.align(MapPoint.class, sequenceSupport)).isFalse();
+  }
+
+  @Test
+  void align_WithoutSequences_ShouldRaiseTableValue() {
+    JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    SequenceSupport tables = mock(SequenceSupport.class);
+    when(jdbc.queryForObject("SELECT MAX(id) FROM events", Long.class)).thenReturn(120L);
+    when(jdbc.update(anyString(), eq(170L), eq(170L))).thenReturn(1);
+
+    boolean moved = new IdSequenceAligner(jdbc, entityManagerFactory)
+        .align(Event.class, tables);
+
+    assertThat(moved).isTrue();
+    verify(jdbc).update("UPDATE events_seq SET next_val = ? WHERE next_val < ?", 170L, 170L);
+  }
+
+  @Test
+  void align_WithSequenceTable_ShouldRaiseNextValOnlyWhenBehind() {
+    // The one-row table Hibernate keeps a sequence in on MySQL, in a database of its own since
+    // events_seq is a real sequence in the test database
+    JdbcTemplate mysql = new JdbcTemplate(new DriverManagerDataSource(
+        "jdbc:h2:mem:id-sequence-tables;DB_CLOSE_DELAY=-1;MODE=MySQL"));
+    mysql.execute("CREATE TABLE events (id BIGINT PRIMARY KEY)");
+    mysql.execute("CREATE TABLE events_seq (next_val BIGINT)");
+    mysql.update("INSERT INTO events_seq VALUES (1)");
+    mysql.update("INSERT INTO events (id) VALUES (7), (120)");
+    IdSequenceAligner tableAligner = new IdSequenceAligner(mysql, entityManagerFactory);
+
+    try {
+      assertThat(tableAligner.align(Event.class, NoSequenceSupport.INSTANCE)).isTrue();
+      assertThat(mysql.queryForObject("SELECT next_val FROM events_seq", Long.class))
+          .isEqualTo(170);
+      assertThat(tableAligner.align(Event.class, NoSequenceSupport.INSTANCE)).isFalse();
+
+      mysql.update("UPDATE events_seq SET next_val = 400");
+      assertThat(tableAligner.align(Event.class, NoSequenceSupport.INSTANCE)).isFalse();
+      assertThat(mysql.queryForObject("SELECT next_val FROM events_seq", Long.class))
+          .isEqualTo(400);
+    } finally {
+      mysql.execute("DROP ALL OBJECTS");
+    }
+  }
+}
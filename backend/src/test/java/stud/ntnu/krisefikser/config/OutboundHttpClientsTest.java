@@ -0,0 +1,127 @@
+package stud.ntnu.krisefikser.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+class OutboundHttpClientsTest {
+
+  private HttpServer server;
+  private OutboundHttpClients clients;
+  private String baseUrl;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/ok", exchange -> respond(exchange, 200));
+    server.createContext("/fail", exchange -> respond(exchange, 503));
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(1_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      respond(exchange, 200);
+    });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+
+    OutboundHttpProperties properties = new OutboundHttpProperties();
+    properties.setMaxTotal(10);
+    properties.setMaxPerRoute(5);
+    OutboundHttpProperties.Timeouts slowIntegration = new OutboundHttpProperties.Timeouts();
+    slowIntegration.setResponseTimeout(Duration.ofMillis(200));
+    properties.getIntegrations().put("impatient", slowIntegration);
+    clients = new OutboundHttpClients(properties);
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    clients.close();
+    server.stop(0);
+  }
+
+  @Test
+  void restTemplate_reusesPooledConnectionAndRecordsCalls() {
+    RestTemplate restTemplate = clients.restTemplate("mail");
+
+    assertEquals("ok", restTemplate.getForObject(baseUrl + "/ok", String.class));
+    assertEquals("ok", restTemplate.getForObject(baseUrl + "/ok", String.class));
+
+    OutboundHttpClients.Stats stats = clients.getStats();
+    assertEquals(2, stats.integrations().get("mail").calls());
+    assertEquals(0, stats.integrations().get("mail").errors());
+    assertEquals(0, stats.pool().leased());
+    assertEquals(1, stats.pool().available());
+    assertEquals(10, stats.pool().max());
+  }
+
+  @Test
+  void bindTo_publishesPoolAndIntegrationsCreatedBeforeAndAfter() {
+    RestTemplate mail = clients.restTemplate("mail");
+    MeterRegistry registry = new SimpleMeterRegistry();
+    clients.bindTo(registry);
+    RestTemplate impatient = clients.restTemplate("impatient");
+
+    mail.getForObject(baseUrl + "/ok", String.class);
+    impatient.getForObject(baseUrl + "/ok", String.class);
+    assertThrows(HttpServerErrorException.class,
+        () -> mail.getForObject(baseUrl + "/fail", String.class));
+
+    assertEquals(2, registry.get("outbound.http.calls").tag("integration", "mail")
+        .functionTimer().count());
+    assertEquals(1, registry.get("outbound.http.errors").tag("integration", "mail")
+        .functionCounter().count());
+    assertEquals(1, registry.get("outbound.http.calls").tag("integration", "impatient")
+        .functionTimer().count());
+    assertEquals(10, registry.get("httpcomponents.httpclient.pool.total.max")
+        .tag("httpclient", "outbound").gauge().value());
+  }
+
+  @Test
+  void restTemplate_countsErrorResponses() {
+    RestTemplate restTemplate = clients.restTemplate("mail");
+
+    assertThrows(HttpServerErrorException.class,
+        () -> restTemplate.getForObject(baseUrl + "/fail", String.class));
+
+    assertEquals(1, clients.getStats().integrations().get("mail").errors());
+  }
+
+  @Test
+  void restTemplate_appliesIntegrationResponseTimeout() {
+    RestTemplate impatient = clients.restTemplate("impatient");
+
+    assertThrows(ResourceAccessException.class,
+        () -> impatient.getForObject(baseUrl + "/slow", String.class));
+
+    OutboundHttpClients.IntegrationStats stats = clients.getStats().integrations().get("impatient");
+    assertEquals(1, stats.errors());
+    assertTrue(stats.maxMillis() < 1_000);
+  }
+
+  private static void respond(HttpExchange exchange, int status) throws IOException {
+    byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
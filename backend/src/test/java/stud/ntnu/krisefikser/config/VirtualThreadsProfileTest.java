@@ -0,0 +1,89 @@
+package stud.ntnu.krisefikser.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Starts the application with the {@code virtual-threads} profile and checks that scheduled jobs
+ * and executors run on virtual threads, and that pinned virtual threads are reported.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadsProfileTest {
+
+  @Autowired
+  private TaskScheduler taskScheduler;
+
+  @Autowired
+  @Qualifier("emailOutboxExecutor")
+  private TaskExecutor emailOutboxExecutor;
+
+  @Autowired
+  private VirtualThreadPinningMonitor pinningMonitor;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @DynamicPropertySource
+  static void properties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url",
+        () -> "jdbc:h2:mem:virtual-threads;DB_CLOSE_DELAY=-1;MODE=MySQL");
+  }
+
+  @Test
+  void executorsAndScheduler_runOnVirtualThreads() throws Exception {
+    assertThat(runsOnVirtualThread(emailOutboxExecutor)).isTrue();
+
+    CompletableFuture<Boolean> scheduled = new CompletableFuture<>();
+    taskScheduler.schedule(() -> scheduled.complete(Thread.currentThread().isVirtual()),
+        Instant.now());
+    assertThat(scheduled.get(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  void pinningMonitor_reportsBlockingInsideSynchronized() throws Exception {
+    Object lock = new Object();
+    Thread pinned = Thread.ofVirtual().start(() -> {
+      synchronized (lock) {
+        try {
+          Thread.sleep(Duration.ofMillis(200));
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    pinned.join();
+
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    while (pinningMonitor.getStats().pins() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(100);
+    }
+    VirtualThreadPinningMonitor.PinningStats stats = pinningMonitor.getStats();
+    assertThat(stats.pins()).isPositive();
+    assertThat(stats.bySite().keySet())
+        .anyMatch(site -> site.startsWith(VirtualThreadsProfileTest.class.getName()));
+    assertThat(meterRegistry.find("virtual.threads.pinned").functionTimers())
+        .anyMatch(timer -> timer.getId().getTag("site")
+            .startsWith(VirtualThreadsProfileTest.class.getName()) && timer.count() > 0);
+  }
+
+  private static boolean runsOnVirtualThread(TaskExecutor executor) throws Exception {
+    CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+    executor.execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+    return virtual.get(5, TimeUnit.SECONDS);
+  }
+}
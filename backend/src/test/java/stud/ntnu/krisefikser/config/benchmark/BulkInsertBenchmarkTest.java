@@ -0,0 +1,222 @@
+package stud.ntnu.krisefikser.config.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.household.entity.Household;
+import stud.ntnu.krisefikser.household.repository.HouseholdRepository;
+import stud.ntnu.krisefikser.item.service.ChecklistItemService;
+import stud.ntnu.krisefikser.map.entity.MapPoint;
+import stud.ntnu.krisefikser.map.entity.MapPointType;
+import stud.ntnu.krisefikser.map.repository.MapPointRepository;
+import stud.ntnu.krisefikser.map.repository.MapPointTypeRepository;
+import stud.ntnu.krisefikser.notification.entity.Notification;
+import stud.ntnu.krisefikser.notification.entity.NotificationType;
+import stud.ntnu.krisefikser.notification.service.NotificationService;
+import stud.ntnu.krisefikser.user.entity.User;
+import stud.ntnu.krisefikser.user.repository.UserRepository;
+
+/**
+ * Measures insert throughput on the bulk write paths: seeding shelters, creating the default
+ * checklist of new households and notifying every user.
+ *
+ * <p>Each path runs twice in one transaction. The first run uses a JDBC batch size of 1, which
+ * sends one insert per round-trip like the auto-increment ids used to force. The second run
+ * uses the configured batch size. Hibernate's statistics count the statements it prepares; a
+ * batched insert statement is prepared once and executed once per batch. An in-memory database
+ * has no network round-trip, so against MySQL the difference in time is larger than reported
+ * here. The notification fan-out also loads every user with their roles, which takes most of
+ * its time.</p>
+ *
+ * <p>Skipped unless a row count is given:</p>
+ * <pre>
+ * mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmark.bulkInserts=20000
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.bulkInserts", matches = "\\d+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:bulk-insert-benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class BulkInsertBenchmarkTest {
+
+  private static final int UNBATCHED = 1;
+  private static final int CHECKLIST_ITEMS_PER_HOUSEHOLD = 15;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private MapPointRepository mapPointRepository;
+
+  @Autowired
+  private MapPointTypeRepository mapPointTypeRepository;
+
+  @Autowired
+  private HouseholdRepository householdRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private ChecklistItemService checklistItemService;
+
+  @Autowired
+  private NotificationService notificationService;
+
+  private Statistics statistics;
+  private int rows;
+  private int batchSize;
+
+  @BeforeAll
+  void setUp() {
+    rows = Integer.getInteger("benchmark.bulkInserts");
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    statistics = sessionFactory.getStatistics();
+    statistics.setStatisticsEnabled(true);
+    batchSize = sessionFactory.getSessionFactoryOptions().getJdbcBatchSize();
+  }
+
+  @BeforeEach
+  void clean() {
+    jdbcTemplate.update("DELETE FROM notifications");
+    jdbcTemplate.update("DELETE FROM checklist_item");
+    jdbcTemplate.update("DELETE FROM map_points");
+  }
+
+  @Test
+  void seedShelters_ShouldBatchInserts() {
+    MapPointType shelter = mapPointTypeRepository.save(MapPointType.builder()
+        .title("Benchmark shelter")
+        .iconUrl("/icons/map/shelter.svg")
+        .build());
+
+    compare("Shelters (MapPoint)", () -> {
+      List<MapPoint> mapPoints = new ArrayList<>(rows);
+      for (int i = 0; i < rows; i++) {
+        mapPoints.add(MapPoint.builder()
+            .latitude(58 + (i % 1000) / 100.0)
+            .longitude(5 + (i / 1000) / 100.0)
+            .type(shelter)
+            .build());
+      }
+      mapPointRepository.saveAll(mapPoints);
+      return mapPoints.size();
+    });
+  }
+
+  @Test
+  void createDefaultChecklistItems_ShouldBatchInserts() {
+    User owner = userRepository.save(user("checklist-owner@example.com"));
+    List<Household> households = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, rows / CHECKLIST_ITEMS_PER_HOUSEHOLD); i++) {
+      households.add(Household.builder()
+          .name("Household " + i)
+          .address("Gate " + i)
+          .postalCode("7030")
+          .city("Trondheim")
+          .owner(owner)
+          .build());
+    }
+    householdRepository.saveAll(households);
+
+    compare("Default checklist items", () -> {
+      households.forEach(checklistItemService::createDefaultChecklistItems);
+      return households.size() * CHECKLIST_ITEMS_PER_HOUSEHOLD;
+    });
+  }
+
+  @Test
+  void createNotificationsForAll_ShouldBatchInserts() {
+    List<User> users = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      User user = user("recipient-" + i + "@example.com");
+      user.setNotifications(true);
+      users.add(user);
+    }
+    userRepository.saveAll(users);
+
+    compare("Notification fan-out", () -> {
+      notificationService.createNotificationsForAll(Notification.builder()
+          .title("Flomvarsel")
+          .message("Vannstanden stiger.")
+          .type(NotificationType.INFO)
+          .build());
+      // Seeded users who get notifications are included
+      return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Integer.class);
+    });
+  }
+
+  /**
+   * Runs the bulk path unbatched and batched, reports both and checks that batching prepares
+   * fewer statements.
+   */
+  private void compare(String label, IntSupplier bulkPath) {
+    // Warm up JIT, the id generators and the statement cache
+    run(batchSize, bulkPath);
+    clean();
+
+    Run unbatched = run(UNBATCHED, bulkPath);
+    clean();
+    Run batched = run(batchSize, bulkPath);
+
+    report(label + ", batch size " + UNBATCHED, unbatched);
+    report(label + ", batch size " + batchSize, batched);
+    assertThat(batched.statements()).isLessThan(unbatched.statements());
+  }
+
+  private Run run(int jdbcBatchSize, IntSupplier bulkPath) {
+    statistics.clear();
+    long start = System.nanoTime();
+    int inserted = transactionTemplate.execute(status -> {
+      entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+      int count = bulkPath.getAsInt();
+      entityManager.flush();
+      return count;
+    });
+    long nanos = System.nanoTime() - start;
+    return new Run(inserted, nanos, statistics.getPrepareStatementCount());
+  }
+
+  private static User user(String email) {
+    return User.builder()
+        .email(email)
+        .password("benchmark")
+        .build();
+  }
+
+  private static void report(String label, Run run) {
+    System.out.printf("%-45s %8d rows %8d ms %10.0f rows/s %8d prepared%n", label, run.rows(),
+        run.nanos() / 1_000_000, run.rows() * 1e9 / run.nanos(), run.statements());
+  }
+
+  private record Run(int rows, long nanos, long statements) {
+
+  }
+}
@@ -0,0 +1,167 @@
+package stud.ntnu.krisefikser.config.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.web.client.RestTemplate;
+import stud.ntnu.krisefikser.config.OutboundHttpClients;
+import stud.ntnu.krisefikser.config.OutboundHttpProperties;
+import stud.ntnu.krisefikser.config.VirtualThreadPinningMonitor;
+
+/**
+ * Compares the throughput of an I/O-bound request handler on a Tomcat-sized platform thread pool
+ * and on virtual threads.
+ *
+ * <p>Each simulated request runs a short query through a Hikari pool and then makes a blocking
+ * call through the shared outbound HTTP client to a local stub that answers after
+ * {@value #DEPENDENCY_LATENCY_MILLIS} ms, like a registration against a slow Turnstile during a
+ * surge. The latency is high enough that the run measures waiting rather than CPU, even on a
+ * single core. Pinned virtual threads are reported while the virtual-thread run is in
+ * progress.</p>
+ *
+ * <p>Skipped unless requested:</p>
+ * <pre>
+ * mvn test -Dtest=VirtualThreadThroughputBenchmarkTest -Dbenchmark.virtualThreads=true
+ * </pre>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.virtualThreads", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class VirtualThreadThroughputBenchmarkTest {
+
+  private static final int DEPENDENCY_LATENCY_MILLIS = 500;
+  private static final int REQUESTS = 4_000;
+  private static final int TOMCAT_MAX_THREADS = 200;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private OutboundHttpClients clients;
+  private RestTemplate restTemplate;
+  private HikariDataSource dataSource;
+  private String url;
+
+  @BeforeAll
+  void setUp() throws IOException {
+    // The JDK server closes idle keep-alive connections beyond 200 by default, which the pooled
+    // client would only notice on reuse
+    System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(REQUESTS));
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        REQUESTS);
+    serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    server.setExecutor(serverExecutor);
+    server.createContext("/dependency", exchange -> {
+      try {
+        Thread.sleep(DEPENDENCY_LATENCY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      byte[] body = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+    url = "http://localhost:" + server.getAddress().getPort() + "/dependency";
+
+    OutboundHttpProperties properties = new OutboundHttpProperties();
+    properties.setMaxTotal(REQUESTS);
+    properties.setMaxPerRoute(REQUESTS);
+    properties.getDefaults().setConnectionRequestTimeout(Duration.ofSeconds(30));
+    properties.getDefaults().setResponseTimeout(Duration.ofSeconds(30));
+    clients = new OutboundHttpClients(properties);
+    restTemplate = clients.restTemplate("benchmark");
+
+    HikariConfig config = new HikariConfig();
+    config.setJdbcUrl("jdbc:h2:mem:virtual-thread-benchmark;DB_CLOSE_DELAY=-1");
+    config.setMaximumPoolSize(10);
+    config.setConnectionTimeout(30_000);
+    dataSource = new HikariDataSource(config);
+  }
+
+  @AfterAll
+  void tearDown() throws IOException {
+    dataSource.close();
+    clients.close();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void virtualThreads_ShouldOutperformPlatformPoolUnderIoBoundLoad() throws Exception {
+    // Warm up connections, JIT and the database
+    run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), 1_000);
+    run(Executors.newVirtualThreadPerTaskExecutor(), 1_000);
+
+    double platform = run(Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), REQUESTS);
+
+    VirtualThreadPinningMonitor pinningMonitor =
+        new VirtualThreadPinningMonitor(Duration.ofMillis(1));
+    pinningMonitor.start();
+    double virtual;
+    try {
+      virtual = run(Executors.newVirtualThreadPerTaskExecutor(), REQUESTS);
+      // JFR delivers events about once per second
+      Thread.sleep(2_000);
+    } finally {
+      pinningMonitor.stop();
+    }
+
+    System.out.printf("platform pool (%d threads) %10.0f requests/s%n", TOMCAT_MAX_THREADS,
+        platform);
+    System.out.printf("virtual threads            %10.0f requests/s%n", virtual);
+    VirtualThreadPinningMonitor.PinningStats pins = pinningMonitor.getStats();
+    System.out.printf("pinned virtual threads: %d pins, %d ms in total%n", pins.pins(),
+        pins.pinnedMillis());
+    pins.bySite().forEach((site, count) -> System.out.printf("  %6d  %s%n", count, site));
+
+    assertThat(virtual).isGreaterThan(platform);
+  }
+
+  private double run(ExecutorService executor, int requests) throws Exception {
+    long start = System.nanoTime();
+    try (executor) {
+      List<Future<?>> futures = new ArrayList<>(requests);
+      for (int i = 0; i < requests; i++) {
+        futures.add(executor.submit(this::handleRequest));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    return requests / ((System.nanoTime() - start) / 1e9);
+  }
+
+  private Void handleRequest() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+      resultSet.next();
+    }
+    restTemplate.getForObject(url, String.class);
+    return null;
+  }
+}
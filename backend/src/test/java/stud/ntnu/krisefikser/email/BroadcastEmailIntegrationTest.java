@@ -0,0 +1,164 @@
+package stud.ntnu.krisefikser.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import stud.ntnu.krisefikser.common.DatabaseCleanupService;
+import stud.ntnu.krisefikser.email.dto.BroadcastRequest;
+import stud.ntnu.krisefikser.email.dto.BroadcastResponse;
+import stud.ntnu.krisefikser.email.enums.BroadcastStatus;
+import stud.ntnu.krisefikser.email.service.BroadcastEmailService;
+import stud.ntnu.krisefikser.user.entity.User;
+import stud.ntnu.krisefikser.user.repository.UserRepository;
+
+/**
+ * Runs broadcasts against a {@link FakeMailServer} with small batches.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BroadcastEmailIntegrationTest {
+
+  private static final FakeMailServer MAIL_SERVER = startMailServer();
+
+  @Autowired
+  private BroadcastEmailService broadcastEmailService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private DatabaseCleanupService databaseCleanupService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @DynamicPropertySource
+  static void mailProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url",
+        () -> "jdbc:h2:mem:email-broadcast;DB_CLOSE_DELAY=-1;MODE=MySQL");
+    registry.add("mail.host", MAIL_SERVER::getBaseUrl);
+    registry.add("mail.broadcast.batch-size", () -> "3");
+    registry.add("mail.broadcast.max-concurrent-batches", () -> "2");
+    registry.add("mail.broadcast.messages-per-second", () -> "1000");
+  }
+
+  @AfterAll
+  static void stopMailServer() {
+    MAIL_SERVER.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    MAIL_SERVER.reset();
+    databaseCleanupService.clearDatabase();
+    List<User> users = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      users.add(user("subscriber" + i + "@example.com", true, true));
+    }
+    users.add(user("optout@example.com", false, true));
+    users.add(user("unverified@example.com", true, false));
+    userRepository.saveAll(users);
+  }
+
+  @Test
+  void broadcast_sendsBatchesToOptedInVerifiedUsers() throws Exception {
+    BroadcastResponse started = broadcastEmailService.startBroadcast(BroadcastRequest.builder()
+        .subject("Strømbrudd")
+        .message("Strømmen er borte i <Trondheim>.\nHold deg oppdatert.")
+        .build());
+
+    BroadcastResponse finished = awaitFinished(started.getId());
+
+    assertEquals(BroadcastStatus.COMPLETED, finished.getStatus());
+    assertEquals(7, finished.getRecipients());
+    assertEquals(7, finished.getSent());
+    assertEquals(0, finished.getFailed());
+
+    List<FakeMailServer.Request> calls = MAIL_SERVER.getRequests();
+    assertEquals(3, calls.size());
+    List<String> recipients = new ArrayList<>();
+    for (FakeMailServer.Request call : calls) {
+      assertEquals("/api/batch", call.path());
+      JsonNode body = objectMapper.readTree(call.body());
+      assertEquals("Strømbrudd", body.path("base").path("subject").asText());
+      assertTrue(body.path("requests").size() <= 3);
+      for (JsonNode message : body.path("requests")) {
+        recipients.add(message.path("to").get(0).path("email").asText());
+        String html = message.path("html").asText();
+        assertTrue(html.contains("&lt;Trondheim&gt;.<br/>Hold deg oppdatert."));
+        assertTrue(html.contains("Hei Test"));
+      }
+    }
+    assertEquals(7, recipients.size());
+    assertFalse(recipients.contains("optout@example.com"));
+    assertFalse(recipients.contains("unverified@example.com"));
+  }
+
+  @Test
+  void broadcast_failedBatchCall_countsMessagesAsFailedAndContinues() {
+    MAIL_SERVER.failNext(1, 500);
+
+    BroadcastResponse started = broadcastEmailService.startBroadcast(BroadcastRequest.builder()
+        .subject("Varsel")
+        .message("Test")
+        .build());
+
+    BroadcastResponse finished = awaitFinished(started.getId());
+    assertEquals(BroadcastStatus.COMPLETED, finished.getStatus());
+    assertEquals(7, finished.getSent() + finished.getFailed());
+    assertEquals(3, finished.getFailed());
+    assertTrue(finished.getLastError().contains("500"));
+  }
+
+  private BroadcastResponse awaitFinished(UUID id) {
+    long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+    BroadcastResponse response = broadcastEmailService.getBroadcast(id);
+    while (response.getFinishedAt() == null) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Broadcast did not finish: " + response);
+      }
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(e);
+      }
+      response = broadcastEmailService.getBroadcast(id);
+    }
+    return response;
+  }
+
+  private static User user(String email, boolean emailUpdates, boolean emailVerified) {
+    User user = new User();
+    user.setEmail(email);
+    user.setPassword("hashed");
+    user.setFirstName("Test");
+    user.setLastName("Bruker");
+    user.setEmailUpdates(emailUpdates);
+    user.setEmailVerified(emailVerified);
+    return user;
+  }
+
+  private static FakeMailServer startMailServer() {
+    try {
+      return new FakeMailServer();
+    } catch (java.io.IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package stud.ntnu.krisefikser.email;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail.OutboxStatus;
+import stud.ntnu.krisefikser.email.repository.OutboundEmailRepository;
+import stud.ntnu.krisefikser.email.service.EmailOutboxDispatcher;
+import stud.ntnu.krisefikser.email.service.EmailOutboxService;
+
+/**
+ * Delivers queued emails over HTTP to a {@link FakeMailServer} with fast retry settings.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailOutboxIntegrationTest {
+
+  private static final FakeMailServer MAIL_SERVER = startMailServer();
+
+  @Autowired
+  private EmailOutboxService emailOutboxService;
+
+  @Autowired
+  private EmailOutboxDispatcher emailOutboxDispatcher;
+
+  @Autowired
+  private OutboundEmailRepository outboundEmailRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @DynamicPropertySource
+  static void mailProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url",
+        () -> "jdbc:h2:mem:email-outbox;DB_CLOSE_DELAY=-1;MODE=MySQL");
+    registry.add("mail.host", MAIL_SERVER::getBaseUrl);
+    registry.add("mail.outbox.max-attempts", () -> "3");
+    registry.add("mail.outbox.initial-backoff", () -> "PT0.1S");
+    registry.add("mail.outbox.max-backoff", () -> "PT0.2S");
+    registry.add("mail.outbox.poll-interval", () -> "PT0.1S");
+  }
+
+  @AfterAll
+  static void stopMailServer() {
+    MAIL_SERVER.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    MAIL_SERVER.reset();
+    outboundEmailRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void enqueue_deliversEmailAfterCommit() {
+    UUID id = emailOutboxService.enqueue("user@example.com", "Hei", "<p>Hei</p>");
+
+    OutboundEmail email = awaitStatus(id, OutboxStatus.SENT);
+
+    assertEquals(1, email.getAttempts());
+    assertNotNull(email.getSentAt());
+    assertEquals("", email.getHtmlContent());
+    assertEquals(1, MAIL_SERVER.getRequests().size());
+    FakeMailServer.Request request = MAIL_SERVER.getRequests().get(0);
+    assertEquals("POST", request.method());
+    assertEquals("Bearer test-api-key", request.authorization());
+    assertTrue(request.body().contains("\"email\":\"user@example.com\""));
+    assertTrue(request.body().contains("\"subject\":\"Hei\""));
+  }
+
+  @Test
+  void enqueue_retriesTransientFailures() {
+    MAIL_SERVER.failNext(2, 503);
+
+    UUID id = emailOutboxService.enqueue("user@example.com", "Hei", "<p>Hei</p>");
+
+    OutboundEmail email = awaitStatus(id, OutboxStatus.SENT);
+    assertEquals(3, email.getAttempts());
+    assertEquals(3, MAIL_SERVER.getRequests().size());
+  }
+
+  @Test
+  void enqueue_deadLettersAfterMaxAttempts() {
+    MAIL_SERVER.failNext(10, 500);
+
+    UUID id = emailOutboxService.enqueue("user@example.com", "Hei", "<p>Hei</p>");
+
+    OutboundEmail email = awaitStatus(id, OutboxStatus.DEAD);
+    assertEquals(3, email.getAttempts());
+    assertNotNull(email.getLastError());
+    assertEquals(3, MAIL_SERVER.getRequests().size());
+    assertEquals(1L, emailOutboxService.getStatusCounts().get(OutboxStatus.DEAD));
+  }
+
+  @Test
+  void enqueue_rolledBackTransaction_sendsNothing() throws InterruptedException {
+    transactionTemplate.executeWithoutResult(status -> {
+      emailOutboxService.enqueue("user@example.com", "Hei", "<p>Hei</p>");
+      status.setRollbackOnly();
+    });
+
+    Thread.sleep(500);
+    assertEquals(0, outboundEmailRepository.count());
+    assertTrue(MAIL_SERVER.getRequests().isEmpty());
+  }
+
+  @Test
+  void purgeFinishedEmails_deletesOnlyFinishedEmailsPastRetention() {
+    Instant old = Instant.now().minus(Duration.ofDays(30)).truncatedTo(ChronoUnit.MILLIS);
+    OutboundEmail oldSent = outboundEmailRepository.save(email(OutboxStatus.SENT, old));
+    OutboundEmail oldDead = outboundEmailRepository.save(email(OutboxStatus.DEAD, old));
+    OutboundEmail oldPending = outboundEmailRepository.save(email(OutboxStatus.PENDING,
+        Instant.now().plus(Duration.ofDays(1))));
+    oldPending.setCreatedAt(old);
+    outboundEmailRepository.save(oldPending);
+    OutboundEmail recentSent = outboundEmailRepository.save(email(OutboxStatus.SENT,
+        Instant.now().truncatedTo(ChronoUnit.MILLIS)));
+
+    emailOutboxDispatcher.purgeFinishedEmails();
+
+    assertFalse(outboundEmailRepository.existsById(oldSent.getId()));
+    assertFalse(outboundEmailRepository.existsById(oldDead.getId()));
+    assertTrue(outboundEmailRepository.existsById(oldPending.getId()));
+    assertTrue(outboundEmailRepository.existsById(recentSent.getId()));
+  }
+
+  @Test
+  void markFailed_afterClaimWasTakenOver_leavesRowToNewClaim() {
+    // Scheduled in the future so the background poller leaves the row to this test
+    Instant now = Instant.now().plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.MILLIS);
+    OutboundEmail email = outboundEmailRepository.save(email(OutboxStatus.PENDING, now));
+    Instant firstClaim = now.plus(Duration.ofMinutes(5));
+    Instant secondClaim = firstClaim.plus(Duration.ofMinutes(5));
+
+    Integer updated = transactionTemplate.execute(status -> {
+      outboundEmailRepository.claim(email.getId(),
+          EnumSet.of(OutboxStatus.PENDING, OutboxStatus.SENDING), now, firstClaim);
+      outboundEmailRepository.claim(email.getId(),
+          EnumSet.of(OutboxStatus.PENDING, OutboxStatus.SENDING), firstClaim, secondClaim);
+      return outboundEmailRepository.markFailed(email.getId(), firstClaim, OutboxStatus.DEAD, 3,
+          firstClaim, "Failed to send email");
+    });
+
+    assertEquals(0, updated);
+    OutboundEmail stored = outboundEmailRepository.findById(email.getId()).orElseThrow();
+    assertEquals(OutboxStatus.SENDING, stored.getStatus());
+    assertEquals(secondClaim, stored.getNextAttemptAt());
+    assertEquals(0, stored.getAttempts());
+  }
+
+  private static OutboundEmail email(OutboxStatus status, Instant createdAt) {
+    return OutboundEmail.builder()
+        .recipient("user@example.com")
+        .subject("Hei")
+        .htmlContent("<p>Hei</p>")
+        .status(status)
+        .nextAttemptAt(createdAt)
+        .createdAt(createdAt)
+        .build();
+  }
+
+  private OutboundEmail awaitStatus(UUID id, OutboxStatus status) {
+    await(() -> outboundEmailRepository.findById(id)
+        .map(email -> email.getStatus() == status)
+        .orElse(false), Duration.ofSeconds(10));
+    return outboundEmailRepository.findById(id).orElseThrow();
+  }
+
+  private static void await(BooleanSupplier condition, Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Condition not met within " + timeout);
+      }
+      try {
+        Thread.sleep(20);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new AssertionError(e);
+      }
+    }
+  }
+
+  private static FakeMailServer startMailServer() {
+    try {
+      return new FakeMailServer();
+    } catch (java.io.IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package stud.ntnu.krisefikser.email;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Mailtrap send API, used to test email delivery over real HTTP.
+ *
+ * <p>Accepts {@code POST /api/send} and {@code POST /api/batch} on a random loopback port,
+ * records every request, and can be told to fail the next requests with a given status. Batch
+ * calls report every message of the batch as accepted.</p>
+ */
+public class FakeMailServer implements AutoCloseable {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final HttpServer server;
+  private final List<Request> requests = new CopyOnWriteArrayList<>();
+  private final AtomicInteger failuresLeft = new AtomicInteger();
+  private volatile int failureStatus = 503;
+
+  /**
+   * Starts the server on a random free port.
+   *
+   * @throws IOException if the server cannot be started
+   */
+  public FakeMailServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/api/send", this::handle);
+    server.createContext("/api/batch", this::handle);
+    server.start();
+  }
+
+  /**
+   * Returns the base URL to use as {@code mail.host}.
+   *
+   * @return the base URL
+   */
+  public String getBaseUrl() {
+    return "http://localhost:" + server.getAddress().getPort();
+  }
+
+  /**
+   * Makes the next requests fail with the given status.
+   *
+   * @param count  number of requests to fail
+   * @param status the HTTP status to respond with
+   */
+  public void failNext(int count, int status) {
+    failureStatus = status;
+    failuresLeft.set(count);
+  }
+
+  /**
+   * Returns all requests received so far, including failed ones.
+   *
+   * @return the received requests
+   */
+  public List<Request> getRequests() {
+    return List.copyOf(requests);
+  }
+
+  /**
+   * Forgets received requests and pending failures.
+   */
+  public void reset() {
+    requests.clear();
+    failuresLeft.set(0);
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String body;
+    try (InputStream in = exchange.getRequestBody()) {
+      body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    String path = exchange.getRequestURI().getPath();
+    requests.add(new Request(exchange.getRequestMethod(), path,
+        exchange.getRequestHeaders().getFirst("Authorization"), body));
+
+    boolean fail = failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0;
+    String success = "{\"success\":true}";
+    if (path.endsWith("/batch")) {
+      JsonNode messages = OBJECT_MAPPER.readTree(body).path("requests");
+      success = "{\"success\":true,\"responses\":["
+          + String.join(",", Collections.nCopies(messages.size(), success)) + "]}";
+    }
+    byte[] response = (fail ? "{\"errors\":[\"unavailable\"]}" : success)
+        .getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(fail ? failureStatus : 200, response.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(response);
+    }
+  }
+
+  /**
+   * A received request.
+   *
+   * @param method        the HTTP method
+   * @param path          the request path
+   * @param authorization the Authorization header
+   * @param body          the request body
+   */
+  public record Request(String method, String path, String authorization, String body) {
+
+  }
+}
@@ -0,0 +1,82 @@
+package stud.ntnu.krisefikser.email.benchmark;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.FileCopyUtils;
+import stud.ntnu.krisefikser.email.service.EmailTemplateService;
+
+/**
+ * JMH benchmark comparing the cached, precompiled template rendering with the previous approach
+ * of reading the template from the classpath and running one {@code String.replace} per variable.
+ *
+ * <p>Run through {@link EmailTemplateRenderBenchmarkTest}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmailTemplateRenderBenchmark {
+
+  @Param({"verification.html", "password-change-notification.html"})
+  public String template;
+
+  private EmailTemplateService service;
+  private Map<String, String> variables;
+
+  /**
+   * Creates the service and warms its cache.
+   */
+  @Setup
+  public void setUp() {
+    service = new EmailTemplateService();
+    variables = Map.of(
+        "name", "Ola",
+        "firstName", "Ola",
+        "link", "https://krisefikser.no/verify?token=6f1c0c9e-5a4e-4d7e-9a53-3f1f3b0d2c11",
+        "resetLink", "https://krisefikser.no/reset?token=6f1c0c9e-5a4e-4d7e-9a53-3f1f3b0d2c11",
+        "expirationHours", "24");
+    service.loadAndReplace(template, variables);
+  }
+
+  /**
+   * Renders with the compiled template cache.
+   *
+   * @return the rendered email
+   */
+  @Benchmark
+  public String compiled() {
+    return service.loadAndReplace(template, variables);
+  }
+
+  /**
+   * Renders the way the service did before templates were compiled.
+   *
+   * @return the rendered email
+   * @throws IOException if the template cannot be read
+   */
+  @Benchmark
+  public String readAndReplace() throws IOException {
+    ClassPathResource resource = new ClassPathResource("templates/" + template);
+    String content;
+    try (Reader reader = new InputStreamReader(resource.getInputStream(),
+        StandardCharsets.UTF_8)) {
+      content = FileCopyUtils.copyToString(reader);
+    }
+    for (Map.Entry<String, String> entry : variables.entrySet()) {
+      content = content.replace("{{" + entry.getKey() + "}}", entry.getValue());
+    }
+    return content;
+  }
+}
@@ -0,0 +1,58 @@
+package stud.ntnu.krisefikser.email.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs {@link EmailTemplateRenderBenchmark} and checks that compiled rendering is faster than
+ * reading and replacing.
+ *
+ * <p>Skipped unless requested, since it takes about a minute:</p>
+ * <pre>
+ * mvn test -Dtest=EmailTemplateRenderBenchmarkTest -Dbenchmark.emailTemplates=true
+ * </pre>
+ *
+ * <p>The benchmark runs in the test JVM, because Surefire's classpath cannot be handed to a
+ * forked JMH process. Numbers are therefore a little noisier than a forked run.</p>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.emailTemplates", matches = "true")
+class EmailTemplateRenderBenchmarkTest {
+
+  @Test
+  void compiledRendering_ShouldOutperformReadAndReplace() throws RunnerException {
+    Options options = new OptionsBuilder()
+        .include(EmailTemplateRenderBenchmark.class.getName())
+        .forks(0)
+        .warmupIterations(3)
+        .warmupTime(TimeValue.seconds(2))
+        .measurementIterations(5)
+        .measurementTime(TimeValue.seconds(2))
+        .build();
+
+    Collection<RunResult> results = new Runner(options).run();
+
+    Map<String, Double> scores = results.stream().collect(Collectors.toMap(
+        result -> result.getParams().getBenchmark().replaceAll(".*\\.", "") + " "
+            + result.getParams().getParam("template"),
+        result -> result.getPrimaryResult().getScore()));
+    scores.forEach((name, score) -> System.out.printf("%-55s %12.1f ops/ms%n", name, score));
+    for (String template : new String[] {"verification.html",
+        "password-change-notification.html"}) {
+      assertThat(scores.get("compiled " + template))
+          .isGreaterThan(scores.get("readAndReplace " + template));
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package stud.ntnu.krisefikser.email.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
+import stud.ntnu.krisefikser.auth.service.TokenService;
+import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.email.dto.BroadcastResponse;
+import stud.ntnu.krisefikser.email.enums.BroadcastStatus;
+import stud.ntnu.krisefikser.email.exception.BroadcastNotFoundException;
+import stud.ntnu.krisefikser.email.service.BroadcastEmailService;
+
+@WebMvcTest(controllers = BroadcastController.class)
+@Import(TestSecurityConfig.class)
+class BroadcastControllerTest {
+
+  private static final String BODY = "{\"subject\":\"Varsel\",\"message\":\"Hei\"}";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private BroadcastEmailService broadcastEmailService;
+
+  @MockitoBean
+  private CustomUserDetailsService userDetailsService;
+
+  @MockitoBean
+  private TokenService tokenService;
+
+  @Test
+  @WithMockUser(roles = "ADMIN")
+  void startBroadcast_asAdmin_returnsAccepted() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(broadcastEmailService.startBroadcast(any())).thenReturn(BroadcastResponse.builder()
+        .id(id).subject("Varsel").status(BroadcastStatus.QUEUED).build());
+
+    mockMvc.perform(post("/api/broadcasts").contentType(MediaType.APPLICATION_JSON)
+            .content(BODY))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value(id.toString()))
+        .andExpect(jsonPath("$.status").value("QUEUED"));
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  void startBroadcast_asUser_isForbidden() throws Exception {
+    mockMvc.perform(post("/api/broadcasts").contentType(MediaType.APPLICATION_JSON)
+            .content(BODY))
+        .andExpect(status().isForbidden());
+
+    verify(broadcastEmailService, never()).startBroadcast(any());
+  }
+
+  @Test
+  @WithMockUser(roles = "ADMIN")
+  void startBroadcast_withoutMessage_isBadRequest() throws Exception {
+    mockMvc.perform(post("/api/broadcasts").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"subject\":\"Varsel\"}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @WithMockUser(roles = "ADMIN")
+  void getBroadcast_unknownId_isNotFound() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(broadcastEmailService.getBroadcast(id)).thenThrow(new BroadcastNotFoundException(id));
+
+    mockMvc.perform(get("/api/broadcasts/{id}", id))
+        .andExpect(status().isNotFound());
+  }
+}
@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,7 +26,7 @@ import stud.ntnu.krisefikser.email.exception.EmailSendingException;
 class EmailAdminServiceTest {
 
   @Mock
-  private EmailService emailService;
+  private EmailOutboxService emailOutboxService;
 
   @Mock
   private EmailTemplateService emailTemplateService;
@@ -52,19 +53,20 @@ class EmailAdminServiceTest {
 
     when(emailTemplateService.loadAndReplace(eq("admin-invite.html"), eq(expectedVariables)))
         .thenReturn(testTemplateContent);
-    when(emailService.sendEmail(eq(testEmail), eq("Admin Invitation - Krisefikser"),
+    UUID emailId = UUID.randomUUID();
+    when(emailOutboxService.enqueue(eq(testEmail), eq("Admin Invitation - Krisefikser"),
         eq(testTemplateContent)))
-        .thenReturn(ResponseEntity.ok("Email sent successfully"));
+        .thenReturn(emailId);
 
     // Act
     ResponseEntity<String> response = emailAdminService.sendAdminInvitation(testEmail,
         testInviteLink);
 
     // Assert
-    assertEquals(HttpStatus.OK, response.getStatusCode());
-    assertEquals("Email sent successfully", response.getBody());
+    assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    assertEquals(emailId.toString(), response.getBody());
     verify(emailTemplateService).loadAndReplace(eq("admin-invite.html"), eq(expectedVariables));
-    verify(emailService).sendEmail(eq(testEmail), eq("Admin Invitation - Krisefikser"),
+    verify(emailOutboxService).enqueue(eq(testEmail), eq("Admin Invitation - Krisefikser"),
         eq(testTemplateContent));
   }
 
@@ -76,7 +78,7 @@ class EmailAdminServiceTest {
     );
 
     assertEquals("Email or invite link is null", exception.getMessage());
-    verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    verify(emailOutboxService, never()).enqueue(anyString(), anyString(), anyString());
   }
 
   @Test
@@ -87,7 +89,7 @@ class EmailAdminServiceTest {
     );
 
     assertEquals("Email or invite link is null", exception.getMessage());
-    verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+    verify(emailOutboxService, never()).enqueue(anyString(), anyString(), anyString());
   }
 
   @Test
@@ -100,7 +102,7 @@ class EmailAdminServiceTest {
         .thenReturn(testTemplateContent);
 
     EmailSendingException originalException = new EmailSendingException("Original error");
-    when(emailService.sendEmail(anyString(), anyString(), anyString()))
+    when(emailOutboxService.enqueue(anyString(), anyString(), anyString()))
         .thenThrow(originalException);
 
     // Act & Assert
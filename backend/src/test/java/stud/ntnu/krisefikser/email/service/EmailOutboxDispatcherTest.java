@@ -0,0 +1,185 @@
+package stud.ntnu.krisefikser.email.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.email.config.EmailOutboxProperties;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail;
+import stud.ntnu.krisefikser.email.entity.OutboundEmail.OutboxStatus;
+import stud.ntnu.krisefikser.email.exception.EmailSendingException;
+import stud.ntnu.krisefikser.email.repository.OutboundEmailRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+  @Mock
+  private OutboundEmailRepository outboundEmailRepository;
+  @Mock
+  private EmailService emailService;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private EmailOutboxProperties properties;
+  private EmailOutboxDispatcher dispatcher;
+  private OutboundEmail email;
+
+  @BeforeEach
+  void setUp() {
+    properties = new EmailOutboxProperties();
+    properties.setMaxAttempts(3);
+    properties.setInitialBackoff(Duration.ofSeconds(30));
+    properties.setMaxBackoff(Duration.ofMinutes(5));
+    dispatcher = new EmailOutboxDispatcher(outboundEmailRepository, emailService, properties,
+        new TransactionTemplate(transactionManager), new SyncTaskExecutor());
+
+    email = OutboundEmail.builder()
+        .id(UUID.randomUUID())
+        .recipient("user@example.com")
+        .subject("Hei")
+        .htmlContent("<p>Hei</p>")
+        .status(OutboxStatus.PENDING)
+        .nextAttemptAt(Instant.now())
+        .createdAt(Instant.now())
+        .build();
+  }
+
+  private void givenClaimable() {
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    when(outboundEmailRepository.claim(eq(email.getId()), anyCollection(), any(), any()))
+        .thenReturn(1);
+    when(outboundEmailRepository.findById(email.getId())).thenReturn(Optional.of(email));
+  }
+
+  @Test
+  void backoff_doublesUpToMaximum() {
+    assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+    assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+    assertEquals(Duration.ofSeconds(240), dispatcher.backoff(4));
+    assertEquals(Duration.ofMinutes(5), dispatcher.backoff(5));
+    assertEquals(Duration.ofMinutes(5), dispatcher.backoff(40));
+  }
+
+  @Test
+  void dispatch_success_marksSentUnderItsClaim() {
+    givenClaimable();
+    when(emailService.sendEmail(anyString(), anyString(), anyString()))
+        .thenReturn(ResponseEntity.ok("ok"));
+    when(outboundEmailRepository.markSent(eq(email.getId()), any(), eq(1), any()))
+        .thenReturn(1);
+
+    dispatcher.dispatch(email.getId());
+
+    ArgumentCaptor<Instant> claimUntil = ArgumentCaptor.forClass(Instant.class);
+    verify(outboundEmailRepository).claim(eq(email.getId()), anyCollection(), any(),
+        claimUntil.capture());
+    verify(outboundEmailRepository).markSent(eq(email.getId()), eq(claimUntil.getValue()),
+        eq(1), any());
+    assertEquals(1, dispatcher.getStats().sent());
+  }
+
+  @Test
+  void dispatch_failure_schedulesRetryWithBackoff() {
+    givenClaimable();
+    when(emailService.sendEmail(anyString(), anyString(), anyString()))
+        .thenThrow(new EmailSendingException("Failed to send email"));
+    when(outboundEmailRepository.markFailed(eq(email.getId()), any(), eq(OutboxStatus.PENDING),
+        eq(1), any(), eq("Failed to send email"))).thenReturn(1);
+
+    Instant before = Instant.now();
+    dispatcher.dispatch(email.getId());
+
+    ArgumentCaptor<Instant> nextAttemptAt = ArgumentCaptor.forClass(Instant.class);
+    verify(outboundEmailRepository).markFailed(eq(email.getId()), any(),
+        eq(OutboxStatus.PENDING), eq(1), nextAttemptAt.capture(), eq("Failed to send email"));
+    assertEquals(30, Duration.between(before, nextAttemptAt.getValue()).toSeconds(), 1);
+    assertEquals(1, dispatcher.getStats().failedAttempts());
+  }
+
+  @Test
+  void dispatch_lastAttemptFails_deadLetters() {
+    givenClaimable();
+    email.setAttempts(2);
+    when(emailService.sendEmail(anyString(), anyString(), anyString()))
+        .thenThrow(new EmailSendingException("Failed to send email"));
+    when(outboundEmailRepository.markFailed(eq(email.getId()), any(), eq(OutboxStatus.DEAD),
+        eq(3), any(), anyString())).thenReturn(1);
+
+    dispatcher.dispatch(email.getId());
+
+    assertEquals(1, dispatcher.getStats().deadLettered());
+  }
+
+  @Test
+  void dispatch_claimExpiredBeforeOutcome_leavesEmailToNewClaim() {
+    givenClaimable();
+    email.setAttempts(2);
+    when(emailService.sendEmail(anyString(), anyString(), anyString()))
+        .thenThrow(new EmailSendingException("Failed to send email"));
+    when(outboundEmailRepository.markFailed(eq(email.getId()), any(), any(), eq(3), any(),
+        anyString())).thenReturn(0);
+
+    dispatcher.dispatch(email.getId());
+
+    assertEquals(0, dispatcher.getStats().deadLettered());
+    verify(outboundEmailRepository, never()).save(any());
+  }
+
+  @Test
+  void purgeFinishedEmails_deletesSentAndDeadPastRetention() {
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+    Instant before = Instant.now().minus(properties.getRetention());
+    dispatcher.purgeFinishedEmails();
+
+    verify(outboundEmailRepository).deleteByStatusInAndCreatedAtBefore(
+        eq(EnumSet.of(OutboxStatus.SENT, OutboxStatus.DEAD)),
+        argThat(cutoff -> !cutoff.isBefore(before)));
+  }
+
+  @Test
+  void dispatch_notClaimed_doesNotSend() {
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    when(outboundEmailRepository.claim(eq(email.getId()), anyCollection(), any(), any()))
+        .thenReturn(0);
+
+    dispatcher.dispatch(email.getId());
+
+    verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void dispatch_poolSaturated_leavesEmailForPoller() {
+    dispatcher = new EmailOutboxDispatcher(outboundEmailRepository, emailService, properties,
+        new TransactionTemplate(transactionManager), task -> {
+          throw new TaskRejectedException("full");
+        });
+
+    dispatcher.dispatch(email.getId());
+
+    verify(outboundEmailRepository, never()).claim(any(), anyCollection(), any(), any());
+  }
+}
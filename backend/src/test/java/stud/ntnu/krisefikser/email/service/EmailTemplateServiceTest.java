@@ -140,4 +140,48 @@ class EmailTemplateServiceTest {
 
     assertEquals("Template name cannot be null", exception.getMessage());
   }
-}
\ No newline at end of file
+
+  @Test
+  void loadAndReplace_CalledTwice_ShouldReuseCompiledTemplate() {
+    Map<String, String> variables = Map.of("name", "John", "code", "1");
+
+    String first = emailTemplateService.loadAndReplace(TEST_TEMPLATE, variables);
+    String second = emailTemplateService.loadAndReplace(TEST_TEMPLATE,
+        Map.of("name", "Jane", "code", "2"));
+
+    assertEquals("Hello John, your verification code is 1. ", first);
+    assertEquals("Hello Jane, your verification code is 2. ", second);
+  }
+
+  @Test
+  void precompileTemplates_ShouldCompileAllHtmlTemplates() {
+    emailTemplateService.precompileTemplates();
+
+    String result = emailTemplateService.loadAndReplace("verification.html",
+        Map.of("name", "Ola", "link", "https://example.com/verify"));
+
+    assertTrue(result.contains("Ola"));
+    assertTrue(result.contains("https://example.com/verify"));
+    assertFalse(result.contains("{{link}}"));
+  }
+
+  @Test
+  void compile_ShouldKeepNonPlaceholderBracesAsLiteralText() {
+    EmailTemplateService.CompiledTemplate template = EmailTemplateService.CompiledTemplate
+        .compile("<style>a{{color:red}}</style>{{name}} {{}} {{ name }} {{name");
+
+    String result = template.render(Map.of("name", "Kari"));
+
+    assertEquals("<style>a{{color:red}}</style>Kari {{}} {{ name }} {{name", result);
+  }
+
+  @Test
+  void compile_ShouldNotExpandPlaceholdersInsideValues() {
+    EmailTemplateService.CompiledTemplate template = EmailTemplateService.CompiledTemplate
+        .compile("{{a}}-{{b}}");
+
+    String result = template.render(Map.of("a", "{{b}}", "b", "x"));
+
+    assertEquals("{{b}}-x", result);
+  }
+}
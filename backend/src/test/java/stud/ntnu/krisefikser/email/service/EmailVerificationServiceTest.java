@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -27,6 +28,7 @@ import org.springframework.http.ResponseEntity;
 import stud.ntnu.krisefikser.config.FrontendConfig;
 import stud.ntnu.krisefikser.email.config.MailProperties;
 import stud.ntnu.krisefikser.email.entity.VerificationToken;
+import stud.ntnu.krisefikser.email.exception.EmailSendingException;
 import stud.ntnu.krisefikser.email.repository.VerificationTokenRepository;
 import stud.ntnu.krisefikser.user.entity.User;
 
@@ -35,10 +37,11 @@ class EmailVerificationServiceTest {
 
   private static final String TEST_FRONTEND_URL = "http://localhost:3000";
   private static final long TOKEN_VALIDITY_HOURS = 24;
+  private static final UUID EMAIL_ID = UUID.randomUUID();
   @Mock
   private VerificationTokenRepository tokenRepository;
   @Mock
-  private EmailService emailService;
+  private EmailOutboxService emailOutboxService;
   @Mock
   private EmailTemplateService emailTemplateService;
   @Mock
@@ -200,18 +203,17 @@ class EmailVerificationServiceTest {
         .used(false)
         .build();
 
-    ResponseEntity<String> expectedResponse = ResponseEntity.ok("Email sent successfully");
-    when(emailService.sendEmail(anyString(), anyString(), anyString()))
-        .thenReturn(expectedResponse);
+    when(emailOutboxService.enqueue(anyString(), anyString(), anyString()))
+        .thenReturn(EMAIL_ID);
 
     // Act
     ResponseEntity<String> response = emailVerificationService.sendVerificationEmail(testUser,
         token);
 
     // Assert
-    assertEquals(HttpStatus.OK, response.getStatusCode());
-    assertEquals("Email sent successfully", response.getBody());
-    verify(emailService).sendEmail(
+    assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    assertEquals(EMAIL_ID.toString(), response.getBody());
+    verify(emailOutboxService).enqueue(
         eq(testUser.getEmail()),
         eq("Please verify your email address"),
         anyString()
@@ -224,10 +226,8 @@ class EmailVerificationServiceTest {
     // Arrange
     String resetLink = TEST_FRONTEND_URL + "/verifiser-passord-tilbakestilling?token=test-token";
     long expirationHours = 24;
-    ResponseEntity<String> expectedResponse = ResponseEntity.ok("Email sent successfully");
-
-    when(emailService.sendEmail(anyString(), anyString(), anyString()))
-        .thenReturn(expectedResponse);
+    when(emailOutboxService.enqueue(anyString(), anyString(), anyString()))
+        .thenReturn(EMAIL_ID);
 
     // Act
     ResponseEntity<String> response = emailVerificationService.sendPasswordResetEmail(
@@ -237,9 +237,9 @@ class EmailVerificationServiceTest {
     );
 
     // Assert
-    assertEquals(HttpStatus.OK, response.getStatusCode());
-    assertEquals("Email sent successfully", response.getBody());
-    verify(emailService).sendEmail(
+    assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    assertEquals(EMAIL_ID.toString(), response.getBody());
+    verify(emailOutboxService).enqueue(
         eq(testUser.getEmail()),
         eq("Reset your password"),
         anyString()
@@ -247,35 +247,23 @@ class EmailVerificationServiceTest {
   }
 
   @Test
-  void sendPasswordResetEmail_ClientError() {
+  void sendPasswordResetEmail_QueueingFails() {
     // Arrange
     String resetLink = TEST_FRONTEND_URL + "/verifiser-passord-tilbakestilling?token=test-token";
-    long expirationHours = 24;
-    String errorMessage = "Invalid email address";
-
-    when(emailService.sendEmail(anyString(), anyString(), anyString()))
-        .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage));
-
-    // Act
-    ResponseEntity<String> response = emailVerificationService.sendPasswordResetEmail(
-        testUser,
-        resetLink,
-        expirationHours
-    );
+    when(emailOutboxService.enqueue(anyString(), anyString(), any()))
+        .thenThrow(new EmailSendingException("Email content cannot be null"));
 
-    // Assert
-    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-    assertEquals(errorMessage, response.getBody());
+    // Act & Assert
+    assertThrows(EmailSendingException.class,
+        () -> emailVerificationService.sendPasswordResetEmail(testUser, resetLink, 24));
   }
 
   @Test
   void sendAdminLoginVerificationEmail_Success() {
     // Arrange
     String verificationLink = TEST_FRONTEND_URL + "/admin-verifisering?token=test-token";
-    ResponseEntity<String> expectedResponse = ResponseEntity.ok("Email sent successfully");
-
-    when(emailService.sendEmail(anyString(), anyString(), anyString()))
-        .thenReturn(expectedResponse);
+    when(emailOutboxService.enqueue(anyString(), anyString(), anyString()))
+        .thenReturn(EMAIL_ID);
 
     // Act
     ResponseEntity<String> response = emailVerificationService.sendAdminLoginVerificationEmail(
@@ -284,9 +272,9 @@ class EmailVerificationServiceTest {
     );
 
     // Assert
-    assertEquals(HttpStatus.OK, response.getStatusCode());
-    assertEquals("Email sent successfully", response.getBody());
-    verify(emailService).sendEmail(
+    assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+    assertEquals(EMAIL_ID.toString(), response.getBody());
+    verify(emailOutboxService).enqueue(
         eq(testUser.getEmail()),
         eq("Admin Login Verification"),
         anyString()
@@ -294,22 +282,15 @@ class EmailVerificationServiceTest {
   }
 
   @Test
-  void sendAdminLoginVerificationEmail_ClientError() {
+  void sendAdminLoginVerificationEmail_QueueingFails() {
     // Arrange
     String verificationLink = TEST_FRONTEND_URL + "/admin-verifisering?token=test-token";
-    String errorMessage = "Invalid email address";
-
-    when(emailService.sendEmail(anyString(), anyString(), anyString()))
-        .thenReturn(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorMessage));
-
-    // Act
-    ResponseEntity<String> response = emailVerificationService.sendAdminLoginVerificationEmail(
-        testUser,
-        verificationLink
-    );
+    when(emailOutboxService.enqueue(anyString(), anyString(), any()))
+        .thenThrow(new EmailSendingException("Email content cannot be null"));
 
-    // Assert
-    assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-    assertEquals(errorMessage, response.getBody());
+    // Act & Assert
+    assertThrows(EmailSendingException.class,
+        () -> emailVerificationService.sendAdminLoginVerificationEmail(testUser,
+            verificationLink));
   }
 }
\ No newline at end of file
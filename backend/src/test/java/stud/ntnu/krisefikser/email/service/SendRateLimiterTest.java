@@ -0,0 +1,44 @@
+package stud.ntnu.krisefikser.email.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SendRateLimiterTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  void reserve_firstCallDoesNotWait() {
+    SendRateLimiter limiter = new SendRateLimiter(100);
+
+    assertEquals(0, limiter.reserve(500, 0));
+  }
+
+  @Test
+  void reserve_spacesBatchesByTheirSize() {
+    SendRateLimiter limiter = new SendRateLimiter(100);
+
+    limiter.reserve(500, 0);
+
+    assertEquals(5 * SECOND, limiter.reserve(100, 0));
+    assertEquals(6 * SECOND - SECOND / 2, limiter.reserve(100, SECOND / 2));
+  }
+
+  @Test
+  void reserve_afterIdlePeriod_doesNotBuildUpCredit() {
+    SendRateLimiter limiter = new SendRateLimiter(100);
+
+    limiter.reserve(100, 0);
+
+    assertEquals(0, limiter.reserve(100, 10 * SECOND));
+    assertEquals(SECOND, limiter.reserve(100, 10 * SECOND));
+  }
+
+  @Test
+  void constructor_rejectsNonPositiveRate() {
+    assertThrows(IllegalArgumentException.class, () -> new SendRateLimiter(0));
+  }
+}
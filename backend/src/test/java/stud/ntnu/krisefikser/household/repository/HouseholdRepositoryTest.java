@@ -218,4 +218,32 @@ class HouseholdRepositoryTest {
     assertThat(updatedHousehold.get().getAddress()).isEqualTo("Updated Address");
     assertThat(updatedHousehold.get().getWaterLiters()).isEqualTo(500.0);
   }
-}
\ No newline at end of file
+
+  @Test
+  void countWithinRadius_ShouldCountOnlyHouseholdsInsideCircle() {
+    User owner = User.builder()
+        .email("radius-owner@example.com")
+        .password("password")
+        .build();
+    entityManager.persist(owner);
+    // Roughly 550 m north, 560 m east and 1 km north-east of the center
+    for (double[] position : new double[][] {
+        {63.4355, 10.3951}, {63.4305, 10.4063}, {63.4375, 10.4091}}) {
+      entityManager.persist(Household.builder()
+          .name("Household " + position[0] + position[1])
+          .owner(owner)
+          .address("Address")
+          .city("Trondheim")
+          .postalCode("7030")
+          .latitude(position[0])
+          .longitude(position[1])
+          .waterLiters(0.0)
+          .build());
+    }
+    entityManager.flush();
+
+    assertThat(householdRepository.countWithinRadius(63.4305, 10.3951, 600)).isEqualTo(2);
+    assertThat(householdRepository.countWithinRadius(63.4305, 10.3951, 1_200)).isEqualTo(3);
+    assertThat(householdRepository.countWithinRadius(63.4305, 10.3951, 100)).isZero();
+  }
+}
@@ -0,0 +1,107 @@
+package stud.ntnu.krisefikser.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import stud.ntnu.krisefikser.common.AbstractIntegrationTest;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun.RunStatus;
+import stud.ntnu.krisefikser.item.entity.FoodItem;
+import stud.ntnu.krisefikser.item.repository.ExpiryReminderRunRepository;
+import stud.ntnu.krisefikser.item.repository.FoodItemRepository;
+import stud.ntnu.krisefikser.item.service.ExpirationNotificationService;
+import stud.ntnu.krisefikser.notification.entity.NotificationType;
+import stud.ntnu.krisefikser.notification.repository.NotificationRepository;
+import stud.ntnu.krisefikser.user.entity.User;
+import stud.ntnu.krisefikser.user.repository.UserRepository;
+
+public class ExpiryReminderIntegrationTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private ExpirationNotificationService expirationNotificationService;
+
+  @Autowired
+  private ExpiryReminderRunRepository runRepository;
+
+  @Autowired
+  private FoodItemRepository foodItemRepository;
+
+  @Autowired
+  private NotificationRepository notificationRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private User user;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    setUpUser();
+    notificationRepository.deleteAllInBatch();
+    runRepository.deleteAllInBatch();
+    foodItemRepository.deleteAllInBatch();
+
+    user = getTestUser();
+    user.setNotifications(true);
+    userRepository.save(user);
+
+    foodItemRepository.save(FoodItem.builder()
+        .name("Melk")
+        .kcal(60)
+        .expirationDate(Instant.now().plusSeconds(86400))
+        .household(getTestHousehold())
+        .build());
+  }
+
+  @Test
+  void rerunOnSameDay_ShouldNotNotifyAgain() {
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+
+    assertThat(countExpiryReminders()).isEqualTo(1);
+    ExpiryReminderRun run = runRepository.findByRunDate(LocalDate.now()).orElseThrow();
+    assertThat(run.getStatus()).isEqualTo(RunStatus.COMPLETED);
+    assertThat(run.getDigestsCreated()).isEqualTo(1);
+  }
+
+  @Test
+  void nextDayRun_ShouldNotRemindAboutAlreadyNotifiedItem() {
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+    ExpiryReminderRun yesterday = runRepository.findByRunDate(LocalDate.now()).orElseThrow();
+    yesterday.setRunDate(LocalDate.now().minusDays(1));
+    yesterday.setStartedAt(yesterday.getStartedAt().minusSeconds(86400));
+    runRepository.save(yesterday);
+
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+
+    assertThat(countExpiryReminders()).isEqualTo(1);
+    assertThat(runRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void interruptedRun_ShouldResumeAfterCheckpoint() {
+    runRepository.save(ExpiryReminderRun.builder()
+        .runDate(LocalDate.now())
+        .status(RunStatus.RUNNING)
+        .startedAt(Instant.now())
+        .lastUserId(new UUID(-1L, -1L))
+        .build());
+
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+
+    assertThat(countExpiryReminders()).isZero();
+    assertThat(runRepository.findByRunDate(LocalDate.now()).orElseThrow().getStatus())
+        .isEqualTo(RunStatus.COMPLETED);
+  }
+
+  private long countExpiryReminders() {
+    return notificationRepository.findByUser(user).stream()
+        .filter(notification -> notification.getType() == NotificationType.EXPIRY_REMINDER)
+        .count();
+  }
+}
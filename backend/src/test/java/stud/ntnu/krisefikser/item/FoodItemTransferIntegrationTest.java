@@ -0,0 +1,139 @@
+package stud.ntnu.krisefikser.item;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import stud.ntnu.krisefikser.common.AbstractIntegrationTest;
+import stud.ntnu.krisefikser.common.TestDataFactory;
+import stud.ntnu.krisefikser.item.dto.CreateFoodItemRequest;
+import stud.ntnu.krisefikser.item.entity.FoodItem;
+import stud.ntnu.krisefikser.item.repository.FoodItemRepository;
+
+class FoodItemTransferIntegrationTest extends AbstractIntegrationTest {
+
+  private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private FoodItemRepository foodItemRepository;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    setUpUser();
+    foodItemRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void importJson_withMoreItemsThanOneChunk_shouldStoreAllItems() throws Exception {
+    Instant expiry = Instant.now().plus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+    List<CreateFoodItemRequest> items = new ArrayList<>();
+    for (int i = 0; i < 1_200; i++) {
+      items.add(TestDataFactory.createTestFoodItemRequest("Vare " + i, i, expiry));
+    }
+
+    mockMvc.perform(withJwtAuth(post("/api/items/food/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(items))))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.imported").value(1_200));
+
+    assertThat(foodItemRepository.findByHousehold(getTestHousehold())).hasSize(1_200);
+  }
+
+  @Test
+  void importCsv_shouldParseQuotedFields() throws Exception {
+    String csv = "name,icon,kcal,expirationDate\r\n"
+        + "\"Tomater, hermetiske\",can,80,2030-01-01T00:00:00Z\r\n"
+        + "Knekkebrød,bread,350,\r\n";
+
+    mockMvc.perform(withJwtAuth(post("/api/items/food/import")
+            .contentType(TEXT_CSV)
+            .content(csv)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.imported").value(2));
+
+    assertThat(foodItemRepository.findByHousehold(getTestHousehold()))
+        .extracting(FoodItem::getName)
+        .containsExactlyInAnyOrder("Tomater, hermetiske", "Knekkebrød");
+  }
+
+  @Test
+  void import_withInvalidItems_shouldRejectEverythingAndReportAllErrors() throws Exception {
+    String csv = "name,icon,kcal,expirationDate\n"
+        + "Melk,milk,60,2030-01-01T00:00:00Z\n"
+        + ",milk,60,2030-01-01T00:00:00Z\n"
+        + "Ost,cheese,mye,i morgen\n";
+
+    mockMvc.perform(withJwtAuth(post("/api/items/food/import")
+            .contentType(TEXT_CSV)
+            .content(csv)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.properties.errors.length()").value(3))
+        .andExpect(jsonPath("$.properties.errors", hasItem("Item 2: name: Name is required")))
+        .andExpect(jsonPath("$.properties.errors", hasItem("Item 3: kcal: must be a whole number")));
+
+    assertThat(foodItemRepository.findByHousehold(getTestHousehold())).isEmpty();
+  }
+
+  @Test
+  void importJson_whenMalformed_shouldReturnBadRequest() throws Exception {
+    mockMvc.perform(withJwtAuth(post("/api/items/food/import")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"name\":\"Melk\",\"icon\":\"milk\",\"kcal\":60},{\"name\":")))
+        .andExpect(status().isBadRequest());
+
+    assertThat(foodItemRepository.findByHousehold(getTestHousehold())).isEmpty();
+  }
+
+  @Test
+  void export_shouldStreamItemsSoonestFirstAsJsonAndCsv() throws Exception {
+    Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    foodItemRepository.save(FoodItem.builder().name("Ris").icon("rice").kcal(350)
+        .expirationDate(now.plus(60, ChronoUnit.DAYS)).household(getTestHousehold()).build());
+    foodItemRepository.save(FoodItem.builder().name("Melk, lett").icon("milk").kcal(40)
+        .expirationDate(now.plus(2, ChronoUnit.DAYS)).household(getTestHousehold()).build());
+
+    String json = mockMvc.perform(withJwtAuth(get("/api/items/food/export")))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"matvarer.json\""))
+        .andReturn().getResponse().getContentAsString();
+    JsonNode items = objectMapper.readTree(json);
+    assertThat(items).hasSize(2);
+    assertThat(items.get(0).get("name").asText()).isEqualTo("Melk, lett");
+
+    String csv = mockMvc.perform(withJwtAuth(get("/api/items/food/export").param("format", "CSV")))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+    assertThat(csv.split("\r\n")).containsExactly(
+        "name,icon,kcal,expirationDate",
+        "\"Melk, lett\",milk,40," + now.plus(2, ChronoUnit.DAYS),
+        "Ris,rice,350," + now.plus(60, ChronoUnit.DAYS));
+  }
+
+  @Test
+  void export_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+    mockMvc.perform(withJwtAuth(get("/api/items/food/export").param("format", "xml")))
+        .andExpect(status().isBadRequest());
+  }
+}
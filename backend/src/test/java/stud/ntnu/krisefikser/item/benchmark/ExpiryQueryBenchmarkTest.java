@@ -0,0 +1,125 @@
+package stud.ntnu.krisefikser.item.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.household.entity.Household;
+import stud.ntnu.krisefikser.item.dto.ExpiringItemRecipient;
+import stud.ntnu.krisefikser.item.repository.FoodItemRepository;
+
+/**
+ * Benchmarks the expiry range scan, the first chunk of the daily reminder job and the
+ * per-household listing against a generated dataset.
+ *
+ * <p>Skipped unless a dataset size is given, since generating millions of rows takes minutes:</p>
+ * <pre>
+ * mvn test -Dtest=ExpiryQueryBenchmarkTest -Dbenchmark.foodItems=2000000
+ * </pre>
+ *
+ * <p>The benchmark uses its own in-memory database so the generated rows never leak into other
+ * tests.</p>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.foodItems", matches = "\\d+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:expiry-benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class ExpiryQueryBenchmarkTest {
+
+  private static final Duration BUDGET = Duration.ofSeconds(1);
+  private static final int DIGEST_CHUNK = 100;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private FoodItemRepository foodItemRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private FoodItemBenchmarkDataGenerator generator;
+  private Instant now;
+
+  @BeforeAll
+  void generateDataset() {
+    long itemCount = Long.getLong("benchmark.foodItems");
+    now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    generator = new FoodItemBenchmarkDataGenerator(jdbcTemplate);
+    long start = System.nanoTime();
+    generator.generate(itemCount, now);
+    jdbcTemplate.execute("ANALYZE");
+    System.out.printf("Generated %d food items in %d households in %d ms%n", itemCount,
+        generator.getHouseholdIds().size(), (System.nanoTime() - start) / 1_000_000);
+  }
+
+  @Test
+  void expiryRangeScan_ShouldUseIndex() {
+    String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM food_item "
+        + "WHERE expiration_date >= ? AND expiration_date < ?", String.class,
+        Timestamp.from(now), Timestamp.from(now.plus(1, ChronoUnit.DAYS)));
+    System.out.println(plan);
+    assertThat(plan).containsIgnoringCase("idx_food_item_expiration_date");
+  }
+
+  @Test
+  void dailyJobChunk_ShouldCompleteWithinBudget() {
+    long[] rows = new long[1];
+    Duration elapsed = time(() -> transactionTemplate.executeWithoutResult(status -> {
+      List<UUID> userIds = foodItemRepository.findExpiringRecipientIdsAfter(now,
+          now.plus(7, ChronoUnit.DAYS), now, new UUID(0L, 0L), DIGEST_CHUNK);
+      List<ExpiringItemRecipient> page = foodItemRepository.findExpiringItemRecipients(now,
+          now.plus(7, ChronoUnit.DAYS), now, userIds);
+      rows[0] = page.size();
+    }));
+    report("Daily job chunk (" + DIGEST_CHUNK + " users)", elapsed, rows[0]);
+    assertThat(elapsed).isLessThan(BUDGET);
+  }
+
+  @Test
+  void householdListing_ShouldCompleteWithinBudget() {
+    List<UUID> householdIds = generator.getHouseholdIds();
+    Random random = new Random(7);
+    int lookups = 100;
+    long[] rows = new long[1];
+    Duration elapsed = time(() -> {
+      rows[0] = 0;
+      for (int i = 0; i < lookups; i++) {
+        Household household = new Household();
+        household.setId(householdIds.get(random.nextInt(householdIds.size())));
+        rows[0] += foodItemRepository.findByHousehold(household).size();
+      }
+    });
+    report("Household listing (" + lookups + " lookups)", elapsed, rows[0]);
+    assertThat(elapsed.dividedBy(lookups)).isLessThan(BUDGET);
+  }
+
+  /**
+   * Runs the action once to warm up query plans and JIT, then times a second run.
+   */
+  private static Duration time(Runnable action) {
+    action.run();
+    long start = System.nanoTime();
+    action.run();
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  private static void report(String label, Duration elapsed, long rows) {
+    System.out.printf("%-40s %8d ms %10d rows%n", label, elapsed.toMillis(), rows);
+  }
+}
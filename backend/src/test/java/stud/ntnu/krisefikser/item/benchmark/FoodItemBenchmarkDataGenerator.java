@@ -0,0 +1,116 @@
+package stud.ntnu.krisefikser.item.benchmark;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Generates a large synthetic food item dataset for the expiry query benchmark.
+ *
+ * <p>Rows are written with plain JDBC batches, bypassing JPA, so millions of items can be created
+ * in a reasonable time. Every household gets two members with notifications enabled and an equal
+ * share of the items. Expiration dates are spread uniformly from 30 days in the past to 335 days
+ * in the future, so roughly 2% of the items fall inside the 7-day reminder window.</p>
+ */
+public class FoodItemBenchmarkDataGenerator {
+
+  static final int ITEMS_PER_HOUSEHOLD = 20;
+  static final int MEMBERS_PER_HOUSEHOLD = 2;
+  private static final int BATCH_SIZE = 5_000;
+  private static final String[] NAMES = {"Melk", "Brød", "Hermetikk", "Ris", "Pasta", "Egg",
+      "Ost", "Knekkebrød", "Havregryn", "Tørrfisk"};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Random random = new Random(42);
+  private final List<UUID> householdIds = new ArrayList<>();
+
+  public FoodItemBenchmarkDataGenerator(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Inserts the given number of food items along with the households and users they belong to.
+   *
+   * @param itemCount the number of food items to create
+   * @param now       the reference instant for expiration dates
+   */
+  public void generate(long itemCount, Instant now) {
+    long householdCount = Math.max(1, itemCount / ITEMS_PER_HOUSEHOLD);
+    List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+    List<Object[]> households = new ArrayList<>(BATCH_SIZE);
+    List<Object[]> members = new ArrayList<>(BATCH_SIZE);
+
+    for (long h = 0; h < householdCount; h++) {
+      UUID householdId = UUID.randomUUID();
+      UUID ownerId = null;
+      for (int m = 0; m < MEMBERS_PER_HOUSEHOLD; m++) {
+        UUID userId = UUID.randomUUID();
+        ownerId = ownerId == null ? userId : ownerId;
+        users.add(new Object[] {userId, "bench-" + h + "-" + m + "@example.com", "x"});
+        members.add(new Object[] {UUID.randomUUID(), userId, householdId});
+      }
+      households.add(new Object[] {householdId, "Husstand " + h, ownerId});
+      householdIds.add(householdId);
+      if (households.size() >= BATCH_SIZE / MEMBERS_PER_HOUSEHOLD) {
+        flushHouseholds(users, households, members);
+      }
+    }
+    flushHouseholds(users, households, members);
+
+    long spanSeconds = ChronoUnit.DAYS.getDuration().getSeconds() * 365;
+    Instant earliest = now.minus(30, ChronoUnit.DAYS);
+    List<Object[]> items = new ArrayList<>(BATCH_SIZE);
+    for (long i = 0; i < itemCount; i++) {
+      UUID householdId = householdIds.get((int) (i % householdIds.size()));
+      Instant expiration = earliest.plusSeconds((long) (random.nextDouble() * spanSeconds));
+      items.add(new Object[] {UUID.randomUUID(), householdId, NAMES[random.nextInt(NAMES.length)],
+          100 + random.nextInt(400), Timestamp.from(expiration)});
+      if (items.size() >= BATCH_SIZE) {
+        insertItems(items);
+      }
+    }
+    insertItems(items);
+  }
+
+  /**
+   * Returns the ids of the generated households.
+   *
+   * @return the household ids in insertion order
+   */
+  public List<UUID> getHouseholdIds() {
+    return householdIds;
+  }
+
+  private void flushHouseholds(List<Object[]> users, List<Object[]> households,
+      List<Object[]> members) {
+    if (households.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, notifications, "
+        + "email_updates, location_sharing, password_retries, email_verified) "
+        + "VALUES (?, ?, ?, TRUE, FALSE, FALSE, 0, TRUE)", users);
+    jdbcTemplate.batchUpdate("INSERT INTO household (id, name, owner_id, latitude, longitude, "
+        + "address, postal_code, city, water_liters) "
+        + "VALUES (?, ?, ?, 63.43, 10.39, 'Benchmarkveien 1', '7030', 'Trondheim', 0)",
+        households);
+    jdbcTemplate.batchUpdate("INSERT INTO household_member (id, user_id, household_id) "
+        + "VALUES (?, ?, ?)", members);
+    users.clear();
+    households.clear();
+    members.clear();
+  }
+
+  private void insertItems(List<Object[]> items) {
+    if (items.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO food_item (id, household_id, name, kcal, "
+        + "expiration_date) VALUES (?, ?, ?, ?, ?)", items);
+    items.clear();
+  }
+}
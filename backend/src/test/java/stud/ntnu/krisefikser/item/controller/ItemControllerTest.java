@@ -37,6 +37,7 @@ import stud.ntnu.krisefikser.item.service.FoodItemService;
 import stud.ntnu.krisefikser.household.service.HouseholdService;
 import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
 import stud.ntnu.krisefikser.item.dto.InventorySummaryResponse;
+import stud.ntnu.krisefikser.item.service.FoodItemTransferService;
 import stud.ntnu.krisefikser.item.service.SummaryService;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -67,6 +68,9 @@ class ItemControllerTest {
   @MockitoBean
   private SummaryService summaryService;
 
+  @MockitoBean
+  private FoodItemTransferService foodItemTransferService;
+
   private CreateFoodItemRequest createFoodItemRequest;
   private FoodItemResponse foodItemResponse;
   private ChecklistItemResponse checklistItemResponse;
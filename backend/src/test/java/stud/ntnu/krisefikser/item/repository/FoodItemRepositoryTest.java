@@ -2,6 +2,8 @@ package stud.ntnu.krisefikser.item.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +16,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import stud.ntnu.krisefikser.common.RepositoryTestConfig;
 import stud.ntnu.krisefikser.household.entity.Household;
+import stud.ntnu.krisefikser.household.entity.HouseholdMember;
+import stud.ntnu.krisefikser.item.dto.ExpiringItemRecipient;
 import stud.ntnu.krisefikser.item.entity.FoodItem;
 import stud.ntnu.krisefikser.user.entity.User;
 
@@ -277,4 +281,148 @@ class FoodItemRepositoryTest {
     // Verify item was deleted
     assertThat(deletedItem).isNotPresent();
   }
-} 
\ No newline at end of file
+
+  @Test
+  void findExpiringItemRecipients_ShouldJoinItemsToOptedInMembersOrderedByUser() {
+    User optedIn = User.builder()
+        .email("opted-in@example.com")
+        .password("password")
+        .notifications(true)
+        .build();
+    User optedOut = User.builder()
+        .email("opted-out@example.com")
+        .password("password")
+        .notifications(false)
+        .build();
+    entityManager.persist(optedIn);
+    entityManager.persist(optedOut);
+
+    Household household = Household.builder()
+        .name("Stream Household")
+        .owner(optedIn)
+        .address("Test Address 7")
+        .city("Test City")
+        .postalCode("12345")
+        .latitude(63.4305)
+        .longitude(10.3951)
+        .waterLiters(0.0)
+        .build();
+    entityManager.persist(household);
+    entityManager.persist(HouseholdMember.builder().household(household).user(optedIn).build());
+    entityManager.persist(HouseholdMember.builder().household(household).user(optedOut).build());
+
+    Instant now = Instant.now();
+    entityManager.persist(FoodItem.builder().name("Melk").kcal(60)
+        .expirationDate(now.plusSeconds(86400 * 2)).household(household).build());
+    entityManager.persist(FoodItem.builder().name("Brød").kcal(250)
+        .expirationDate(now.plusSeconds(86400)).household(household).build());
+    entityManager.persist(FoodItem.builder().name("Ris").kcal(350)
+        .expirationDate(now.plusSeconds(86400 * 60)).household(household).build());
+    entityManager.flush();
+
+    List<UUID> userIds = foodItemRepository.findExpiringRecipientIdsAfter(now,
+        now.plusSeconds(86400 * 7), now, new UUID(0L, 0L), 100);
+    List<ExpiringItemRecipient> rows = foodItemRepository.findExpiringItemRecipients(now,
+        now.plusSeconds(86400 * 7), now, userIds);
+
+    assertThat(userIds).containsExactly(optedIn.getId());
+    assertThat(rows).extracting(ExpiringItemRecipient::itemName).containsExactly("Brød", "Melk");
+    assertThat(rows).extracting(ExpiringItemRecipient::userEmail)
+        .containsOnly("opted-in@example.com");
+  }
+
+  @Test
+  void findExpiringItemRecipients_ShouldSkipItemsNotifiedByEarlierRuns() {
+    User member = User.builder()
+        .email("watermark@example.com")
+        .password("password")
+        .notifications(true)
+        .build();
+    entityManager.persist(member);
+
+    Household household = Household.builder()
+        .name("Watermark Household")
+        .owner(member)
+        .address("Test Address 8")
+        .city("Test City")
+        .postalCode("12345")
+        .latitude(63.4305)
+        .longitude(10.3951)
+        .waterLiters(0.0)
+        .build();
+    entityManager.persist(household);
+    entityManager.persist(HouseholdMember.builder().household(household).user(member).build());
+
+    Instant runStart = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    FoodItem notifiedEarlier = entityManager.persist(FoodItem.builder().name("Yoghurt").kcal(90)
+        .expirationDate(runStart.plusSeconds(86400)).household(household).build());
+    FoodItem notifiedThisRun = entityManager.persist(FoodItem.builder().name("Ost").kcal(400)
+        .expirationDate(runStart.plusSeconds(86400 * 2)).household(household).build());
+    FoodItem fresh = entityManager.persist(FoodItem.builder().name("Egg").kcal(150)
+        .expirationDate(runStart.plusSeconds(86400 * 3)).household(household).build());
+    entityManager.flush();
+
+    foodItemRepository.markExpiryNotified(List.of(notifiedEarlier.getId()),
+        runStart.minusSeconds(86400));
+    foodItemRepository.markExpiryNotified(List.of(notifiedThisRun.getId()), runStart);
+    entityManager.clear();
+
+    List<ExpiringItemRecipient> rows = foodItemRepository.findExpiringItemRecipients(runStart,
+        runStart.plusSeconds(86400 * 7), runStart, List.of(member.getId()));
+    assertThat(rows).extracting(ExpiringItemRecipient::itemName).containsExactly("Ost", "Egg");
+
+    assertThat(foodItemRepository.findExpiringRecipientIdsAfter(runStart,
+        runStart.plusSeconds(86400 * 7), runStart, member.getId(), 100)).isEmpty();
+    assertThat(foodItemRepository.markExpiryNotified(
+        List.of(notifiedEarlier.getId(), fresh.getId()), runStart)).isEqualTo(1);
+  }
+
+  @Test
+  void findExpiringRecipientIdsAfter_ShouldReturnKeysetPagesOfUsers() {
+    Household household = null;
+    Instant now = Instant.now();
+    for (int i = 0; i < 5; i++) {
+      User member = User.builder()
+          .email("page" + i + "@example.com")
+          .password("password")
+          .notifications(true)
+          .build();
+      entityManager.persist(member);
+      if (household == null) {
+        household = Household.builder()
+            .name("Paged Household")
+            .owner(member)
+            .address("Test Address 9")
+            .city("Test City")
+            .postalCode("12345")
+            .latitude(63.4305)
+            .longitude(10.3951)
+            .waterLiters(0.0)
+            .build();
+        entityManager.persist(household);
+      }
+      entityManager.persist(HouseholdMember.builder().household(household).user(member).build());
+    }
+    entityManager.persist(FoodItem.builder().name("Melk").kcal(60)
+        .expirationDate(now.plusSeconds(86400)).household(household).build());
+    entityManager.persist(FoodItem.builder().name("Brød").kcal(250)
+        .expirationDate(now.plusSeconds(86400 * 2)).household(household).build());
+    entityManager.flush();
+
+    List<UUID> first = foodItemRepository.findExpiringRecipientIdsAfter(now,
+        now.plusSeconds(86400 * 7), now, new UUID(0L, 0L), 2);
+    List<UUID> second = foodItemRepository.findExpiringRecipientIdsAfter(now,
+        now.plusSeconds(86400 * 7), now, first.get(1), 2);
+    List<UUID> last = foodItemRepository.findExpiringRecipientIdsAfter(now,
+        now.plusSeconds(86400 * 7), now, second.get(1), 2);
+
+    List<UUID> all = new ArrayList<>(first);
+    all.addAll(second);
+    all.addAll(last);
+    assertThat(first).hasSize(2);
+    assertThat(second).hasSize(2);
+    assertThat(all).hasSize(5).doesNotHaveDuplicates();
+    assertThat(foodItemRepository.findExpiringItemRecipients(now, now.plusSeconds(86400 * 7),
+        now, first)).hasSize(4);
+  }
+}
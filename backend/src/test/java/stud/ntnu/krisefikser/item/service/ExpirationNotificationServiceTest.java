@@ -1,25 +1,44 @@
 package stud.ntnu.krisefikser.item.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import stud.ntnu.krisefikser.household.entity.Household;
-import stud.ntnu.krisefikser.household.entity.HouseholdMember;
-import stud.ntnu.krisefikser.household.service.HouseholdMemberService;
-import stud.ntnu.krisefikser.item.entity.FoodItem;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.item.dto.ExpiringItemRecipient;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun;
+import stud.ntnu.krisefikser.item.entity.ExpiryReminderRun.RunStatus;
+import stud.ntnu.krisefikser.item.repository.ExpiryReminderRunRepository;
 import stud.ntnu.krisefikser.item.repository.FoodItemRepository;
+import stud.ntnu.krisefikser.notification.entity.Notification;
+import stud.ntnu.krisefikser.notification.entity.NotificationType;
 import stud.ntnu.krisefikser.notification.service.NotificationService;
-import stud.ntnu.krisefikser.user.entity.User;
 
 @ExtendWith(MockitoExtension.class)
 class ExpirationNotificationServiceTest {
@@ -27,40 +46,196 @@ class ExpirationNotificationServiceTest {
   @Mock
   private FoodItemRepository foodItemRepository;
   @Mock
-  private HouseholdMemberService householdMemberService;
+  private ExpiryReminderRunRepository runRepository;
   @Mock
   private NotificationService notificationService;
+  @Mock
+  private EntityManager entityManager;
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
   @InjectMocks
   private ExpirationNotificationService expirationNotificationService;
 
-  @Test
-  void checkForExpiredItemsAndNotifyUsers_shouldCreateNotificationForOptedInMembers() {
-    Household household = Household.builder().id(UUID.randomUUID()).name("Hjem").build();
-    FoodItem item = FoodItem.builder()
+  private ExpiryReminderRun run;
+
+  @BeforeEach
+  void setUp() {
+    run = ExpiryReminderRun.builder()
         .id(UUID.randomUUID())
-        .name("Hermetikk")
-        .expirationDate(Instant.now().plusSeconds(3600))
-        .household(household)
+        .runDate(LocalDate.now())
+        .status(RunStatus.RUNNING)
+        .startedAt(Instant.now())
+        .build();
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(
+        invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null));
+    lenient().when(runRepository.findById(run.getId())).thenReturn(Optional.of(run));
+    lenient().when(runRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+  }
+
+  @Test
+  void checkForExpiredItemsAndNotifyUsers_shouldCreateOneDigestPerUser() {
+    UUID alice = UUID.randomUUID();
+    UUID bob = UUID.randomUUID();
+    Instant soon = Instant.now().plusSeconds(3600);
+    List<Map<String, Notification>> batches = new ArrayList<>();
+
+    when(runRepository.findByRunDate(any())).thenReturn(Optional.of(run));
+    when(foodItemRepository.findExpiringRecipientIdsAfter(any(), any(), any(),
+        eq(ExpirationNotificationService.FIRST_USER_ID), anyInt()))
+        .thenReturn(List.of(alice, bob));
+    when(foodItemRepository.findExpiringItemRecipients(any(), any(), any(),
+        eq(List.of(alice, bob))))
+        .thenReturn(List.of(
+            new ExpiringItemRecipient(alice, "alice@example.com", UUID.randomUUID(), "Hermetikk",
+                soon),
+            new ExpiringItemRecipient(alice, "alice@example.com", UUID.randomUUID(), "Melk", soon),
+            new ExpiringItemRecipient(bob, "bob@example.com", UUID.randomUUID(), "Brød", soon)));
+    when(notificationService.createNotifications(any())).thenAnswer(invocation -> {
+      Map<String, Notification> batch = invocation.getArgument(0);
+      batches.add(new LinkedHashMap<>(batch));
+      return batch.size();
+    });
+
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+
+    assertThat(batches).hasSize(1);
+    Map<String, Notification> digests = batches.get(0);
+    assertThat(digests).containsOnlyKeys("alice@example.com", "bob@example.com");
+    assertThat(digests.get("alice@example.com").getTitle()).isEqualTo("Varer utløper snart!");
+    assertThat(digests.get("alice@example.com").getMessage()).contains("Hermetikk", "Melk");
+    assertThat(digests.get("bob@example.com").getTitle()).isEqualTo("Vare utløper snart!");
+    assertThat(digests.get("bob@example.com").getType())
+        .isEqualTo(NotificationType.EXPIRY_REMINDER);
+    verify(foodItemRepository).markExpiryNotified(anyCollection(), eq(run.getStartedAt()));
+    assertThat(run.getStatus()).isEqualTo(RunStatus.COMPLETED);
+    assertThat(run.getLastUserId()).isEqualTo(bob);
+    assertThat(run.getRowsProcessed()).isEqualTo(3);
+    assertThat(run.getDigestsCreated()).isEqualTo(2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void checkForExpiredItemsAndNotifyUsers_shouldCheckpointEveryChunk() {
+    int users = ExpirationNotificationService.DIGEST_BATCH_SIZE + 1;
+    Instant soon = Instant.now().plusSeconds(3600);
+    List<ExpiringItemRecipient> rows = new ArrayList<>();
+    for (int i = 0; i < users; i++) {
+      rows.add(new ExpiringItemRecipient(new UUID(0L, i + 1L), "user" + i + "@example.com",
+          UUID.randomUUID(), "Vare " + i, soon));
+    }
+    int chunk = ExpirationNotificationService.DIGEST_BATCH_SIZE;
+    List<ExpiringItemRecipient> firstRows = rows.subList(0, chunk);
+    List<UUID> firstIds = firstRows.stream().map(ExpiringItemRecipient::userId).toList();
+    UUID lastOfFirstChunk = firstIds.get(chunk - 1);
+    ExpiringItemRecipient lastRow = rows.get(users - 1);
+
+    when(runRepository.findByRunDate(any())).thenReturn(Optional.of(run));
+    when(foodItemRepository.findExpiringRecipientIdsAfter(any(), any(), any(),
+        eq(ExpirationNotificationService.FIRST_USER_ID), eq(chunk))).thenReturn(firstIds);
+    when(foodItemRepository.findExpiringItemRecipients(any(), any(), any(), eq(firstIds)))
+        .thenReturn(firstRows);
+    when(foodItemRepository.findExpiringRecipientIdsAfter(any(), any(), any(),
+        eq(lastOfFirstChunk), eq(chunk))).thenReturn(List.of(lastRow.userId()));
+    when(foodItemRepository.findExpiringItemRecipients(any(), any(), any(),
+        eq(List.of(lastRow.userId())))).thenReturn(List.of(lastRow));
+    when(notificationService.createNotifications(any()))
+        .thenAnswer(invocation -> ((Map<String, Notification>) invocation.getArgument(0)).size());
+
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+
+    verify(notificationService, times(2)).createNotifications(any());
+    verify(foodItemRepository, times(2)).markExpiryNotified(anyCollection(), any());
+    assertThat(run.getChunksCompleted()).isEqualTo(2);
+    assertThat(run.getDigestsCreated()).isEqualTo(users);
+    assertThat(run.getLastUserId()).isEqualTo(lastRow.userId());
+    assertThat(run.getStatus()).isEqualTo(RunStatus.COMPLETED);
+  }
+
+  @Test
+  void checkForExpiredItemsAndNotifyUsers_shouldSkipWhenTodaysRunCompleted() {
+    run.setStatus(RunStatus.COMPLETED);
+    when(runRepository.findByRunDate(any())).thenReturn(Optional.of(run));
+
+    expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
+
+    verify(foodItemRepository, never()).findExpiringRecipientIdsAfter(any(), any(), any(), any(),
+        anyInt());
+    verify(notificationService, never()).createNotifications(any());
+  }
+
+  @Test
+  void checkForExpiredItemsAndNotifyUsers_shouldResumeInterruptedRunFromCheckpoint() {
+    UUID checkpoint = UUID.randomUUID();
+    run.setLastUserId(checkpoint);
+    run.setRunDate(LocalDate.now().minusDays(1));
+    ExpiryReminderRun today = ExpiryReminderRun.builder()
+        .runDate(LocalDate.now())
+        .status(RunStatus.COMPLETED)
+        .startedAt(Instant.now())
         .build();
-    User user = User.builder().email("test@example.com").notifications(true).build();
-    HouseholdMember member = HouseholdMember.builder().household(household).user(user).build();
 
-    when(foodItemRepository.findAllByExpirationDateBetween(any(), any())).thenReturn(List.of(item));
-    when(householdMemberService.getMembers(household.getId())).thenReturn(List.of(member));
+    when(runRepository.findByStatusOrderByStartedAtAsc(RunStatus.RUNNING))
+        .thenReturn(List.of(run));
+    when(runRepository.findByRunDate(any())).thenReturn(Optional.of(today));
+    when(foodItemRepository.findExpiringRecipientIdsAfter(any(), any(), eq(run.getStartedAt()),
+        eq(checkpoint), anyInt())).thenReturn(List.of());
 
     expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
 
-    verify(notificationService).createNotification(any());
+    verify(foodItemRepository).findExpiringRecipientIdsAfter(any(), any(),
+        eq(run.getStartedAt()), eq(checkpoint), anyInt());
+    verify(foodItemRepository, never()).findExpiringItemRecipients(any(), any(), any(), any());
+    verify(notificationService, never()).createNotifications(any());
+    assertThat(run.getStatus()).isEqualTo(RunStatus.COMPLETED);
   }
 
   @Test
-  void checkForExpiredItemsAndNotifyUsers_shouldSkipWhenNoItems() {
-    when(foodItemRepository.findAllByExpirationDateBetween(any(), any())).thenReturn(List.of());
+  void checkForExpiredItemsAndNotifyUsers_shouldCompleteRunWhenNoItems() {
+    when(runRepository.findByRunDate(any())).thenReturn(Optional.empty());
+    when(runRepository.save(any())).thenAnswer(invocation -> {
+      ExpiryReminderRun saved = invocation.getArgument(0);
+      if (saved.getId() == null) {
+        saved.setId(run.getId());
+      }
+      return saved;
+    });
+    when(foodItemRepository.findExpiringRecipientIdsAfter(any(), any(), any(), any(), anyInt()))
+        .thenReturn(List.of());
 
     expirationNotificationService.checkForExpiredItemsAndNotifyUsers();
 
-    verify(householdMemberService, never()).getMembers(any());
-    verify(notificationService, never()).createNotification(any());
+    verify(notificationService, never()).createNotifications(any());
+    verify(foodItemRepository, never()).markExpiryNotified(anyCollection(), any());
+    assertThat(run.getStatus()).isEqualTo(RunStatus.COMPLETED);
+  }
+
+  @Test
+  void formatDigestMessage_shouldSummarizeItemsThatDoNotFit() {
+    UUID user = UUID.randomUUID();
+    Instant soon = Instant.now().plusSeconds(3600);
+    List<ExpiringItemRecipient> rows = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      rows.add(new ExpiringItemRecipient(user, "user@example.com", UUID.randomUUID(),
+          "Hermetiske tomater " + i, soon));
+    }
+
+    String message = ExpirationNotificationService.formatDigestMessage(rows);
+
+    assertThat(message).hasSizeLessThanOrEqualTo(ExpirationNotificationService.MAX_MESSAGE_LENGTH);
+    assertThat(message).startsWith("Hermetiske tomater 0").endsWith(" til utløper snart.");
+  }
+
+  @Test
+  void formatDigestMessage_withSingleItem_shouldUseItemSentence() {
+    Instant soon = Instant.now().plusSeconds(3600);
+    String message = ExpirationNotificationService.formatDigestMessage(List.of(
+        new ExpiringItemRecipient(UUID.randomUUID(), "user@example.com", UUID.randomUUID(),
+            "Hermetikk", soon)));
+
+    assertThat(message).startsWith("Hermetikk utløper den ");
   }
 }
@@ -15,6 +15,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,12 +29,16 @@ import org.springframework.test.web.servlet.MockMvc;
 import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
 import stud.ntnu.krisefikser.auth.service.TokenService;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
+import stud.ntnu.krisefikser.map.dto.EventAnalyticsResponse;
 import stud.ntnu.krisefikser.map.dto.EventRequest;
 import stud.ntnu.krisefikser.map.dto.EventResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateEventRequest;
 import stud.ntnu.krisefikser.map.entity.EventLevel;
 import stud.ntnu.krisefikser.map.entity.EventStatus;
+import stud.ntnu.krisefikser.map.service.EventAnalyticsService;
 import stud.ntnu.krisefikser.map.service.EventService;
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
 
 @WebMvcTest(EventController.class)
 @Import(TestSecurityConfig.class)
@@ -45,6 +50,9 @@ class EventControllerTest {
   @MockitoBean
   private EventService eventService;
 
+  @MockitoBean
+  private EventAnalyticsService eventAnalyticsService;
+
   @MockitoBean
   private TokenService tokenService;
 
@@ -106,7 +114,8 @@ class EventControllerTest {
 
   @Test
   void getAllEvents_ShouldReturnList() throws Exception {
-    when(eventService.getAllEvents()).thenReturn(testEventResponses);
+    when(eventService.getAllEventsCached())
+        .thenReturn(new CachedResponse<>(testEventResponses, "\"etag\"", 0));
 
     mockMvc.perform(get("/api/events"))
         .andExpect(status().isOk())
@@ -188,4 +197,33 @@ class EventControllerTest {
             .with(SecurityMockMvcRequestPostProcessors.csrf()))
         .andExpect(status().isForbidden());
   }
-}
\ No newline at end of file
+
+  @Test
+  @WithMockUser(roles = "ADMIN")
+  void getEventAnalytics_WithAdminRole_ShouldReturnAnalytics() throws Exception {
+    when(eventAnalyticsService.getAnalytics(1L)).thenReturn(EventAnalyticsResponse.builder()
+        .eventId(1L)
+        .status(EventStatus.FINISHED)
+        .notificationsCreated(40)
+        .notificationsRead(31)
+        .notificationRecipients(40)
+        .reflections(3)
+        .reflectionsByVisibility(Map.of(VisibilityType.PUBLIC, 2L, VisibilityType.PRIVATE, 1L,
+            VisibilityType.HOUSEHOLD, 0L))
+        .householdsInRadius(12)
+        .build());
+
+    mockMvc.perform(get("/api/events/1/analytics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.notificationsRead").value(31))
+        .andExpect(jsonPath("$.reflectionsByVisibility.PUBLIC").value(2))
+        .andExpect(jsonPath("$.householdsInRadius").value(12));
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  void getEventAnalytics_WithoutAdminRole_ShouldReturnForbidden() throws Exception {
+    mockMvc.perform(get("/api/events/1/analytics"))
+        .andExpect(status().isForbidden());
+  }
+}
@@ -27,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
 import stud.ntnu.krisefikser.auth.service.TokenService;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
 import stud.ntnu.krisefikser.map.dto.MapPointRequest;
 import stud.ntnu.krisefikser.map.dto.MapPointResponse;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeResponse;
@@ -96,7 +97,8 @@ class MapPointControllerTest {
 
   @Test
   void getAllMapPoints_ShouldReturnList() throws Exception {
-    when(mapPointService.getAllMapPoints()).thenReturn(testMapPointResponses);
+    when(mapPointService.getAllMapPointsCached())
+        .thenReturn(new CachedResponse<>(testMapPointResponses, "\"etag\"", 0));
 
     mockMvc.perform(get("/api/map-points"))
         .andExpect(status().isOk())
@@ -27,6 +27,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
 import stud.ntnu.krisefikser.auth.service.TokenService;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeRequest;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateMapPointTypeRequest;
@@ -86,7 +87,8 @@ class MapPointTypeControllerTest {
 
   @Test
   void getAllMapPointTypes_ShouldReturnList() throws Exception {
-    when(mapPointTypeService.getAllMapPointTypes()).thenReturn(testMapPointTypeResponses);
+    when(mapPointTypeService.getAllMapPointTypesCached())
+        .thenReturn(new CachedResponse<>(testMapPointTypeResponses, "\"etag\"", 0));
 
     mockMvc.perform(get("/api/map-point-types"))
         .andExpect(status().isOk())
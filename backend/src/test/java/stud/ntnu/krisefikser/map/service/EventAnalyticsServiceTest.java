@@ -0,0 +1,136 @@
+package stud.ntnu.krisefikser.map.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import stud.ntnu.krisefikser.household.repository.HouseholdRepository;
+import stud.ntnu.krisefikser.map.dto.EventAnalyticsResponse;
+import stud.ntnu.krisefikser.map.entity.Event;
+import stud.ntnu.krisefikser.map.entity.EventLevel;
+import stud.ntnu.krisefikser.map.entity.EventStatus;
+import stud.ntnu.krisefikser.map.repository.EventRepository;
+import stud.ntnu.krisefikser.notification.dto.NotificationReach;
+import stud.ntnu.krisefikser.notification.repository.NotificationRepository;
+import stud.ntnu.krisefikser.reflection.dto.VisibilityCount;
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EventAnalyticsServiceTest {
+
+  @Mock
+  private EventRepository eventRepository;
+
+  @Mock
+  private NotificationRepository notificationRepository;
+
+  @Mock
+  private ReflectionRepository reflectionRepository;
+
+  @Mock
+  private HouseholdRepository householdRepository;
+
+  private final AtomicLong nanoTime = new AtomicLong();
+  private EventAnalyticsService service;
+  private Event event;
+
+  @BeforeEach
+  void setUp() {
+    service = new EventAnalyticsService(eventRepository, notificationRepository,
+        reflectionRepository, householdRepository, nanoTime::get);
+    event = Event.builder()
+        .id(1L)
+        .title("Storm")
+        .description("Strong wind")
+        .radius(500.0)
+        .latitude(63.43)
+        .longitude(10.39)
+        .level(EventLevel.YELLOW)
+        .status(EventStatus.FINISHED)
+        .startTime(ZonedDateTime.now())
+        .build();
+  }
+
+  @Test
+  void getAnalytics_ShouldCombineAggregates() {
+    stubAggregates();
+
+    EventAnalyticsResponse analytics = service.getAnalytics(1L);
+
+    assertThat(analytics.getNotificationsCreated()).isEqualTo(40);
+    assertThat(analytics.getNotificationsRead()).isEqualTo(31);
+    assertThat(analytics.getNotificationRecipients()).isEqualTo(38);
+    assertThat(analytics.getReflections()).isEqualTo(3);
+    assertThat(analytics.getReflectionsByVisibility())
+        .containsEntry(VisibilityType.PUBLIC, 2L)
+        .containsEntry(VisibilityType.PRIVATE, 1L)
+        .containsEntry(VisibilityType.HOUSEHOLD, 0L);
+    assertThat(analytics.getHouseholdsInRadius()).isEqualTo(12);
+  }
+
+  @Test
+  void getAnalytics_ForFinishedEvent_ShouldServeFromCacheUntilExpiry() {
+    stubAggregates();
+    EventAnalyticsResponse first = service.getAnalytics(1L);
+    EventAnalyticsResponse second = service.getAnalytics(1L);
+    nanoTime.addAndGet(EventAnalyticsService.FINISHED_TTL.toNanos());
+    service.getAnalytics(1L);
+
+    assertThat(second).isSameAs(first);
+    verify(notificationRepository, times(2)).getReachByEventId(1L);
+  }
+
+  @Test
+  void getAnalytics_ForOngoingEvent_ShouldAlwaysQuery() {
+    event.setStatus(EventStatus.ONGOING);
+    stubAggregates();
+
+    service.getAnalytics(1L);
+    service.getAnalytics(1L);
+
+    verify(eventRepository, times(2)).findById(1L);
+    verify(householdRepository, times(2)).countWithinRadius(63.43, 10.39, 500.0);
+  }
+
+  @Test
+  void evict_ShouldDropCachedAnalytics() {
+    stubAggregates();
+    service.getAnalytics(1L);
+
+    service.evict(1L);
+    service.getAnalytics(1L);
+
+    verify(reflectionRepository, times(2)).countByVisibilityForEvent(1L);
+  }
+
+  @Test
+  void getAnalytics_WithUnknownEvent_ShouldThrow() {
+    when(eventRepository.findById(2L)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.getAnalytics(2L))
+        .isInstanceOf(EntityNotFoundException.class);
+  }
+
+  private void stubAggregates() {
+    when(eventRepository.findById(1L)).thenReturn(Optional.of(event));
+    when(notificationRepository.getReachByEventId(1L)).thenReturn(new NotificationReach(40, 31,
+        38));
+    when(reflectionRepository.countByVisibilityForEvent(1L)).thenReturn(List.of(
+        new VisibilityCount(VisibilityType.PUBLIC, 2), new VisibilityCount(VisibilityType.PRIVATE,
+            1)));
+    when(householdRepository.countWithinRadius(63.43, 10.39, 500.0)).thenReturn(12L);
+  }
+}
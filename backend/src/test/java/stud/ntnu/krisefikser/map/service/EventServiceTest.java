@@ -18,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
 import stud.ntnu.krisefikser.map.dto.EventRequest;
 import stud.ntnu.krisefikser.map.dto.UpdateEventRequest;
 import stud.ntnu.krisefikser.map.entity.Event;
@@ -37,6 +38,12 @@ class EventServiceTest {
   @Mock
   private NotificationService notificationService;
 
+  @Mock
+  private VersionedResponseCache responseCache;
+
+  @Mock
+  private EventAnalyticsService eventAnalyticsService;
+
   @InjectMocks
   private EventService eventService;
 
@@ -135,6 +142,7 @@ class EventServiceTest {
     assertThat(result.getStatus()).isEqualTo(EventStatus.FINISHED);
     verify(eventWebSocketService).notifyEventUpdate(any());
     verify(notificationService).createNotificationsForAll(any());
+    verify(eventAnalyticsService).evict(1L);
   }
 
   @Test
@@ -145,6 +153,7 @@ class EventServiceTest {
 
     verify(eventWebSocketService).notifyEventDeletion(1L);
     verify(eventRepository).deleteById(1L);
+    verify(eventAnalyticsService).evict(1L);
   }
 
   @Test
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
 import stud.ntnu.krisefikser.map.dto.MapPointRequest;
 import stud.ntnu.krisefikser.map.dto.MapPointResponse;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeResponse;
@@ -34,6 +35,9 @@ class MapPointServiceTest {
   @Mock
   private MapPointTypeService mapPointTypeService;
 
+  @Mock
+  private VersionedResponseCache responseCache;
+
   @InjectMocks
   private MapPointService mapPointService;
 
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeRequest;
 import stud.ntnu.krisefikser.map.dto.MapPointTypeResponse;
 import stud.ntnu.krisefikser.map.dto.UpdateMapPointTypeRequest;
@@ -29,6 +30,9 @@ class MapPointTypeServiceTest {
   @Mock
   private MapPointTypeRepository mapPointTypeRepository;
 
+  @Mock
+  private VersionedResponseCache responseCache;
+
   @InjectMocks
   private MapPointTypeService mapPointTypeService;
 
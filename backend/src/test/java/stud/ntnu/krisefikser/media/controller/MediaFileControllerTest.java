@@ -0,0 +1,118 @@
+package stud.ntnu.krisefikser.media.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
+import stud.ntnu.krisefikser.auth.service.TokenService;
+import stud.ntnu.krisefikser.common.Sendfile;
+import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.media.exception.MediaNotFoundException;
+import stud.ntnu.krisefikser.media.service.LocalMediaStore;
+
+@WebMvcTest(controllers = MediaFileController.class)
+@Import(TestSecurityConfig.class)
+class MediaFileControllerTest {
+
+  private static final String HASH = "ab".repeat(32);
+  private static final String NAME = HASH + ".webp";
+  private static final String ETAG = "\"" + HASH + "\"";
+
+  @TempDir
+  Path tempDir;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private LocalMediaStore localMediaStore;
+
+  @MockitoBean
+  private CustomUserDetailsService userDetailsService;
+
+  @MockitoBean
+  private TokenService tokenService;
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = tempDir.resolve(NAME);
+    Files.writeString(file, "0123456789");
+    when(localMediaStore.resolve(NAME)).thenReturn(file);
+  }
+
+  @Test
+  void getMedia_returnsFileWithCacheHeaders() throws Exception {
+    mockMvc.perform(get("/api/media/{name}", NAME))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("image/webp"))
+        .andExpect(content().string("0123456789"))
+        .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+            "max-age=31536000, public, immutable"))
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+  }
+
+  @Test
+  void getMedia_withMatchingEtag_isNotModified() throws Exception {
+    mockMvc.perform(get("/api/media/{name}", NAME).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void getMedia_withRange_returnsPartialContent() throws Exception {
+    mockMvc.perform(get("/api/media/{name}", NAME).header(HttpHeaders.RANGE, "bytes=2-5"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+        .andExpect(content().string("2345"));
+  }
+
+  @Test
+  void getMedia_withUnsatisfiableRange_isRejected() throws Exception {
+    mockMvc.perform(get("/api/media/{name}", NAME).header(HttpHeaders.RANGE, "bytes=20-30"))
+        .andExpect(status().isRequestedRangeNotSatisfiable());
+  }
+
+  @Test
+  void getMedia_withSendfileSupport_handsFileToContainer() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/media/{name}", NAME)
+            .requestAttr(Sendfile.SUPPORT, Boolean.TRUE))
+        .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+        .andExpect(content().string(""))
+        .andReturn();
+
+    assertThat(result.getRequest().getAttribute(Sendfile.FILENAME))
+        .isEqualTo(file.toString());
+    assertThat(result.getRequest().getAttribute(Sendfile.END))
+        .isEqualTo(10L);
+  }
+
+  @Test
+  void getMedia_unknownFile_isNotFound() throws Exception {
+    when(localMediaStore.resolve("missing.webp"))
+        .thenThrow(new MediaNotFoundException("missing.webp"));
+
+    mockMvc.perform(get("/api/media/{name}", "missing.webp"))
+        .andExpect(status().isNotFound());
+  }
+}
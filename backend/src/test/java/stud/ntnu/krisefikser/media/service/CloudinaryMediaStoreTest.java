@@ -0,0 +1,84 @@
+package stud.ntnu.krisefikser.media.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+
+class CloudinaryMediaStoreTest {
+
+  private static final String HASH = "ab".repeat(32);
+  private static final MediaObject OBJECT = new MediaObject(Path.of("image.webp"), HASH,
+      "image/webp", "webp", 42);
+
+  private Uploader uploader;
+  private CloudinaryMediaStore store;
+
+  @BeforeEach
+  void setUp() {
+    Cloudinary cloudinary = mock(Cloudinary.class);
+    uploader = mock(Uploader.class);
+    when(cloudinary.uploader()).thenReturn(uploader);
+    store = new CloudinaryMediaStore(cloudinary, 100);
+  }
+
+  @Test
+  void store_usesHashAsPublicIdWithoutOverwriting() throws IOException {
+    when(uploader.upload(any(), any())).thenReturn(
+        Map.of("secure_url", "https://img/" + HASH + ".webp", "public_id", "krisefikser/" + HASH));
+
+    StoredImage stored = store.store(OBJECT, Map.of("folder", "krisefikser"));
+
+    assertThat(stored.url()).isEqualTo("https://img/" + HASH + ".webp");
+    assertThat(stored.id()).isEqualTo("krisefikser/" + HASH);
+    verify(uploader).upload(eq(OBJECT.file().toFile()),
+        eq(Map.of("folder", "krisefikser", "public_id", HASH, "overwrite", false)));
+    assertThat(store.getStats().storedBytes()).isEqualTo(42);
+  }
+
+  @Test
+  void store_sameContentAgain_skipsUpload() throws IOException {
+    when(uploader.upload(any(), any())).thenReturn(
+        Map.of("secure_url", "https://img/1.webp", "public_id", HASH));
+
+    store.store(OBJECT, Map.of("folder", "krisefikser"));
+    StoredImage again = store.store(OBJECT, Map.of("folder", "krisefikser"));
+    store.store(OBJECT, Map.of("folder", "krisefikser/avatars"));
+
+    assertThat(again.url()).isEqualTo("https://img/1.webp");
+    verify(uploader, times(2)).upload(any(), any());
+    assertThat(store.getStats().deduplicated()).isEqualTo(1);
+  }
+
+  @Test
+  void store_existingOnCloudinary_countsAsDeduplicated() throws IOException {
+    when(uploader.upload(any(), any())).thenReturn(
+        Map.of("secure_url", "https://img/1.webp", "public_id", HASH, "existing", true));
+
+    store.store(OBJECT, Map.of());
+
+    assertThat(store.getStats().stored()).isZero();
+    assertThat(store.getStats().deduplicated()).isEqualTo(1);
+  }
+
+  @Test
+  void store_hostFailure_throwsUploadException() throws IOException {
+    when(uploader.upload(any(), any())).thenThrow(new IOException("connection reset"));
+
+    assertThatThrownBy(() -> store.store(OBJECT, Map.of()))
+        .isInstanceOf(ImageUploadException.class);
+  }
+}
@@ -0,0 +1,185 @@
+package stud.ntnu.krisefikser.media.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stud.ntnu.krisefikser.media.config.ImagePipelineProperties;
+import stud.ntnu.krisefikser.media.exception.InvalidImageException;
+import stud.ntnu.krisefikser.media.service.ImagePipelineService.ImageVariant;
+import stud.ntnu.krisefikser.media.service.ImagePipelineService.ProcessedImage;
+
+class ImagePipelineServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  private ImagePipelineProperties properties;
+  private MeterRegistry meterRegistry;
+  private ImagePipelineService pipeline;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ImagePipelineProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    pipeline = new ImagePipelineService(properties, meterRegistry);
+  }
+
+  @Test
+  void process_producesSmallerWebpVariants() throws IOException {
+    Path source = write(photo(2400, 1200), "png");
+
+    ProcessedImage image = pipeline.process(source);
+
+    try {
+      assertThat(image.variants()).extracting(ImageVariant::name)
+          .containsExactly("small", "medium", "large");
+      assertThat(image.variants()).extracting(ImageVariant::width)
+          .containsExactly(320, 960, 1920);
+      assertThat(image.variants()).extracting(ImageVariant::height)
+          .containsExactly(160, 480, 960);
+      ImageVariant large = image.variant("large").orElseThrow();
+      assertThat(large.contentType()).isEqualTo("image/webp");
+      assertThat(large.bytes()).isLessThan(image.originalBytes());
+      BufferedImage decoded = ImageIO.read(large.file().toFile());
+      assertThat(decoded.getWidth()).isEqualTo(1920);
+
+      ImagePipelineService.PipelineStats stats = pipeline.getStats();
+      assertThat(stats.processed()).isEqualTo(1);
+      assertThat(stats.originalBytes()).isEqualTo(Files.size(source));
+      assertThat(stats.savedBytes()).isEqualTo(image.originalBytes() - large.bytes());
+      assertThat(meterRegistry.get("images.processing").timer().count()).isEqualTo(1);
+    } finally {
+      image.deleteFiles();
+    }
+    assertThat(image.variants()).allSatisfy(variant -> assertThat(variant.file()).doesNotExist());
+  }
+
+  @Test
+  void process_smallImage_isNotEnlargedAndSharesOneFile() throws IOException {
+    ProcessedImage image = pipeline.process(write(photo(200, 100), "png"));
+
+    try {
+      assertThat(image.variants()).extracting(ImageVariant::width).containsOnly(200);
+      assertThat(image.variants()).extracting(ImageVariant::file).containsOnly(
+          image.variants().getFirst().file());
+    } finally {
+      image.deleteFiles();
+    }
+  }
+
+  @Test
+  void process_appliesExifOrientation() throws IOException {
+    // Orientation 6: the camera was held upright, the pixels are stored rotated
+    Path source = tempDir.resolve("upright.jpg");
+    Files.write(source, withOrientation(encode(photo(400, 200), "jpeg"), 6));
+
+    ProcessedImage image = pipeline.process(source);
+
+    try {
+      ImageVariant small = image.variant("small").orElseThrow();
+      assertThat(small.width()).isEqualTo(200);
+      assertThat(small.height()).isEqualTo(400);
+    } finally {
+      image.deleteFiles();
+    }
+  }
+
+  @Test
+  void process_withoutWriterForFormat_fallsBackToJpeg() throws IOException {
+    properties.setFormat("no-such-format");
+    ImagePipelineService fallback = new ImagePipelineService(properties, meterRegistry);
+
+    ProcessedImage image = fallback.process(write(photo(100, 100), "png"));
+
+    try {
+      assertThat(image.variants()).extracting(ImageVariant::contentType)
+          .containsOnly("image/jpeg");
+    } finally {
+      image.deleteFiles();
+    }
+  }
+
+  @Test
+  void process_notAnImage_isRejected() throws IOException {
+    Path source = tempDir.resolve("image.png");
+    Files.writeString(source, "not really a png");
+
+    assertThatThrownBy(() -> pipeline.process(source))
+        .isInstanceOf(InvalidImageException.class);
+    assertThat(pipeline.getStats().rejected()).isEqualTo(1);
+  }
+
+  @Test
+  void process_tooManyPixels_isRejectedBeforeDecoding() throws IOException {
+    properties.setMaxPixels(1_000);
+    Path source = write(photo(100, 100), "png");
+
+    assertThatThrownBy(() -> pipeline.process(source))
+        .isInstanceOf(InvalidImageException.class)
+        .hasMessageContaining("too many pixels");
+  }
+
+  private Path write(BufferedImage image, String format) throws IOException {
+    Path file = tempDir.resolve("source." + format);
+    Files.write(file, encode(image, format));
+    return file;
+  }
+
+  private static byte[] encode(BufferedImage image, String format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, format, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Creates a noisy gradient, which compresses about as badly as a photo.
+   */
+  private static BufferedImage photo(int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Random random = new Random(42);
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int red = (255 * x / width + random.nextInt(32)) & 0xFF;
+        int green = (255 * y / height + random.nextInt(32)) & 0xFF;
+        image.setRGB(x, y, new Color(red, green, 128).getRGB());
+      }
+    }
+    Graphics2D graphics = image.createGraphics();
+    graphics.setColor(Color.WHITE);
+    graphics.fillRect(0, 0, width / 4, height / 4);
+    graphics.dispose();
+    return image;
+  }
+
+  /**
+   * Inserts an EXIF segment holding only the orientation tag right after the JPEG start marker.
+   */
+  private static byte[] withOrientation(byte[] jpeg, int orientation) {
+    ByteBuffer exif = ByteBuffer.allocate(2 + 2 + 6 + 8 + 2 + 12 + 4);
+    exif.putShort((short) 0xFFE1).putShort((short) (exif.capacity() - 2));
+    exif.put("Exif\0\0".getBytes());
+    // Big-endian TIFF header with the first directory right after it
+    exif.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+    exif.putShort((short) 1);
+    exif.putShort((short) 0x0112).putShort((short) 3).putInt(1)
+        .putShort((short) orientation).putShort((short) 0);
+    exif.putInt(0);
+    return ByteBuffer.allocate(jpeg.length + exif.capacity())
+        .put(jpeg, 0, 2).put(exif.array()).put(jpeg, 2, jpeg.length - 2).array();
+  }
+}
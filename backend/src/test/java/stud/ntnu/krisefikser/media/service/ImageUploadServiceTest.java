@@ -0,0 +1,216 @@
+package stud.ntnu.krisefikser.media.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.unit.DataSize;
+import stud.ntnu.krisefikser.media.config.ImagePipelineProperties;
+import stud.ntnu.krisefikser.media.config.LocalMediaProperties;
+import stud.ntnu.krisefikser.media.config.MediaUploadProperties;
+import stud.ntnu.krisefikser.media.dto.ImageUploadResponse;
+import stud.ntnu.krisefikser.media.exception.ImageTooLargeException;
+import stud.ntnu.krisefikser.media.exception.ImageUploadException;
+import stud.ntnu.krisefikser.media.exception.InvalidImageException;
+
+class ImageUploadServiceTest {
+
+  @TempDir
+  Path mediaDirectory;
+
+  private Uploader uploader;
+  private Cloudinary cloudinary;
+  private MediaUploadProperties uploadProperties;
+  private ImagePipelineProperties pipelineProperties;
+  private LocalMediaStore localMediaStore;
+  private ThreadPoolTaskExecutor processingExecutor;
+  private ThreadPoolTaskExecutor uploadExecutor;
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private byte[] png;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    cloudinary = mock(Cloudinary.class);
+    uploader = mock(Uploader.class);
+    when(cloudinary.uploader()).thenReturn(uploader);
+
+    uploadProperties = new MediaUploadProperties();
+    uploadProperties.setMaxFileSize(DataSize.ofKilobytes(512));
+    pipelineProperties = new ImagePipelineProperties();
+    LocalMediaProperties localProperties = new LocalMediaProperties();
+    localProperties.setDirectory(mediaDirectory.toString());
+    localProperties.setBaseUrl("https://api.example/");
+    localMediaStore = new LocalMediaStore(localProperties);
+    processingExecutor = executor(2);
+    uploadExecutor = executor(1);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB), "png", out);
+    png = out.toByteArray();
+  }
+
+  @AfterEach
+  void tearDown() {
+    processingExecutor.shutdown();
+    uploadExecutor.shutdown();
+  }
+
+  @Test
+  void uploadImage_localStore_storesVariantsUnderTheirHash() {
+    ImageUploadService service = service(localMediaStore);
+
+    ImageUploadResponse response = service.uploadImage(image("image/png", png), null);
+
+    assertThat(response.getVariants()).containsOnlyKeys("small", "medium", "large");
+    assertThat(response.getUrl()).isEqualTo(response.getVariants().get("large"))
+        .matches("https://api\\.example/api/media/[0-9a-f]{64}\\.webp");
+    assertThat(localMediaStore.resolve(response.getPublicId())).exists();
+    // medium and large are both 800 wide here and stored once
+    assertThat(response.getVariants().get("medium")).isEqualTo(response.getUrl());
+    assertThat(localMediaStore.getStats().stored()).isEqualTo(2);
+    assertThat(service.getStats().uploads()).isEqualTo(1);
+    assertThat(meterRegistry.get("images.store").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void uploadImage_sameImageTwice_isStoredOnce() {
+    ImageUploadService service = service(localMediaStore);
+
+    ImageUploadResponse first = service.uploadImage(image("image/png", png), null);
+    ImageUploadResponse second = service.uploadImage(image("image/png", png), null);
+
+    assertThat(second.getVariants()).isEqualTo(first.getVariants());
+    assertThat(localMediaStore.getStats().stored()).isEqualTo(2);
+    assertThat(localMediaStore.getStats().deduplicated()).isEqualTo(2);
+  }
+
+  @Test
+  void uploadImage_withCloudinary_uploadsEachVariantAndDeletesFiles() throws IOException {
+    List<File> uploaded = new ArrayList<>();
+    when(uploader.upload(any(), any())).thenAnswer(invocation -> {
+      uploaded.add(invocation.getArgument(0));
+      Map<?, ?> options = invocation.getArgument(1);
+      assertThat(options.get("folder")).isEqualTo("krisefikser/avatars");
+      return Map.of("secure_url", "https://img/" + options.get("public_id") + ".webp",
+          "public_id", "krisefikser/avatars/" + options.get("public_id"));
+    });
+
+    ImageUploadResponse response = service(cloudinaryStore()).uploadImage(
+        image("image/png", png), "krisefikser/avatars");
+
+    verify(uploader, times(2)).upload(any(), any());
+    assertThat(response.getVariants().get("small")).matches("https://img/[0-9a-f]{64}\\.webp");
+    assertThat(response.getUrl()).isNotEqualTo(response.getVariants().get("small"));
+    assertThat(response.getPublicId()).startsWith("krisefikser/avatars/");
+    assertThat(uploaded).allSatisfy(file -> assertThat(file).doesNotExist());
+  }
+
+  @Test
+  void uploadImage_tooLarge_isRejectedBeforeProcessing() throws IOException {
+    assertThatThrownBy(() -> service(cloudinaryStore()).uploadImage(
+        image("image/png", new byte[1024 * 1024]), null))
+        .isInstanceOf(ImageTooLargeException.class);
+
+    verify(uploader, never()).upload(any(), any());
+  }
+
+  @Test
+  void uploadImage_notAnImage_isRejected() {
+    assertThatThrownBy(() -> service(cloudinaryStore()).uploadImage(image("text/plain", png), null))
+        .isInstanceOf(InvalidImageException.class);
+    assertThatThrownBy(() -> service(cloudinaryStore()).uploadImage(
+        image("image/png", "not really a png".getBytes()), null))
+        .isInstanceOf(InvalidImageException.class);
+  }
+
+  @Test
+  void uploadImage_hostFailure_throwsUploadExceptionAndDeletesFiles() throws IOException {
+    List<File> uploaded = new ArrayList<>();
+    when(uploader.upload(any(), any())).thenAnswer(invocation -> {
+      uploaded.add(invocation.getArgument(0));
+      throw new IOException("connection reset");
+    });
+    ImageUploadService service = service(cloudinaryStore());
+
+    assertThatThrownBy(() -> service.uploadImage(image("image/png", png), null))
+        .isInstanceOf(ImageUploadException.class);
+
+    assertThat(uploaded).allSatisfy(file -> assertThat(file).doesNotExist());
+    assertThat(service.getStats().failures()).isEqualTo(1);
+  }
+
+  @Test
+  void uploadImage_uploadPoolFull_isRejectedImmediately() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(uploader.upload(any(), any())).thenAnswer(invocation -> {
+      started.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      Map<?, ?> options = invocation.getArgument(1);
+      return Map.of("secure_url", "https://img/" + options.get("public_id"),
+          "public_id", options.get("public_id"));
+    });
+    ImageUploadService service = service(cloudinaryStore());
+    CompletableFuture<ImageUploadResponse> first = CompletableFuture.supplyAsync(
+        () -> service.uploadImage(image("image/png", png), null));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> service.uploadImage(image("image/png", png), null))
+        .isInstanceOf(ImageUploadException.class)
+        .hasMessageContaining("Too many image uploads");
+
+    release.countDown();
+    assertThat(first.get(5, TimeUnit.SECONDS).getUrl()).startsWith("https://img/");
+    assertThat(service.getStats().rejections()).isEqualTo(1);
+  }
+
+  private ImageUploadService service(MediaStore mediaStore) {
+    return new ImageUploadService(new ImagePipelineService(pipelineProperties, meterRegistry),
+        mediaStore, uploadProperties, pipelineProperties, processingExecutor, uploadExecutor,
+        meterRegistry);
+  }
+
+  private MediaStore cloudinaryStore() {
+    return new CloudinaryMediaStore(cloudinary, 100);
+  }
+
+  private static ThreadPoolTaskExecutor executor(int threads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(0);
+    executor.initialize();
+    return executor;
+  }
+
+  private static MockMultipartFile image(String contentType, byte[] content) {
+    return new MockMultipartFile("file", "image.png", contentType, content);
+  }
+}
@@ -0,0 +1,74 @@
+package stud.ntnu.krisefikser.media.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import stud.ntnu.krisefikser.media.config.LocalMediaProperties;
+import stud.ntnu.krisefikser.media.exception.MediaNotFoundException;
+
+class LocalMediaStoreTest {
+
+  @TempDir
+  Path tempDir;
+
+  private Path directory;
+  private LocalMediaStore store;
+
+  @BeforeEach
+  void setUp() {
+    directory = tempDir.resolve("media");
+    LocalMediaProperties properties = new LocalMediaProperties();
+    properties.setDirectory(directory.toString());
+    properties.setBaseUrl("https://api.example/");
+    store = new LocalMediaStore(properties);
+  }
+
+  @Test
+  void store_writesFileUnderItsHash() throws IOException {
+    MediaObject object = object("hello");
+
+    StoredImage stored = store.store(object, Map.of());
+
+    // SHA-256 of "hello"
+    String hash = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+    assertThat(object.sha256()).isEqualTo(hash);
+    assertThat(stored.id()).isEqualTo(hash + ".webp");
+    assertThat(stored.url()).isEqualTo("https://api.example/api/media/" + hash + ".webp");
+    assertThat(directory.resolve("2c").resolve(hash + ".webp")).hasContent("hello");
+    assertThat(store.resolve(stored.id())).hasContent("hello");
+  }
+
+  @Test
+  void store_sameContentTwice_keepsOneCopy() throws IOException {
+    StoredImage first = store.store(object("hello"), Map.of());
+    StoredImage second = store.store(object("hello"), Map.of());
+
+    assertThat(second).isEqualTo(first);
+    assertThat(store.getStats().stored()).isEqualTo(1);
+    assertThat(store.getStats().deduplicated()).isEqualTo(1);
+    try (var files = Files.list(store.resolve(first.id()).getParent())) {
+      assertThat(files).hasSize(1);
+    }
+  }
+
+  @Test
+  void resolve_unknownOrUnsafeName_isNotFound() {
+    assertThatThrownBy(() -> store.resolve("ab".repeat(32) + ".webp"))
+        .isInstanceOf(MediaNotFoundException.class);
+    assertThatThrownBy(() -> store.resolve("../application.properties"))
+        .isInstanceOf(MediaNotFoundException.class);
+  }
+
+  private MediaObject object(String content) throws IOException {
+    Path file = Files.createTempFile(tempDir, "variant-", ".webp");
+    Files.writeString(file, content);
+    return MediaObject.of(file, "image/webp", "webp");
+  }
+}
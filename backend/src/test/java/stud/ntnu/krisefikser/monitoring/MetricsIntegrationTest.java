@@ -0,0 +1,75 @@
+package stud.ntnu.krisefikser.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.web.servlet.MockMvc;
+import stud.ntnu.krisefikser.auth.service.TurnstileService.VerificationStats;
+import stud.ntnu.krisefikser.common.AbstractIntegrationTest;
+import stud.ntnu.krisefikser.common.CircuitBreaker;
+
+@AutoConfigureObservability
+class MetricsIntegrationTest extends AbstractIntegrationTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    // The Turnstile service is mocked for every integration test
+    when(getTurnstileService().getStats()).thenReturn(new VerificationStats(0, 0, 0, 0, 0,
+        CircuitBreaker.State.CLOSED));
+  }
+
+  @Test
+  void prometheus_ShouldExposeApplicationMetricsWithoutAuthentication() throws Exception {
+    mockMvc.perform(get("/api/articles")).andExpect(status().isOk());
+
+    String scrape = mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    assertThat(scrape).contains(
+        "http_server_requests_seconds_bucket",
+        "hikaricp_connections_acquire_seconds",
+        "hibernate_",
+        "websocket_sessions",
+        "response_cache_gets_total{",
+        "response_cache_invalidations_total{",
+        "email_deliveries_total",
+        "email_outbox_emails{",
+        "outbound_http_calls_seconds_count{",
+        "httpcomponents_httpclient_pool_total_max{",
+        "turnstile_verifications_total{",
+        "turnstile_circuit_state{",
+        "images_uploads_total{",
+        "images_saved_bytes_total",
+        "images_processing_seconds_bucket{",
+        "images_store_seconds_bucket{",
+        "media_store_files_total{",
+        "content_snapshot_rebuilds_total{",
+        "content_snapshot_build_seconds_bucket{",
+        "search_queries_seconds_bucket{",
+        "search_index_documents{",
+        "application=\"krisefikser\"");
+  }
+
+  @Test
+  void health_ShouldBeOpen() throws Exception {
+    mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+  }
+
+  @Test
+  void metrics_WithoutAdmin_ShouldBeDenied() throws Exception {
+    mockMvc.perform(withUserAuth(get("/actuator/metrics")))
+        .andExpect(status().isForbidden());
+  }
+}
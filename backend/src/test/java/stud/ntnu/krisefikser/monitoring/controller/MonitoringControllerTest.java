@@ -0,0 +1,61 @@
+package stud.ntnu.krisefikser.monitoring.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
+import stud.ntnu.krisefikser.auth.service.TokenService;
+import stud.ntnu.krisefikser.common.LatencyHistogram;
+import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.config.DataSourcePoolMonitor;
+import stud.ntnu.krisefikser.config.DataSourcePoolMonitor.DataSourcePoolStats;
+
+@WebMvcTest(MonitoringController.class)
+@Import(TestSecurityConfig.class)
+class MonitoringControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private DataSourcePoolMonitor dataSourcePoolMonitor;
+
+  @MockitoBean
+  private TokenService tokenService;
+
+  @MockitoBean
+  private CustomUserDetailsService userDetailsService;
+
+  @Test
+  @WithMockUser(roles = "ADMIN")
+  void getDataSourcePool_WithAdminRole_ShouldReturnPoolState() throws Exception {
+    LatencyHistogram acquire = new LatencyHistogram(1, 10);
+    acquire.record(500_000);
+    when(dataSourcePoolMonitor.getStats()).thenReturn(new DataSourcePoolStats("krisefikser", 7,
+        3, 2, 10, 10, 10, 30_000, 20_000, 1_500_000, 10, 1, 0, acquire.snapshot(),
+        new LatencyHistogram(10).snapshot()));
+
+    mockMvc.perform(get("/api/monitoring/datasource-pool"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.active").value(7))
+        .andExpect(jsonPath("$.pending").value(2))
+        .andExpect(jsonPath("$.timeouts").value(1))
+        .andExpect(jsonPath("$.acquire.buckets['<=1ms']").value(1));
+  }
+
+  @Test
+  @WithMockUser(roles = "USER")
+  void getDataSourcePool_WithoutAdminRole_ShouldReturnForbidden() throws Exception {
+    mockMvc.perform(get("/api/monitoring/datasource-pool"))
+        .andExpect(status().isForbidden());
+  }
+}
@@ -3,6 +3,7 @@ package stud.ntnu.krisefikser.notification.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +16,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import stud.ntnu.krisefikser.common.RepositoryTestConfig;
+import stud.ntnu.krisefikser.map.entity.Event;
+import stud.ntnu.krisefikser.map.entity.EventLevel;
+import stud.ntnu.krisefikser.map.entity.EventStatus;
+import stud.ntnu.krisefikser.map.repository.EventRepository;
+import stud.ntnu.krisefikser.notification.dto.NotificationReach;
 import stud.ntnu.krisefikser.notification.entity.Notification;
 import stud.ntnu.krisefikser.notification.entity.NotificationType;
 import stud.ntnu.krisefikser.user.entity.User;
@@ -30,6 +36,9 @@ class NotificationRepositoryTest {
   @Autowired
   private UserRepository userRepository;
 
+  @Autowired
+  private EventRepository eventRepository;
+
   private User user1;
   private User emptyUser;
 
@@ -197,4 +206,40 @@ class NotificationRepositoryTest {
     List<Notification> all = notificationRepository.findAll();
     assertThat(all).hasSize(3); // Original 3 notifications
   }
-}
\ No newline at end of file
+
+  @Test
+  void getReachByEventId_ShouldCountCreatedReadAndRecipients() {
+    Event event = eventRepository.save(Event.builder()
+        .title("Storm")
+        .description("Strong wind")
+        .radius(500.0)
+        .latitude(63.43)
+        .longitude(10.39)
+        .level(EventLevel.YELLOW)
+        .status(EventStatus.FINISHED)
+        .startTime(ZonedDateTime.now())
+        .build());
+    notificationRepository.saveAll(List.of(
+        eventNotification(user1, event, true),
+        eventNotification(user1, event, false),
+        eventNotification(emptyUser, event, true)));
+
+    NotificationReach reach = notificationRepository.getReachByEventId(event.getId());
+
+    assertThat(reach).isEqualTo(new NotificationReach(3, 2, 2));
+    assertThat(notificationRepository.getReachByEventId(event.getId() + 1))
+        .isEqualTo(new NotificationReach(0, 0, 0));
+  }
+
+  private Notification eventNotification(User user, Event event, boolean read) {
+    return Notification.builder()
+        .user(user)
+        .title("Ny krise: Storm")
+        .message("Strong wind")
+        .type(NotificationType.EVENT)
+        .event(event)
+        .isRead(read)
+        .createdAt(LocalDateTime.now())
+        .build();
+  }
+}
@@ -6,21 +6,28 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -47,6 +54,9 @@ class NotificationServiceTest {
   @Mock
   private UserService userService;
 
+  @Spy
+  private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
   @InjectMocks
   private NotificationService notificationService;
 
@@ -109,6 +119,64 @@ class NotificationServiceTest {
         any(NotificationResponse.class));
   }
 
+  @Test
+  void createNotifications_ShouldSaveBatchOnceAndPushToEachRecipient() {
+    // Arrange
+    Map<String, Notification> batch = new LinkedHashMap<>();
+    batch.put("test@example.com", testNotification);
+    batch.put("other@example.com", new Notification(testNotification, null));
+
+    // Act
+    int created = notificationService.createNotifications(batch);
+
+    // Assert
+    assertThat(created).isEqualTo(2);
+    verify(notificationRepository).saveAll(batch.values());
+    verify(notificationRepository).flush();
+    verify(notificationWebSocketService).sendNotification(eq("test@example.com"),
+        any(NotificationResponse.class));
+    verify(notificationWebSocketService).sendNotification(eq("other@example.com"),
+        any(NotificationResponse.class));
+    assertThat(meterRegistry.get(NotificationService.FANOUT_RECIPIENTS)
+        .tag("audience", "batch").summary().totalAmount()).isEqualTo(2);
+    assertThat(meterRegistry.get(NotificationService.FANOUT_TIMER).timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void createNotificationsForAll_ShouldSaveOptedInCopiesInOneBatch() {
+    // Arrange
+    User optedIn = User.builder().id(UUID.randomUUID()).email("a@example.com")
+        .notifications(true).build();
+    User optedOut = User.builder().id(UUID.randomUUID()).email("b@example.com")
+        .notifications(false).build();
+    testUser.setNotifications(true);
+    when(userService.getAllUsers()).thenReturn(List.of(testUser, optedIn, optedOut));
+
+    // Act
+    notificationService.createNotificationsForAll(testNotification);
+
+    // Assert
+    ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.captor();
+    verify(notificationRepository).saveAll(saved.capture());
+    verify(notificationRepository).flush();
+    assertThat(saved.getValue()).extracting(n -> n.getUser().getEmail())
+        .containsExactly("test@example.com", "a@example.com");
+    verify(notificationWebSocketService, times(2)).sendNotification(any(User.class),
+        any(NotificationResponse.class));
+    assertThat(meterRegistry.get(NotificationService.FANOUT_RECIPIENTS)
+        .tag("audience", "all").summary().totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void createNotifications_WithEmptyBatch_ShouldDoNothing() {
+    // Act
+    int created = notificationService.createNotifications(Map.of());
+
+    // Assert
+    assertThat(created).isZero();
+    verify(notificationRepository, never()).saveAll(any());
+  }
+
   @Test
   void getNotifications_WithPagination_ShouldReturnPageOfNotificationResponses() {
     // Arrange
@@ -202,7 +202,9 @@ class ReflectionFlowIntegrationTest extends AbstractIntegrationTest {
             withJwtAuth(
                 get("/api/reflections")))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(3));
+        .andExpect(jsonPath("$.reflections.length()").value(3))
+        .andExpect(jsonPath("$.reflections[0].title").value("Household Reflection"))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
     // Get only public reflections
     mockMvc.perform(
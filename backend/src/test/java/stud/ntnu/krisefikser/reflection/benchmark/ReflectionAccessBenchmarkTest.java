@@ -0,0 +1,159 @@
+package stud.ntnu.krisefikser.reflection.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionCursor;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
+import stud.ntnu.krisefikser.reflection.entity.Reflection;
+import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+
+/**
+ * Compares the access query for a user's reflection feed before and after it was split into a
+ * union of indexed branches with keyset pagination.
+ *
+ * <p>Skipped unless a dataset size is given, since generating a million rows takes minutes:</p>
+ * <pre>
+ * mvn test -Dtest=ReflectionAccessBenchmarkTest -Dbenchmark.reflections=1000000
+ * </pre>
+ *
+ * <p>The old query is given the same ordering and page size as the new one, and its entities are
+ * mapped the way the service used to map them, so the comparison includes the queries issued for
+ * each author and household. The benchmark uses its own in-memory database, whose planner is
+ * simpler than MySQL's; the plans printed by the EXPLAIN test show which indexes are used.</p>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.reflections", matches = "\\d+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:reflection-benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class ReflectionAccessBenchmarkTest {
+
+  private static final Duration BUDGET = Duration.ofMillis(100);
+  private static final int PAGE_SIZE = 20;
+  private static final int USERS = 50;
+  private static final String OR_QUERY = "SELECT r FROM Reflection r WHERE "
+      + "r.visibility = 'PUBLIC' OR (r.visibility = 'PRIVATE' AND r.author.id = :userId) OR "
+      + "(r.visibility = 'HOUSEHOLD' AND r.household.id IN "
+      + "(SELECT hm.household.id FROM HouseholdMember hm WHERE hm.user.id = :userId)) "
+      + "ORDER BY r.createdAt DESC, r.id DESC";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ReflectionRepository reflectionRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private List<UUID> userIds;
+
+  @BeforeAll
+  void generateDataset() {
+    long reflectionCount = Long.getLong("benchmark.reflections");
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    ReflectionBenchmarkDataGenerator generator = new ReflectionBenchmarkDataGenerator(jdbcTemplate);
+    long start = System.nanoTime();
+    generator.generate(reflectionCount, now);
+    jdbcTemplate.execute("ANALYZE");
+    Random random = new Random(7);
+    userIds = random.ints(USERS, 0, generator.getUserIds().size())
+        .mapToObj(generator.getUserIds()::get)
+        .toList();
+    System.out.printf("Generated %d reflections by %d users in %d ms%n", reflectionCount,
+        generator.getUserIds().size(), (System.nanoTime() - start) / 1_000_000);
+  }
+
+  @Test
+  void publicBranch_ShouldUseIndex() {
+    String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT id FROM reflection "
+        + "WHERE visibility = 'PUBLIC' AND created_at < CURRENT_TIMESTAMP "
+        + "ORDER BY created_at DESC, id DESC LIMIT 21", String.class);
+    System.out.println(plan);
+    assertThat(plan).containsIgnoringCase("idx_reflection_visibility_created");
+  }
+
+  @Test
+  void firstPage_UnionShouldBeFasterThanOrQuery() {
+    Duration union = time(userId -> firstPage(userId).size());
+    Duration or = time(userId -> transactionTemplate.execute(status -> {
+      List<Reflection> page = entityManager.createQuery(OR_QUERY, Reflection.class)
+          .setParameter("userId", userId)
+          .setMaxResults(PAGE_SIZE)
+          .getResultList();
+      page.forEach(ReflectionAccessBenchmarkTest::touchAssociations);
+      entityManager.clear();
+      return page.size();
+    }));
+    report("First page, union of indexed branches", union);
+    report("First page, ORed conditions and entities", or);
+    assertThat(union.dividedBy(USERS)).isLessThan(BUDGET);
+    assertThat(union).isLessThan(or);
+  }
+
+  @Test
+  void deepPage_ShouldCostAboutTheSameAsFirstPage() {
+    ReflectionCursor halfway = new ReflectionCursor(
+        LocalDateTime.now().minusYears(1), new UUID(-1L, -1L));
+    Duration deep = time(userId -> reflectionRepository.findResponsesByIdIn(
+        reflectionRepository.findAccessibleIdsBefore(userId, halfway.createdAt(), halfway.id(),
+            PAGE_SIZE)).size());
+    report("Page one year back, union", deep);
+    assertThat(deep.dividedBy(USERS)).isLessThan(BUDGET);
+  }
+
+  private List<ReflectionResponse> firstPage(UUID userId) {
+    return reflectionRepository.findResponsesByIdIn(reflectionRepository.findAccessibleIdsBefore(
+        userId, ReflectionCursor.FIRST.createdAt(), ReflectionCursor.FIRST.id(), PAGE_SIZE));
+  }
+
+  /**
+   * Reads the associations the service used to read when mapping an entity to a response.
+   */
+  private static void touchAssociations(Reflection reflection) {
+    reflection.getAuthor().getFirstName();
+    if (reflection.getHousehold() != null) {
+      reflection.getHousehold().getName();
+    }
+  }
+
+  /**
+   * Runs the query once for every sampled user to warm up query plans and JIT, then times a
+   * second round.
+   */
+  private Duration time(Function<UUID, Integer> query) {
+    userIds.forEach(query::apply);
+    long start = System.nanoTime();
+    long rows = 0;
+    for (UUID userId : userIds) {
+      rows += query.apply(userId);
+    }
+    assertThat(rows).isPositive();
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+
+  private static void report(String label, Duration elapsed) {
+    System.out.printf("%-45s %8d ms for %d users, %6.2f ms per page%n", label, elapsed.toMillis(),
+        USERS, elapsed.toNanos() / 1e6 / USERS);
+  }
+}
@@ -0,0 +1,121 @@
+package stud.ntnu.krisefikser.reflection.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Generates a large synthetic reflection dataset for the access query benchmark.
+ *
+ * <p>Rows are written with plain JDBC batches, bypassing JPA. Every household has two members,
+ * and every user writes an equal share of the reflections. Four in ten reflections are public,
+ * three in ten private and three in ten shared with the author's household, and creation times
+ * are spread uniformly over the two years before the reference time.</p>
+ */
+public class ReflectionBenchmarkDataGenerator {
+
+  static final int REFLECTIONS_PER_USER = 50;
+  static final int MEMBERS_PER_HOUSEHOLD = 2;
+  private static final int BATCH_SIZE = 5_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Random random = new Random(42);
+  private final List<UUID> userIds = new ArrayList<>();
+
+  public ReflectionBenchmarkDataGenerator(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Inserts the given number of reflections along with the users and households they belong to.
+   *
+   * @param reflectionCount the number of reflections to create
+   * @param now             the reference time for creation times
+   */
+  public void generate(long reflectionCount, LocalDateTime now) {
+    long householdCount = Math.max(1, reflectionCount / REFLECTIONS_PER_USER / 2);
+    List<UUID> householdOfUser = new ArrayList<>();
+    List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+    List<Object[]> households = new ArrayList<>(BATCH_SIZE);
+    List<Object[]> members = new ArrayList<>(BATCH_SIZE);
+
+    for (long h = 0; h < householdCount; h++) {
+      UUID householdId = UUID.randomUUID();
+      UUID ownerId = null;
+      for (int m = 0; m < MEMBERS_PER_HOUSEHOLD; m++) {
+        UUID userId = UUID.randomUUID();
+        ownerId = ownerId == null ? userId : ownerId;
+        users.add(new Object[] {userId, "bench-" + h + "-" + m + "@example.com", "x",
+            "Bruker", String.valueOf(h)});
+        members.add(new Object[] {UUID.randomUUID(), userId, householdId});
+        userIds.add(userId);
+        householdOfUser.add(householdId);
+      }
+      households.add(new Object[] {householdId, "Husstand " + h, ownerId});
+      if (households.size() >= BATCH_SIZE / MEMBERS_PER_HOUSEHOLD) {
+        flushHouseholds(users, households, members);
+      }
+    }
+    flushHouseholds(users, households, members);
+
+    long spanSeconds = 2L * 365 * 24 * 3600;
+    LocalDateTime earliest = now.minusSeconds(spanSeconds);
+    List<Object[]> reflections = new ArrayList<>(BATCH_SIZE);
+    for (long i = 0; i < reflectionCount; i++) {
+      int author = (int) (i % userIds.size());
+      int kind = random.nextInt(10);
+      String visibility = kind < 4 ? "PUBLIC" : kind < 7 ? "PRIVATE" : "HOUSEHOLD";
+      Timestamp createdAt = Timestamp.valueOf(
+          earliest.plusSeconds((long) (random.nextDouble() * spanSeconds)));
+      reflections.add(new Object[] {UUID.randomUUID(), "Refleksjon " + i,
+          "Hva vi lærte av hendelsen.", userIds.get(author), visibility,
+          visibility.equals("HOUSEHOLD") ? householdOfUser.get(author) : null,
+          createdAt, createdAt});
+      if (reflections.size() >= BATCH_SIZE) {
+        insertReflections(reflections);
+      }
+    }
+    insertReflections(reflections);
+  }
+
+  /**
+   * Returns the ids of the generated users.
+   *
+   * @return the user ids in insertion order
+   */
+  public List<UUID> getUserIds() {
+    return userIds;
+  }
+
+  private void flushHouseholds(List<Object[]> users, List<Object[]> households,
+      List<Object[]> members) {
+    if (households.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO users (id, email, password, first_name, last_name, "
+        + "notifications, email_updates, location_sharing, password_retries, email_verified) "
+        + "VALUES (?, ?, ?, ?, ?, TRUE, FALSE, FALSE, 0, TRUE)", users);
+    jdbcTemplate.batchUpdate("INSERT INTO household (id, name, owner_id, latitude, longitude, "
+        + "address, postal_code, city, water_liters) "
+        + "VALUES (?, ?, ?, 63.43, 10.39, 'Benchmarkveien 1', '7030', 'Trondheim', 0)",
+        households);
+    jdbcTemplate.batchUpdate("INSERT INTO household_member (id, user_id, household_id) "
+        + "VALUES (?, ?, ?)", members);
+    users.clear();
+    households.clear();
+    members.clear();
+  }
+
+  private void insertReflections(List<Object[]> reflections) {
+    if (reflections.isEmpty()) {
+      return;
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO reflection (id, title, content, author_id, visibility, "
+        + "household_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", reflections);
+    reflections.clear();
+  }
+}
@@ -33,9 +33,11 @@ import stud.ntnu.krisefikser.common.TestDataFactory;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
 import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
 import stud.ntnu.krisefikser.reflection.dto.CreateReflectionRequest;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionPageResponse;
 import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
 import stud.ntnu.krisefikser.reflection.dto.UpdateReflectionRequest;
 import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.exception.InvalidReflectionCursorException;
 import stud.ntnu.krisefikser.reflection.exception.ReflectionNotFoundException;
 import stud.ntnu.krisefikser.reflection.exception.UnauthorizedReflectionAccessException;
 import stud.ntnu.krisefikser.reflection.service.ReflectionService;
@@ -296,18 +298,62 @@ class ReflectionControllerTest {
 
     @Test
     @WithMockUser
-    void getAccessibleReflections_whenAuthenticated_shouldReturnReflectionsList() throws Exception {
+    void getAccessibleReflections_whenAuthenticated_shouldReturnFirstPage() throws Exception {
         // Arrange
-        List<ReflectionResponse> reflections = Collections.singletonList(reflectionResponse);
-        when(reflectionService.getAccessibleReflections()).thenReturn(reflections);
+        ReflectionPageResponse page = new ReflectionPageResponse(
+                Collections.singletonList(reflectionResponse), "next");
+        when(reflectionService.getAccessibleReflections(null, ReflectionService.DEFAULT_PAGE_SIZE))
+                .thenReturn(page);
 
         // Act & Assert
         mockMvc.perform(get("/api/reflections"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(validId.toString()))
-                .andExpect(jsonPath("$[0].title").value("Test Reflection"));
+                .andExpect(jsonPath("$.reflections[0].id").value(validId.toString()))
+                .andExpect(jsonPath("$.reflections[0].title").value("Test Reflection"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(reflectionService).getAccessibleReflections(null, ReflectionService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    @WithMockUser
+    void getAccessibleReflections_withCursor_shouldPassItOn() throws Exception {
+        // Arrange
+        when(reflectionService.getAccessibleReflections("abc", 5))
+                .thenReturn(new ReflectionPageResponse(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reflections").param("cursor", "abc").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reflections").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
 
-        verify(reflectionService).getAccessibleReflections();
+    @Test
+    @WithMockUser
+    void getAccessibleReflections_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(reflectionService.getAccessibleReflections("bad", ReflectionService.DEFAULT_PAGE_SIZE))
+                .thenThrow(new InvalidReflectionCursorException("bad"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reflections").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getReflectionsByEventId_shouldReturnPage() throws Exception {
+        // Arrange
+        when(reflectionService.getReflectionsByEventId(3L, "abc", 10))
+                .thenReturn(new ReflectionPageResponse(List.of(reflectionResponse), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reflections/event/3").param("cursor", "abc")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reflections[0].id").value(validId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
 
     @Test
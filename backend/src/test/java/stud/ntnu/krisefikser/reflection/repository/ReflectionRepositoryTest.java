@@ -3,6 +3,8 @@ package stud.ntnu.krisefikser.reflection.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +22,9 @@ import stud.ntnu.krisefikser.map.entity.Event;
 import stud.ntnu.krisefikser.map.entity.EventLevel;
 import stud.ntnu.krisefikser.map.entity.EventStatus;
 import stud.ntnu.krisefikser.map.repository.EventRepository;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionCursor;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
+import stud.ntnu.krisefikser.reflection.dto.VisibilityCount;
 import stud.ntnu.krisefikser.reflection.entity.Reflection;
 import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
 import stud.ntnu.krisefikser.user.entity.User;
@@ -226,9 +231,9 @@ class ReflectionRepositoryTest {
   }
 
   @Test
-  void findReflectionsAccessibleToUser_ShouldReturnAllAccessibleReflections_ForUser1() {
+  void findAccessibleIdsBefore_ShouldReturnAllAccessibleReflections_ForUser1() {
     // Act
-    List<Reflection> result = reflectionRepository.findReflectionsAccessibleToUser(user1.getId());
+    List<ReflectionResponse> result = accessibleTo(user1);
 
     // Assert
     assertThat(result).hasSize(4);
@@ -242,9 +247,9 @@ class ReflectionRepositoryTest {
   }
 
   @Test
-  void findReflectionsAccessibleToUser_ShouldReturnOnlyPublicAndOwnPrivateReflections_ForUser2() {
+  void findAccessibleIdsBefore_ShouldReturnOnlyPublicAndOwnPrivateReflections_ForUser2() {
     // Act
-    List<Reflection> result = reflectionRepository.findReflectionsAccessibleToUser(user2.getId());
+    List<ReflectionResponse> result = accessibleTo(user2);
 
     // Assert
     assertThat(result).hasSize(2);
@@ -253,9 +258,9 @@ class ReflectionRepositoryTest {
   }
 
   @Test
-  void findReflectionsAccessibleToUser_ShouldReturnOnlyPublicReflections_ForUser3() {
+  void findAccessibleIdsBefore_ShouldReturnOnlyPublicReflections_ForUser3() {
     // Act
-    List<Reflection> result = reflectionRepository.findReflectionsAccessibleToUser(user3.getId());
+    List<ReflectionResponse> result = accessibleTo(user3);
 
     // Assert
     assertThat(result).hasSize(2);
@@ -263,6 +268,56 @@ class ReflectionRepositoryTest {
         .containsExactlyInAnyOrder("Public Reflection", "Event Reflection");
   }
 
+  @Test
+  void findAccessibleIdsBefore_ShouldPageThroughAllReflectionsNewestFirst() {
+    // Arrange
+    List<ReflectionResponse> seen = new ArrayList<>();
+    ReflectionCursor cursor = ReflectionCursor.FIRST;
+
+    // Act
+    List<UUID> page;
+    while (!(page = reflectionRepository.findAccessibleIdsBefore(user1.getId(),
+        cursor.createdAt(), cursor.id(), 1)).isEmpty()) {
+      ReflectionResponse reflection = reflectionRepository.findResponsesByIdIn(page).getFirst();
+      seen.add(reflection);
+      cursor = ReflectionCursor.after(reflection);
+    }
+
+    // Assert
+    assertThat(seen).hasSize(4);
+    assertThat(seen).extracting(ReflectionResponse::getId).doesNotHaveDuplicates();
+    assertThat(seen).extracting(ReflectionResponse::getCreatedAt)
+        .isSortedAccordingTo(Comparator.reverseOrder());
+  }
+
+  @Test
+  void findResponsesByIdIn_ShouldJoinAuthorHouseholdAndEvent() {
+    // Arrange
+    user1.setFirstName("Kari");
+    user1.setLastName("Nordmann");
+    userRepository.save(user1);
+    List<UUID> ids = reflectionRepository.findAll().stream().map(Reflection::getId).toList();
+
+    // Act
+    List<ReflectionResponse> result = reflectionRepository.findResponsesByIdIn(ids);
+
+    // Assert
+    assertThat(result).hasSize(4);
+    assertThat(result).filteredOn(r -> r.getTitle().equals("Household Reflection"))
+        .singleElement()
+        .satisfies(r -> {
+          assertThat(r.getAuthorName()).isEqualTo("Kari Nordmann");
+          assertThat(r.getHouseholdId()).isEqualTo(household1.getId());
+          assertThat(r.getHouseholdName()).isEqualTo("Household 1");
+        });
+    assertThat(result).filteredOn(r -> r.getTitle().equals("Event Reflection"))
+        .singleElement()
+        .satisfies(r -> {
+          assertThat(r.getAuthorName()).isEqualTo("user2@example.com");
+          assertThat(r.getEventId()).isEqualTo(testEvent.getId());
+        });
+  }
+
   @Test
   void findByEventId_ShouldReturnRelatedReflections() {
     // Act
@@ -273,6 +328,76 @@ class ReflectionRepositoryTest {
     assertThat(result.get(0).getTitle()).isEqualTo("Event Reflection");
   }
 
+  @Test
+  void findEventResponsesVisibleToUserBefore_ShouldApplyVisibilityInQuery() {
+    // Arrange
+    reflectionRepository.save(Reflection.builder()
+        .title("Private Event Reflection")
+        .content("Private content")
+        .author(user1)
+        .event(testEvent)
+        .visibility(VisibilityType.PRIVATE)
+        .build());
+    reflectionRepository.save(Reflection.builder()
+        .title("Household Event Reflection")
+        .content("Household content")
+        .author(user1)
+        .household(household1)
+        .event(testEvent)
+        .visibility(VisibilityType.HOUSEHOLD)
+        .build());
+    ReflectionCursor first = ReflectionCursor.FIRST;
+
+    // Act
+    List<ReflectionResponse> author = reflectionRepository.findEventResponsesVisibleToUserBefore(
+        testEvent.getId(), user1.getId(), null, first.createdAt(), first.id(), 10);
+    List<ReflectionResponse> member = reflectionRepository.findEventResponsesVisibleToUserBefore(
+        testEvent.getId(), user3.getId(), household1.getId(), first.createdAt(), first.id(), 10);
+    List<ReflectionResponse> outsider = reflectionRepository
+        .findEventResponsesVisibleToUserBefore(testEvent.getId(), user3.getId(),
+            household2.getId(), first.createdAt(), first.id(), 10);
+    List<ReflectionResponse> all = reflectionRepository.findEventResponsesBefore(
+        testEvent.getId(), first.createdAt(), first.id(), 10);
+
+    // Assert
+    assertThat(author).extracting("title").containsExactlyInAnyOrder("Event Reflection",
+        "Private Event Reflection", "Household Event Reflection");
+    assertThat(member).extracting("title")
+        .containsExactlyInAnyOrder("Event Reflection", "Household Event Reflection");
+    assertThat(outsider).extracting("title").containsExactly("Event Reflection");
+    assertThat(all).hasSize(3)
+        .extracting(ReflectionResponse::getCreatedAt)
+        .isSortedAccordingTo(Comparator.reverseOrder());
+  }
+
+  @Test
+  void countByVisibilityForEvent_ShouldGroupEventReflections() {
+    // Arrange
+    reflectionRepository.save(Reflection.builder()
+        .title("Second Public Event Reflection")
+        .content("More content")
+        .author(user2)
+        .event(testEvent)
+        .visibility(VisibilityType.PUBLIC)
+        .build());
+    reflectionRepository.save(Reflection.builder()
+        .title("Private Event Reflection")
+        .content("Private content")
+        .author(user1)
+        .event(testEvent)
+        .visibility(VisibilityType.PRIVATE)
+        .build());
+
+    // Act
+    List<VisibilityCount> result = reflectionRepository.countByVisibilityForEvent(
+        testEvent.getId());
+
+    // Assert
+    assertThat(result).containsExactlyInAnyOrder(
+        new VisibilityCount(VisibilityType.PUBLIC, 2),
+        new VisibilityCount(VisibilityType.PRIVATE, 1));
+  }
+
   @Test
   void findByEventId_ShouldReturnEmptyList_WhenNoReflectionsExist() {
     // Create an event with no reflections
@@ -330,4 +455,10 @@ class ReflectionRepositoryTest {
     List<Reflection> allReflections = reflectionRepository.findAll();
     assertThat(allReflections).hasSize(4); // The original 4 reflections
   }
-}
\ No newline at end of file
+
+  private List<ReflectionResponse> accessibleTo(User user) {
+    List<UUID> ids = reflectionRepository.findAccessibleIdsBefore(user.getId(),
+        ReflectionCursor.FIRST.createdAt(), ReflectionCursor.FIRST.id(), 100);
+    return reflectionRepository.findResponsesByIdIn(ids);
+  }
+}
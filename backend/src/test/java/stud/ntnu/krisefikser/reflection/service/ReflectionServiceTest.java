@@ -3,9 +3,12 @@ package stud.ntnu.krisefikser.reflection.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -25,13 +28,17 @@ import stud.ntnu.krisefikser.household.exception.HouseholdNotFoundException;
 import stud.ntnu.krisefikser.household.service.HouseholdService;
 import stud.ntnu.krisefikser.map.service.EventService;
 import stud.ntnu.krisefikser.reflection.dto.CreateReflectionRequest;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionCursor;
+import stud.ntnu.krisefikser.reflection.dto.ReflectionPageResponse;
 import stud.ntnu.krisefikser.reflection.dto.ReflectionResponse;
 import stud.ntnu.krisefikser.reflection.dto.UpdateReflectionRequest;
 import stud.ntnu.krisefikser.reflection.entity.Reflection;
 import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.exception.InvalidReflectionCursorException;
 import stud.ntnu.krisefikser.reflection.exception.ReflectionNotFoundException;
 import stud.ntnu.krisefikser.reflection.exception.UnauthorizedReflectionAccessException;
 import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+import stud.ntnu.krisefikser.search.service.SearchService;
 import stud.ntnu.krisefikser.user.entity.User;
 import stud.ntnu.krisefikser.user.service.UserService;
 
@@ -50,6 +57,9 @@ class ReflectionServiceTest {
   @Mock
   private EventService eventService;
 
+  @Mock
+  private SearchService searchService;
+
   @InjectMocks
   private ReflectionService reflectionService;
 
@@ -509,24 +519,123 @@ class ReflectionServiceTest {
   }
 
   @Test
-  void getAccessibleReflections_shouldReturnAccessibleReflections() {
+  void getAccessibleReflections_shouldReturnPageInQueryOrderWithNextCursor() {
     // Arrange
-    List<Reflection> accessibleReflections = Arrays.asList(publicReflection, privateReflection,
-        householdReflection);
+    LocalDateTime now = LocalDateTime.of(2025, 5, 1, 12, 0);
+    ReflectionResponse newest = ReflectionResponse.builder()
+        .id(UUID.randomUUID()).title("Newest").createdAt(now).build();
+    ReflectionResponse older = ReflectionResponse.builder()
+        .id(UUID.randomUUID()).title("Older").createdAt(now.minusHours(1)).build();
+    UUID oldest = UUID.randomUUID();
 
     when(userService.getCurrentUser()).thenReturn(currentUser);
-    when(reflectionRepository.findReflectionsAccessibleToUser(currentUser.getId()))
-        .thenReturn(accessibleReflections);
+    when(reflectionRepository.findAccessibleIdsBefore(currentUser.getId(),
+        ReflectionCursor.FIRST.createdAt(), ReflectionCursor.FIRST.id(), 3))
+        .thenReturn(List.of(newest.getId(), older.getId(), oldest));
+    when(reflectionRepository.findResponsesByIdIn(List.of(newest.getId(), older.getId())))
+        .thenReturn(List.of(older, newest));
 
     // Act
-    List<ReflectionResponse> result = reflectionService.getAccessibleReflections();
+    ReflectionPageResponse result = reflectionService.getAccessibleReflections(null, 2);
 
     // Assert
-    assertThat(result).isNotNull();
-    assertThat(result).hasSize(3);
+    assertThat(result.getReflections()).containsExactly(newest, older);
+    assertThat(ReflectionCursor.decode(result.getNextCursor()))
+        .isEqualTo(new ReflectionCursor(older.getCreatedAt(), older.getId()));
+  }
 
-    verify(userService).getCurrentUser();
-    verify(reflectionRepository).findReflectionsAccessibleToUser(currentUser.getId());
+  @Test
+  void getAccessibleReflections_onLastPage_shouldReturnNoNextCursor() {
+    // Arrange
+    ReflectionCursor cursor = new ReflectionCursor(LocalDateTime.of(2025, 5, 1, 12, 0),
+        UUID.randomUUID());
+    ReflectionResponse last = ReflectionResponse.builder()
+        .id(UUID.randomUUID()).createdAt(cursor.createdAt().minusDays(1)).build();
+
+    when(userService.getCurrentUser()).thenReturn(currentUser);
+    when(reflectionRepository.findAccessibleIdsBefore(currentUser.getId(), cursor.createdAt(),
+        cursor.id(), ReflectionService.MAX_PAGE_SIZE + 1)).thenReturn(List.of(last.getId()));
+    when(reflectionRepository.findResponsesByIdIn(List.of(last.getId())))
+        .thenReturn(List.of(last));
+
+    // Act
+    ReflectionPageResponse result = reflectionService.getAccessibleReflections(cursor.encode(),
+        1_000);
+
+    // Assert
+    assertThat(result.getReflections()).containsExactly(last);
+    assertThat(result.getNextCursor()).isNull();
+  }
+
+  @Test
+  void getAccessibleReflections_withMalformedCursor_shouldThrow() {
+    // Arrange
+    when(userService.getCurrentUser()).thenReturn(currentUser);
+
+    // Act & Assert
+    assertThatThrownBy(() -> reflectionService.getAccessibleReflections("not-a-cursor", 20))
+        .isInstanceOf(InvalidReflectionCursorException.class);
+    verify(reflectionRepository, never()).findAccessibleIdsBefore(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void getReflectionsByEventId_forUser_shouldFilterInQueryByActiveHousehold() {
+    // Arrange
+    ReflectionResponse reflection = ReflectionResponse.builder()
+        .id(UUID.randomUUID()).createdAt(LocalDateTime.of(2025, 5, 1, 12, 0)).build();
+
+    when(userService.getCurrentUser()).thenReturn(currentUser);
+    when(reflectionRepository.findEventResponsesVisibleToUserBefore(7L, currentUser.getId(),
+        household.getId(), ReflectionCursor.FIRST.createdAt(), ReflectionCursor.FIRST.id(), 2))
+        .thenReturn(List.of(reflection));
+
+    // Act
+    ReflectionPageResponse result = reflectionService.getReflectionsByEventId(7L, null, 1);
+
+    // Assert
+    assertThat(result.getReflections()).containsExactly(reflection);
+    assertThat(result.getNextCursor()).isNull();
+    verify(reflectionRepository, never()).findEventResponsesBefore(any(), any(), any(), anyInt());
+  }
+
+  @Test
+  void getReflectionsByEventId_withoutActiveHousehold_shouldPassNoHousehold() {
+    // Arrange
+    when(userService.getCurrentUser()).thenReturn(otherUser);
+    when(reflectionRepository.findEventResponsesVisibleToUserBefore(7L, otherUser.getId(), null,
+        ReflectionCursor.FIRST.createdAt(), ReflectionCursor.FIRST.id(),
+        ReflectionService.DEFAULT_PAGE_SIZE + 1)).thenReturn(List.of());
+
+    // Act
+    ReflectionPageResponse result = reflectionService.getReflectionsByEventId(7L, null,
+        ReflectionService.DEFAULT_PAGE_SIZE);
+
+    // Assert
+    assertThat(result.getReflections()).isEmpty();
+  }
+
+  @Test
+  void getReflectionsByEventId_forAdmin_shouldReturnAllWithNextCursor() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.of(2025, 5, 1, 12, 0);
+    ReflectionResponse first = ReflectionResponse.builder()
+        .id(UUID.randomUUID()).createdAt(now).build();
+    ReflectionResponse second = ReflectionResponse.builder()
+        .id(UUID.randomUUID()).createdAt(now.minusMinutes(1)).build();
+
+    when(userService.getCurrentUser()).thenReturn(adminUser);
+    when(reflectionRepository.findEventResponsesBefore(7L, ReflectionCursor.FIRST.createdAt(),
+        ReflectionCursor.FIRST.id(), 2)).thenReturn(List.of(first, second));
+
+    // Act
+    ReflectionPageResponse result = reflectionService.getReflectionsByEventId(7L, null, 1);
+
+    // Assert
+    assertThat(result.getReflections()).containsExactly(first);
+    assertThat(ReflectionCursor.decode(result.getNextCursor()))
+        .isEqualTo(ReflectionCursor.after(first));
+    verify(reflectionRepository, never()).findEventResponsesVisibleToUserBefore(any(), any(),
+        any(), any(), any(), anyInt());
   }
 
   @Test
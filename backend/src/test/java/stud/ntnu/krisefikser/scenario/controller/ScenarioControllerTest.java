@@ -29,8 +29,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
 import stud.ntnu.krisefikser.auth.service.TokenService;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.common.VersionedResponseCache.CachedResponse;
 import stud.ntnu.krisefikser.scenario.dto.CreateScenarioRequest;
 import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse;
 import stud.ntnu.krisefikser.scenario.service.ScenarioService;
 
 @WebMvcTest(controllers = ScenarioController.class)
@@ -69,7 +71,9 @@ class ScenarioControllerTest {
                 validId,
                 "Flood Emergency",
                 "# Flood Emergency Guide\n\nThis is what to do in case of a flood.",
-                null);
+                null,
+                List.of(),
+                11);
     }
 
     @Test
@@ -237,23 +241,27 @@ class ScenarioControllerTest {
     @WithMockUser
     void getAllScenarios_ShouldReturnScenariosList() throws Exception {
         // Arrange
-        List<ScenarioResponse> scenarios = List.of(scenarioResponse);
-        when(scenarioService.getAllScenarios()).thenReturn(scenarios);
+        List<ScenarioSummaryResponse> scenarios = List.of(new ScenarioSummaryResponse(validId,
+                "Flood Emergency", null, "Flood Emergency Guide This is what to do", 7));
+        when(scenarioService.getAllScenariosCached())
+                .thenReturn(new CachedResponse<>(scenarios, "\"etag\"", 0));
 
         // Act & Assert
         mockMvc.perform(get("/api/scenarios"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(validId.toString()))
                 .andExpect(jsonPath("$[0].title").value("Flood Emergency"))
-                .andExpect(jsonPath("$[0].content")
-                        .value("# Flood Emergency Guide\n\nThis is what to do in case of a flood."));
+                .andExpect(jsonPath("$[0].excerpt")
+                        .value("Flood Emergency Guide This is what to do"))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
     }
 
     @Test
     @WithMockUser
     void getAllScenarios_WhenEmpty_ShouldReturnEmptyList() throws Exception {
         // Arrange
-        when(scenarioService.getAllScenarios()).thenReturn(Collections.emptyList());
+        when(scenarioService.getAllScenariosCached())
+                .thenReturn(new CachedResponse<>(Collections.emptyList(), "\"etag\"", 0));
 
         // Act & Assert
         mockMvc.perform(get("/api/scenarios"))
@@ -9,8 +9,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import stud.ntnu.krisefikser.common.RepositoryTestConfig;
+import stud.ntnu.krisefikser.common.RichTextPipeline.Heading;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse;
 import stud.ntnu.krisefikser.scenario.entity.Scenario;
 
 @DataJpaTest
@@ -20,6 +23,9 @@ class ScenarioRepositoryTest {
   @Autowired
   private ScenarioRepository scenarioRepository;
 
+  @Autowired
+  private TestEntityManager entityManager;
+
   private Scenario scenario1;
 
   @BeforeEach
@@ -69,6 +75,45 @@ class ScenarioRepositoryTest {
     assertThat(result.get().getContent()).isEqualTo("A major earthquake in an urban area");
   }
 
+  @Test
+  void findAllSummaries_ShouldReturnExcerptComputedOnWrite() {
+    // Arrange
+    scenario1.setContent("<h2>Jordskjelv</h2><p>Søk dekning under et solid bord.</p>");
+    scenarioRepository.saveAndFlush(scenario1);
+
+    // Act
+    List<ScenarioSummaryResponse> result = scenarioRepository.findAllSummaries();
+
+    // Assert
+    assertThat(result).hasSize(2);
+    assertThat(result).filteredOn(summary -> summary.getId().equals(scenario1.getId()))
+        .singleElement()
+        .satisfies(summary -> {
+          assertThat(summary.getTitle()).isEqualTo("Earthquake Scenario");
+          assertThat(summary.getExcerpt())
+              .isEqualTo("Jordskjelv Søk dekning under et solid bord.");
+          assertThat(summary.getWordCount()).isEqualTo(7);
+        });
+  }
+
+  @Test
+  void save_ShouldStoreCleanedContentAndTableOfContents() {
+    // Arrange
+    scenario1.setContent("<h2>Før</h2><p onclick=\"x()\">Tekst</p><script>x()</script>"
+        + "<h2>Under</h2>");
+
+    // Act
+    scenarioRepository.saveAndFlush(scenario1);
+    entityManager.clear();
+    Scenario result = scenarioRepository.findById(scenario1.getId()).orElseThrow();
+
+    // Assert
+    assertThat(result.getContent()).isEqualTo(
+        "<h2 id=\"section-for\">Før</h2><p>Tekst</p><h2 id=\"section-under\">Under</h2>");
+    assertThat(result.getTableOfContents()).containsExactly(
+        new Heading("section-for", "Før"), new Heading("section-under", "Under"));
+  }
+
   @Test
   void findById_ShouldReturnEmpty_WhenScenarioDoesNotExist() {
     // Act
@@ -16,10 +16,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import stud.ntnu.krisefikser.common.VersionedResponseCache;
 import stud.ntnu.krisefikser.scenario.dto.CreateScenarioRequest;
 import stud.ntnu.krisefikser.scenario.dto.ScenarioResponse;
+import stud.ntnu.krisefikser.scenario.dto.ScenarioSummaryResponse;
 import stud.ntnu.krisefikser.scenario.entity.Scenario;
 import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
+import stud.ntnu.krisefikser.search.service.SearchService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
 
 @ExtendWith(MockitoExtension.class)
 class ScenarioServiceTest {
@@ -27,6 +31,15 @@ class ScenarioServiceTest {
     @Mock
     private ScenarioRepository scenarioRepository;
 
+    @Mock
+    private VersionedResponseCache responseCache;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private ContentSnapshotService contentSnapshotService;
+
     @InjectMocks
     private ScenarioService scenarioService;
 
@@ -122,6 +135,7 @@ class ScenarioServiceTest {
         // Assert
         verify(scenarioRepository).existsById(scenarioId);
         verify(scenarioRepository).deleteById(scenarioId);
+        verify(contentSnapshotService).requestRebuild();
     }
 
     @Test
@@ -172,32 +186,36 @@ class ScenarioServiceTest {
     @Test
     void getAllScenarios_ShouldReturnAllScenarios() {
         // Arrange
-        List<Scenario> scenarios = List.of(scenario);
-        when(scenarioRepository.findAll()).thenReturn(scenarios);
+        scenario.processContent();
+        List<ScenarioSummaryResponse> summaries = List.of(new ScenarioSummaryResponse(
+            scenario.getId(), scenario.getTitle(), scenario.getCoverImageUrl(),
+            scenario.getExcerpt(), scenario.getWordCount()));
+        when(scenarioRepository.findAllSummaries()).thenReturn(summaries);
 
         // Act
-        List<ScenarioResponse> result = scenarioService.getAllScenarios();
+        List<ScenarioSummaryResponse> result = scenarioService.getAllScenarios();
 
         // Assert
         assertThat(result).isNotNull().hasSize(1);
         assertThat(result.getFirst().getId()).isEqualTo(scenarioId);
         assertThat(result.getFirst().getTitle()).isEqualTo("Flood Emergency");
-        assertThat(result.getFirst().getContent()).contains("Flood Emergency Guide");
+        assertThat(result.getFirst().getExcerpt()).contains("Flood Emergency Guide")
+            .doesNotContain("<");
 
-        verify(scenarioRepository).findAll();
+        verify(scenarioRepository).findAllSummaries();
     }
 
     @Test
     void getAllScenarios_WhenNoScenarios_ShouldReturnEmptyList() {
         // Arrange
-        when(scenarioRepository.findAll()).thenReturn(Collections.emptyList());
+        when(scenarioRepository.findAllSummaries()).thenReturn(Collections.emptyList());
 
         // Act
-        List<ScenarioResponse> result = scenarioService.getAllScenarios();
+        List<ScenarioSummaryResponse> result = scenarioService.getAllScenarios();
 
         // Assert
         assertThat(result).isNotNull().isEmpty();
 
-        verify(scenarioRepository).findAll();
+        verify(scenarioRepository).findAllSummaries();
     }
 }
\ No newline at end of file
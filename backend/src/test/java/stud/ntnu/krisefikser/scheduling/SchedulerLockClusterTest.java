@@ -0,0 +1,160 @@
+package stud.ntnu.krisefikser.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import stud.ntnu.krisefikser.BackendApplication;
+import stud.ntnu.krisefikser.scheduling.repository.SchedulerLeaseRepository;
+import stud.ntnu.krisefikser.scheduling.service.SchedulerLockService;
+
+/**
+ * Runs two application contexts against the same H2 database to check that a locked job only
+ * runs on one of them at a time.
+ */
+class SchedulerLockClusterTest {
+
+  private static final String DATABASE_URL =
+      "jdbc:h2:mem:scheduler-lock-cluster;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+  private static final AtomicInteger executions = new AtomicInteger();
+  private static final AtomicInteger running = new AtomicInteger();
+  private static final AtomicInteger maxRunning = new AtomicInteger();
+
+  private static ConfigurableApplicationContext nodeA;
+  private static ConfigurableApplicationContext nodeB;
+
+  @BeforeAll
+  static void startNodes() {
+    nodeA = startNode();
+    nodeB = startNode();
+  }
+
+  @AfterAll
+  static void stopNodes() {
+    if (nodeB != null) {
+      nodeB.close();
+    }
+    if (nodeA != null) {
+      nodeA.close();
+    }
+  }
+
+  private static ConfigurableApplicationContext startNode() {
+    return new SpringApplicationBuilder(BackendApplication.class, LockedJobConfig.class)
+        .profiles("test")
+        .properties(
+            "server.port=0",
+            "spring.datasource.url=" + DATABASE_URL,
+            "spring.jpa.hibernate.ddl-auto=update")
+        .run();
+  }
+
+  @BeforeEach
+  void reset() {
+    nodeA.getBean(SchedulerLeaseRepository.class).deleteAllInBatch();
+    executions.set(0);
+    running.set(0);
+    maxRunning.set(0);
+  }
+
+  @Test
+  void concurrentTriggers_shouldRunJobOnOneNodeOnly() throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      List<Future<?>> futures = List.of(nodeA, nodeB).stream()
+          .<Future<?>>map(node -> executor.submit(() -> {
+            start.await();
+            node.getBean(LockedJob.class).run();
+            return null;
+          }))
+          .toList();
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(executions.get()).isEqualTo(1);
+    assertThat(maxRunning.get()).isEqualTo(1);
+    long contended = stats(nodeA).contended() + stats(nodeB).contended();
+    assertThat(contended).isEqualTo(1);
+  }
+
+  @Test
+  void releasedLease_shouldBeAcquiredByOtherNode() {
+    nodeA.getBean(LockedJob.class).run();
+    nodeB.getBean(LockedJob.class).run();
+
+    assertThat(executions.get()).isEqualTo(2);
+  }
+
+  @Test
+  void expiredLease_shouldBeTakenOverByOtherNode() throws Exception {
+    SchedulerLockService serviceA = nodeA.getBean(SchedulerLockService.class);
+    SchedulerLockService serviceB = nodeB.getBean(SchedulerLockService.class);
+
+    var crashed = serviceA.tryAcquire("expiring", Duration.ofMillis(50));
+    assertThat(crashed).isPresent();
+    assertThat(serviceB.tryAcquire("expiring", Duration.ofMinutes(1))).isEmpty();
+
+    Thread.sleep(100);
+
+    var takenOver = serviceB.tryAcquire("expiring", Duration.ofMinutes(1));
+    assertThat(takenOver).isPresent();
+    serviceA.release(crashed.get(), Duration.ZERO);
+    assertThat(serviceA.tryAcquire("expiring", Duration.ofMinutes(1))).isEmpty();
+    serviceB.release(takenOver.get(), Duration.ZERO);
+  }
+
+  private static SchedulerLockService.LeaseStats stats(ConfigurableApplicationContext node) {
+    return node.getBean(SchedulerLockService.class).getStats().get(LockedJobConfig.LOCK_NAME);
+  }
+
+  /**
+   * A job that takes a while and records how many instances ran it concurrently.
+   */
+  static class LockedJob {
+
+    @SchedulerLock(name = LockedJobConfig.LOCK_NAME, lockAtMostFor = "PT1M")
+    public void run() {
+      executions.incrementAndGet();
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        Thread.sleep(500);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        running.decrementAndGet();
+      }
+    }
+  }
+
+  @TestConfiguration
+  static class LockedJobConfig {
+
+    static final String LOCK_NAME = "cluster-test-job";
+
+    @Bean
+    LockedJob lockedJob() {
+      return new LockedJob();
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package stud.ntnu.krisefikser.scheduling.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import stud.ntnu.krisefikser.scheduling.repository.SchedulerLeaseRepository;
+import stud.ntnu.krisefikser.scheduling.service.SchedulerLockService.Lease;
+import stud.ntnu.krisefikser.scheduling.service.SchedulerLockService.LeaseStats;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLockServiceTest {
+
+  private static final String NAME = "test-job";
+
+  @Mock
+  private SchedulerLeaseRepository leaseRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+  @Mock
+  private ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private SchedulerLockService schedulerLockService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(transactionManager.getTransaction(any()))
+        .thenReturn(new SimpleTransactionStatus());
+    lenient().when(meterRegistryProvider.getIfAvailable()).thenReturn(meterRegistry);
+    schedulerLockService =
+        new SchedulerLockService(leaseRepository, transactionManager, meterRegistryProvider);
+  }
+
+  @Test
+  void tryAcquire_whenExpiredLeaseExists_shouldTakeItOver() {
+    when(leaseRepository.acquireExpired(eq(NAME), any(), any(), anyString())).thenReturn(1);
+
+    Optional<Lease> lease = schedulerLockService.tryAcquire(NAME, Duration.ofMinutes(5));
+
+    assertThat(lease).isPresent();
+    assertThat(lease.get().lockUntil()).isEqualTo(lease.get().lockedAt().plusSeconds(300));
+    verify(leaseRepository, never()).insertLease(any(), any(), any(), any());
+    assertThat(schedulerLockService.getStats().get(NAME))
+        .isEqualTo(new LeaseStats(1, 0, 0, 0, 0, true));
+  }
+
+  @Test
+  void tryAcquire_shouldPublishLeaseMeters() {
+    when(leaseRepository.acquireExpired(eq(NAME), any(), any(), anyString())).thenReturn(1);
+
+    schedulerLockService.tryAcquire(NAME, Duration.ofMinutes(5));
+
+    assertThat(meterRegistry.get(SchedulerLockService.ATTEMPTS)
+        .tags("lease", NAME, "outcome", "acquired").functionCounter().count()).isEqualTo(1);
+    assertThat(meterRegistry.get(SchedulerLockService.ATTEMPTS)
+        .tags("lease", NAME, "outcome", "contended").functionCounter().count()).isZero();
+    assertThat(meterRegistry.get(SchedulerLockService.HELD).tag("lease", NAME).gauge().value())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void tryAcquire_whenNoRowExists_shouldInsertLease() {
+    when(leaseRepository.acquireExpired(eq(NAME), any(), any(), anyString())).thenReturn(0);
+    when(leaseRepository.existsById(NAME)).thenReturn(false);
+    when(leaseRepository.insertLease(eq(NAME), any(), any(), anyString())).thenReturn(1);
+
+    assertThat(schedulerLockService.tryAcquire(NAME, Duration.ofMinutes(5))).isPresent();
+    verify(leaseRepository).insertLease(eq(NAME), any(), any(),
+        eq(schedulerLockService.getInstanceId()));
+  }
+
+  @Test
+  void tryAcquire_whenHeldByOtherInstance_shouldSkip() {
+    when(leaseRepository.acquireExpired(eq(NAME), any(), any(), anyString())).thenReturn(0);
+    when(leaseRepository.existsById(NAME)).thenReturn(true);
+
+    assertThat(schedulerLockService.tryAcquire(NAME, Duration.ofMinutes(5))).isEmpty();
+    verify(leaseRepository, never()).insertLease(any(), any(), any(), any());
+    assertThat(schedulerLockService.getStats().get(NAME).contended()).isEqualTo(1);
+  }
+
+  @Test
+  void tryAcquire_whenInsertRacesWithOtherInstance_shouldSkip() {
+    when(leaseRepository.acquireExpired(eq(NAME), any(), any(), anyString())).thenReturn(0);
+    when(leaseRepository.existsById(NAME)).thenReturn(false);
+    when(leaseRepository.insertLease(eq(NAME), any(), any(), anyString()))
+        .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+    assertThat(schedulerLockService.tryAcquire(NAME, Duration.ofMinutes(5))).isEmpty();
+    assertThat(schedulerLockService.getStats().get(NAME).contended()).isEqualTo(1);
+  }
+
+  @Test
+  void tryAcquire_whenDatabaseFails_shouldSkipAndCountFailure() {
+    when(leaseRepository.acquireExpired(eq(NAME), any(), any(), anyString()))
+        .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+    assertThat(schedulerLockService.tryAcquire(NAME, Duration.ofMinutes(5))).isEmpty();
+    assertThat(schedulerLockService.getStats().get(NAME).failed()).isEqualTo(1);
+  }
+
+  @Test
+  void release_shouldKeepLeaseForAtLeastMinimumDuration() {
+    Instant lockedAt = Instant.now();
+    Lease lease = new Lease(NAME, lockedAt, lockedAt.plusSeconds(600));
+    when(leaseRepository.release(eq(NAME), anyString(), eq(lockedAt), any())).thenReturn(1);
+
+    schedulerLockService.release(lease, Duration.ofMinutes(1));
+
+    verify(leaseRepository).release(NAME, schedulerLockService.getInstanceId(), lockedAt,
+        lockedAt.plusSeconds(60));
+    assertThat(schedulerLockService.getStats().get(NAME).held()).isFalse();
+  }
+}
@@ -0,0 +1,146 @@
+package stud.ntnu.krisefikser.search.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+import stud.ntnu.krisefikser.search.service.SearchIndex;
+import stud.ntnu.krisefikser.search.service.SearchIndex.IndexStats;
+
+/**
+ * Measures the size of the search index and query latency against a generated corpus, and
+ * compares the latency with a substring scan over all texts, which is what clients did before.
+ *
+ * <p>Skipped unless a corpus size is given:</p>
+ * <pre>
+ * mvn test -Dtest=SearchIndexBenchmarkTest -Dbenchmark.searchDocuments=20000
+ * </pre>
+ *
+ * <p>Heap usage is measured as the difference in used heap after garbage collection, so it is an
+ * estimate.</p>
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark.searchDocuments", matches = "\\d+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SearchIndexBenchmarkTest {
+
+  private static final int QUERIES = 5_000;
+  private static final int WORDS_PER_DOCUMENT = 300;
+  private static final String[] VOCABULARY = {
+      "flom", "flommen", "strømbrudd", "strømbruddet", "storm", "uvær", "vann", "vannet",
+      "mat", "maten", "lommelykt", "batterier", "radio", "evakuering", "beredskap",
+      "beredskapen", "kulde", "varme", "ved", "stearinlys", "førstehjelp", "skred", "ras",
+      "brann", "røyk", "naboer", "kommunen", "tilfluktsrom", "drikkevann", "medisiner",
+      "hermetikk", "knekkebrød", "kontanter", "sovepose", "gassbrenner", "jodtabletter",
+      "atomulykke", "pandemi", "smitte", "karantene", "isolasjon", "nødnett", "varsling",
+      "sirene", "melding", "veien", "stengt", "kjelleren", "pumpe", "sandsekker"};
+
+  private final SearchIndex index = new SearchIndex();
+  private final List<String> texts = new ArrayList<>();
+  private final Random random = new Random(42);
+  private String[] queries;
+
+  @BeforeAll
+  void buildIndex() {
+    int documentCount = Integer.getInteger("benchmark.searchDocuments");
+    for (int i = 0; i < documentCount; i++) {
+      texts.add(randomText(WORDS_PER_DOCUMENT));
+    }
+    queries = new String[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      queries[i] = randomText(1 + random.nextInt(3));
+    }
+
+    long heapBefore = usedHeap();
+    long start = System.nanoTime();
+    for (int i = 0; i < documentCount; i++) {
+      index.put(SearchResultType.ARTICLE, String.valueOf(i), "Dokument " + i, texts.get(i));
+    }
+    long buildMillis = (System.nanoTime() - start) / 1_000_000;
+    long heapAfter = usedHeap();
+
+    IndexStats stats = index.getStats();
+    System.out.printf("Indexed %d documents in %d ms: %d terms, %d postings, %d chars of text%n",
+        stats.documents(), buildMillis, stats.terms(), stats.postings(), stats.textChars());
+    System.out.printf("Heap used by the index: about %d MB (text alone: %d MB)%n",
+        (heapAfter - heapBefore) / (1024 * 1024), stats.textChars() * 2 / (1024 * 1024));
+  }
+
+  @Test
+  void indexedSearch_ShouldBeFasterThanScanningAllTexts() {
+    long[] indexed = measure(query -> index.search(query, 20).totalHits());
+    long[] scanned = measure(this::scan);
+
+    print("index", indexed);
+    print("scan", scanned);
+    assertThat(percentile(indexed, 50)).isLessThan(percentile(scanned, 50));
+  }
+
+  private long[] measure(ToIntFunction<String> search) {
+    // Warm up, then measure every query
+    for (int i = 0; i < QUERIES / 10; i++) {
+      search.applyAsInt(queries[i]);
+    }
+    long[] nanos = new long[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      long start = System.nanoTime();
+      search.applyAsInt(queries[i]);
+      nanos[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(nanos);
+    return nanos;
+  }
+
+  private int scan(String query) {
+    String[] words = query.toLowerCase(Locale.ROOT).split(" ");
+    int hits = 0;
+    for (String text : texts) {
+      String lower = text.toLowerCase(Locale.ROOT);
+      for (String word : words) {
+        if (lower.contains(word)) {
+          hits++;
+          break;
+        }
+      }
+    }
+    return hits;
+  }
+
+  private String randomText(int words) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      // Skewed towards the start of the vocabulary, like real word frequencies
+      int word = (int) (VOCABULARY.length * Math.pow(random.nextDouble(), 2));
+      text.append(i == 0 ? "" : " ").append(VOCABULARY[word]);
+    }
+    return text.toString();
+  }
+
+  private static void print(String name, long[] nanos) {
+    System.out.printf("%-6s p50 %8.3f ms  p95 %8.3f ms  p99 %8.3f ms  max %8.3f ms%n", name,
+        percentile(nanos, 50) / 1e6, percentile(nanos, 95) / 1e6, percentile(nanos, 99) / 1e6,
+        nanos[nanos.length - 1] / 1e6);
+  }
+
+  private static long percentile(long[] sorted, int percentile) {
+    return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,77 @@
+package stud.ntnu.krisefikser.search.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
+import stud.ntnu.krisefikser.auth.service.TokenService;
+import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.search.dto.SearchHit;
+import stud.ntnu.krisefikser.search.dto.SearchResponse;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+import stud.ntnu.krisefikser.search.exception.InvalidSearchQueryException;
+import stud.ntnu.krisefikser.search.service.SearchService;
+
+@WebMvcTest(SearchController.class)
+@Import(TestSecurityConfig.class)
+class SearchControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private SearchService searchService;
+
+  @MockitoBean
+  private TokenService tokenService;
+
+  @MockitoBean
+  private CustomUserDetailsService userDetailsService;
+
+  @Test
+  void search_WithoutAuthentication_ShouldReturnHits() throws Exception {
+    SearchHit hit = SearchHit.builder()
+        .type(SearchResultType.SCENARIO)
+        .id("3f1f3b0d-2c11-4d7e-9a53-6f1c0c9e5a4e")
+        .title("<mark>Flom</mark>")
+        .snippet("Ved <mark>flom</mark> bør du …")
+        .score(2.5)
+        .build();
+    when(searchService.search("flom", null)).thenReturn(SearchResponse.builder()
+        .query("flom")
+        .totalHits(1)
+        .hits(List.of(hit))
+        .build());
+
+    mockMvc.perform(get("/api/search").param("q", "flom"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.totalHits").value(1))
+        .andExpect(jsonPath("$.hits[0].type").value("SCENARIO"))
+        .andExpect(jsonPath("$.hits[0].title").value("<mark>Flom</mark>"));
+  }
+
+  @Test
+  void search_WithInvalidQuery_ShouldReturnBadRequest() throws Exception {
+    when(searchService.search(" ", null))
+        .thenThrow(new InvalidSearchQueryException("Search query must not be empty."));
+
+    mockMvc.perform(get("/api/search").param("q", " "))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.detail").value("Search query must not be empty."));
+  }
+
+  @Test
+  void search_WithoutQuery_ShouldReturnBadRequest() throws Exception {
+    mockMvc.perform(get("/api/search"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,37 @@
+package stud.ntnu.krisefikser.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import stud.ntnu.krisefikser.search.service.NorwegianAnalyzer.Token;
+
+class NorwegianAnalyzerTest {
+
+  @Test
+  void stem_ShouldMergeInflectedForms() {
+    assertThat(List.of("flom", "flommen", "flommer", "flommene"))
+        .extracting(NorwegianAnalyzer::stem)
+        .containsOnly("flom");
+    assertThat(List.of("strømbrudd", "strømbruddet", "strømbruddene"))
+        .extracting(NorwegianAnalyzer::stem)
+        .containsOnly(NorwegianAnalyzer.stem("strømbrudd"));
+    assertThat(NorwegianAnalyzer.stem("beredskapen")).isEqualTo("beredskap");
+  }
+
+  @Test
+  void analyze_ShouldLowercaseDropStopWordsAndKeepOffsets() {
+    List<Token> tokens = NorwegianAnalyzer.analyze("Hva gjør du ved Flom?");
+
+    assertThat(tokens).extracting(Token::term).containsExactly("gjør", "flom");
+    assertThat(tokens.get(1).start()).isEqualTo(16);
+    assertThat(tokens.get(1).end()).isEqualTo(20);
+  }
+
+  @Test
+  void analyze_ShouldKeepNumbers() {
+    assertThat(NorwegianAnalyzer.analyze("Ring 112 ved storm"))
+        .extracting(Token::term)
+        .containsExactly("ring", "112", "storm");
+  }
+}
@@ -0,0 +1,76 @@
+package stud.ntnu.krisefikser.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+import stud.ntnu.krisefikser.search.service.SearchIndex.Match;
+import stud.ntnu.krisefikser.search.service.SearchIndex.SearchResult;
+
+class SearchIndexTest {
+
+  private SearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new SearchIndex();
+    index.put(SearchResultType.ARTICLE, "1", "Flom",
+        "Når flommen kommer må du flytte verdisaker opp.");
+    index.put(SearchResultType.ARTICLE, "2", "Strømbrudd",
+        "Ha lommelykt og batterier klare. Ved flom kan strømmen gå.");
+    index.put(SearchResultType.SCENARIO, "3", "Ekstremvær",
+        "Storm og kraftig regn gir ofte strømbrudd.");
+  }
+
+  @Test
+  void search_ShouldRankTitleMatchesFirst() {
+    SearchResult result = index.search("flom", 10);
+
+    assertThat(result.totalHits()).isEqualTo(2);
+    assertThat(result.matches()).extracting(match -> match.key().id()).containsExactly("1", "2");
+  }
+
+  @Test
+  void search_ShouldMatchInflectedForms() {
+    SearchResult result = index.search("strømbruddet", 10);
+
+    assertThat(result.matches()).extracting(match -> match.key().id())
+        .containsExactly("2", "3");
+  }
+
+  @Test
+  void put_WithSameKey_ShouldReplaceDocument() {
+    index.put(SearchResultType.ARTICLE, "1", "Tørke", "Spar på vannet.");
+
+    assertThat(index.search("flom", 10).matches()).extracting(match -> match.key().id())
+        .containsExactly("2");
+    assertThat(index.search("vann", 10).matches()).extracting(Match::title)
+        .containsExactly("Tørke");
+    assertThat(index.getStats().documents()).isEqualTo(3);
+  }
+
+  @Test
+  void remove_ShouldDropDocumentAndUnusedTerms() {
+    int terms = index.getStats().terms();
+
+    index.remove(SearchResultType.SCENARIO, "3");
+
+    assertThat(index.search("storm", 10).totalHits()).isZero();
+    assertThat(index.getStats().documents()).isEqualTo(2);
+    assertThat(index.getStats().terms()).isLessThan(terms);
+  }
+
+  @Test
+  void search_WithOnlyStopWords_ShouldReturnNothing() {
+    assertThat(index.search("og i det", 10).totalHits()).isZero();
+  }
+
+  @Test
+  void search_ShouldRespectLimit() {
+    SearchResult result = index.search("flom strømbrudd", 1);
+
+    assertThat(result.totalHits()).isEqualTo(3);
+    assertThat(result.matches()).hasSize(1);
+  }
+}
@@ -0,0 +1,197 @@
+package stud.ntnu.krisefikser.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import stud.ntnu.krisefikser.article.entity.Article;
+import stud.ntnu.krisefikser.article.repository.ArticleRepository;
+import stud.ntnu.krisefikser.reflection.entity.Reflection;
+import stud.ntnu.krisefikser.reflection.enums.VisibilityType;
+import stud.ntnu.krisefikser.reflection.repository.ReflectionRepository;
+import stud.ntnu.krisefikser.scenario.entity.Scenario;
+import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
+import stud.ntnu.krisefikser.search.dto.SearchHit;
+import stud.ntnu.krisefikser.search.dto.SearchResponse;
+import stud.ntnu.krisefikser.search.enums.SearchResultType;
+import stud.ntnu.krisefikser.search.exception.InvalidSearchQueryException;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+
+  @Mock
+  private ArticleRepository articleRepository;
+
+  @Mock
+  private ScenarioRepository scenarioRepository;
+
+  @Mock
+  private ReflectionRepository reflectionRepository;
+
+  private MeterRegistry meterRegistry;
+  private SearchService searchService;
+
+  private Scenario scenario;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    searchService = new SearchService(articleRepository, scenarioRepository,
+        reflectionRepository, meterRegistry);
+    scenario = Scenario.builder()
+        .id(UUID.randomUUID())
+        .title("Flom")
+        .content("<h2>Før flommen</h2><p>Flytt verdisaker opp &amp; sjekk <b>pumpa</b>.</p>")
+        .build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void rebuildIndex_ShouldIndexArticlesScenariosAndPublicReflections() {
+    when(articleRepository.findAll()).thenReturn(List.of(Article.builder()
+        .id(1L).title("Strømbrudd").text("Ha lommelykt klar ved flom.")
+        .createdAt(LocalDateTime.now()).build()));
+    when(scenarioRepository.findAll()).thenReturn(List.of(scenario));
+    when(reflectionRepository.findByVisibility(VisibilityType.PUBLIC)).thenReturn(List.of(
+        reflection(VisibilityType.PUBLIC, "Etter flommen", "Kjelleren sto under vann.")));
+
+    searchService.rebuildIndex();
+    SearchResponse response = searchService.search("flom", null);
+
+    assertThat(response.getTotalHits()).isEqualTo(3);
+    assertThat(response.getHits()).extracting(SearchHit::getType)
+        .containsExactlyInAnyOrder(SearchResultType.ARTICLE, SearchResultType.SCENARIO,
+            SearchResultType.REFLECTION);
+    assertThat(searchService.getStats().documents()).isEqualTo(3);
+    assertThat(meterRegistry.get("search.queries").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void search_ShouldHighlightTitleAndSnippetFromPlainText() {
+    searchService.indexScenario(scenario);
+
+    SearchHit hit = searchService.search("flom pumpe", 10).getHits().getFirst();
+
+    assertThat(hit.getId()).isEqualTo(scenario.getId().toString());
+    assertThat(hit.getTitle()).isEqualTo("<mark>Flom</mark>");
+    assertThat(hit.getSnippet())
+        .isEqualTo("Før <mark>flommen</mark> Flytt verdisaker opp &amp; sjekk <mark>pumpa</mark>.");
+  }
+
+  @Test
+  void search_ShouldCutLongBodiesAroundTheMatches() {
+    String filler = "Lorem ipsum dolor sit amet. ".repeat(30);
+    searchService.indexScenario(Scenario.builder().id(UUID.randomUUID()).title("Tekst")
+        .content(filler + "Ved strømbrudd bruk stearinlys forsiktig. " + filler).build());
+
+    String snippet = searchService.search("stearinlys", 10).getHits().getFirst().getSnippet();
+
+    assertThat(snippet).startsWith("… ").endsWith(" …").contains("<mark>stearinlys</mark>");
+    assertThat(snippet.replaceAll("</?mark>", "").length())
+        .isLessThanOrEqualTo(SearchService.SNIPPET_LENGTH + 4);
+  }
+
+  @Test
+  void indexReflection_WhenNotPublic_ShouldRemoveIt() {
+    Reflection reflection = reflection(VisibilityType.PUBLIC, "Storm", "Taket blåste av.");
+    searchService.indexReflection(reflection);
+    assertThat(searchService.search("storm", null).getTotalHits()).isEqualTo(1);
+
+    reflection.setVisibility(VisibilityType.PRIVATE);
+    searchService.indexReflection(reflection);
+
+    assertThat(searchService.search("storm", null).getTotalHits()).isZero();
+  }
+
+  @Test
+  void indexReflection_WithHtmlBody_ShouldIndexAndSnippetPlainText() {
+    searchService.indexReflection(reflection(VisibilityType.PUBLIC, "Storm",
+        "<p>Taket <strong>blåste</strong> av.</p><p><span class=\"ql-size-large\">Ring 110"
+            + "</span></p>"));
+
+    assertThat(searchService.search("strong", null).getTotalHits()).isZero();
+    assertThat(searchService.search("span", null).getTotalHits()).isZero();
+    SearchHit hit = searchService.search("taket", null).getHits().getFirst();
+    assertThat(hit.getSnippet()).isEqualTo("<mark>Taket</mark> blåste av. Ring 110");
+  }
+
+  @Test
+  void indexScenario_InTransaction_ShouldApplyOnlyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    searchService.indexScenario(scenario);
+
+    assertThat(searchService.search("flom", null).getTotalHits()).isZero();
+
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(searchService.search("flom", null).getTotalHits()).isEqualTo(1);
+  }
+
+  @Test
+  void removeArticle_ShouldDropItFromResults() {
+    searchService.indexArticle(Article.builder().id(7L).title("Vannforsyning")
+        .text("Lagre ni liter vann per person.").createdAt(LocalDateTime.now()).build());
+
+    searchService.removeArticle(7L);
+
+    assertThat(searchService.search("vann", null).getTotalHits()).isZero();
+  }
+
+  @Test
+  void removeReflectionsByAuthor_ShouldDropThemAfterCommit() {
+    UUID authorId = UUID.randomUUID();
+    Reflection reflection = reflection(VisibilityType.PUBLIC, "Storm", "Taket blåste av.");
+    searchService.indexReflection(reflection);
+    when(reflectionRepository.findIdsByAuthorId(authorId)).thenReturn(List.of(reflection.getId()));
+
+    TransactionSynchronizationManager.initSynchronization();
+    searchService.removeReflectionsByAuthor(authorId);
+    assertThat(searchService.search("storm", null).getTotalHits()).isEqualTo(1);
+
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(searchService.search("storm", null).getTotalHits()).isZero();
+  }
+
+  @Test
+  void search_WithBlankOrLongQuery_ShouldThrow() {
+    assertThatThrownBy(() -> searchService.search("  ", null))
+        .isInstanceOf(InvalidSearchQueryException.class);
+    assertThatThrownBy(() -> searchService.search("a".repeat(201), null))
+        .isInstanceOf(InvalidSearchQueryException.class);
+  }
+
+  private static Reflection reflection(VisibilityType visibility, String title, String content) {
+    return Reflection.builder()
+        .id(UUID.randomUUID())
+        .title(title)
+        .content(content)
+        .visibility(visibility)
+        .build();
+  }
+}
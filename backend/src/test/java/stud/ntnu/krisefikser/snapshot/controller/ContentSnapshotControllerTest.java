@@ -0,0 +1,158 @@
+package stud.ntnu.krisefikser.snapshot.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
+import stud.ntnu.krisefikser.auth.service.TokenService;
+import stud.ntnu.krisefikser.common.Sendfile;
+import stud.ntnu.krisefikser.common.TestSecurityConfig;
+import stud.ntnu.krisefikser.snapshot.dto.ContentSnapshotManifest;
+import stud.ntnu.krisefikser.snapshot.exception.ContentSnapshotNotFoundException;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService.SnapshotFile;
+
+@WebMvcTest(controllers = ContentSnapshotController.class)
+@Import(TestSecurityConfig.class)
+class ContentSnapshotControllerTest {
+
+  private static final String VERSION = "ab".repeat(16);
+
+  @TempDir
+  Path tempDir;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockitoBean
+  private ContentSnapshotService contentSnapshotService;
+
+  @MockitoBean
+  private CustomUserDetailsService userDetailsService;
+
+  @MockitoBean
+  private TokenService tokenService;
+
+  private Path json;
+  private Path gzip;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    json = tempDir.resolve(VERSION + ".json");
+    gzip = tempDir.resolve(VERSION + ".json.gz");
+    Files.writeString(json, "{\"articles\":[],\"scenarios\":[]}");
+    Files.write(gzip, new byte[] {31, -117, 8, 0});
+    when(contentSnapshotService.getSnapshotFile(VERSION, false))
+        .thenReturn(new SnapshotFile(json, Files.size(json)));
+    when(contentSnapshotService.getSnapshotFile(VERSION, true))
+        .thenReturn(new SnapshotFile(gzip, Files.size(gzip)));
+  }
+
+  @Test
+  void getManifest_ShouldReturnCurrentVersionAsEtag() throws Exception {
+    when(contentSnapshotService.getManifest()).thenReturn(ContentSnapshotManifest.builder()
+        .version(VERSION)
+        .url("/api/content-snapshot/" + VERSION)
+        .generatedAt(Instant.parse("2025-01-01T12:00:00Z"))
+        .articles(2)
+        .scenarios(3)
+        .build());
+
+    mockMvc.perform(get("/api/content-snapshot"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+        .andExpect(jsonPath("$.url").value("/api/content-snapshot/" + VERSION))
+        .andExpect(jsonPath("$.scenarios").value(3));
+  }
+
+  @Test
+  void getManifest_BeforeFirstBuild_ShouldReturnNotFound() throws Exception {
+    when(contentSnapshotService.getManifest())
+        .thenThrow(new ContentSnapshotNotFoundException("No content snapshot has been built yet."));
+
+    mockMvc.perform(get("/api/content-snapshot"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getSnapshot_WithoutGzip_ShouldReturnJsonAsImmutable() throws Exception {
+    mockMvc.perform(get("/api/content-snapshot/{version}", VERSION))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/json"))
+        .andExpect(content().string("{\"articles\":[],\"scenarios\":[]}"))
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+        .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+            "max-age=31536000, public, immutable"));
+  }
+
+  @Test
+  void getSnapshot_AcceptingGzip_ShouldReturnPrecompressedFile() throws Exception {
+    mockMvc.perform(get("/api/content-snapshot/{version}", VERSION)
+            .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "-gzip\""))
+        .andExpect(content().bytes(new byte[] {31, -117, 8, 0}));
+  }
+
+  @Test
+  void getSnapshot_RefusingGzip_ShouldReturnJson() throws Exception {
+    mockMvc.perform(get("/api/content-snapshot/{version}", VERSION)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  void getSnapshot_WithMatchingEtag_ShouldBeNotModified() throws Exception {
+    mockMvc.perform(get("/api/content-snapshot/{version}", VERSION)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "-gzip\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void getSnapshot_WithSendfileSupport_ShouldHandFileToContainer() throws Exception {
+    MvcResult result = mockMvc.perform(get("/api/content-snapshot/{version}", VERSION)
+            .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+            .requestAttr(Sendfile.SUPPORT, Boolean.TRUE))
+        .andExpect(status().isOk())
+        .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+        .andExpect(content().string(""))
+        .andReturn();
+
+    assertThat(result.getRequest().getAttribute(Sendfile.FILENAME)).isEqualTo(gzip.toString());
+  }
+
+  @Test
+  void getSnapshot_UnknownVersion_ShouldReturnNotFound() throws Exception {
+    when(contentSnapshotService.getSnapshotFile("missing", false))
+        .thenThrow(new ContentSnapshotNotFoundException("Content snapshot not found: missing"));
+
+    mockMvc.perform(get("/api/content-snapshot/{version}", "missing"))
+        .andExpect(status().isNotFound());
+  }
+}
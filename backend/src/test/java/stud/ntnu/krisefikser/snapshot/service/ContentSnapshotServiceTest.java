@@ -0,0 +1,160 @@
+package stud.ntnu.krisefikser.snapshot.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import stud.ntnu.krisefikser.article.entity.Article;
+import stud.ntnu.krisefikser.article.repository.ArticleRepository;
+import stud.ntnu.krisefikser.scenario.entity.Scenario;
+import stud.ntnu.krisefikser.scenario.repository.ScenarioRepository;
+import stud.ntnu.krisefikser.snapshot.config.ContentSnapshotProperties;
+import stud.ntnu.krisefikser.snapshot.dto.ContentSnapshotManifest;
+import stud.ntnu.krisefikser.snapshot.exception.ContentSnapshotNotFoundException;
+import stud.ntnu.krisefikser.snapshot.service.ContentSnapshotService.SnapshotFile;
+
+@ExtendWith(MockitoExtension.class)
+class ContentSnapshotServiceTest {
+
+  private static final UUID SCENARIO_ID = UUID.randomUUID();
+
+  @TempDir
+  Path tempDir;
+
+  @Mock
+  private ArticleRepository articleRepository;
+
+  @Mock
+  private ScenarioRepository scenarioRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ContentSnapshotService service;
+
+  @BeforeEach
+  void setUp() {
+    ContentSnapshotProperties properties = new ContentSnapshotProperties();
+    properties.setDirectory(tempDir.toString());
+    properties.setRetainedVersions(2);
+    service = new ContentSnapshotService(articleRepository, scenarioRepository,
+        new ObjectMapper().findAndRegisterModules(), transactionManager, properties,
+        new SyncTaskExecutor(), meterRegistry);
+  }
+
+  @Test
+  void rebuild_ShouldWriteJsonAndGzipNamedByContentHash() throws IOException {
+    articles("Vann");
+
+    service.rebuild();
+
+    ContentSnapshotManifest manifest = service.getManifest();
+    assertThat(manifest.getVersion()).matches("[0-9a-f]{32}");
+    assertThat(manifest.getUrl()).isEqualTo("/api/content-snapshot/" + manifest.getVersion());
+    assertThat(manifest.getArticles()).isEqualTo(1);
+    assertThat(manifest.getScenarios()).isEqualTo(1);
+
+    SnapshotFile json = service.getSnapshotFile(manifest.getVersion(), false);
+    SnapshotFile gzip = service.getSnapshotFile(manifest.getVersion(), true);
+    assertThat(json.size()).isEqualTo(manifest.getSize());
+    assertThat(gzip.size()).isEqualTo(manifest.getGzipSize());
+    String content = Files.readString(json.path());
+    assertThat(content).contains("\"title\":\"Vann\"", "Flytt verdisaker opp.");
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(gzip.path()))) {
+      assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+    }
+  }
+
+  @Test
+  void rebuild_WithUnchangedContent_ShouldKeepVersion() {
+    articles("Vann");
+    service.rebuild();
+    String version = service.getManifest().getVersion();
+
+    service.rebuild();
+
+    assertThat(service.getManifest().getVersion()).isEqualTo(version);
+    assertThat(service.getStats().builds()).isEqualTo(1);
+    assertThat(service.getStats().unchanged()).isEqualTo(1);
+    assertThat(meterRegistry.get("content.snapshot.build").timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void rebuild_ShouldKeepOnlyRetainedVersions() throws IOException {
+    articles("Vann");
+    service.rebuild();
+    String first = service.getManifest().getVersion();
+    Files.setLastModifiedTime(tempDir.resolve(first + ".json"), FileTime.fromMillis(0));
+    articles("Mat");
+    service.rebuild();
+    String second = service.getManifest().getVersion();
+    articles("Radio");
+    service.rebuild();
+
+    assertThat(second).isNotEqualTo(first);
+    assertThat(service.getSnapshotFile(second, true).path()).exists();
+    assertThatThrownBy(() -> service.getSnapshotFile(first, false))
+        .isInstanceOf(ContentSnapshotNotFoundException.class);
+    assertThat(tempDir.resolve(first + ".json.gz")).doesNotExist();
+  }
+
+  @Test
+  void requestRebuild_OutsideTransaction_ShouldRebuildRightAway() {
+    articles("Vann");
+
+    service.requestRebuild();
+
+    assertThat(service.getManifest().getArticles()).isEqualTo(1);
+    assertThat(service.getStats().rebuildRequests()).isEqualTo(1);
+  }
+
+  @Test
+  void getManifest_BeforeFirstBuild_ShouldThrow() {
+    assertThatThrownBy(() -> service.getManifest())
+        .isInstanceOf(ContentSnapshotNotFoundException.class);
+  }
+
+  @Test
+  void getSnapshotFile_WithInvalidVersion_ShouldThrow() {
+    assertThatThrownBy(() -> service.getSnapshotFile("../application", false))
+        .isInstanceOf(ContentSnapshotNotFoundException.class);
+  }
+
+  private void articles(String title) {
+    when(articleRepository.findAll(any(Sort.class))).thenReturn(List.of(Article.builder()
+        .id(1L)
+        .title(title)
+        .text("<p>Ha nok til en uke.</p>")
+        .createdAt(LocalDateTime.of(2025, 1, 1, 12, 0))
+        .build()));
+    when(scenarioRepository.findAll(any(Sort.class))).thenReturn(List.of(Scenario.builder()
+        .id(SCENARIO_ID)
+        .title("Flom")
+        .content("<p>Flytt verdisaker opp.</p>")
+        .build()));
+  }
+}
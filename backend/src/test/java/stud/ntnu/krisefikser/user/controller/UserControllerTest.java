@@ -28,7 +28,7 @@ import stud.ntnu.krisefikser.auth.entity.Role.RoleType;
 import stud.ntnu.krisefikser.auth.service.CustomUserDetailsService;
 import stud.ntnu.krisefikser.auth.service.TokenService;
 import stud.ntnu.krisefikser.common.TestSecurityConfig;
-import stud.ntnu.krisefikser.media.service.CloudinaryService;
+import stud.ntnu.krisefikser.media.service.ImageUploadService;
 import stud.ntnu.krisefikser.user.dto.CreateUser;
 import stud.ntnu.krisefikser.user.dto.UserResponse;
 import stud.ntnu.krisefikser.user.entity.User;
@@ -54,7 +54,7 @@ class UserControllerTest {
   private CustomUserDetailsService userDetailsService;
 
   @MockitoBean
-  private CloudinaryService cloudinaryService;
+  private ImageUploadService imageUploadService;
 
   private User testUser;
   private UUID testUserId;
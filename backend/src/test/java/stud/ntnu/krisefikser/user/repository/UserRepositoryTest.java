@@ -15,6 +15,7 @@ import stud.ntnu.krisefikser.auth.entity.Role;
 import stud.ntnu.krisefikser.auth.entity.Role.RoleType;
 import stud.ntnu.krisefikser.auth.repository.RoleRepository;
 import stud.ntnu.krisefikser.common.RepositoryTestConfig;
+import stud.ntnu.krisefikser.user.dto.EmailRecipient;
 import stud.ntnu.krisefikser.user.entity.User;
 
 @DataJpaTest
@@ -69,6 +70,27 @@ class UserRepositoryTest {
     userRepository.save(user3);
   }
 
+  @Test
+  void findEmailUpdateRecipientsAfter_ShouldReturnKeysetPagesOfOptedInVerifiedUsers() {
+    // Arrange
+    for (String email : List.of("c@example.com", "a@example.com", "b@example.com")) {
+      userRepository.save(recipient(email, true, true));
+    }
+    userRepository.save(recipient("optout@example.com", false, true));
+    userRepository.save(recipient("unverified@example.com", true, false));
+
+    // Act
+    List<EmailRecipient> first = userRepository.findEmailUpdateRecipientsAfter("", 2);
+    List<EmailRecipient> second = userRepository.findEmailUpdateRecipientsAfter(
+        first.get(first.size() - 1).email(), 2);
+
+    // Assert
+    assertThat(first).extracting(EmailRecipient::email)
+        .containsExactly("a@example.com", "b@example.com");
+    assertThat(second).extracting(EmailRecipient::email).containsExactly("c@example.com");
+    assertThat(second.get(0).firstName()).isEqualTo("Test");
+  }
+
   @Test
   void findByEmail_ShouldReturnUser_WhenEmailExists() {
     // Act
@@ -180,4 +202,14 @@ class UserRepositoryTest {
             "user3@example.com"
         );
   }
-}
\ No newline at end of file
+
+  private static User recipient(String email, boolean emailUpdates, boolean emailVerified) {
+    return User.builder()
+        .email(email)
+        .password("password")
+        .firstName("Test")
+        .emailUpdates(emailUpdates)
+        .emailVerified(emailVerified)
+        .build();
+  }
+}
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -29,6 +30,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import stud.ntnu.krisefikser.auth.entity.Role;
 import stud.ntnu.krisefikser.auth.entity.Role.RoleType;
 import stud.ntnu.krisefikser.auth.repository.RoleRepository;
+import stud.ntnu.krisefikser.search.service.SearchService;
 import stud.ntnu.krisefikser.user.dto.CreateUser;
 import stud.ntnu.krisefikser.user.entity.User;
 import stud.ntnu.krisefikser.user.exception.UserNotFoundException;
@@ -53,6 +55,9 @@ class UserServiceTest {
   @Mock
   private RoleRepository roleRepository;
 
+  @Mock
+  private SearchService searchService;
+
   @InjectMocks
   private UserService userService;
 
@@ -144,6 +149,7 @@ class UserServiceTest {
     userService.deleteUser(testUserId);
 
     // Assert
+    verify(searchService).removeReflectionsByAuthor(testUserId);
     verify(userRepository).deleteById(testUserId);
   }
 
@@ -155,6 +161,7 @@ class UserServiceTest {
     // Act & Assert
     assertThrows(UserNotFoundException.class,
         () -> userService.deleteUser(testUserId));
+    verify(searchService, never()).removeReflectionsByAuthor(testUserId);
   }
 
   @Test
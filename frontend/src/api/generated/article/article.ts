@@ -21,7 +21,7 @@ import type {
 import { computed, unref } from 'vue'
 import type { MaybeRef } from 'vue'
 
-import type { ArticleRequest, ArticleResponse } from '.././model'
+import type { ArticleRequest, ArticleResponse, ArticleSummaryResponse } from '.././model'
 
 import { customInstance } from '../../axios'
 import type { ErrorType, BodyType } from '../../axios'
@@ -277,7 +277,7 @@ export const getAllArticles = (
   options?: SecondParameter<typeof customInstance>,
   signal?: AbortSignal,
 ) => {
-  return customInstance<ArticleResponse[]>(
+  return customInstance<ArticleSummaryResponse[]>(
     { url: `/api/articles`, method: 'GET', signal },
     options,
   )
@@ -21,7 +21,12 @@ import type {
 import { computed, unref } from 'vue'
 import type { MaybeRef } from 'vue'
 
-import type { EventRequest, EventResponse, UpdateEventRequest } from '.././model'
+import type {
+  EventAnalyticsResponse,
+  EventRequest,
+  EventResponse,
+  UpdateEventRequest,
+} from '.././model'
 
 import { customInstance } from '../../axios'
 import type { ErrorType, BodyType } from '../../axios'
@@ -103,6 +108,83 @@ export function useGetEventById<
   return query
 }
 
+/**
+ * Retrieves notification reach, reflection counts and affected households for an event
+ * @summary Get event analytics
+ */
+export const getEventAnalytics = (
+  id: MaybeRef<number>,
+  options?: SecondParameter<typeof customInstance>,
+  signal?: AbortSignal,
+) => {
+  id = unref(id)
+
+  return customInstance<EventAnalyticsResponse>(
+    { url: `/api/events/${id}/analytics`, method: 'GET', signal },
+    options,
+  )
+}
+
+export const getGetEventAnalyticsQueryKey = (id: MaybeRef<number>) => {
+  return ['api', 'events', id, 'analytics'] as const
+}
+
+export const getGetEventAnalyticsQueryOptions = <
+  TData = Awaited<ReturnType<typeof getEventAnalytics>>,
+  TError = ErrorType<EventAnalyticsResponse>,
+>(
+  id: MaybeRef<number>,
+  options?: {
+    query?: Partial<UseQueryOptions<Awaited<ReturnType<typeof getEventAnalytics>>, TError, TData>>
+    request?: SecondParameter<typeof customInstance>
+  },
+) => {
+  const { query: queryOptions, request: requestOptions } = options ?? {}
+
+  const queryKey = getGetEventAnalyticsQueryKey(id)
+
+  const queryFn: QueryFunction<Awaited<ReturnType<typeof getEventAnalytics>>> = ({ signal }) =>
+    getEventAnalytics(id, requestOptions, signal)
+
+  return {
+    queryKey,
+    queryFn,
+    enabled: computed(() => !!unref(id)),
+    ...queryOptions,
+  } as UseQueryOptions<Awaited<ReturnType<typeof getEventAnalytics>>, TError, TData>
+}
+
+export type GetEventAnalyticsQueryResult = NonNullable<
+  Awaited<ReturnType<typeof getEventAnalytics>>
+>
+export type GetEventAnalyticsQueryError = ErrorType<EventAnalyticsResponse>
+
+/**
+ * @summary Get event analytics
+ */
+
+export function useGetEventAnalytics<
+  TData = Awaited<ReturnType<typeof getEventAnalytics>>,
+  TError = ErrorType<EventAnalyticsResponse>,
+>(
+  id: MaybeRef<number>,
+  options?: {
+    query?: Partial<UseQueryOptions<Awaited<ReturnType<typeof getEventAnalytics>>, TError, TData>>
+    request?: SecondParameter<typeof customInstance>
+  },
+  queryClient?: QueryClient,
+): UseQueryReturnType<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
+  const queryOptions = getGetEventAnalyticsQueryOptions(id, options)
+
+  const query = useQuery(queryOptions, queryClient) as UseQueryReturnType<TData, TError> & {
+    queryKey: DataTag<QueryKey, TData, TError>
+  }
+
+  query.queryKey = unref(queryOptions).queryKey as DataTag<QueryKey, TData, TError>
+
+  return query
+}
+
 /**
  * Updates an existing event by its ID
  * @summary Update an event
@@ -12,4 +12,5 @@ export interface ArticleResponse {
   text: string
   createdAt: string
   imageUrl: string
+  wordCount?: number
 }
@@ -0,0 +1,16 @@
+/**
+ * Generated by orval v7.9.0 🍺
+ * Do not edit manually.
+ * Krisefikser API
+ * API for the Krisefikser application
+ * OpenAPI spec version: 1.0
+ */
+
+export interface ArticleSummaryResponse {
+  id: number
+  title: string
+  imageUrl?: string
+  createdAt: string
+  excerpt?: string
+  wordCount?: number
+}
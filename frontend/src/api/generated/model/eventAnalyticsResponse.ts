@@ -0,0 +1,21 @@
+/**
+ * Generated by orval v7.9.0 🍺
+ * Do not edit manually.
+ * Krisefikser API
+ * API for the Krisefikser application
+ * OpenAPI spec version: 1.0
+ */
+import type { EventAnalyticsResponseReflectionsByVisibility } from './eventAnalyticsResponseReflectionsByVisibility'
+import type { EventAnalyticsResponseStatus } from './eventAnalyticsResponseStatus'
+
+export interface EventAnalyticsResponse {
+  eventId?: number
+  status?: EventAnalyticsResponseStatus
+  notificationsCreated?: number
+  notificationsRead?: number
+  notificationRecipients?: number
+  reflections?: number
+  reflectionsByVisibility?: EventAnalyticsResponseReflectionsByVisibility
+  householdsInRadius?: number
+  generatedAt?: string
+}
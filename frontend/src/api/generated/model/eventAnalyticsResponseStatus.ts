@@ -0,0 +1,17 @@
+/**
+ * Generated by orval v7.9.0 🍺
+ * Do not edit manually.
+ * Krisefikser API
+ * API for the Krisefikser application
+ * OpenAPI spec version: 1.0
+ */
+
+export type EventAnalyticsResponseStatus =
+  (typeof EventAnalyticsResponseStatus)[keyof typeof EventAnalyticsResponseStatus]
+
+ 
+export const EventAnalyticsResponseStatus = {
+  UPCOMING: 'UPCOMING',
+  ONGOING: 'ONGOING',
+  FINISHED: 'FINISHED',
+} as const
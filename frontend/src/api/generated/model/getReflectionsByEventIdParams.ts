@@ -0,0 +1,12 @@
+/**
+ * Generated by orval v7.9.0 🍺
+ * Do not edit manually.
+ * Krisefikser API
+ * API for the Krisefikser application
+ * OpenAPI spec version: 1.0
+ */
+
+export type GetReflectionsByEventIdParams = {
+  cursor?: string
+  size?: number
+}
@@ -9,6 +9,7 @@
 export * from './adminInviteRequest'
 export * from './articleRequest'
 export * from './articleResponse'
+export * from './articleSummaryResponse'
 export * from './checklistItemResponse'
 export * from './completePasswordResetRequest'
 export * from './createFoodItemRequest'
@@ -20,6 +21,9 @@ export * from './createReflectionRequestVisibility'
 export * from './createScenarioRequest'
 export * from './createUser'
 export * from './createUserRolesItem'
+export * from './eventAnalyticsResponse'
+export * from './eventAnalyticsResponseReflectionsByVisibility'
+export * from './eventAnalyticsResponseStatus'
 export * from './eventRequest'
 export * from './eventRequestLevel'
 export * from './eventRequestStatus'
@@ -27,8 +31,11 @@ export * from './eventResponse'
 export * from './eventResponseLevel'
 export * from './eventResponseStatus'
 export * from './foodItemResponse'
+export * from './getAccessibleReflectionsParams'
 export * from './getNotificationsParams'
+export * from './getReflectionsByEventIdParams'
 export * from './guestResponse'
+export * from './heading'
 export * from './householdInviteResponse'
 export * from './householdInviteResponseStatus'
 export * from './householdMemberResponse'
@@ -49,6 +56,7 @@ export * from './pageNotificationResponse'
 export * from './pageable'
 export * from './pageableObject'
 export * from './passwordResetResponse'
+export * from './reflectionPageResponse'
 export * from './reflectionResponse'
 export * from './reflectionResponseVisibility'
 export * from './refreshRequest'
@@ -57,6 +65,7 @@ export * from './registerRequest'
 export * from './registerResponse'
 export * from './requestPasswordResetRequest'
 export * from './scenarioResponse'
+export * from './scenarioSummaryResponse'
 export * from './sortObject'
 export * from './updateEventRequest'
 export * from './updateEventRequestLevel'
@@ -0,0 +1,13 @@
+/**
+ * Generated by orval v7.9.0 🍺
+ * Do not edit manually.
+ * Krisefikser API
+ * API for the Krisefikser application
+ * OpenAPI spec version: 1.0
+ */
+import type { ReflectionResponse } from './reflectionResponse'
+
+export interface ReflectionPageResponse {
+  reflections?: ReflectionResponse[]
+  nextCursor?: string
+}
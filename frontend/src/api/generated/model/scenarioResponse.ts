@@ -5,10 +5,13 @@
  * API for the Krisefikser application
  * OpenAPI spec version: 1.0
  */
+import type { Heading } from './heading'
 
 export interface ScenarioResponse {
   id: string
   title: string
   content: string
   coverImageUrl?: string
+  tableOfContents?: Heading[]
+  wordCount?: number
 }
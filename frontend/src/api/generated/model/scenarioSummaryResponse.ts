@@ -0,0 +1,15 @@
+/**
+ * Generated by orval v7.9.0 🍺
+ * Do not edit manually.
+ * Krisefikser API
+ * API for the Krisefikser application
+ * OpenAPI spec version: 1.0
+ */
+
+export interface ScenarioSummaryResponse {
+  id: string
+  title: string
+  coverImageUrl?: string
+  excerpt?: string
+  wordCount?: number
+}
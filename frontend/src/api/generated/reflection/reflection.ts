@@ -23,6 +23,9 @@ import type { MaybeRef } from 'vue'
 
 import type {
   CreateReflectionRequest,
+  GetAccessibleReflectionsParams,
+  GetReflectionsByEventIdParams,
+  ReflectionPageResponse,
   ReflectionResponse,
   UpdateReflectionRequest,
 } from '.././model'
@@ -453,35 +456,48 @@ export const useAdminDeleteReflection = <TError = ErrorType<void>, TContext = un
  * @summary Get accessible reflections
  */
 export const getAccessibleReflections = (
+  params?: MaybeRef<GetAccessibleReflectionsParams>,
   options?: SecondParameter<typeof customInstance>,
   signal?: AbortSignal,
 ) => {
-  return customInstance<ReflectionResponse[]>(
-    { url: `/api/reflections`, method: 'GET', signal },
+  params = unref(params)
+
+  return customInstance<ReflectionPageResponse>(
+    {
+      url: `/api/reflections`,
+      method: 'GET',
+      params: unref(params),
+      signal,
+    },
     options,
   )
 }
 
-export const getGetAccessibleReflectionsQueryKey = () => {
-  return ['api', 'reflections'] as const
+export const getGetAccessibleReflectionsQueryKey = (
+  params?: MaybeRef<GetAccessibleReflectionsParams>,
+) => {
+  return ['api', 'reflections', ...(params ? [params] : [])] as const
 }
 
 export const getGetAccessibleReflectionsQueryOptions = <
   TData = Awaited<ReturnType<typeof getAccessibleReflections>>,
-  TError = ErrorType<ReflectionResponse[]>,
->(options?: {
-  query?: Partial<
-    UseQueryOptions<Awaited<ReturnType<typeof getAccessibleReflections>>, TError, TData>
-  >
-  request?: SecondParameter<typeof customInstance>
-}) => {
+  TError = ErrorType<ReflectionPageResponse>,
+>(
+  params?: MaybeRef<GetAccessibleReflectionsParams>,
+  options?: {
+    query?: Partial<
+      UseQueryOptions<Awaited<ReturnType<typeof getAccessibleReflections>>, TError, TData>
+    >
+    request?: SecondParameter<typeof customInstance>
+  },
+) => {
   const { query: queryOptions, request: requestOptions } = options ?? {}
 
-  const queryKey = getGetAccessibleReflectionsQueryKey()
+  const queryKey = getGetAccessibleReflectionsQueryKey(params)
 
   const queryFn: QueryFunction<Awaited<ReturnType<typeof getAccessibleReflections>>> = ({
     signal,
-  }) => getAccessibleReflections(requestOptions, signal)
+  }) => getAccessibleReflections(params, requestOptions, signal)
 
   return { queryKey, queryFn, ...queryOptions } as UseQueryOptions<
     Awaited<ReturnType<typeof getAccessibleReflections>>,
@@ -493,7 +509,7 @@ export const getGetAccessibleReflectionsQueryOptions = <
 export type GetAccessibleReflectionsQueryResult = NonNullable<
   Awaited<ReturnType<typeof getAccessibleReflections>>
 >
-export type GetAccessibleReflectionsQueryError = ErrorType<ReflectionResponse[]>
+export type GetAccessibleReflectionsQueryError = ErrorType<ReflectionPageResponse>
 
 /**
  * @summary Get accessible reflections
@@ -501,8 +517,9 @@ export type GetAccessibleReflectionsQueryError = ErrorType<ReflectionResponse[]>
 
 export function useGetAccessibleReflections<
   TData = Awaited<ReturnType<typeof getAccessibleReflections>>,
-  TError = ErrorType<ReflectionResponse[]>,
+  TError = ErrorType<ReflectionPageResponse>,
 >(
+  params?: MaybeRef<GetAccessibleReflectionsParams>,
   options?: {
     query?: Partial<
       UseQueryOptions<Awaited<ReturnType<typeof getAccessibleReflections>>, TError, TData>
@@ -511,7 +528,7 @@ export function useGetAccessibleReflections<
   },
   queryClient?: QueryClient,
 ): UseQueryReturnType<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
-  const queryOptions = getGetAccessibleReflectionsQueryOptions(options)
+  const queryOptions = getGetAccessibleReflectionsQueryOptions(params, options)
 
   const query = useQuery(queryOptions, queryClient) as UseQueryReturnType<TData, TError> & {
     queryKey: DataTag<QueryKey, TData, TError>
@@ -831,26 +848,37 @@ export function useGetHouseholdReflections<
  */
 export const getReflectionsByEventId = (
   eventId: MaybeRef<number>,
+  params?: MaybeRef<GetReflectionsByEventIdParams>,
   options?: SecondParameter<typeof customInstance>,
   signal?: AbortSignal,
 ) => {
   eventId = unref(eventId)
+  params = unref(params)
 
-  return customInstance<ReflectionResponse[]>(
-    { url: `/api/reflections/event/${eventId}`, method: 'GET', signal },
+  return customInstance<ReflectionPageResponse>(
+    {
+      url: `/api/reflections/event/${eventId}`,
+      method: 'GET',
+      params: unref(params),
+      signal,
+    },
     options,
   )
 }
 
-export const getGetReflectionsByEventIdQueryKey = (eventId: MaybeRef<number>) => {
-  return ['api', 'reflections', 'event', eventId] as const
+export const getGetReflectionsByEventIdQueryKey = (
+  eventId: MaybeRef<number>,
+  params?: MaybeRef<GetReflectionsByEventIdParams>,
+) => {
+  return ['api', 'reflections', 'event', eventId, ...(params ? [params] : [])] as const
 }
 
 export const getGetReflectionsByEventIdQueryOptions = <
   TData = Awaited<ReturnType<typeof getReflectionsByEventId>>,
-  TError = ErrorType<ReflectionResponse[]>,
+  TError = ErrorType<ReflectionPageResponse>,
 >(
   eventId: MaybeRef<number>,
+  params?: MaybeRef<GetReflectionsByEventIdParams>,
   options?: {
     query?: Partial<
       UseQueryOptions<Awaited<ReturnType<typeof getReflectionsByEventId>>, TError, TData>
@@ -860,11 +888,11 @@ export const getGetReflectionsByEventIdQueryOptions = <
 ) => {
   const { query: queryOptions, request: requestOptions } = options ?? {}
 
-  const queryKey = getGetReflectionsByEventIdQueryKey(eventId)
+  const queryKey = getGetReflectionsByEventIdQueryKey(eventId, params)
 
   const queryFn: QueryFunction<Awaited<ReturnType<typeof getReflectionsByEventId>>> = ({
     signal,
-  }) => getReflectionsByEventId(eventId, requestOptions, signal)
+  }) => getReflectionsByEventId(eventId, params, requestOptions, signal)
 
   return {
     queryKey,
@@ -877,7 +905,7 @@ export const getGetReflectionsByEventIdQueryOptions = <
 export type GetReflectionsByEventIdQueryResult = NonNullable<
   Awaited<ReturnType<typeof getReflectionsByEventId>>
 >
-export type GetReflectionsByEventIdQueryError = ErrorType<ReflectionResponse[]>
+export type GetReflectionsByEventIdQueryError = ErrorType<ReflectionPageResponse>
 
 /**
  * @summary Get reflections by event ID
@@ -885,9 +913,10 @@ export type GetReflectionsByEventIdQueryError = ErrorType<ReflectionResponse[]>
 
 export function useGetReflectionsByEventId<
   TData = Awaited<ReturnType<typeof getReflectionsByEventId>>,
-  TError = ErrorType<ReflectionResponse[]>,
+  TError = ErrorType<ReflectionPageResponse>,
 >(
   eventId: MaybeRef<number>,
+  params?: MaybeRef<GetReflectionsByEventIdParams>,
   options?: {
     query?: Partial<
       UseQueryOptions<Awaited<ReturnType<typeof getReflectionsByEventId>>, TError, TData>
@@ -896,7 +925,7 @@ export function useGetReflectionsByEventId<
   },
   queryClient?: QueryClient,
 ): UseQueryReturnType<TData, TError> & { queryKey: DataTag<QueryKey, TData, TError> } {
-  const queryOptions = getGetReflectionsByEventIdQueryOptions(eventId, options)
+  const queryOptions = getGetReflectionsByEventIdQueryOptions(eventId, params, options)
 
   const query = useQuery(queryOptions, queryClient) as UseQueryReturnType<TData, TError> & {
     queryKey: DataTag<QueryKey, TData, TError>
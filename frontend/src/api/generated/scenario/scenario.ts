@@ -21,7 +21,7 @@ import type {
 import { computed, unref } from 'vue'
 import type { MaybeRef } from 'vue'
 
-import type { CreateScenarioRequest, ScenarioResponse } from '.././model'
+import type { CreateScenarioRequest, ScenarioResponse, ScenarioSummaryResponse } from '.././model'
 
 import { customInstance } from '../../axios'
 import type { ErrorType, BodyType } from '../../axios'
@@ -273,7 +273,7 @@ export const getAllScenarios = (
   options?: SecondParameter<typeof customInstance>,
   signal?: AbortSignal,
 ) => {
-  return customInstance<ScenarioResponse[]>(
+  return customInstance<ScenarioSummaryResponse[]>(
     { url: `/api/scenarios`, method: 'GET', signal },
     options,
   )
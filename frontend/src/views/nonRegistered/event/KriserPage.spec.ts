@@ -38,8 +38,8 @@ vi.mock('@/api/generated/event/event', () => ({
 vi.mock('@/api/generated/scenario/scenario', () => ({
   useGetAllScenarios: vi.fn(() => ({
     data: ref([
-      { id: 's-1', title: 'Langvarig strombrudd', content: '<p>Innhold</p>' },
-      { id: 's-2', title: 'Evakuering', content: '<p>Innhold</p>' },
+      { id: 's-1', title: 'Langvarig strombrudd', excerpt: 'Innhold' },
+      { id: 's-2', title: 'Evakuering', excerpt: 'Innhold' },
     ]),
     isLoading: ref(false),
     error: ref(null),